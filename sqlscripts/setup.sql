@@ -1,3 +1,10 @@
+--Row versioning is enabled, so the kitchen's reads and the guests' writes never wait for each other.
+--With READ_COMMITTED_SNAPSHOT a statement at READ COMMITTED reads the last committed version of a row instead of waiting for its locks.
+--ALLOW_SNAPSHOT_ISOLATION lets reads consisting of several statements see the database as it was when the first statement ran.
+--Changing READ_COMMITTED_SNAPSHOT requires that no other connections use the database, which is why they are rolled back.
+alter database current set allow_snapshot_isolation on;
+alter database current set read_committed_snapshot on with rollback immediate;
+
 create table [Employee]
 (
 	employeeId int identity(100000,1) not null,
@@ -45,6 +52,7 @@ create table [TableOrder]
 	isSentToKitchen bit not null,
 	isRequestingService bit not null,
 	orderPreparationTime int not null,
+	rowVersion rowversion not null, --changed by the database on every update, used to detect concurrent updates from other tablets.
 	employeeId int, -- Can be null, as a TableOrder shouldn't have an assigned employee the moment it's made.
 	tableRestaurantCode char(3) not null default ('000'),
 	tableNumber char(4) not null default '0000',
@@ -241,4 +249,18 @@ create table [DiscountPersonalOrder]
 	primary key (personalOrderId, discountId),
 	constraint FK_DiscountPersonalOrder_PersonalOrder foreign key (personalOrderId) references PersonalOrder(personalOrderId) on delete cascade,
 	constraint FK_DiscountPersonalOrder_Discount foreign key (discountId) references Discount(discountId) on delete cascade,
-);
\ No newline at end of file
+);
+
+--Covering indexes used by the kitchen's order overview, which is refreshed every 30 seconds.
+--The filtered index only contains the few TableOrders that are currently visible to the kitchen.
+create index [IX_TableOrder_VisibleToKitchen] on [TableOrder] (tableOrderId)
+include (timeOfArrival)
+where isSentToKitchen = 1 and isTableOrderClosed = 0;
+
+--Also used when retrieving the PersonalOrders of a TableOrder.
+create index [IX_PersonalOrder_TableOrder] on [PersonalOrder] (tableOrderId)
+include (customerName);
+
+--Also used when retrieving the PersonalOrderLines of a PersonalOrder.
+create index [IX_PersonalOrderLine_PersonalOrder] on [PersonalOrderLine] (personalOrderId)
+include (menuItemId, notes);
@@ -0,0 +1,160 @@
+// Packages
+package application;
+
+// Imports
+import java.util.List;
+
+import model.Discount;
+import model.MainCourse;
+import model.MenuCard;
+import model.Table;
+import model.TableOrder;
+
+
+/**
+ * GuestSession holds the state of one guest's ordering process, from the moment the guest
+ * enters the table code until the guest has paid, i.e. the guest's PersonalOrderController,
+ * the table and TableOrder the guest is ordering for, the discounts and menu cards shown to
+ * the guest, and the MainCourse the guest is customizing.
+ *
+ * The sessions are created and looked up by the GuestSessionManager, which identifies each
+ * of them by its session id and evicts the sessions that have not been used for a while.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:01
+ */
+public class GuestSession
+{
+	// The id identifying the session in the GuestSessionManager
+	private final String sessionId;
+
+	// The controller carrying out the guest's ordering process
+	private final PersonalOrderController personalOrderController = new PersonalOrderController();
+
+	// The time the session was last used, in milliseconds, which is used to evict idle sessions
+	private volatile long lastAccessMillis;
+
+	private Table table;
+	private TableOrder tableOrder;
+	private List<Discount> listOfDiscounts;
+	private List<MenuCard> listOfMenuCards;
+	private MainCourse mainCourse;
+
+
+	/**
+	 * Constructor for the GuestSession class, the sessions are created by the GuestSessionManager.
+	 *
+	 * @param sessionId 		- the id identifying the session
+	 * @param createdAtMillis 	- the time the session was created, in milliseconds
+	 */
+	GuestSession(String sessionId, long createdAtMillis)
+	{
+		this.sessionId = sessionId;
+		this.lastAccessMillis = createdAtMillis;
+	}
+
+
+	/**
+	 * Records that the session has been used.
+	 *
+	 * @param accessMillis 	- the time the session was used, in milliseconds
+	 */
+	void touch(long accessMillis)
+	{
+		lastAccessMillis = accessMillis;
+	}
+
+
+	/**
+	 * Returns the time the session was last used.
+	 *
+	 * @return the time in milliseconds
+	 */
+	long getLastAccessMillis()
+	{
+		return lastAccessMillis;
+	}
+
+
+	/**
+	 * Returns the id identifying the session.
+	 *
+	 * @return the session id
+	 */
+	public String getSessionId()
+	{
+		return sessionId;
+	}
+
+
+	/**
+	 * Returns the controller carrying out the guest's ordering process.
+	 *
+	 * @return the guest's PersonalOrderController
+	 */
+	public PersonalOrderController getPersonalOrderController()
+	{
+		return personalOrderController;
+	}
+
+
+	public Table getTable()
+	{
+		return table;
+	}
+
+
+	public void setTable(Table table)
+	{
+		this.table = table;
+	}
+
+
+	public TableOrder getTableOrder()
+	{
+		return tableOrder;
+	}
+
+
+	public void setTableOrder(TableOrder tableOrder)
+	{
+		this.tableOrder = tableOrder;
+	}
+
+
+	public List<Discount> getListOfDiscounts()
+	{
+		return listOfDiscounts;
+	}
+
+
+	public void setListOfDiscounts(List<Discount> listOfDiscounts)
+	{
+		this.listOfDiscounts = listOfDiscounts;
+	}
+
+
+	public List<MenuCard> getListOfMenuCards()
+	{
+		return listOfMenuCards;
+	}
+
+
+	public void setListOfMenuCards(List<MenuCard> listOfMenuCards)
+	{
+		this.listOfMenuCards = listOfMenuCards;
+	}
+
+
+	public MainCourse getMainCourse()
+	{
+		return mainCourse;
+	}
+
+
+	public void setMainCourse(MainCourse mainCourse)
+	{
+		this.mainCourse = mainCourse;
+	}
+}
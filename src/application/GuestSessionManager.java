@@ -0,0 +1,248 @@
+// Packages
+package application;
+
+// Imports
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+
+/**
+ * GuestSessionManager is a singleton class that keeps the GuestSessions of the guests currently
+ * ordering, stored by their session id, so the ordering state of each guest is kept apart instead
+ * of being held by a single object shared by the whole application.
+ *
+ * The guest window of the application uses one session at a time, which is started when the
+ * guest enters the table code. Once that session has ended or been evicted it is never found
+ * again, so the guest window sends the guest back to entering the table code rather than
+ * continuing with an empty session.
+ *
+ * The sessions can be started, looked up and ended from any thread. A session that has not been
+ * used for longer than the idle timeout, e.g. because the guest left without paying, is evicted,
+ * and if the maximum amount of sessions is reached the session that was used the longest time ago
+ * is evicted to make room for the new one, so the memory used by the sessions stays bounded.
+ * Evicting a session ends the guest's visit, so the guest is no longer counted as ordering.
+ *
+ * All of the sessions share the application's database connection and the caches of the database
+ * layer, e.g. the menu cards remembered by the LastKnownGoodCache, so a session only holds the
+ * guest's own choices.
+ *
+ * The limits default to 5000 sessions and an idle timeout of 240 minutes, and can be changed with
+ * -DguestSessions.maximum and -DguestSessions.idleTimeoutMinutes.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:32
+ */
+public class GuestSessionManager
+{
+	// The amount of sessions that may exist at the same time
+	private static final int DEFAULT_MAXIMUM_SESSIONS = 5000;
+
+	// The amount of minutes a session may go unused before it is evicted, which is longer than a guest's visit
+	private static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 240;
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static GuestSessionManager instance;
+
+	// The amount of sessions that may exist at the same time
+	private final int maximumSessions;
+
+	// The time a session may go unused before it is evicted
+	private final long idleTimeoutMillis;
+
+	// Returns the current time in milliseconds, e.g. System::currentTimeMillis
+	private final LongSupplier millisClock;
+
+	// The sessions that have not ended or been evicted, stored by their session id
+	private final Map<String, GuestSession> sessions = new ConcurrentHashMap<>();
+
+	// The amount of sessions that have been evicted
+	private final LongAdder evictedSessionCount = new LongAdder();
+
+
+	/**
+	 * Constructor for the GuestSessionManager class, the application uses the instance returned by getInstance.
+	 *
+	 * @param maximumSessions 		- the amount of sessions that may exist at the same time
+	 * @param idleTimeoutMillis 	- the time a session may go unused before it is evicted
+	 * @param millisClock 			- returns the current time in milliseconds, e.g. System::currentTimeMillis
+	 */
+	public GuestSessionManager(int maximumSessions, long idleTimeoutMillis, LongSupplier millisClock)
+	{
+		this.maximumSessions = maximumSessions;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		this.millisClock = millisClock;
+	}
+
+
+	/**
+	 * Returns the singleton instance of GuestSessionManager.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of GuestSessionManager
+	 */
+	public static synchronized GuestSessionManager getInstance()
+	{
+		// If the instance of the GuestSessionManager object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the GuestSessionManager object and stores it within the instance variable
+			instance = new GuestSessionManager(Integer.getInteger("guestSessions.maximum", DEFAULT_MAXIMUM_SESSIONS),
+					TimeUnit.MINUTES.toMillis(Long.getLong("guestSessions.idleTimeoutMinutes", DEFAULT_IDLE_TIMEOUT_MINUTES)), System::currentTimeMillis);
+		}
+
+		// Returns the instance of the GuestSessionManager object
+		return instance;
+	}
+
+
+	/**
+	 * Starts a new session, evicting idle sessions, or the session used the longest time ago, if the maximum has been reached.
+	 *
+	 * @return the new session
+	 */
+	public synchronized GuestSession startSession()
+	{
+		// Makes room for the new session, first by evicting the idle sessions
+		if (sessions.size() >= maximumSessions)
+		{
+			evictIdleSessions();
+		}
+
+		// If every session is still in use then the session used the longest time ago is evicted
+		while (sessions.size() >= maximumSessions)
+		{
+			GuestSession leastRecentlyUsedSession = null;
+
+			for (GuestSession session : sessions.values())
+			{
+				if (leastRecentlyUsedSession == null || session.getLastAccessMillis() < leastRecentlyUsedSession.getLastAccessMillis())
+				{
+					leastRecentlyUsedSession = session;
+				}
+			}
+
+			evict(leastRecentlyUsedSession);
+		}
+
+		GuestSession session = new GuestSession(UUID.randomUUID().toString(), millisClock.getAsLong());
+		sessions.put(session.getSessionId(), session);
+
+		return session;
+	}
+
+
+	/**
+	 * Returns the session with the session id, and records that it has been used.
+	 *
+	 * @param sessionId 	- the id of the session
+	 * @return the session, or null if the session has ended or been evicted
+	 */
+	public GuestSession findSession(String sessionId)
+	{
+		// If no session has been started then there is nothing to find
+		if (sessionId == null)
+		{
+			return null;
+		}
+
+		GuestSession session = sessions.get(sessionId);
+
+		// If the session is unknown then it has ended or been evicted
+		if (session == null)
+		{
+			return null;
+		}
+
+		long nowMillis = millisClock.getAsLong();
+
+		// If the session has been idle for too long then it is evicted, even if the periodic eviction has not reached it yet
+		if (nowMillis - session.getLastAccessMillis() > idleTimeoutMillis)
+		{
+			evict(session);
+
+			return null;
+		}
+
+		session.touch(nowMillis);
+
+		return session;
+	}
+
+
+	/**
+	 * Ends the session once the guest has paid.
+	 *
+	 * @param sessionId 	- the id of the session
+	 */
+	public void endSession(String sessionId)
+	{
+		GuestSession session = sessionId == null ? null : sessions.remove(sessionId);
+
+		// If the session has already ended or been evicted then there is nothing more to do
+		if (session != null)
+		{
+			session.getPersonalOrderController().endGuestSession();
+		}
+	}
+
+
+	/**
+	 * Evicts every session that has not been used for longer than the idle timeout.
+	 * Called periodically, and when the maximum amount of sessions has been reached.
+	 */
+	public void evictIdleSessions()
+	{
+		long nowMillis = millisClock.getAsLong();
+
+		for (GuestSession session : sessions.values())
+		{
+			if (nowMillis - session.getLastAccessMillis() > idleTimeoutMillis)
+			{
+				evict(session);
+			}
+		}
+	}
+
+
+	/**
+	 * Removes the session and ends the guest's visit, unless another thread has already removed it.
+	 *
+	 * @param session 	- the session to evict
+	 */
+	private void evict(GuestSession session)
+	{
+		if (sessions.remove(session.getSessionId(), session))
+		{
+			evictedSessionCount.increment();
+
+			session.getPersonalOrderController().endGuestSession();
+		}
+	}
+
+
+	/**
+	 * Returns the amount of sessions that have not ended or been evicted.
+	 *
+	 * @return the amount of sessions
+	 */
+	public int getSessionCount()
+	{
+		return sessions.size();
+	}
+
+
+	/**
+	 * Returns the amount of sessions that have been evicted, because they were idle or the maximum was reached.
+	 *
+	 * @return the amount of evicted sessions
+	 */
+	public long getEvictedSessionCount()
+	{
+		return evictedSessionCount.sum();
+	}
+}
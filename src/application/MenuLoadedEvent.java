@@ -0,0 +1,42 @@
+// Packages
+package application;
+
+// Imports
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A Java Flight Recorder event, which is committed when the menu cards shown to a guest
+ * have been loaded, covering the time the guest waited for them.
+ *
+ * If the menu cards were prefetched while the guest entered their details, the duration is
+ * only the time spent waiting for the prefetch to finish.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:47
+ */
+@Name("bones.MenuLoaded")
+@Label("Menu Loaded")
+@Category({"Bone's", "Order Lifecycle"})
+@Description("The menu cards of the guest's restaurant were loaded")
+@StackTrace(false)
+class MenuLoadedEvent extends Event
+{
+	@Label("Restaurant Code")
+	String restaurantCode;
+
+	@Label("Table Order Id")
+	int tableOrderId;
+
+	@Label("Menu Card Count")
+	int menuCardCount;
+
+	@Label("Prefetched")
+	boolean isPrefetched;
+}
@@ -0,0 +1,420 @@
+// Packages
+package application;
+
+// Imports
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import database.CircuitBreaker;
+import database.LastKnownGoodCache;
+import database.RetryExecutor;
+import database.TableOrderAggregateCache;
+import database.TableResolutionCache;
+import database.TransactionTemplate;
+import model.EnumStatusType;
+import model.KitchenTicket;
+import model.PersonalOrderLine;
+
+
+/**
+ * OperationalMetrics is a singleton class that collects the restaurant's live health figures,
+ * i.e. the guests currently ordering, the orders submitted, the kitchen's backlog, how busy
+ * the database and the caches are, and the amount of threads alive, and exposes them as an MXBean over JMX.
+ *
+ * The controllers update the figures with LongAdders and atomic variables, so recording them
+ * never makes a guest or the kitchen wait for a lock. The database and cache figures are read
+ * from the counters kept by the classes of the database layer when a collector asks for them.
+ *
+ * The MXBean is registered by calling registerMBean, after which it can be watched in JConsole
+ * under the name given by OBJECT_NAME.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:01
+ */
+public class OperationalMetrics implements OperationalMetricsMXBean
+{
+	// The name the MXBean is registered under
+	public static final String OBJECT_NAME = "bones:type=OperationalMetrics";
+
+	// The amount of seconds the rate of submitted PersonalOrders is measured over
+	private static final int RATE_WINDOW_SECONDS = 60;
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static OperationalMetrics instance;
+
+	// Returns the current time in milliseconds, e.g. System::currentTimeMillis
+	private final LongSupplier millisClock;
+
+	// The time the metrics started being collected, used for the utilisation of the connection
+	private final long startedAtNanos = System.nanoTime();
+
+	// - Guests - //
+	private final LongAdder guestSessionsStarted = new LongAdder();
+	private final LongAdder guestSessionsEnded = new LongAdder();
+
+	// - Orders - //
+	private final LongAdder personalOrdersSubmitted = new LongAdder();
+	private final LongAdder tableOrdersSentToKitchen = new LongAdder();
+	private final Map<EnumStatusType, LongAdder> personalOrderLinesByStatus = new EnumMap<>(EnumStatusType.class);
+
+	// The amount of PersonalOrders submitted within each second of the rate window, and the second each count belongs to
+	private final AtomicLongArray submittedPerSecond = new AtomicLongArray(RATE_WINDOW_SECONDS);
+	private final AtomicLongArray submittedSecond = new AtomicLongArray(RATE_WINDOW_SECONDS);
+
+	// - Kitchen - //
+	private final AtomicLong kitchenBacklogSize = new AtomicLong();
+	private final AtomicReference<LocalDateTime> oldestKitchenArrival = new AtomicReference<>();
+
+
+	/**
+	 * Constructor for the OperationalMetrics class, the application uses the instance returned by getInstance.
+	 *
+	 * @param millisClock 	- returns the current time in milliseconds, e.g. System::currentTimeMillis
+	 */
+	public OperationalMetrics(LongSupplier millisClock)
+	{
+		this.millisClock = millisClock;
+
+		// Creates a counter for every state, so every state is shown even if no line is in it
+		for (EnumStatusType status : EnumStatusType.values())
+		{
+			personalOrderLinesByStatus.put(status, new LongAdder());
+		}
+	}
+
+
+	/**
+	 * Returns the singleton instance of OperationalMetrics.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of OperationalMetrics
+	 */
+	public static synchronized OperationalMetrics getInstance()
+	{
+		// If the instance of the OperationalMetrics object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the OperationalMetrics object and stores it within the instance variable
+			instance = new OperationalMetrics(System::currentTimeMillis);
+		}
+
+		// Returns the instance of the OperationalMetrics object
+		return instance;
+	}
+
+
+	/**
+	 * Registers the MXBean with the platform's MBeanServer, so it can be watched over JMX.
+	 * A failure is printed rather than thrown, as the restaurant works without the metrics.
+	 */
+	public void registerMBean()
+	{
+		try
+		{
+			MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(OBJECT_NAME);
+
+			// If the MXBean has already been registered then there is nothing to do
+			if (!mbeanServer.isRegistered(objectName))
+			{
+				mbeanServer.registerMBean(this, objectName);
+			}
+		}
+
+		catch (JMException exception)
+		{
+			System.err.println("Unable to register the operational metrics over JMX: " + exception.getMessage());
+		}
+	}
+
+
+	/////////////////////////////////////
+	// - Recorded by the controllers - //
+	/////////////////////////////////////
+
+	/**
+	 * Records that a guest has entered a table code and started ordering.
+	 */
+	public void recordGuestSessionStarted()
+	{
+		guestSessionsStarted.increment();
+	}
+
+
+	/**
+	 * Records that a guest has paid and left.
+	 */
+	public void recordGuestSessionEnded()
+	{
+		guestSessionsEnded.increment();
+	}
+
+
+	/**
+	 * Records that a PersonalOrder has been submitted, together with the state of each of its lines.
+	 *
+	 * @param personalOrderLines 	- the lines of the submitted PersonalOrder
+	 */
+	public void recordPersonalOrderSubmitted(List<PersonalOrderLine> personalOrderLines)
+	{
+		personalOrdersSubmitted.increment();
+
+		// Counts the submission within the current second of the rate window
+		long currentSecond = TimeUnit.MILLISECONDS.toSeconds(millisClock.getAsLong());
+		int index = (int) (currentSecond % RATE_WINDOW_SECONDS);
+		long previousSecond = submittedSecond.get(index);
+
+		// If the counter still belongs to a second that has left the window, the first thread to notice resets it
+		if (previousSecond != currentSecond && submittedSecond.compareAndSet(index, previousSecond, currentSecond))
+		{
+			submittedPerSecond.set(index, 0);
+		}
+
+		submittedPerSecond.incrementAndGet(index);
+
+		for (PersonalOrderLine personalOrderLine : personalOrderLines)
+		{
+			personalOrderLinesByStatus.get(personalOrderLine.getStatus()).increment();
+		}
+	}
+
+
+	/**
+	 * Records that a PersonalOrderLine has moved from one state to another, e.g. once it has been prepared.
+	 *
+	 * @param previousStatus 	- the state the line was in
+	 * @param newStatus 		- the state the line is in now
+	 */
+	public void recordPersonalOrderLineStatusChange(EnumStatusType previousStatus, EnumStatusType newStatus)
+	{
+		personalOrderLinesByStatus.get(previousStatus).decrement();
+		personalOrderLinesByStatus.get(newStatus).increment();
+	}
+
+
+	/**
+	 * Records that a TableOrder has been sent to the kitchen.
+	 */
+	public void recordTableOrderSentToKitchen()
+	{
+		tableOrdersSentToKitchen.increment();
+	}
+
+
+	/**
+	 * Records the kitchen's backlog, as read by the kitchen's latest refresh.
+	 *
+	 * @param kitchenTickets 	- the KitchenTickets the kitchen has to prepare
+	 */
+	public void recordKitchenBacklog(List<KitchenTicket> kitchenTickets)
+	{
+		long backlogSize = 0;
+		LocalDateTime oldestArrival = null;
+
+		for (KitchenTicket kitchenTicket : kitchenTickets)
+		{
+			// Tickets of customers without any items for the kitchen are not part of the backlog
+			if (!kitchenTicket.hasPersonalOrderLine())
+			{
+				continue;
+			}
+
+			backlogSize++;
+
+			if (kitchenTicket.getTimeOfArrival() != null && (oldestArrival == null || kitchenTicket.getTimeOfArrival().isBefore(oldestArrival)))
+			{
+				oldestArrival = kitchenTicket.getTimeOfArrival();
+			}
+		}
+
+		kitchenBacklogSize.set(backlogSize);
+		oldestKitchenArrival.set(oldestArrival);
+	}
+
+
+	///////////////////////////
+	// - MXBean attributes - //
+	///////////////////////////
+
+	@Override
+	public long getActiveGuestSessions()
+	{
+		return Math.max(0, guestSessionsStarted.sum() - guestSessionsEnded.sum());
+	}
+
+
+	@Override
+	public long getGuestSessionsStarted()
+	{
+		return guestSessionsStarted.sum();
+	}
+
+
+	@Override
+	public long getGuestSessionsEvicted()
+	{
+		return GuestSessionManager.getInstance().getEvictedSessionCount();
+	}
+
+
+	@Override
+	public long getPersonalOrdersSubmitted()
+	{
+		return personalOrdersSubmitted.sum();
+	}
+
+
+	@Override
+	public long getPersonalOrdersSubmittedPerMinute()
+	{
+		long currentSecond = TimeUnit.MILLISECONDS.toSeconds(millisClock.getAsLong());
+		long submitted = 0;
+
+		// Adds up the counters of the seconds that are still within the window
+		for (int index = 0; index < RATE_WINDOW_SECONDS; index++)
+		{
+			if (currentSecond - submittedSecond.get(index) < RATE_WINDOW_SECONDS)
+			{
+				submitted += submittedPerSecond.get(index);
+			}
+		}
+
+		return submitted;
+	}
+
+
+	@Override
+	public long getTableOrdersSentToKitchen()
+	{
+		return tableOrdersSentToKitchen.sum();
+	}
+
+
+	@Override
+	public Map<String, Long> getPersonalOrderLinesByStatus()
+	{
+		Map<String, Long> linesByStatus = new LinkedHashMap<>();
+
+		personalOrderLinesByStatus.forEach((status, lineCount) -> linesByStatus.put(status.name(), lineCount.sum()));
+
+		return linesByStatus;
+	}
+
+
+	@Override
+	public long getKitchenBacklogSize()
+	{
+		return kitchenBacklogSize.get();
+	}
+
+
+	@Override
+	public long getKitchenBacklogAgeSeconds()
+	{
+		LocalDateTime oldestArrival = oldestKitchenArrival.get();
+
+		// If the kitchen has nothing to prepare then there is no backlog
+		if (oldestArrival == null)
+		{
+			return 0;
+		}
+
+		return Math.max(0, Duration.between(oldestArrival, LocalDateTime.now()).getSeconds());
+	}
+
+
+	@Override
+	public long getActiveDatabaseOperations()
+	{
+		return TransactionTemplate.getActiveOperationCount();
+	}
+
+
+	@Override
+	public double getDatabaseConnectionUtilisationPercent()
+	{
+		long elapsedNanos = System.nanoTime() - startedAtNanos;
+
+		return elapsedNanos <= 0 ? 0 : Math.min(100.0, 100.0 * TransactionTemplate.getConnectionBusyNanos() / elapsedNanos);
+	}
+
+
+	@Override
+	public long getDatabaseRetries()
+	{
+		return RetryExecutor.getInstance().getRetryCount();
+	}
+
+
+	@Override
+	public String getCircuitBreakerState()
+	{
+		return CircuitBreaker.getInstance().getState().name();
+	}
+
+
+	@Override
+	public double getTableOrderAggregateCacheHitPercent()
+	{
+		return hitPercent(TableOrderAggregateCache.getInstance().getHitCount(), TableOrderAggregateCache.getInstance().getMissCount());
+	}
+
+
+	@Override
+	public double getTableResolutionCacheHitPercent()
+	{
+		return hitPercent(TableResolutionCache.getInstance().getHitCount(), TableResolutionCache.getInstance().getMissCount());
+	}
+
+
+	@Override
+	public long getDegradedReads()
+	{
+		return LastKnownGoodCache.getInstance().getDegradedReadCount();
+	}
+
+
+	@Override
+	public int getLiveThreadCount()
+	{
+		return ManagementFactory.getThreadMXBean().getThreadCount();
+	}
+
+
+	@Override
+	public int getPeakThreadCount()
+	{
+		return ManagementFactory.getThreadMXBean().getPeakThreadCount();
+	}
+
+
+	/**
+	 * Returns the percentage of lookups that were answered by a cache.
+	 *
+	 * @param hits 		- the amount of lookups answered by the cache
+	 * @param misses 	- the amount of lookups that had to query the database
+	 * @return the percentage of hits, or 0 if there have been no lookups
+	 */
+	private static double hitPercent(long hits, long misses)
+	{
+		long lookups = hits + misses;
+
+		return lookups == 0 ? 0 : 100.0 * hits / lookups;
+	}
+}
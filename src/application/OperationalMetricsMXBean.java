@@ -0,0 +1,127 @@
+// Packages
+package application;
+
+// Imports
+import java.util.Map;
+
+
+/**
+ * The management interface of the OperationalMetrics, which exposes the health of the
+ * restaurant's system to JConsole or any other JMX collector as read-only attributes.
+ *
+ * As it is an MXBean, the map attributes are shown as tables, without the collector
+ * needing any of the restaurant's classes.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:01
+ */
+public interface OperationalMetricsMXBean
+{
+	// - Guests - //
+
+	/**
+	 * @return the amount of guests that have entered a table code and not yet paid
+	 */
+	long getActiveGuestSessions();
+
+	/**
+	 * @return the amount of guest sessions started since the application started
+	 */
+	long getGuestSessionsStarted();
+
+	/**
+	 * @return the amount of guest sessions evicted by the GuestSessionManager, because they were left idle or the maximum was reached
+	 */
+	long getGuestSessionsEvicted();
+
+
+	// - Orders - //
+
+	/**
+	 * @return the amount of PersonalOrders submitted since the application started
+	 */
+	long getPersonalOrdersSubmitted();
+
+	/**
+	 * @return the amount of PersonalOrders submitted within the last minute
+	 */
+	long getPersonalOrdersSubmittedPerMinute();
+
+	/**
+	 * @return the amount of TableOrders sent to the kitchen since the application started
+	 */
+	long getTableOrdersSentToKitchen();
+
+	/**
+	 * @return the amount of PersonalOrderLines in each EnumStatusType state, counted since the application started
+	 */
+	Map<String, Long> getPersonalOrderLinesByStatus();
+
+
+	// - Kitchen - //
+
+	/**
+	 * @return the amount of lines the kitchen had to prepare at the kitchen's latest refresh
+	 */
+	long getKitchenBacklogSize();
+
+	/**
+	 * @return the amount of seconds since the oldest TableOrder with lines for the kitchen arrived, or 0 if there are none
+	 */
+	long getKitchenBacklogAgeSeconds();
+
+
+	// - Database - //
+
+	/**
+	 * @return the amount of database operations currently using the shared connection
+	 */
+	long getActiveDatabaseOperations();
+
+	/**
+	 * @return the percentage of the time since the application started that the shared connection has been in use
+	 */
+	double getDatabaseConnectionUtilisationPercent();
+
+	/**
+	 * @return the amount of database operations that were attempted again after a transient failure
+	 */
+	long getDatabaseRetries();
+
+	/**
+	 * @return the state of the circuit breaker protecting the database, i.e. CLOSED, OPEN or HALF_OPEN
+	 */
+	String getCircuitBreakerState();
+
+
+	// - Caches - //
+
+	/**
+	 * @return the percentage of TableOrder and PersonalOrder lookups answered by the TableOrderAggregateCache
+	 */
+	double getTableOrderAggregateCacheHitPercent();
+
+	/**
+	 * @return the percentage of table lookups answered by the TableResolutionCache
+	 */
+	double getTableResolutionCacheHitPercent();
+
+	/**
+	 * @return the amount of reads served from the LastKnownGoodCache because the database was unavailable
+	 */
+	long getDegradedReads();
+
+
+	// - Threads - //
+
+	/**
+	 * @return the amount of threads currently alive in the application, which should stay level on a long-running terminal
+	 */
+	int getLiveThreadCount();
+
+	/**
+	 * @return the largest amount of threads that have been alive at the same time since the application started
+	 */
+	int getPeakThreadCount();
+}
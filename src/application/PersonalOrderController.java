@@ -4,6 +4,8 @@ package application;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import database.DataAccessException;
 import database.PersonalOrderDB;
@@ -27,9 +29,15 @@ import model.TableOrder;
  * This separation helps to ensure low coupling between GUI and data persistence, and thereby improve
  * the system's maintainability and possibility to scale.
  *
+ * Once the table has been found, the restaurant's menu cards and the table's existing
+ * PersonalOrders can be prefetched in the background, while the guest is still entering
+ * their information. The prefetched menu cards are then used by enterDiscounts instead of
+ * querying the database again, and the prefetched PersonalOrders are kept by the
+ * TableOrderAggregateCache, which findPersonalOrdersBytableOrderId reads them from.
+ *
  *
  * @author Line Bertelsen, Anders Trankjær & Christoffer Søndergaard
- * @version 08/06/2025 - 19:31
+ * @version 19/10/2026 - 10:47
  */
 public class PersonalOrderController
 {
@@ -39,6 +47,13 @@ public class PersonalOrderController
 	private TableOrder tableOrder;
 	private Table chosenTable;
 	
+	// The menu cards being prefetched for the chosen table, or null if none are being prefetched, which is
+	// volatile as it is set on the Event Dispatch Thread and taken on the UtilityViewLoader's thread
+	private volatile CompletableFuture<List<MenuCard>> prefetchedMenuCards;
+	
+	// Whether or not the guest has entered a table code and not yet paid, which is counted in the OperationalMetrics
+	private boolean isGuestSessionActive = false;
+	
 	
 	// Creates an empty constructor for this instance
 	public PersonalOrderController()
@@ -71,6 +86,13 @@ public class PersonalOrderController
 		// Creates a uniquely identifiable tableCode by concatenating restaurantCode and tableNumber
 		String tableCode = restaurantCode + tableNumber;
 		
+		// Discards anything prefetched for a previously chosen table
+		prefetchedMenuCards = null;
+		
+		// Starts timing the lookup, which is recorded by Java Flight Recorder when a recording is running
+		TableCodeEnteredEvent tableCodeEnteredEvent = new TableCodeEnteredEvent();
+		tableCodeEnteredEvent.begin();
+		
 		//Attempt to execute the code within the braces
 		try
 		{
@@ -92,6 +114,18 @@ public class PersonalOrderController
 			// Instantiates the personalOrder and sets it to be associated with the specified TableOrder
 			personalOrder = new PersonalOrder(tableOrder);
 			
+			// Counts the guest as ordering, unless the guest has already entered a table code during this visit
+			if (!isGuestSessionActive)
+			{
+				isGuestSessionActive = true;
+				
+				OperationalMetrics.getInstance().recordGuestSessionStarted();
+			}
+			
+			// The table was found, which is recorded when the lookup is recorded
+			tableCodeEnteredEvent.isTableFound = true;
+			tableCodeEnteredEvent.tableOrderId = tableOrder.getTableOrderId();
+			
 			return chosenTable;
 		} 
 		
@@ -101,6 +135,104 @@ public class PersonalOrderController
 			// If an SQL error occurs a exception is thrown with the specified details
 			throw new DataAccessException("Unable to find Table objects in the database with a table code " + tableCode, exception);
 		}
+		
+		finally
+		{
+			// Records the lookup whether or not the table was found
+			tableCodeEnteredEvent.tableCode = tableCode;
+			tableCodeEnteredEvent.commit();
+		}
+	}
+	
+	
+	/**
+	 * Starts loading the restaurant's menu cards and the chosen table's existing 
+	 * PersonalOrders in the background, using the supplied executor.
+	 * 
+	 * This method is called right after enterTableCode has found the table, so the 
+	 * menu cards are loaded while the guest is still entering their name, age and 
+	 * discounts. The executor should be the one the GUI uses for its other database 
+	 * calls, as the DAO classes share a single database connection.
+	 * 
+	 * If a prefetch fails, the data is simply loaded again when it is needed.
+	 *
+	 * @param executor the executor the database calls are carried out on
+	 */
+	public void prefetchTableContents(Executor executor)
+	{
+		// If no table has been chosen then there is nothing to prefetch
+		if (chosenTable == null || tableOrder == null)
+		{
+			return;
+		}
+		
+		// Retrieves the restaurantCode based off of the first 3 digits in the chosenTable's tableCode and stores it within the restaurantCode variable
+		String restaurantCode = chosenTable.getTableCode().substring(0,3);
+		
+		// Stores the id of the TableOrder, as the tableOrder attribute may change before the prefetch is executed
+		int tableOrderId = tableOrder.getTableOrderId();
+		
+		// Starts loading the restaurant's menu cards in the background
+		prefetchedMenuCards = CompletableFuture.supplyAsync(() -> 
+		{
+			try
+			{
+				return new MenuCardController().findMenuCardsByRestaurantCode(restaurantCode);
+			}
+			
+			catch (Exception exception)
+			{
+				// Wraps the exception, as the Supplier interface does not allow checked exceptions
+				throw new IllegalStateException("Unable to prefetch the menu cards for restaurant " + restaurantCode, exception);
+			}
+		}, executor);
+		
+		// Starts loading the table's existing PersonalOrders in to the TableOrderAggregateCache in the background,
+		// so there is a single copy of them, which is kept up to date as PersonalOrders are inserted
+		CompletableFuture.runAsync(() -> 
+		{
+			try
+			{
+				new PersonalOrderDB().findPersonalOrdersBytableOrderId(tableOrderId);
+			}
+			
+			catch (Exception exception)
+			{
+				// Wraps the exception, as the Runnable interface does not allow checked exceptions
+				throw new IllegalStateException("Unable to prefetch the PersonalOrders for table order " + tableOrderId, exception);
+			}
+		}, executor);
+	}
+	
+	
+	/**
+	 * Returns the result of a prefetch if it has completed successfully, otherwise 
+	 * the prefetch is cancelled and null is returned so the caller loads the data itself.
+	 * 
+	 * The caller never waits for a prefetch which has not finished yet, as the prefetch 
+	 * may be queued on the same thread as the caller.
+	 *
+	 * @param prefetch the prefetch to take the result from, may be null
+	 * @return the prefetched result, or null if it is not available
+	 */
+	private static <T> T takePrefetchedResult(CompletableFuture<T> prefetch)
+	{
+		// If nothing was prefetched then there is no result to take
+		if (prefetch == null)
+		{
+			return null;
+		}
+		
+		// If the prefetch has completed successfully then its result is returned
+		if (prefetch.isDone() && !prefetch.isCompletedExceptionally() && !prefetch.isCancelled())
+		{
+			return prefetch.join();
+		}
+		
+		// Cancels the prefetch, as its result would arrive too late to be used
+		prefetch.cancel(false);
+		
+		return null;
 	}
 	
 	
@@ -151,6 +283,10 @@ public class PersonalOrderController
 	 */
 	public List<MenuCard> enterDiscounts(List<Discount> listOfDiscounts) throws DataAccessException, SQLException
 	{
+		// Starts timing how long the guest waits for the menu cards
+		MenuLoadedEvent menuLoadedEvent = new MenuLoadedEvent();
+		menuLoadedEvent.begin();
+		
 		try
 		{
 			// Creates a MenuCardController instance and store it within the menuCardController variable
@@ -162,8 +298,29 @@ public class PersonalOrderController
 			// Retrieves the restaurantCode based off of the first 3 digits in the chosenTable's tableCode and stores it within the restaurantCode variable
 			String restaurantCode = chosenTable.getTableCode().substring(0,3);
 			
-			// Returns a list of MenuCard objects from the Restaurant instance that matches the supplied restaurantCode
-			return menuCardController.findMenuCardsByRestaurantCode(restaurantCode);
+			// Retrieves the menu cards that were prefetched when the table was found, if they are ready
+			List<MenuCard> listOfMenuCards = takePrefetchedResult(prefetchedMenuCards);
+			
+			// The prefetched menu cards are only used once
+			prefetchedMenuCards = null;
+			
+			// Whether or not the menu cards were prefetched
+			menuLoadedEvent.isPrefetched = listOfMenuCards != null;
+			
+			// If the menu cards were not prefetched then they are retrieved from the database
+			if (listOfMenuCards == null)
+			{
+				// Retrieves a list of MenuCard objects from the Restaurant instance that matches the supplied restaurantCode
+				listOfMenuCards = menuCardController.findMenuCardsByRestaurantCode(restaurantCode);
+			}
+			
+			// Records the loaded menu cards, when a recording is running
+			menuLoadedEvent.restaurantCode = restaurantCode;
+			menuLoadedEvent.tableOrderId = tableOrder != null ? tableOrder.getTableOrderId() : 0;
+			menuLoadedEvent.menuCardCount = listOfMenuCards.size();
+			menuLoadedEvent.commit();
+			
+			return listOfMenuCards;
 		}
 		
 		catch (Exception exception)
@@ -254,6 +411,23 @@ public class PersonalOrderController
 	 * @throws DataAccessException if an error occurs while trying to insert the personal order into the database
 	 */
 	public void finishPersonalOrder() throws DataAccessException
+	{
+		submitPersonalOrder(personalOrder, tableOrder);
+	}
+	
+	
+	/**
+	 * Inserts the given personal order into the database, linked to the given table order, without
+	 * changing the personal order the guest is currently putting together. Used when the table order 
+	 * is sent to the kitchen together with the personal orders that have not been inserted yet.
+	 * 
+	 * The personal order is only inserted if it contains at least one order line.
+	 * 
+	 * @param submittedPersonalOrder 	- the personal order that should be inserted
+	 * @param submittedTableOrder 		- the table order the personal order belongs to
+	 * @throws DataAccessException if an error occurs while trying to insert the personal order into the database
+	 */
+	public void submitPersonalOrder(PersonalOrder submittedPersonalOrder, TableOrder submittedTableOrder) throws DataAccessException
 	{
 		try 
 		{
@@ -261,10 +435,13 @@ public class PersonalOrderController
 	        PersonalOrderImpl personalOrderDB = new PersonalOrderDB();
 	        
 	        // Checks if the personal order contains at least one item before inserting it
-	        if (!personalOrder.getPersonalOrderLines().isEmpty())
+	        if (!submittedPersonalOrder.getPersonalOrderLines().isEmpty())
 			{
-	            // Inserts the personal order into the database and links it to the current table order's ID
-				personalOrderDB.insertPersonalOrder(personalOrder, tableOrder.getTableOrderId());
+	            // Inserts the personal order into the database and links it to the table order's ID
+				personalOrderDB.insertPersonalOrder(submittedPersonalOrder, submittedTableOrder.getTableOrderId());
+				
+				// Counts the submitted PersonalOrder and the states of its lines
+				OperationalMetrics.getInstance().recordPersonalOrderSubmitted(submittedPersonalOrder.getPersonalOrderLines());
 			}
 		}
 		
@@ -276,6 +453,23 @@ public class PersonalOrderController
 	}
 	
 	
+	/**
+	 * Ends the guest's visit once the guest has paid, so the guest is no longer counted as ordering.
+	 */
+	public void endGuestSession()
+	{
+		// If the guest never entered a table code then there is no visit to end
+		if (!isGuestSessionActive)
+		{
+			return;
+		}
+		
+		isGuestSessionActive = false;
+		
+		OperationalMetrics.getInstance().recordGuestSessionEnded();
+	}
+	
+	
 	/**
 	 * Clears all MenuItem lines from the personal order's list.
 	 */
@@ -287,7 +481,8 @@ public class PersonalOrderController
 	
 	/**
 	 * This method calls PersonalOrderDB and retrieves a list of all PersonalOrders 
-	 * that are linked to the specified tableOrder.
+	 * that are linked to the specified tableOrder, which are read from the 
+	 * TableOrderAggregateCache if they have been prefetched by prefetchTableContents.
 	 *
 	 * @param tableOrderId the ID of the table order to retrieve personal orders from
 	 * @return a list of PersonalOrders associated with the specified table order
@@ -0,0 +1,40 @@
+// Packages
+package application;
+
+// Imports
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A Java Flight Recorder event, which is committed when a guest has entered a table code,
+ * covering the time it took to find the table and its current TableOrder.
+ *
+ * Like the other events of the order lifecycle it only records anything while a recording
+ * with the event enabled is running, e.g. one started with -XX:StartFlightRecording,
+ * and is otherwise close to free.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:47
+ */
+@Name("bones.TableCodeEntered")
+@Label("Table Code Entered")
+@Category({"Bone's", "Order Lifecycle"})
+@Description("A guest entered a table code, and the table and its current TableOrder were looked up")
+@StackTrace(false)
+class TableCodeEnteredEvent extends Event
+{
+	@Label("Table Code")
+	String tableCode;
+
+	@Label("Table Order Id")
+	int tableOrderId;
+
+	@Label("Table Found")
+	boolean isTableFound;
+}
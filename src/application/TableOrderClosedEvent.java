@@ -0,0 +1,38 @@
+// Packages
+package application;
+
+// Imports
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+/**
+ * A Java Flight Recorder event, which is committed when a TableOrder has been closed,
+ * covering the update that closed it, and carrying how long the table was seated.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:47
+ */
+@Name("bones.TableOrderClosed")
+@Label("Table Order Closed")
+@Category({"Bone's", "Order Lifecycle"})
+@Description("A TableOrder was closed")
+@StackTrace(false)
+class TableOrderClosedEvent extends Event
+{
+	@Label("Table Order Id")
+	int tableOrderId;
+
+	@Label("Update Attempts")
+	int updateAttempts;
+
+	@Label("Time Seated")
+	@Timespan(Timespan.MILLISECONDS)
+	long timeSeatedMillis;
+}
@@ -3,11 +3,26 @@ package application;
 
 // Imports
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import database.DataAccessException;
+import database.IsolationPolicy;
+import database.KitchenTicketDB;
+import database.KitchenTicketImpl;
+import database.OrderLatencyTracer;
+import database.TableOrderAggregateCache;
 import database.TableOrderDB;
 import database.TableOrderImpl;
+import database.TableOrderUpdateResult;
+import database.TransactionTemplate;
+import model.EnumTableOrderField;
+import model.KitchenTicket;
+import model.PersonalOrder;
 import model.TableOrder;
 
 
@@ -21,16 +36,47 @@ import model.TableOrder;
  * 
  * 
  * @author Anders Trankjær & Christoffer Søndergaard
- * @version 08/06/2025 - 15:28
+ * @version 19/10/2026 - 10:47
  */
 public class TableOrderController
 {
+	// The maximum amount of times an update is attempted before the conflict is handed to the caller
+	private static final int MAXIMUM_UPDATE_ATTEMPTS = 3;
+	
+	// The DAO the TableOrders are read and written through, or null if a new TableOrderDB is created for each call
+	private final TableOrderImpl tableOrderDataAccessObject;
+	
+	
     /**
      * Constructs a new TableOrderController instance with no initialization needed.
      */
 	public TableOrderController()
 	{
-		
+		this(null);
+	}
+	
+	
+	/**
+	 * Constructs a new TableOrderController instance reading and writing the TableOrders through 
+	 * the supplied DAO, e.g. one answering with a conflict when testing the merging of TableOrders.
+	 * 
+	 * @param tableOrderDataAccessObject 	- the DAO the TableOrders are read and written through
+	 */
+	public TableOrderController(TableOrderImpl tableOrderDataAccessObject)
+	{
+		this.tableOrderDataAccessObject = tableOrderDataAccessObject;
+	}
+	
+	
+	/**
+	 * Returns the DAO the TableOrders are read and written through.
+	 * 
+	 * @return the supplied DAO, or a new TableOrderDB if none was supplied
+	 * @throws SQLException if the TableOrderDB can not be created
+	 */
+	private TableOrderImpl getTableOrderDataAccessObject() throws SQLException
+	{
+		return tableOrderDataAccessObject != null ? tableOrderDataAccessObject : new TableOrderDB();
 	}
 	
 	
@@ -46,6 +92,73 @@ public class TableOrderController
 	}
 	
 	
+	/**
+	 * Sends the given tableOrder to the kitchen, together with its PersonalOrders that have not been inserted 
+	 * into the database yet, when the customer press btnConfirm "Ja, send til køkken".
+	 * 
+	 * The PersonalOrders are inserted in the same transaction as the TableOrder is marked as sent to the 
+	 * kitchen, so the kitchen never sees the TableOrder without them, and a failure undoes both. If the 
+	 * TableOrder kept being updated by the other guests then nothing is written, and the conflict is returned.
+	 * 
+	 * @param tableOrder 				- the tableOrder that is to be sent to the kitchen
+	 * @param personalOrderController 	- the controller inserting the PersonalOrders
+	 * @return the result of the update of the TableOrder, which is a conflict if it could not be sent
+	 * @throws SQLException if an SQL query execution fails
+	 * @throws DataAccessException if the TableOrder or one of the PersonalOrders could not be written, in which case nothing is written
+	 */
+	public TableOrderUpdateResult sendTableOrderToKitchen(TableOrder tableOrder, PersonalOrderController personalOrderController) throws SQLException, DataAccessException
+	{
+		// The PersonalOrders that have not been inserted yet, as they have not been given an id by the database
+		List<PersonalOrder> listOfUnsubmittedPersonalOrders = tableOrder.getPersonalOrders().stream()
+				.filter(personalOrder -> personalOrder.getPersonalOrderId() == 0)
+				.collect(Collectors.toList());
+		
+		// The version the TableOrder was read at, which is restored if the transaction is rolled back
+		long rowVersion = tableOrder.getRowVersion();
+		
+		try
+		{
+			// The TableOrder and the PersonalOrders are written as one transaction, which is attempted again as a whole after a transient failure
+			return TransactionTemplate.executeInTransaction(IsolationPolicy.getInstance().getWriteIsolationLevel(), databaseConnection ->
+			{
+				// Marks the TableOrder as sent to the kitchen, merging in any changes made by the other guests at the table in the meantime
+				TableOrderUpdateResult updateResult = updateTableOrder(tableOrder, this::sendToKitchen);
+				
+				// If the TableOrder was not updated then nothing has been written, and the PersonalOrders are not inserted either
+				if (!updateResult.isUpdated())
+				{
+					return updateResult;
+				}
+				
+				// Inserts the PersonalOrders, a failure rolls back the TableOrder being sent to the kitchen as well
+				for (PersonalOrder personalOrder : listOfUnsubmittedPersonalOrders)
+				{
+					personalOrderController.submitPersonalOrder(personalOrder, tableOrder);
+				}
+				
+				return updateResult;
+			}, "Failed to send the TableOrder to the kitchen");
+		}
+		
+		catch (DataAccessException exception)
+		{
+			// The transaction was rolled back, so the PersonalOrders are inserted again the next time the TableOrder is sent
+			for (PersonalOrder personalOrder : listOfUnsubmittedPersonalOrders)
+			{
+				personalOrder.setPersonalOrderId(0);
+			}
+			
+			// The next attempt is made against the version that is still in the database
+			tableOrder.setRowVersion(rowVersion);
+			
+			// The cached TableOrder and PersonalOrders were updated by the rolled back statements, and are read from the database again
+			TableOrderAggregateCache.getInstance().invalidate(tableOrder.getTableOrderId());
+			
+			throw exception;
+		}
+	}
+	
+	
 	/**
 	 * This method is used in ViewGuesTableOrderConfirmation
 	 * it update a given tableOrder object into the database
@@ -57,14 +170,203 @@ public class TableOrderController
 	 */
 	public void updateTableOrder(TableOrder tableOrder) throws SQLException, DataAccessException
 	{
-		// Creates an instance of the DAO interface using the concrete TableOrderDB class implementation
-		TableOrderImpl dataAccessObject = new TableOrderDB();
+		// Retrieves the DAO, which is the concrete TableOrderDB class implementation unless another was supplied
+		TableOrderImpl dataAccessObject = getTableOrderDataAccessObject();
 		
 		// Calls upon the DAO method to update the given TableOrder object 
 		dataAccessObject.updateTableOrder(tableOrder);
 	}
 	
 	
+	/**
+	 * Applies the supplied change to the given tableOrder and updates it in the database, 
+	 * without overwriting changes that another tablet has made to the same TableOrder.
+	 * 
+	 * The update is only applied if the TableOrder has not been updated since it was read.
+	 * If it has, the TableOrder's current values are merged in to the given tableOrder, the 
+	 * change is applied on top of them again, and the update is retried. No locks are held 
+	 * in between, so the guests can take as long as they want before confirming.
+	 * 
+	 * @param tableOrder 		- the tableOrder that is to be updated, kept up to date with the database
+	 * @param tableOrderChange 	- the change the guest has made, e.g. tableOrder -> tableOrder.setSentToKitchen(true)
+	 * @return the result of the last attempt, which is a conflict if every attempt was in conflict
+	 * @throws SQLException if an SQL query execution fails
+	 * @throws DataAccessException if a database access issue occurs somewhere at the DAO level
+	 */
+	public TableOrderUpdateResult updateTableOrder(TableOrder tableOrder, Consumer<TableOrder> tableOrderChange) throws SQLException, DataAccessException
+	{
+		// Records that the TableOrder has reached the controller, if it is being sent to the kitchen
+		OrderLatencyTracer.getInstance().recordHop(tableOrder.getTableOrderId(), OrderLatencyTracer.Hop.CONTROLLER);
+		
+		// Retrieves the DAO, which is the concrete TableOrderDB class implementation unless another was supplied
+		TableOrderImpl dataAccessObject = getTableOrderDataAccessObject();
+		
+		// Stores the result of the latest attempt
+		TableOrderUpdateResult updateResult = null;
+		
+		// Whether or not the TableOrder had already been sent to the kitchen, or closed, before the change
+		boolean wasSentToKitchen = tableOrder.isSentToKitchen();
+		boolean wasTableOrderClosed = tableOrder.isTableOrderClosed();
+		
+		// Starts timing the update, which is recorded by Java Flight Recorder if it sends the TableOrder to the kitchen or closes it
+		TableOrderSentToKitchenEvent sentToKitchenEvent = new TableOrderSentToKitchenEvent();
+		TableOrderClosedEvent tableOrderClosedEvent = new TableOrderClosedEvent();
+		sentToKitchenEvent.begin();
+		tableOrderClosedEvent.begin();
+		
+		for (int attempt = 1; attempt <= MAXIMUM_UPDATE_ATTEMPTS; attempt++)
+		{
+			// Applies the guest's change to the TableOrder
+			tableOrderChange.accept(tableOrder);
+			
+			// Attempts to update the TableOrder, which only succeeds if no one else has updated it
+			updateResult = dataAccessObject.updateTableOrderIfUnchanged(tableOrder);
+			
+			// If the update succeeded, or the TableOrder no longer exists, then there is nothing more to attempt
+			if (updateResult.isUpdated() || updateResult.getCurrentTableOrder() == null)
+			{
+				// If the change sent the TableOrder to the kitchen then it is counted in the OperationalMetrics
+				if (updateResult.isUpdated() && !wasSentToKitchen && tableOrder.isSentToKitchen())
+				{
+					OperationalMetrics.getInstance().recordTableOrderSentToKitchen();
+					
+					sentToKitchenEvent.tableOrderId = tableOrder.getTableOrderId();
+					sentToKitchenEvent.personalOrderCount = tableOrder.getPersonalOrders().size();
+					sentToKitchenEvent.updateAttempts = attempt;
+					sentToKitchenEvent.commit();
+				}
+				
+				// If the change closed the TableOrder then it is recorded together with how long the table was seated
+				if (updateResult.isUpdated() && !wasTableOrderClosed && tableOrder.isTableOrderClosed())
+				{
+					tableOrderClosedEvent.tableOrderId = tableOrder.getTableOrderId();
+					tableOrderClosedEvent.updateAttempts = attempt;
+					tableOrderClosedEvent.timeSeatedMillis = tableOrder.getTimeOfArrival() != null ? Duration.between(tableOrder.getTimeOfArrival(), LocalDateTime.now()).toMillis() : 0;
+					tableOrderClosedEvent.commit();
+				}
+				
+				return updateResult;
+			}
+			
+			// Merges the values the other tablet has written in to the TableOrder, before the change is applied again
+			mergeCurrentTableOrder(tableOrder, updateResult.getCurrentTableOrder());
+		}
+		
+		// Every attempt was in conflict, which is handed to the caller
+		return updateResult;
+	}
+	
+	
+	/**
+	 * Merges the values of the TableOrder's current row in to the given tableOrder, field by field, 
+	 * keeping the tableOrder's PersonalOrders.
+	 * 
+	 * The fields the guest has changed locally, e.g. the time of arrival or the total price after 
+	 * adding a PersonalOrder, keep their local value and remain marked as changed, so they are still 
+	 * written by the next attempt. Every other field is set to the value the other tablet has written. 
+	 * As the value a changed field had when it was read is not kept, a field changed by both tablets 
+	 * keeps the local value.
+	 * 
+	 * @param tableOrder 			- the tableOrder the values are merged in to
+	 * @param currentTableOrder 	- the TableOrder's row as it currently is in the database
+	 */
+	private void mergeCurrentTableOrder(TableOrder tableOrder, TableOrder currentTableOrder)
+	{
+		// The fields the guest has changed, which have not been written to the database yet
+		Set<EnumTableOrderField> pendingFields = tableOrder.getChangedFields();
+		
+		// Takes the other tablet's value of every field the guest has not changed
+		for (EnumTableOrderField field : EnumTableOrderField.values())
+		{
+			if (!pendingFields.contains(field))
+			{
+				copyField(field, currentTableOrder, tableOrder);
+			}
+		}
+		
+		// The next attempt is made against the row's current version
+		tableOrder.setRowVersion(currentTableOrder.getRowVersion());
+		
+		// Only the guest's own changes, and the change applied afterwards, should be written
+		tableOrder.clearChangedFields();
+		
+		// Marks the guest's changes as changed again by setting them to their own value
+		for (EnumTableOrderField field : pendingFields)
+		{
+			copyField(field, tableOrder, tableOrder);
+		}
+	}
+	
+	
+	/**
+	 * Sets a field of the target TableOrder to the value it has in the source TableOrder, 
+	 * which marks the field as changed in the target.
+	 * 
+	 * @param field 	- the field that should be copied
+	 * @param source 	- the TableOrder the value is read from
+	 * @param target 	- the TableOrder the value is set on
+	 */
+	private static void copyField(EnumTableOrderField field, TableOrder source, TableOrder target)
+	{
+		switch (field)
+		{
+			case TIMEOFARRIVAL:
+				target.setTimeOfArrival(source.getTimeOfArrival());
+				break;
+				
+			case ISTABLEORDERCLOSED:
+				target.setTableOrderClosed(source.isTableOrderClosed());
+				break;
+				
+			case PAYMENTTYPE:
+				target.setPaymentType(source.getPaymentType());
+				break;
+				
+			case TOTALTABLEORDERPRICE:
+				target.setTotalTableOrderPrice(source.getTotalTableOrderPrice());
+				break;
+				
+			case TOTALAMOUNTPAID:
+				target.setTotalAmountPaid(source.getTotalAmountPaid());
+				break;
+				
+			case ISSENTTOKITCHEN:
+				target.setSentToKitchen(source.isSentToKitchen());
+				break;
+				
+			case ISREQUESTINGSERVICE:
+				target.setRequestingService(source.isRequestingService());
+				break;
+				
+			case ORDERPREPARATIONTIME:
+				target.setOrderPreparationTime(source.getOrderPreparationTime());
+				break;
+		}
+	}
+	
+	
+	/**
+	 * Marks the given tableOrder as requesting service, or no longer requesting service,
+	 * and writes only that column to the database.
+	 * 
+	 * @param tableOrder 			- the tableOrder of the table pressing the service button
+	 * @param isRequestingService 	- true if the guests are requesting service, otherwise false
+	 * @throws SQLException if an SQL query execution fails
+	 * @throws DataAccessException if a database access issue occurs somewhere at the DAO level
+	 */
+	public void requestService(TableOrder tableOrder, boolean isRequestingService) throws SQLException, DataAccessException
+	{
+		// Retrieves the DAO, which is the concrete TableOrderDB class implementation unless another was supplied
+		TableOrderImpl dataAccessObject = getTableOrderDataAccessObject();
+		
+		// Changes the TableOrder, which marks the isRequestingService field as changed
+		tableOrder.setRequestingService(isRequestingService);
+		
+		// Calls upon the DAO method to write only the changed fields of the TableOrder
+		dataAccessObject.updateChangedTableOrderFields(tableOrder);
+	}
+	
+	
 	/**
 	 * returns a list of all tableOrders that have the isSentToKitchen instance variable
 	 * set to true and the isTableOrderClosed set to false
@@ -75,11 +377,45 @@ public class TableOrderController
 	 */
 	public List<TableOrder> findAllVisibleToKitchenTableOrders() throws SQLException, DataAccessException
 	{
-		// Creates an instance of the DAO interface using the concrete TableOrderDB class implementation
-		TableOrderImpl dataAccessObject = new TableOrderDB();
+		// Retrieves the DAO, which is the concrete TableOrderDB class implementation unless another was supplied
+		TableOrderImpl dataAccessObject = getTableOrderDataAccessObject();
 		
 		// Returns a list of TableOrder objects where the isSentToKitchen attribute
 		// has been set to true and the isTableOrderClosed attribute is still false
 		return dataAccessObject.findAllVisibleToKitchenTableOrders();
 	}
-}
+	
+	
+	/**
+	 * returns a KitchenTicket for every line that the kitchen should prepare, from all 
+	 * tableOrders that have the isSentToKitchen instance variable set to true and the 
+	 * isTableOrderClosed set to false
+	 * 
+	 * Used by the kitchen's order overview, as the KitchenTickets are retrieved using a single
+	 * query instead of building the complete TableOrder objects
+	 * 
+	 * @return - a list of the KitchenTickets of all tableOrders that are "sent to kitchen"
+     * @throws DataAccessException if a database access issue occurs somewhere at the DAO level
+     * @throws SQLException if an SQL query execution fails
+	 */
+	public List<KitchenTicket> findAllVisibleToKitchenTickets() throws SQLException, DataAccessException
+	{
+		// Creates an instance of the DAO interface using the concrete KitchenTicketDB class implementation
+		KitchenTicketImpl dataAccessObject = new KitchenTicketDB();
+		
+		// Records that the kitchen has started polling, for the TableOrders being sent to the kitchen
+		OrderLatencyTracer.getInstance().recordFetchStarted();
+		
+		// Retrieves a list of KitchenTicket objects from the TableOrders where the isSentToKitchen attribute
+		// has been set to true and the isTableOrderClosed attribute is still false
+		List<KitchenTicket> kitchenTickets = dataAccessObject.findAllVisibleToKitchenTickets();
+		
+		// Records the size and age of the kitchen's backlog in the OperationalMetrics
+		OperationalMetrics.getInstance().recordKitchenBacklog(kitchenTickets);
+		
+		// Records which of the TableOrders being sent to the kitchen the poll found
+		OrderLatencyTracer.getInstance().recordFetched(kitchenTickets.stream().map(KitchenTicket::getTableOrderId).collect(Collectors.toSet()));
+		
+		return kitchenTickets;
+	}
+}
\ No newline at end of file
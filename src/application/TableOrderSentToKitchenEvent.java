@@ -0,0 +1,36 @@
+// Packages
+package application;
+
+// Imports
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A Java Flight Recorder event, which is committed when a TableOrder has been sent to the
+ * kitchen, covering every attempt it took to update the TableOrder in the database.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:47
+ */
+@Name("bones.TableOrderSentToKitchen")
+@Label("Table Order Sent To Kitchen")
+@Category({"Bone's", "Order Lifecycle"})
+@Description("A TableOrder was sent to the kitchen")
+@StackTrace(false)
+class TableOrderSentToKitchenEvent extends Event
+{
+	@Label("Table Order Id")
+	int tableOrderId;
+
+	@Label("Personal Order Count")
+	int personalOrderCount;
+
+	@Label("Update Attempts")
+	int updateAttempts;
+}
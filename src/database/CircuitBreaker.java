@@ -0,0 +1,343 @@
+package database;
+
+// Imports
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+
+/**
+ * CircuitBreaker is responsible for protecting the application against a database that is
+ * unreachable or too slow to answer, by not querying it at all for a short while.
+ *
+ * While the circuit is CLOSED every operation queries the database. When FAILURE_THRESHOLD
+ * operations in a row have failed because the connection was lost, the database was too
+ * busy, or a query timed out, the circuit OPENS. While it is open every operation fails
+ * immediately with a CircuitOpenException, instead of every tablet waiting for its own
+ * timeout, and the DAO classes that can serve their last known good data do so.
+ *
+ * Once OPEN_DURATION_SECONDS have passed the circuit becomes HALF_OPEN, and the next
+ * operation is let through as a probe. If the probe succeeds the circuit closes and normal
+ * operation is restored automatically, otherwise it opens again for another period. A probe
+ * that is cancelled, or fails because of an error in the application, says nothing about the
+ * database, so the circuit stays half-open and the next operation is let through as the probe.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:47
+ */
+public class CircuitBreaker
+{
+	// The amount of operations in a row that must fail before the circuit opens
+	private static final int FAILURE_THRESHOLD = 5;
+
+	// The amount of seconds the circuit stays open before a probe is let through
+	private static final long OPEN_DURATION_SECONDS = 15;
+
+	// The SQLStates the driver reports when a query has timed out or was cancelled because of its timeout
+	private static final Set<String> TIMEOUT_SQLSTATES = Set.of("HYT00", "HY008");
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static CircuitBreaker instance;
+
+
+	/**
+	 * The states the circuit can be in.
+	 */
+	public enum State
+	{
+		// The database is queried as normal
+		CLOSED,
+
+		// The database is not queried, as it has recently been failing
+		OPEN,
+
+		// A single probe is let through to determine whether the database has recovered
+		HALF_OPEN
+	}
+
+
+	// The amount of operations in a row that must fail before the circuit opens
+	private final int failureThreshold;
+
+	// The amount of nanoseconds the circuit stays open before a probe is let through
+	private final long openDurationNanos;
+
+	// Returns the current time in nanoseconds, e.g. System::nanoTime
+	private final LongSupplier nanoClock;
+
+	// The current state of the circuit
+	private State state = State.CLOSED;
+
+	// The amount of operations in a row that have failed
+	private int consecutiveFailures;
+
+	// The nanoClock value at which the circuit last opened
+	private long openedAtNanos;
+
+	// Whether or not a probe is currently querying the database while the circuit is half-open
+	private boolean isProbeInProgress;
+
+	// - Metrics - //
+	private final AtomicLong openCount = new AtomicLong();
+	private final AtomicLong rejectedOperationCount = new AtomicLong();
+
+
+	/**
+	 * Constructor for the CircuitBreaker class, the application uses the instance returned by getInstance.
+	 *
+	 * @param failureThreshold 		- the amount of operations in a row that must fail before the circuit opens
+	 * @param openDurationMillis 	- the amount of milliseconds the circuit stays open before a probe is let through
+	 * @param nanoClock 			- returns the current time in nanoseconds, e.g. System::nanoTime
+	 */
+	public CircuitBreaker(int failureThreshold, long openDurationMillis, LongSupplier nanoClock)
+	{
+		this.failureThreshold = failureThreshold;
+		this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMillis);
+		this.nanoClock = nanoClock;
+	}
+
+
+	/**
+	 * Returns the singleton instance of CircuitBreaker.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of CircuitBreaker
+	 */
+	public static synchronized CircuitBreaker getInstance()
+	{
+		// If the instance of the CircuitBreaker object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the CircuitBreaker object and stores it within the instance variable
+			instance = new CircuitBreaker(FAILURE_THRESHOLD, TimeUnit.SECONDS.toMillis(OPEN_DURATION_SECONDS), System::nanoTime);
+		}
+
+		// Returns the instance of the CircuitBreaker object
+		return instance;
+	}
+
+
+	/**
+	 * Carries out the operation if the circuit allows it, and records whether the database answered.
+	 *
+	 * @param operation 			- the operation that should be carried out
+	 * @return the result of the operation
+	 * @throws CircuitOpenException - if the circuit is open, in which case the operation is not carried out
+	 * @throws DataAccessException 	- if the operation fails
+	 */
+	public <T> T execute(RetryExecutor.RetryableOperation<T> operation) throws DataAccessException
+	{
+		// Throws a CircuitOpenException if the database should not be queried right now
+		acquirePermission();
+
+		try
+		{
+			T result = operation.execute();
+
+			recordSuccess();
+
+			return result;
+		}
+
+		catch (DataAccessException exception)
+		{
+			// Only failures showing that the database is unreachable or too slow count towards opening the circuit,
+			// errors such as a constraint violation show that the database is answering
+			if (isDatabaseFailure(exception))
+			{
+				recordFailure();
+			}
+
+			// A query cancelled because its view was left does not say whether the database answered
+			else if (exception instanceof QueryCancelledException)
+			{
+				releaseProbe();
+			}
+
+			else
+			{
+				recordSuccess();
+			}
+
+			throw exception;
+		}
+
+		catch (RuntimeException exception)
+		{
+			// An error in the application does not say anything about the database, but must release the probe
+			releaseProbe();
+
+			throw exception;
+		}
+	}
+
+
+	/**
+	 * Determines whether an operation may query the database, and moves the circuit
+	 * from OPEN to HALF_OPEN once it has been open for long enough.
+	 *
+	 * @throws CircuitOpenException - if the operation may not query the database
+	 */
+	private synchronized void acquirePermission() throws CircuitOpenException
+	{
+		// If the circuit has been open long enough then the next operation is let through as a probe
+		if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos)
+		{
+			state = State.HALF_OPEN;
+			isProbeInProgress = false;
+		}
+
+		// If the circuit is open, or a probe is already in progress, the operation is rejected
+		if (state == State.OPEN || (state == State.HALF_OPEN && isProbeInProgress))
+		{
+			rejectedOperationCount.incrementAndGet();
+
+			throw new CircuitOpenException("The database is currently unavailable, and will be tried again shortly");
+		}
+
+		// If the circuit is half-open then this operation is the probe
+		if (state == State.HALF_OPEN)
+		{
+			isProbeInProgress = true;
+		}
+	}
+
+
+	/**
+	 * Records that the database answered, which closes the circuit.
+	 */
+	private synchronized void recordSuccess()
+	{
+		consecutiveFailures = 0;
+		isProbeInProgress = false;
+		state = State.CLOSED;
+	}
+
+
+	/**
+	 * Records that the operation ended without showing whether the database answered, which
+	 * leaves the circuit as it is, but lets the next operation through as the probe if it is half-open.
+	 */
+	private synchronized void releaseProbe()
+	{
+		isProbeInProgress = false;
+	}
+
+
+	/**
+	 * Records that the database was unreachable or too slow, which opens the circuit if the
+	 * probe failed or the threshold of failures in a row has been reached.
+	 */
+	private synchronized void recordFailure()
+	{
+		consecutiveFailures++;
+		isProbeInProgress = false;
+
+		// If the probe failed, or too many operations in a row have failed, the circuit opens
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold)
+		{
+			// Only counts the transition from closed to open, and not every failed probe
+			if (state == State.CLOSED)
+			{
+				openCount.incrementAndGet();
+
+				System.err.println("The database is unavailable, serving the last known good data for " + TimeUnit.NANOSECONDS.toSeconds(openDurationNanos) + " seconds");
+			}
+
+			state = State.OPEN;
+			openedAtNanos = nanoClock.getAsLong();
+		}
+	}
+
+
+	/**
+	 * Returns whether or not the failure shows that the database is unreachable or too slow,
+	 * i.e. that the connection was lost, the database was too busy, or the query timed out.
+	 *
+	 * @param failure the failure of the operation
+	 * @return true if the failure counts towards opening the circuit, false otherwise
+	 */
+	public static boolean isDatabaseFailure(Throwable failure)
+	{
+		// A query cancelled because its view was left is reported like a timeout, but says nothing about the database
+		if (failure instanceof QueryCancelledException)
+		{
+			return false;
+		}
+
+		return RetryExecutor.isRetryable(failure) || isTimeout(failure);
+	}
+
+
+	/**
+	 * Returns whether or not the failure means that the data could not be read from the database right now,
+	 * either because the circuit is open or because the database is unreachable or too slow.
+	 *
+	 * @param failure the failure of the operation
+	 * @return true if the last known good data may be served instead, false otherwise
+	 */
+	public static boolean isUnavailable(Throwable failure)
+	{
+		return failure instanceof CircuitOpenException || isDatabaseFailure(failure);
+	}
+
+
+	/**
+	 * Returns whether or not the failure was caused by a query that timed out.
+	 *
+	 * @param failure the failure of the operation
+	 * @return true if a query timed out, false otherwise
+	 */
+	public static boolean isTimeout(Throwable failure)
+	{
+		// Goes through every exception in the chain of causes
+		for (Throwable cause = failure; cause != null; cause = cause.getCause())
+		{
+			if (cause instanceof SQLTimeoutException || (cause instanceof SQLException && TIMEOUT_SQLSTATES.contains(((SQLException) cause).getSQLState())))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * Returns the current state of the circuit.
+	 *
+	 * @return the state
+	 */
+	public synchronized State getState()
+	{
+		return state;
+	}
+
+
+	// - Metrics - //
+
+	/**
+	 * Returns the amount of times the circuit has opened.
+	 *
+	 * @return the amount of times the circuit has opened
+	 */
+	public long getOpenCount()
+	{
+		return openCount.get();
+	}
+
+
+	/**
+	 * Returns the amount of operations that were rejected because the circuit was open.
+	 *
+	 * @return the amount of rejected operations
+	 */
+	public long getRejectedOperationCount()
+	{
+		return rejectedOperationCount.get();
+	}
+}
@@ -0,0 +1,31 @@
+// Packages
+package database;
+
+
+/**
+ * Thrown instead of querying the database while the CircuitBreaker is open, i.e. while
+ * the database has recently been unreachable or too slow to answer.
+ *
+ * As it is a DataAccessException the callers handle it like any other database error,
+ * but the DAO classes that can serve their last known good data use it to do so.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:35
+ */
+public class CircuitOpenException extends DataAccessException
+{
+	// Unique identifier of the class used by Java's serialization
+	private static final long serialVersionUID = 1L;
+
+
+	/**
+	 * Constructor for the CircuitOpenException class.
+	 *
+	 * @param message the reason the database was not queried
+	 */
+	public CircuitOpenException(String message)
+	{
+		super(message, null);
+	}
+}
@@ -15,12 +15,15 @@ import java.sql.Statement;
  * It follows a singleton pattern to ensure only one connection instance is used.
  * 
  * @author Anders Have & Christoffer Søndergaard
- * @version 08/05/2025 - 12:20
+ * @version 19/10/2026 - 10:39
  */
 public class DataBaseConnection
 {
 	// The database connection instance is initialized as null
-	private Connection connection = null;
+	private volatile Connection connection = null;
+	
+	// The number of times the connection has been re-established, which identifies the connection currently in use
+	private volatile long connectionGeneration;
 	
 	// The singleton instance of dataBaseConnection is declared
 	private static DataBaseConnection dataBaseConnection;
@@ -43,6 +46,15 @@ public class DataBaseConnection
 	// Database password
 	private static final String password = "Password1!";
 
+	// The amount of seconds to wait for the connection to be established, before giving up
+	private static final int loginTimeoutSeconds = 5;
+	
+	// The amount of seconds each statement may run, before the driver cancels it and throws an exception
+	private static final int queryTimeoutSeconds = 10;
+	
+	// The amount of milliseconds to wait for the server to answer on the socket, which guards against a connection that silently died
+	private static final int socketTimeoutMillis = 30000;
+
 	
     /**
      * Private constructor that initializes the database connection.
@@ -50,15 +62,15 @@ public class DataBaseConnection
 	private DataBaseConnection()
 	{
 		 // Constructs the full database connection string
-		String connectionString = String.format("jdbc:sqlserver://%s:%d;databaseName=%s;user=%s;password=%s;encrypt=false", serverAddress, serverPort, dataBaseName, userName, password);
+		String connectionString = createConnectionString();
 		
 		try
 		{
 			// Load the database driver class
 			Class.forName(driverClass);
 			
-			// Establishes connection to the database
-			connection = DriverManager.getConnection(connectionString);
+			// Establishes connection to the database, measuring every statement executed on it in the QueryMetrics
+			connection = QueryMetrics.getInstance().instrument(DriverManager.getConnection(connectionString));
 		}
 		
 		catch (ClassNotFoundException exception)
@@ -82,10 +94,11 @@ public class DataBaseConnection
 	
     /**
      * Retrieves the singleton instance of DataBaseConnection.
+     * Synchronized, as the EDT, the UtilityViewLoader and the UtilitySchedulerService may all ask for it at the same time.
      * 
      * @return the singleton instance of DataBaseConnection
      */
-	public static DataBaseConnection getInstance()
+	public static synchronized DataBaseConnection getInstance()
 	{
 	    // Checks if an instance of DataBaseConnection already exists
 	    if (dataBaseConnection == null) 
@@ -110,6 +123,70 @@ public class DataBaseConnection
 	}
 
 	
+	/**
+	 * Retrieves the generation of the active database connection, which changes every time the connection is re-established.
+	 * 
+	 * @return the generation of the active Connection object
+	 */
+	public long getConnectionGeneration()
+	{
+		return connectionGeneration;
+	}
+
+	
+	/**
+	 * Closes the current database connection, if it is still open, and establishes a new one, unless the
+	 * connection has already been re-established since the connection of the specified generation was lost.
+	 * Used by the RetryExecutor when the connection to the database has been lost.
+	 * 
+	 * @param failedConnectionGeneration 	- the generation of the connection that was lost
+	 * @return true if the connection was re-established, false if another thread had already re-established it
+	 * @throws SQLException if the new connection could not be established
+	 */
+	public synchronized boolean reconnect(long failedConnectionGeneration) throws SQLException
+	{
+		// If the lost connection has already been replaced then the new connection is kept, instead of being replaced again
+		if (connectionGeneration != failedConnectionGeneration)
+		{
+			return false;
+		}
+		
+		try
+		{
+			// Closes the lost connection, which releases its resources in the driver
+			if (connection != null)
+			{
+				connection.close();
+			}
+		}
+		
+		catch (SQLException exception)
+		{
+			// The connection is already lost, so failing to close it is expected and ignored
+		}
+		
+		// Establishes a new connection to the database, measuring every statement executed on it in the QueryMetrics
+		connection = QueryMetrics.getInstance().instrument(DriverManager.getConnection(createConnectionString()));
+		connectionGeneration++;
+		
+		return true;
+	}
+	
+	
+	/**
+	 * Constructs the full database connection string.
+	 * 
+	 * @return the connection string
+	 */
+	private static String createConnectionString()
+	{
+		// The timeouts make every call fail within a bounded time when the database is slow or unreachable, instead of hanging,
+		// which lets the CircuitBreaker open. The password is kept last, as it is cut off when the string is printed.
+		return String.format("jdbc:sqlserver://%s:%d;databaseName=%s;loginTimeout=%d;queryTimeout=%d;socketTimeout=%d;encrypt=false;user=%s;password=%s",
+				serverAddress, serverPort, dataBaseName, loginTimeoutSeconds, queryTimeoutSeconds, socketTimeoutMillis, userName, password);
+	}
+
+	
 	 /**
      * Closes the current database connection.
      */
@@ -176,13 +253,14 @@ public class DataBaseConnection
 			if (generatedKey > 0)
 			{
 				// Retrieves the generated keys from the executed statement
-				ResultSet resultSet = preparedStatement.getGeneratedKeys();
+				try (ResultSet resultSet = preparedStatement.getGeneratedKeys())
+				{
+					// Moves the cursor to the first row of the result set
+					resultSet.next();
 				
-				// Moves the cursor to the first row of the result set
-				resultSet.next();
-				
-				// Extracts the generated key from the first column, commonly this is the auto-incremented ID
-				generatedKey = resultSet.getInt(1);
+					// Extracts the generated key from the first column, commonly this is the auto-incremented ID
+					generatedKey = resultSet.getInt(1);
+				}
 			}
 		}
 		
@@ -225,13 +303,14 @@ public class DataBaseConnection
 			if (generatedKey > 0)
 			{
 				// Retrieves the generated keys from the executed statement
-				ResultSet resultSet = statement.getGeneratedKeys();
-				
-				// Moves the cursor to the first row of the result set
-				resultSet.next();
+				try (ResultSet resultSet = statement.getGeneratedKeys())
+				{
+					// Moves the cursor to the first row of the result set
+					resultSet.next();
 	            
-				// Extracts the generated key (usually the auto-incremented ID) from the first column
-				generatedKey = resultSet.getInt(1);
+					// Extracts the generated key (usually the auto-incremented ID) from the first column
+					generatedKey = resultSet.getInt(1);
+				}
 			}
 
 		}
@@ -0,0 +1,245 @@
+package database;
+
+// Imports
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+
+/**
+ * InstrumentedConnection wraps the shared JDBC connection, so the execution of every statement
+ * prepared on it is recorded in the QueryMetrics, without changing the DAO classes.
+ *
+ * The connection, its statements and the result sets of the statements are wrapped in dynamic
+ * proxies, which pass every call on to the driver's objects. Only the calls executing a statement
+ * are timed, and only the calls moving to the next row of a result set are counted, so the
+ * remaining calls cost no more than an extra method call.
+ *
+ * Every execution is also counted in the OperationContext of the user action in progress, and
+ * every statement and result set is registered with the JdbcResourceTracker until it is closed.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:56
+ */
+final class InstrumentedConnection
+{
+	// The methods of a Connection creating a statement, whose first argument is the SQL if it has any
+	private static final Set<String> STATEMENT_FACTORY_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+	// The methods of a Statement executing it
+	private static final Set<String> EXECUTE_METHODS = Set.of("executeQuery", "executeUpdate", "executeLargeUpdate", "execute", "executeBatch", "executeLargeBatch");
+
+	// The methods of a Statement returning a result set without executing it
+	private static final Set<String> RESULT_SET_METHODS = Set.of("getGeneratedKeys", "getResultSet");
+
+
+	/**
+	 * Private constructor as this class only contains static utility methods.
+	 */
+	private InstrumentedConnection()
+	{
+	}
+
+
+	/**
+	 * Wraps the connection, so the statements created by it are measured.
+	 *
+	 * @param connection 	- the connection to the database
+	 * @param queryMetrics 	- the metrics the executions are recorded in
+	 * @return the instrumented connection
+	 */
+	static Connection wrap(Connection connection, QueryMetrics queryMetrics)
+	{
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, arguments) ->
+		{
+			Object result = invoke(connection, method, arguments);
+
+			// Statements are wrapped, so their executions are measured
+			if (STATEMENT_FACTORY_METHODS.contains(method.getName()) && result instanceof Statement)
+			{
+				// The SQL of a prepared statement is known now, the SQL of a plain statement is passed when it is executed
+				String sql = arguments != null && arguments.length > 0 && arguments[0] instanceof String ? (String) arguments[0] : null;
+
+				return wrapStatement((Statement) result, method.getReturnType(), sql, queryMetrics);
+			}
+
+			return result;
+		});
+	}
+
+
+	/**
+	 * Wraps the statement, so its executions are recorded in the statistics of its SQL.
+	 *
+	 * @param statement 		- the statement created by the driver
+	 * @param statementType 	- the interface of the statement, e.g. PreparedStatement
+	 * @param preparedSql 		- the SQL the statement was prepared with, or null for a plain statement
+	 * @param queryMetrics 		- the metrics the executions are recorded in
+	 * @return the instrumented statement
+	 */
+	private static Object wrapStatement(Statement statement, Class<?> statementType, String preparedSql, QueryMetrics queryMetrics)
+	{
+		// The statistics of a prepared statement are looked up once, instead of on every execution
+		QueryStatistics preparedStatistics = preparedSql == null ? null : queryMetrics.statisticsForSql(preparedSql);
+
+		// The statement must be closed before the operation creating it ends
+		JdbcResourceTracker.getInstance().track(statement);
+
+		InvocationHandler statementHandler = (proxy, method, arguments) ->
+		{
+			// A statement that is closed no longer has to be tracked
+			if (method.getName().equals("close"))
+			{
+				JdbcResourceTracker.getInstance().untrack(statement);
+			}
+
+			// The result sets returned without executing the statement, e.g. the generated keys, are tracked as well
+			if (RESULT_SET_METHODS.contains(method.getName()))
+			{
+				Object result = invoke(statement, method, arguments);
+
+				return result instanceof ResultSet ? wrapResultSet((ResultSet) result, null) : result;
+			}
+
+			// Every call other than the executions is simply passed on
+			if (!EXECUTE_METHODS.contains(method.getName()))
+			{
+				return invoke(statement, method, arguments);
+			}
+
+			// A plain statement is executed with its SQL, whereas a prepared statement already has its statistics
+			QueryStatistics statistics = preparedStatistics;
+
+			if (arguments != null && arguments.length > 0 && arguments[0] instanceof String)
+			{
+				statistics = queryMetrics.statisticsForSql((String) arguments[0]);
+			}
+
+			// A statement without SQL, e.g. a batch of a plain statement, is not measured
+			if (statistics == null)
+			{
+				return invoke(statement, method, arguments);
+			}
+
+			// Counts the statement as part of the user action in progress, to detect N+1 queries
+			OperationContext.recordStatement(statistics.getQueryName());
+
+			long startNanos = System.nanoTime();
+
+			try
+			{
+				Object result = invoke(statement, method, arguments);
+
+				statistics.recordExecution(System.nanoTime() - startNanos, false);
+
+				return recordResult(result, statistics);
+			}
+
+			catch (SQLException exception)
+			{
+				statistics.recordExecution(System.nanoTime() - startNanos, true);
+
+				throw exception;
+			}
+		};
+
+		return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { statementType }, statementHandler);
+	}
+
+
+	/**
+	 * Records the rows changed by an update, and wraps the result set of a query so its rows are counted as they are read.
+	 *
+	 * @param result 		- the result of the execution
+	 * @param statistics 	- the statistics of the statement
+	 * @return the result, or the wrapped result set
+	 */
+	private static Object recordResult(Object result, QueryStatistics statistics)
+	{
+		// The rows of a query are counted as they are read by the DAO class
+		if (result instanceof ResultSet)
+		{
+			return wrapResultSet((ResultSet) result, statistics);
+		}
+
+		// The rows changed by an update
+		if (result instanceof Integer || result instanceof Long)
+		{
+			statistics.recordRows(Math.max(0, ((Number) result).longValue()));
+		}
+
+		// The rows changed by each statement of a batch
+		else if (result instanceof int[])
+		{
+			for (int rows : (int[]) result)
+			{
+				statistics.recordRows(Math.max(0, rows));
+			}
+		}
+
+		return result;
+	}
+
+
+	/**
+	 * Wraps the result set, so its rows are counted as they are read, and it is tracked until it is closed.
+	 *
+	 * @param resultSet 	- the result set returned by the driver
+	 * @param statistics 	- the statistics of the statement, or null if the rows should not be counted
+	 * @return the wrapped result set
+	 */
+	private static ResultSet wrapResultSet(ResultSet resultSet, QueryStatistics statistics)
+	{
+		// The result set must be closed before the operation creating it ends
+		JdbcResourceTracker.getInstance().track(resultSet);
+
+		return (ResultSet) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { ResultSet.class }, (proxy, method, arguments) ->
+		{
+			// A result set that is closed no longer has to be tracked
+			if (method.getName().equals("close"))
+			{
+				JdbcResourceTracker.getInstance().untrack(resultSet);
+			}
+
+			Object value = invoke(resultSet, method, arguments);
+
+			// Every call to next which moves to a row counts that row
+			if (statistics != null && method.getName().equals("next") && Boolean.TRUE.equals(value))
+			{
+				statistics.recordRows(1);
+			}
+
+			return value;
+		});
+	}
+
+
+	/**
+	 * Calls the method on the driver's object, and throws the exception thrown by the driver rather than a reflection exception.
+	 *
+	 * @param target 		- the driver's object
+	 * @param method 		- the method that was called on the proxy
+	 * @param arguments 	- the arguments of the call
+	 * @return the result of the call
+	 * @throws Throwable 	- the exception thrown by the driver
+	 */
+	private static Object invoke(Object target, Method method, Object[] arguments) throws Throwable
+	{
+		try
+		{
+			return method.invoke(target, arguments);
+		}
+
+		catch (InvocationTargetException exception)
+		{
+			throw exception.getCause();
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package database;
+
+// Imports
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.microsoft.sqlserver.jdbc.ISQLServerConnection;
+
+
+/**
+ * IsolationPolicy is a singleton class that decides which isolation level the DAO classes
+ * use for their reads and writes, based on the row versioning enabled in the database.
+ *
+ * The database is set up with READ_COMMITTED_SNAPSHOT, so statements run at READ COMMITTED
+ * read the last committed version of a row instead of waiting for the locks of a writer,
+ * and writers no longer wait for readers. Single statements therefore never block and never
+ * see uncommitted changes, which is why the DAO classes no longer use READ UNCOMMITTED.
+ *
+ * Reads consisting of several statements, e.g. the kitchen reading TableOrders followed by
+ * their PersonalOrders and lines, are run at SNAPSHOT isolation, so every statement sees the
+ * database as it was when the first statement ran, and never a PersonalOrder whose lines are
+ * committed by a guest halfway through the read.
+ *
+ * If the database has not been set up with ALLOW_SNAPSHOT_ISOLATION, the policy falls back to
+ * READ COMMITTED for these reads, rather than failing every read with SQL Server error 3952.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:56
+ */
+public class IsolationPolicy
+{
+	// SQL Server's SNAPSHOT isolation level, which is not one of the levels defined by java.sql.Connection
+	public static final int TRANSACTION_SNAPSHOT = ISQLServerConnection.TRANSACTION_SNAPSHOT;
+
+	// Selects the row versioning settings of the database the connection is using
+	private static final String FIND_ROW_VERSIONING_SETTINGS_QUERY = "SELECT is_read_committed_snapshot_on, snapshot_isolation_state FROM sys.databases WHERE name = DB_NAME()";
+
+	// The snapshot_isolation_state of a database where SNAPSHOT isolation is allowed
+	private static final int SNAPSHOT_ISOLATION_STATE_ON = 1;
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static IsolationPolicy instance;
+
+	// Whether or not the database's row versioning settings have been retrieved
+	private boolean isDetected = false;
+
+	// Whether or not READ COMMITTED reads the last committed version of a row instead of waiting for locks
+	private boolean isReadCommittedSnapshotOn = false;
+
+	// Whether or not transactions may run at SNAPSHOT isolation
+	private boolean isSnapshotIsolationAllowed = false;
+
+
+	/**
+	 * Private constructor as this is using a singleton pattern.
+	 */
+	private IsolationPolicy()
+	{
+
+	}
+
+
+	/**
+	 * Returns the singleton instance of IsolationPolicy.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of IsolationPolicy
+	 */
+	public static synchronized IsolationPolicy getInstance()
+	{
+		// If the instance of the IsolationPolicy object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the IsolationPolicy object and stores it within the instance variable
+			instance = new IsolationPolicy();
+		}
+
+		// Returns the instance of the IsolationPolicy object
+		return instance;
+	}
+
+
+	/**
+	 * Returns the isolation level used by reads consisting of a single statement.
+	 *
+	 * With READ_COMMITTED_SNAPSHOT enabled this level reads the last committed version of
+	 * each row, without waiting for the guests' writes.
+	 *
+	 * @return the isolation level, as defined by java.sql.Connection
+	 */
+	public int getReadIsolationLevel()
+	{
+		return Connection.TRANSACTION_READ_COMMITTED;
+	}
+
+
+	/**
+	 * Returns the isolation level used by reads consisting of several statements, which must
+	 * all see the same committed state of the database.
+	 *
+	 * @return SNAPSHOT if the database allows it, otherwise READ COMMITTED
+	 */
+	public synchronized int getConsistentReadIsolationLevel()
+	{
+		// Retrieves the database's settings the first time they are needed
+		detectRowVersioningSettings();
+
+		// If the database allows SNAPSHOT isolation then it is used
+		if (isSnapshotIsolationAllowed)
+		{
+			return TRANSACTION_SNAPSHOT;
+		}
+
+		return Connection.TRANSACTION_READ_COMMITTED;
+	}
+
+
+	/**
+	 * Returns the isolation level used by writes consisting of several statements.
+	 *
+	 * Writes are not run at SNAPSHOT isolation, as SQL Server aborts a SNAPSHOT transaction
+	 * that updates a row changed by another tablet since the transaction began (error 3960),
+	 * whereas the rowVersion of the TableOrder already detects such conflicts.
+	 *
+	 * @return the isolation level, as defined by java.sql.Connection
+	 */
+	public int getWriteIsolationLevel()
+	{
+		return Connection.TRANSACTION_READ_COMMITTED;
+	}
+
+
+	/**
+	 * Returns whether or not READ COMMITTED reads the last committed version of a row
+	 * in the database, instead of waiting for the locks of writers.
+	 *
+	 * @return true if READ_COMMITTED_SNAPSHOT is enabled, false otherwise
+	 */
+	public synchronized boolean isReadCommittedSnapshotOn()
+	{
+		// Retrieves the database's settings the first time they are needed
+		detectRowVersioningSettings();
+
+		return isReadCommittedSnapshotOn;
+	}
+
+
+	/**
+	 * Retrieves the row versioning settings of the database, unless they have already been retrieved.
+	 *
+	 * If they can not be retrieved then both settings are assumed to be disabled, and a warning is
+	 * printed once, as the reads can still be made at READ COMMITTED.
+	 */
+	private void detectRowVersioningSettings()
+	{
+		// Retrieves the shared connection, which is null if it could not be established
+		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
+
+		// If the settings have already been retrieved, or there is no connection to retrieve them on, then there is nothing to do
+		if (isDetected || databaseConnection == null)
+		{
+			return;
+		}
+
+		isDetected = true;
+
+		try
+		{
+			// Prepares and executes the query on the shared connection
+			try (PreparedStatement statementFindRowVersioningSettings = databaseConnection.prepareStatement(FIND_ROW_VERSIONING_SETTINGS_QUERY);
+					ResultSet resultSet = statementFindRowVersioningSettings.executeQuery())
+			{
+				// If the database was found then its settings are stored
+				if (resultSet.next())
+				{
+					isReadCommittedSnapshotOn = resultSet.getBoolean("is_read_committed_snapshot_on");
+					isSnapshotIsolationAllowed = resultSet.getInt("snapshot_isolation_state") == SNAPSHOT_ISOLATION_STATE_ON;
+				}
+			}
+		}
+
+		catch (SQLException exception)
+		{
+			// The reads fall back to READ COMMITTED, so the application can still be used
+			System.err.println("Unable to retrieve the row versioning settings of the database, reads will use READ COMMITTED: " + exception.getMessage());
+		}
+
+		// Warns once if the database has not been set up as described in sqlscripts/setup.sql
+		if (!isReadCommittedSnapshotOn || !isSnapshotIsolationAllowed)
+		{
+			System.err.println("The database does not have READ_COMMITTED_SNAPSHOT and ALLOW_SNAPSHOT_ISOLATION enabled, reads may wait for writes");
+		}
+	}
+}
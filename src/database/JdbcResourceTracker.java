@@ -0,0 +1,301 @@
+package database;
+
+// Imports
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * JdbcResourceTracker is a singleton class that keeps track of the statements and result sets
+ * created on the shared connection, so none of them outlive the database operation that created them.
+ *
+ * Every operation carried out by the TransactionTemplate opens a Scope. The InstrumentedConnection
+ * registers each statement and result set created during the operation in the Scope, together with
+ * the line of the DAO class that created it, and removes it again once it is closed. When the
+ * operation ends, any statement or result set that is still open has been leaked, which would hold
+ * on to a cursor on the database server and memory in the driver until the end of the shift.
+ * The leak is printed once for each line creating such resources, and the resource is closed.
+ *
+ * Statements and result sets created outside of an operation, e.g. while the application starts,
+ * are not tracked.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:56
+ */
+public class JdbcResourceTracker
+{
+	// The Scope of the operation in progress on each thread
+	private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+	// Used to find the line of the DAO class creating a resource, without capturing the whole stack
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static JdbcResourceTracker instance;
+
+	// The lines creating resources that have been leaked, so each of them is only printed once
+	private final Set<String> reportedAllocationSites = ConcurrentHashMap.newKeySet();
+
+	// The amount of resources that have been tracked
+	private final LongAdder trackedResourceCount = new LongAdder();
+
+	// The amount of resources that were still open when their operation ended
+	private final LongAdder leakedResourceCount = new LongAdder();
+
+
+	/**
+	 * The resources created during one database operation, which are closed when the Scope is closed.
+	 */
+	public final class Scope implements AutoCloseable
+	{
+		// The Scope of the operation this operation is carried out within, or null if there is none
+		private final Scope parentScope;
+
+		// The open resources, stored in the order they were created, with the line that created them
+		private final Map<AutoCloseable, String> openResources = new LinkedHashMap<>();
+
+
+		private Scope(Scope parentScope)
+		{
+			this.parentScope = parentScope;
+		}
+
+
+		/**
+		 * Ends the operation, closing and reporting every resource it left open.
+		 */
+		@Override
+		public void close()
+		{
+			// The enclosing operation becomes the current one again
+			if (parentScope == null)
+			{
+				CURRENT_SCOPE.remove();
+			}
+
+			else
+			{
+				CURRENT_SCOPE.set(parentScope);
+			}
+
+			closeLeakedResources(this);
+		}
+	}
+
+
+	/**
+	 * Private constructor as this is using a singleton pattern.
+	 */
+	private JdbcResourceTracker()
+	{
+
+	}
+
+
+	/**
+	 * Returns the singleton instance of JdbcResourceTracker.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of JdbcResourceTracker
+	 */
+	public static synchronized JdbcResourceTracker getInstance()
+	{
+		// If the instance of the JdbcResourceTracker object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the JdbcResourceTracker object and stores it within the instance variable
+			instance = new JdbcResourceTracker();
+		}
+
+		// Returns the instance of the JdbcResourceTracker object
+		return instance;
+	}
+
+
+	/**
+	 * Starts tracking the resources created by the current thread, until the returned Scope is closed.
+	 *
+	 * @return the Scope, which should be closed by a try-with-resources statement
+	 */
+	public Scope openScope()
+	{
+		Scope scope = new Scope(CURRENT_SCOPE.get());
+
+		CURRENT_SCOPE.set(scope);
+
+		return scope;
+	}
+
+
+	/**
+	 * Registers a statement or result set that has just been created, if an operation is in progress.
+	 *
+	 * @param resource 	- the driver's statement or result set
+	 */
+	void track(AutoCloseable resource)
+	{
+		Scope scope = CURRENT_SCOPE.get();
+
+		// Resources created outside of an operation are not tracked
+		if (scope == null)
+		{
+			return;
+		}
+
+		scope.openResources.put(resource, findAllocationSite());
+		trackedResourceCount.increment();
+	}
+
+
+	/**
+	 * Removes a statement or result set that is being closed.
+	 *
+	 * @param resource 	- the driver's statement or result set
+	 */
+	void untrack(AutoCloseable resource)
+	{
+		// The resource may have been created by an enclosing operation
+		for (Scope scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parentScope)
+		{
+			if (scope.openResources.remove(resource) != null)
+			{
+				return;
+			}
+		}
+	}
+
+
+	/**
+	 * Closes the resources a Scope left open, printing the line that created each of them the first time it leaks.
+	 *
+	 * @param scope 	- the Scope that has been closed
+	 */
+	private void closeLeakedResources(Scope scope)
+	{
+		// The resources are closed in the reverse order of their creation, so a result set is reported before its statement closes it
+		List<Map.Entry<AutoCloseable, String>> resources = new ArrayList<>(scope.openResources.entrySet());
+
+		for (int index = resources.size() - 1; index >= 0; index--)
+		{
+			AutoCloseable resource = resources.get(index).getKey();
+			String allocationSite = resources.get(index).getValue();
+
+			try
+			{
+				// A result set is also closed when its statement is executed again or closed, which is not a leak
+				if (isClosed(resource))
+				{
+					continue;
+				}
+
+				leakedResourceCount.increment();
+
+				if (reportedAllocationSites.add(allocationSite))
+				{
+					System.err.println("A JDBC " + describe(resource) + " created at " + allocationSite
+							+ " was not closed by the end of its database operation, and has been closed");
+				}
+
+				resource.close();
+			}
+
+			catch (Exception exception)
+			{
+				// The resource can not be used any more either way, e.g. because the connection has been lost
+				System.err.println("Unable to close a leaked JDBC " + describe(resource) + ": " + exception.getMessage());
+			}
+		}
+
+		scope.openResources.clear();
+	}
+
+
+	/**
+	 * Returns whether or not the statement or result set has already been closed.
+	 *
+	 * @param resource 	- the driver's statement or result set
+	 * @return true if it is closed, false otherwise
+	 * @throws SQLException - if the driver can not tell
+	 */
+	private static boolean isClosed(AutoCloseable resource) throws SQLException
+	{
+		if (resource instanceof ResultSet)
+		{
+			return ((ResultSet) resource).isClosed();
+		}
+
+		return resource instanceof Statement && ((Statement) resource).isClosed();
+	}
+
+
+	/**
+	 * Returns the kind of resource, as it is named in the report of a leak.
+	 *
+	 * @param resource 	- the driver's statement or result set
+	 * @return ResultSet or Statement
+	 */
+	private static String describe(AutoCloseable resource)
+	{
+		return resource instanceof ResultSet ? "ResultSet" : "Statement";
+	}
+
+
+	/**
+	 * Returns the first line of the stack that is not part of the JDBC instrumentation, i.e. the line of the
+	 * DAO class that created the resource.
+	 *
+	 * @return the line, e.g. database.TableDB.lambda$findTableByCode$0(TableDB.java:71)
+	 */
+	private static String findAllocationSite()
+	{
+		return STACK_WALKER.walk(frames -> frames
+				.filter(frame -> !isInstrumentationFrame(frame.getClassName()))
+				.findFirst()
+				.map(frame -> frame.toStackTraceElement().toString())
+				.orElse("an unknown location"));
+	}
+
+
+	/**
+	 * Returns whether or not the class is part of the JDBC instrumentation, or of the JDK's proxies and reflection.
+	 *
+	 * @param className 	- the name of the class of a stack frame
+	 * @return true if the frame should be skipped, false otherwise
+	 */
+	private static boolean isInstrumentationFrame(String className)
+	{
+		return className.startsWith(JdbcResourceTracker.class.getName()) || className.startsWith(InstrumentedConnection.class.getName())
+				|| className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.") || className.startsWith("com.sun.proxy");
+	}
+
+
+	/**
+	 * Returns the amount of statements and result sets that have been tracked.
+	 *
+	 * @return the amount of tracked resources
+	 */
+	public long getTrackedResourceCount()
+	{
+		return trackedResourceCount.sum();
+	}
+
+
+	/**
+	 * Returns the amount of statements and result sets that were still open when their operation ended.
+	 *
+	 * @return the amount of leaked resources
+	 */
+	public long getLeakedResourceCount()
+	{
+		return leakedResourceCount.sum();
+	}
+}
@@ -0,0 +1,134 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.KitchenTicket;
+
+/**
+ * This class is responsible for retrieving the KitchenTicket projections
+ * shown on the kitchen's order overview from the database.
+ * 
+ * Instead of building the full TableOrder, PersonalOrder, PersonalOrderLine and
+ * MenuItem objects through a query per object, every KitchenTicket is retrieved
+ * using one single query, which only selects the columns the kitchen needs.
+ * The query is backed by covering indexes defined in setup.sql.
+ * 
+ * It implements the KitchenTicketImpl, meaning it implements its methods
+ * 
+ * @author Anders Have
+ * @version 19/10/2026 - 09:56
+ */
+public class KitchenTicketDB implements KitchenTicketImpl
+{
+	// Selects the lines the kitchen should prepare from every TableOrder where isSentToKitchen = true and isTableOrderClosed = false
+	// - The PersonalOrders are left joined so customers without any items for the kitchen are still shown
+	// - The PersonalOrderLines and MenuItems are joined together first, so only the lines made by the kitchen staff are included
+	private static final String FIND_VISIBLE_TO_KITCHEN_TICKETS_QUERY = 
+			"SELECT tableOrder.tableOrderId, tableOrder.timeOfArrival, personalOrder.personalOrderId, personalOrder.customerName, "
+			+ "personalOrderLine.personalOrderLineId, menuItem.[name] AS menuItemName, personalOrderLine.notes "
+			+ "FROM TableOrder tableOrder "
+			+ "LEFT JOIN PersonalOrder personalOrder ON personalOrder.tableOrderId = tableOrder.tableOrderId "
+			+ "LEFT JOIN (PersonalOrderLine personalOrderLine "
+			+ "INNER JOIN MenuItem menuItem ON menuItem.menuItemId = personalOrderLine.menuItemId AND menuItem.isMadeByKitchenStaff = 1) "
+			+ "ON personalOrderLine.personalOrderId = personalOrder.personalOrderId "
+			+ "WHERE tableOrder.isSentToKitchen = 1 AND tableOrder.isTableOrderClosed = 0 "
+			+ "ORDER BY tableOrder.tableOrderId, personalOrder.personalOrderId, personalOrderLine.personalOrderLineId";
+	
+	// The key the last KitchenTickets that were read are remembered under in the LastKnownGoodCache
+	private static final String VISIBLE_TO_KITCHEN_TICKETS_READ_KEY = "KitchenTicketDB.findAllVisibleToKitchenTickets";
+	
+	
+	public KitchenTicketDB() throws SQLException
+	{
+		
+	}
+	
+	
+	/**
+	 * Method gets a KitchenTicket for every line the kitchen should prepare, from every 
+	 * TableOrder that has been sent to the kitchen and has not been closed yet.
+	 * 
+	 * @return kitchenTickets 		- A List containing the KitchenTickets of every visible TableOrder
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	@Override
+	public List<KitchenTicket> findAllVisibleToKitchenTickets() throws DataAccessException, SQLException
+	{
+		// The kitchen overview polls this query every few seconds. As it is a single SELECT statement
+		// it is run in auto-commit mode at the default isolation level, instead of as an explicit transaction
+		// If the database is unavailable the kitchen keeps seeing the last KitchenTickets that were read
+		return LastKnownGoodCache.getInstance().load(VISIBLE_TO_KITCHEN_TICKETS_READ_KEY, () -> TransactionTemplate.executeReadOnly(databaseConnection ->
+		{
+			// Prepares a SQL statement to find the KitchenTickets of all the TableOrders visible to the kitchen staff
+			// The statement and its result set are closed once the KitchenTickets have been built
+			try (PreparedStatement statementFindVisibleToKitchenTickets = databaseConnection.prepareStatement(FIND_VISIBLE_TO_KITCHEN_TICKETS_QUERY);
+					ResultSet resultSet = statementFindVisibleToKitchenTickets.executeQuery())
+			{
+				// Converts the result set into a list of KitchenTicket objects and returns it
+				return buildKitchenTicketObjects(resultSet);
+			}
+		}, "Unable to find the KitchenTickets in the database"));
+	}
+	
+	
+	/**
+     * Converts a result set into a list of KitchenTicket objects.
+     * 
+     * @param resultSet 			- the result set containing the KitchenTicket rows
+     * @return kitchenTickets  		- a list of KitchenTicket objects
+	 * @throws SQLException			- if a SQL operation fails
+     */
+	private List<KitchenTicket> buildKitchenTicketObjects(ResultSet resultSet) throws SQLException
+	{
+		// Creates an empty list to store KitchenTicket objects within
+		List<KitchenTicket> kitchenTickets = new ArrayList<>();
+
+		// Iterates through the result set while there are still more rows in the database's table
+		while (resultSet.next())
+		{
+			// Converts each row into a KitchenTicket object and add it to the list
+			kitchenTickets.add(buildKitchenTicketObject(resultSet));
+		}
+
+		// Returns the populated list of KitchenTicket objects
+		return kitchenTickets;
+	}
+	
+	
+	/**
+     * Builds a KitchenTicket object from the current row of the result set.
+     * 
+     * The columns of the PersonalOrder and PersonalOrderLine are null when the TableOrder
+     * has no PersonalOrders, or the PersonalOrder has nothing for the kitchen, in which 
+     * case getInt returns 0 and getString returns null.
+     * 
+     * @param resultSet 			- the result set positioned at the row to convert
+     * @return kitchenTicket  		- the KitchenTicket object with the extracted data
+	 * @throws SQLException			- if a SQL operation fails
+     */
+	private KitchenTicket buildKitchenTicketObject(ResultSet resultSet) throws SQLException
+	{
+		// Retrieves the timeOfArrival from the current row in the result set 
+		Timestamp timeOfArrivalTimeStamp = resultSet.getTimestamp("timeOfArrival");
+
+		// Converts the SQL Timestamp to a LocalDateTime, if the timeOfArrival has been set
+		LocalDateTime timeOfArrival = timeOfArrivalTimeStamp != null ? timeOfArrivalTimeStamp.toLocalDateTime() : null;
+		
+		// Creates a KitchenTicket object with the data that was retrieved from the database
+		return new KitchenTicket(
+				resultSet.getInt("tableOrderId"),
+				timeOfArrival,
+				resultSet.getInt("personalOrderId"),
+				resultSet.getString("customerName"),
+				resultSet.getInt("personalOrderLineId"),
+				resultSet.getString("menuItemName"),
+				resultSet.getString("notes"));
+	}
+}
@@ -0,0 +1,36 @@
+package database;
+
+//Imports
+import java.sql.SQLException;
+import java.util.List;
+
+import model.KitchenTicket;
+
+
+/**
+ * An interface that defines a contract for accessing KitchenTicketDB,
+ * specifically for retrieving the lines shown on the kitchen's order overview.
+ * 
+ * This interface is part of the DAO (Data Access Object) design pattern and specifies the methods
+ * required to retrieve data from the underlying data source.
+ * 
+ * The KitchenTickets are read-only, and the interface therefore only contains finder methods.
+ * 
+ * 
+ * @author Anders Have
+ * @version 19/10/2026 - 09:15
+ */
+public interface KitchenTicketImpl
+{
+	/**
+	 * Method gets a KitchenTicket for every line the kitchen should prepare, from every 
+	 * TableOrder that has been sent to the kitchen and has not been closed yet.
+	 * 
+	 * The KitchenTickets are sorted by TableOrder, PersonalOrder and PersonalOrderLine.
+	 * 
+	 * @return KitchenTicket list 	- A List containing the KitchenTickets of every visible TableOrder
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	List<KitchenTicket> findAllVisibleToKitchenTickets() throws DataAccessException, SQLException;
+}
@@ -0,0 +1,145 @@
+package database;
+
+// Imports
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * LastKnownGoodCache is a singleton class that remembers the latest result of the reads that
+ * the restaurant must be able to keep showing when the database is unavailable, i.e. the
+ * kitchen's order overview and the guests' menu cards.
+ *
+ * Every successful read replaces the remembered result. If a read fails because the
+ * CircuitBreaker is open, or because the database is unreachable or too slow, the remembered
+ * result is returned instead of the failure, so the kitchen and the guests keep seeing the
+ * last data that was read, until the database has recovered.
+ *
+ * Reads that fail for any other reason, or that have never succeeded, still fail.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:35
+ */
+public class LastKnownGoodCache
+{
+	// Used by the class for the singleton pattern that it utilizes
+	private static LastKnownGoodCache instance;
+
+	// The latest successful result of each read, stored by the key of the read
+	private final Map<String, List<?>> lastKnownGoodResults = new ConcurrentHashMap<>();
+
+	// The amount of reads that have been served from the cache
+	private final AtomicLong degradedReadCount = new AtomicLong();
+
+
+	/**
+	 * The read carried out against the database, typically a query made by a DAO class.
+	 *
+	 * @param <T> the type of the elements of the read list
+	 */
+	@FunctionalInterface
+	interface ListLoader<T>
+	{
+		/**
+		 * Reads the list from the database.
+		 *
+		 * @return the read list
+		 * @throws DataAccessException 	- if the read fails
+		 */
+		List<T> load() throws DataAccessException;
+	}
+
+
+	/**
+	 * Private constructor as this is using a singleton pattern.
+	 */
+	private LastKnownGoodCache()
+	{
+
+	}
+
+
+	/**
+	 * Returns the singleton instance of LastKnownGoodCache.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of LastKnownGoodCache
+	 */
+	public static synchronized LastKnownGoodCache getInstance()
+	{
+		// If the instance of the LastKnownGoodCache object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the LastKnownGoodCache object and stores it within the instance variable
+			instance = new LastKnownGoodCache();
+		}
+
+		// Returns the instance of the LastKnownGoodCache object
+		return instance;
+	}
+
+
+	/**
+	 * Reads the list from the database, and remembers it as the last known good result of the read.
+	 * If the database is unavailable the last known good result is returned instead.
+	 *
+	 * @param readKey 				- the key identifying the read, including its parameters
+	 * @param listLoader 			- reads the list from the database
+	 * @return the read list, or a copy of the last known good result if the database is unavailable
+	 * @throws DataAccessException 	- if the read fails and no result can be served instead
+	 */
+	@SuppressWarnings("unchecked")
+	<T> List<T> load(String readKey, ListLoader<T> listLoader) throws DataAccessException
+	{
+		try
+		{
+			List<T> result = listLoader.load();
+
+			// Remembers an unmodifiable copy, so later changes to the returned list do not change the cached result
+			lastKnownGoodResults.put(readKey, List.copyOf(result));
+
+			return result;
+		}
+
+		catch (DataAccessException exception)
+		{
+			// Retrieves the last known good result of the read
+			List<T> lastKnownGoodResult = (List<T>) lastKnownGoodResults.get(readKey);
+
+			// If the database is not unavailable, or the read has never succeeded, the read fails
+			if (!CircuitBreaker.isUnavailable(exception) || lastKnownGoodResult == null)
+			{
+				throw exception;
+			}
+
+			degradedReadCount.incrementAndGet();
+
+			// Returns a modifiable copy, like the DAO classes would have
+			return new ArrayList<>(lastKnownGoodResult);
+		}
+	}
+
+
+	/**
+	 * Forgets every remembered result.
+	 */
+	public void invalidateAll()
+	{
+		lastKnownGoodResults.clear();
+	}
+
+
+	/**
+	 * Returns the amount of reads that have been served from the cache because the database was unavailable.
+	 *
+	 * @return the amount of degraded reads
+	 */
+	public long getDegradedReadCount()
+	{
+		return degradedReadCount.get();
+	}
+}
@@ -0,0 +1,201 @@
+package database;
+
+// Imports
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * LatencyHistogram records how long an operation took, in the same way as a high dynamic range
+ * histogram: every range between two powers of two, i.e. 16 to 32, 32 to 64, 64 to 128 ... microseconds,
+ * is split in to 16 buckets of equal width, so any latency from a microsecond up to several days is
+ * recorded with an error of at most 1/16, while only using a fixed array of counters.
+ *
+ * Recording a latency only increments atomic counters and never takes a lock, so the
+ * threads executing queries never wait for each other or for a thread reading the histogram.
+ * The percentiles are approximations, reported as the upper bound of the bucket they fall in.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:49
+ */
+public class LatencyHistogram
+{
+	// The amount of bits used to tell the buckets within each power of two apart, i.e. 16 buckets per power of two
+	private static final int SUB_BUCKET_BITS = 4;
+
+	// The amount of buckets within each power of two, latencies below this amount of microseconds each have their own bucket
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	// The highest power of two that is split in to buckets, every latency above roughly 50 days is held by the last bucket
+	private static final int MAXIMUM_MAGNITUDE = 42;
+
+	// The amount of buckets, i.e. one for each latency below SUB_BUCKET_COUNT and SUB_BUCKET_COUNT for each power of two above it
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAXIMUM_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+	// The amount of latencies recorded in each bucket
+	private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+
+	// The amount of latencies recorded in total
+	private final LongAdder count = new LongAdder();
+
+	// The sum of all of the recorded latencies in microseconds, used for the mean
+	private final LongAdder totalMicros = new LongAdder();
+
+	// The highest recorded latency in microseconds
+	private final LongAccumulator maximumMicros = new LongAccumulator(Math::max, 0);
+
+
+	/**
+	 * Records the latency of one operation.
+	 *
+	 * @param latencyNanos the latency in nanoseconds
+	 */
+	public void record(long latencyNanos)
+	{
+		long latencyMicros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+
+		bucketCounts.incrementAndGet(bucketIndex(latencyMicros));
+		count.increment();
+		totalMicros.add(latencyMicros);
+		maximumMicros.accumulate(latencyMicros);
+	}
+
+
+	/**
+	 * Returns the latency that the specified percentage of the recorded latencies are at or below.
+	 *
+	 * @param percentile 	- the percentile, e.g. 50 for the median or 99
+	 * @return the upper bound in microseconds of the bucket the percentile falls in, or 0 if nothing has been recorded
+	 */
+	public long getPercentileMicros(double percentile)
+	{
+		// Reads the counts once, so the buckets are consistent with the total even while latencies are recorded
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+
+		for (int index = 0; index < BUCKET_COUNT; index++)
+		{
+			counts[index] = bucketCounts.get(index);
+			total += counts[index];
+		}
+
+		// If nothing has been recorded then there is no percentile
+		if (total == 0)
+		{
+			return 0;
+		}
+
+		// The amount of latencies that must be at or below the percentile
+		long rank = (long) Math.ceil(total * percentile / 100.0);
+		long seen = 0;
+
+		for (int index = 0; index < BUCKET_COUNT; index++)
+		{
+			seen += counts[index];
+
+			if (seen >= rank)
+			{
+				// No latency is higher than the maximum, which is more precise than the bound of the last buckets
+				return Math.min(bucketUpperBoundMicros(index), getMaximumMicros());
+			}
+		}
+
+		return getMaximumMicros();
+	}
+
+
+	/**
+	 * Returns the highest recorded latency.
+	 *
+	 * @return the latency in microseconds
+	 */
+	public long getMaximumMicros()
+	{
+		return maximumMicros.get();
+	}
+
+
+	/**
+	 * Returns the mean of the recorded latencies.
+	 *
+	 * @return the mean in microseconds, or 0 if nothing has been recorded
+	 */
+	public long getMeanMicros()
+	{
+		long recorded = count.sum();
+
+		return recorded == 0 ? 0 : totalMicros.sum() / recorded;
+	}
+
+
+	/**
+	 * Returns the amount of recorded latencies.
+	 *
+	 * @return the amount of recorded latencies
+	 */
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+
+	/**
+	 * Returns the bucket a latency belongs in, which is found from its highest set bit and the bits following it.
+	 *
+	 * @param latencyMicros the latency in microseconds
+	 * @return the index of the bucket
+	 */
+	private static int bucketIndex(long latencyMicros)
+	{
+		// Latencies below SUB_BUCKET_COUNT each have their own bucket
+		if (latencyMicros < SUB_BUCKET_COUNT)
+		{
+			return (int) latencyMicros;
+		}
+
+		// The position of the highest set bit, i.e. the power of two the latency is within
+		int magnitude = 63 - Long.numberOfLeadingZeros(latencyMicros);
+
+		// Every latency beyond the highest power of two is held by the last bucket
+		if (magnitude > MAXIMUM_MAGNITUDE)
+		{
+			return BUCKET_COUNT - 1;
+		}
+
+		// The bits following the highest set bit, which tell the buckets within the power of two apart
+		int subBucket = (int) (latencyMicros >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+
+		return SUB_BUCKET_COUNT + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+
+	/**
+	 * Returns the highest latency that belongs in the bucket.
+	 *
+	 * @param index the index of the bucket
+	 * @return the upper bound in microseconds
+	 */
+	private static long bucketUpperBoundMicros(int index)
+	{
+		// The latencies below SUB_BUCKET_COUNT each have their own bucket, and the last bucket has no upper bound
+		if (index < SUB_BUCKET_COUNT)
+		{
+			return index;
+		}
+
+		if (index == BUCKET_COUNT - 1)
+		{
+			return Long.MAX_VALUE;
+		}
+
+		// The amount of bits below the ones telling the buckets apart, i.e. the width of the bucket is 2 to the power of the shift
+		int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+		int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+
+		// The lowest latency of the next bucket, minus one
+		return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+	}
+}
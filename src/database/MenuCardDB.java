@@ -26,25 +26,19 @@ public class MenuCardDB implements MenuCardImpl
 	// Selects a row from the table MenuCard in the database, based on the given restaurantCode
 	private static final String FIND_MENUCARDS_BY_RESTAURANTCODE_QUERY = "SELECT * FROM MenuCard WHERE restaurantCode = ?";
 	
-	// PreparedStatement for retrieving MenuCards based on the restaurantCode
-	private PreparedStatement statementFindByRestaurantCode;
+	// The prefix of the keys the last MenuCards that were read are remembered under in the LastKnownGoodCache
+	private static final String MENUCARDS_BY_RESTAURANTCODE_READ_KEY = "MenuCardDB.findMenuCardsByRestaurantCode/";
 	
 	
 	// Selects a row from the table AvailabilityTracker in the database, based on the given MenuCardId
 	private static final String FIND_AVAILABILITYTRACKERS_BY_MENUCARDID_QUERY = "SELECT * FROM AvailabilityTracker WHERE menuCardId = ?";
-
-	// PreparedStatement for retrieving an menuItem based on the menuItemID
-	private PreparedStatement statementFindTrackerByMenuCardId;
 	
 	
 	//Constructor
 	public MenuCardDB() throws SQLException
 	{
-		// MENU ITEM - Prepares the SQL statement for retrieving a MenuItem by its MenuItemId
-		statementFindByRestaurantCode = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_MENUCARDS_BY_RESTAURANTCODE_QUERY);
-
-		// SELF SERVE BAR - Prepares the SQL statement for retrieving a SelfServeBar by its MenuItemId
-		statementFindTrackerByMenuCardId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_AVAILABILITYTRACKERS_BY_MENUCARDID_QUERY);	
+		// The statements are prepared by the methods using them, on the connection supplied by the TransactionTemplate,
+		// so a MenuCardDB can be created and serve the last known good MenuCards while the database is unavailable
 	}
 	
 	
@@ -62,50 +56,24 @@ public class MenuCardDB implements MenuCardImpl
 	@Override
 	public List<MenuCard> findMenuCardsByRestaurantCode(String restaurantCode) throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-
-		try
-		{
-			// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-			// When turned off multiple SQL statements is grouped into one transaction.
-			databaseConnection.setAutoCommit(false);
-			
-			// Reading MenuCards happens thousands of times per day. However it occurs almost exclusively during
-			// business hours, and updating happens rarely, and can usually be scheduled, which is why we use read uncommitted.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-			
-			// Prepare a SQL statement to retrieve all menucards
-			statementFindByRestaurantCode = databaseConnection.prepareStatement(FIND_MENUCARDS_BY_RESTAURANTCODE_QUERY);
-			statementFindByRestaurantCode.setString(1, restaurantCode);
-
-			// Executes the prepared statement and stores the result set
-			ResultSet resultSet = statementFindByRestaurantCode.executeQuery();
-
-			// Converts the result set into a list of MenuCard objects
-			List<MenuCard> availableMenuCards = buildMenuCardObjects(resultSet);
-
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// Returns the list of MenuCard objects
-			return availableMenuCards;
-		}
-		
-		catch (SQLException exception)
+		// Reading MenuCards happens thousands of times per day. As the lookup is a single SELECT statement
+		// it is run in auto-commit mode at the default isolation level, instead of as an explicit transaction
+		// If the database is unavailable the guests keep seeing the last MenuCards that were read
+		return LastKnownGoodCache.getInstance().load(MENUCARDS_BY_RESTAURANTCODE_READ_KEY + restaurantCode, () -> TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
-			//Undo all changes made so far in the transaction
-			databaseConnection.rollback();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// If an SQL error occurs an exception is thrown with the specified details
-			throw new DataAccessException("Unable to find MenuCards objects in the database with a matching restaurant code" + restaurantCode, exception);
-		}
+			// Prepare a SQL statement to retrieve all menucards, which is closed once the MenuCards have been built
+			try (PreparedStatement statementFindByRestaurantCode = databaseConnection.prepareStatement(FIND_MENUCARDS_BY_RESTAURANTCODE_QUERY))
+			{
+				statementFindByRestaurantCode.setString(1, restaurantCode);
+
+				// Executes the prepared statement and stores the result set
+				try (ResultSet resultSet = statementFindByRestaurantCode.executeQuery())
+				{
+					// Converts the result set into a list of MenuCard objects and returns it
+					return buildMenuCardObjects(resultSet);
+				}
+			}
+		}, "Unable to find MenuCards objects in the database with a matching restaurant code" + restaurantCode));
 	}
 
 	
@@ -185,29 +153,29 @@ public class MenuCardDB implements MenuCardImpl
 		// Gets a connection to the database
 		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
 
-		try
+		// Prepares a SQL statement to find and retrieve an AvailabilityTracker with a matching menuCardId
+		// The statement is closed once the AvailabilityTrackers have been built
+		try (PreparedStatement statementFindTrackerByMenuCardId = databaseConnection.prepareStatement(FIND_AVAILABILITYTRACKERS_BY_MENUCARDID_QUERY))
 		{
-			// Prepares a SQL statement to find and retrieve an AvailabilityTracker with a matching menuCardId
-			statementFindTrackerByMenuCardId = databaseConnection.prepareStatement(FIND_AVAILABILITYTRACKERS_BY_MENUCARDID_QUERY);
-
 			// Adds the menuCardId provided in the method's parameter to the String instead of the placeholder
 			statementFindTrackerByMenuCardId.setInt(1, menuCardId);
 
 			// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
-			ResultSet resultSet = statementFindTrackerByMenuCardId.executeQuery();
-
-			// Creates and initializes an AvailabilityTracker object as null, which will later be populated with AvailabilityTracker specific data
-			List<AvailabilityTracker> availabilityTrackers = new ArrayList<>();
-
-			// Iterates through the resultSet while there are still more rows in the database's table
-			while (resultSet.next())
+			try (ResultSet resultSet = statementFindTrackerByMenuCardId.executeQuery())
 			{
-				// Converts the retrieved database row into an AvailabilityTracker object using the buildAvailabilityTrackerObject method
-				availabilityTrackers.add(buildAvailabilityTrackerObject(resultSet));
+				// Creates and initializes an AvailabilityTracker object as null, which will later be populated with AvailabilityTracker specific data
+				List<AvailabilityTracker> availabilityTrackers = new ArrayList<>();
+
+				// Iterates through the resultSet while there are still more rows in the database's table
+				while (resultSet.next())
+				{
+					// Converts the retrieved database row into an AvailabilityTracker object using the buildAvailabilityTrackerObject method
+					availabilityTrackers.add(buildAvailabilityTrackerObject(resultSet));
+				}
+
+				// Returns the availabilityTracker with a matching menuCardId or null if no AvailabilityTracker has the specified menuCardId
+				return availabilityTrackers;
 			}
-
-			// Returns the availabilityTracker with a matching menuCardId or null if no AvailabilityTracker has the specified menuCardId
-			return availabilityTrackers;
 		}
 
 		catch (SQLException exception)
@@ -35,63 +35,40 @@ public class MenuItemDB implements MenuItemImpl
 	// Selects a row from the table MenuItem in the database, based on the given menuItemID
 	private static final String FIND_MENUITEM_BY_MENUITEMID_QUERY = "SELECT * FROM MenuItem WHERE menuItemID = ?";
 	
-	// PreparedStatement for retrieving an menuItem based on the menuItemID
-	private PreparedStatement statementFindMenuItemById;
-	
 	
 	//SELF SERVE BAR
 	// Selects a row from the table SelfServiceBar in the database, based on the given menuItemID
 	private static final String FIND_SELFSERVEBAR_BY_MENUITEMID_QUERY = "SELECT * FROM SelfServiceBar WHERE menuItemID = ?";
 	
-	// PreparedStatement for retrieving an SelfServiceBar based on the menuItemID
-	private PreparedStatement statementFindSelfServiceBarByMenuId;
-	
 	
 	//DIPs AND SAUCES
 	// Selects a row from the table DipAndSauces in the database, based on the given menuItemID
 	private static final String FIND_DIPSANDSAUCES_BY_MENUITEMID_QUERY = "SELECT * FROM DipsAndSauces WHERE menuItemID = ?";
 	
-	// PreparedStatement for retrieving an DipAndSauces based on the menuItemID
-	private PreparedStatement statementFindDipsAndSaucesByMenuId;
-	
 	
 	//POTATODISH
 	// Selects a row from the table PotatoDish in the database, based on the given menuItemID
 	private static final String FIND_POTATODISH_BY_MENUITEMID_QUERY = "SELECT * FROM PotatoDish WHERE menuItemID = ?";
 	
-	// PreparedStatement for retrieving an PotatoDish based on the menuItemID
-	private PreparedStatement statementFindPotatoDishByMenuId;
-	
 	
 	//SIDEDISH
 	// Selects a row from the table SideDish in the database, based on the given menuItemID
 	private static final String FIND_SIDEDISH_BY_MENUITEMID_QUERY = "SELECT * FROM SideDish WHERE menuItemID = ?";
 	
-	// PreparedStatement for retrieving an SideDish based on the menuItemID
-	private PreparedStatement statementFindSideDishByMenuId;
-	
 	
 	//DRINK
 	// Selects a row from the table Drink in the database, based on the given menuItemID
 	private static final String FIND_DRINK_BY_MENUITEMID_QUERY = "SELECT * FROM Drink WHERE menuItemID = ?";
-	// PreparedStatement for retrieving an Drink based on the menuItemID
-	private PreparedStatement statementFindDrinkByMenuId;
 	
 	
 	//MAIN COURSE
 	// Selects a row from the table MainCourse in the database, based on the given menuItemID
 	private static final String FIND_MAINCOURSE_BY_MENUITEMID_QUERY = "SELECT * FROM MainCourse WHERE menuItemID = ?";
 	
-	// PreparedStatement for retrieving an MainCourse based on the menuItemID
-	private PreparedStatement statementFindMainCourseMenuId;
-	
 	
 	//MULTIPLE CHOICE MENU
 	// Selects a row from the table menuItem in the database, based on the given MenuItemID
 	private static final String FIND_MULTIPLECHOICEMENUS_BY_MAINCOURSEID_QUERY = "SELECT * FROM MultipleChoiceMenu WHERE mainCourseId = ?";
-		
-	// PreparedStatement for retrieving an MultipleChoiceMenu based on the menuItemID
-	private PreparedStatement statementMultipleChoiceMenuByMainCourseId;
 	
 	
 	//SELECTION OPTION
@@ -99,55 +76,20 @@ public class MenuItemDB implements MenuItemImpl
 	// which is linked to a MultipleChoiceMenu associated with the given mainCourseId
 	private static final String FIND_SELECTIONOPTIONS_BY_CHOICEMENUID_QUERY = "SELECT * FROM SelectionOption WHERE choiceMenuId = ?";
 	
-	// PreparedStatement for retrieving an SelectionOption based on the choiceMenuId
-	private PreparedStatement statementSelectionOptionChoiceMenuId;
-	
 	
 	//ADD ON OPTION
 	// Selects a row from the table AddOnOption in the database, based on the given MainCourseId
 	private static final String FIND_ADDONOPTIONS_BY_MAINCOURSEID_QUERY = "SELECT * FROM AddOnOption WHERE mainCourseId = ?";
-				
-	// PreparedStatement for retrieving an AddOnOption based on the MainCourseId
-	private PreparedStatement statementAddOnOptionByMainCourseId;
 
 	
 	/**
 	 * Constructor for MenuItemDB.
-	 * Initializes prepared statements for executing SQL queries.
 	 * 
 	 * @throws SQLException if there is an issue with the database connection
 	 */
 	public MenuItemDB() throws SQLException
 	{
-		// MENU ITEM - Prepares the SQL statement for retrieving a MenuItem by its MenuItemId
-		statementFindMenuItemById = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_MENUITEM_BY_MENUITEMID_QUERY);
-		
-		// SELF SERVE BAR - Prepares the SQL statement for retrieving a SelfServiceBar by its MenuItemId
-		statementFindSelfServiceBarByMenuId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_SELFSERVEBAR_BY_MENUITEMID_QUERY);
-		
-		// DIP AND SAURCES - Prepares the SQL statement for retrieving a DipsAndSauces by its MenuItemId
-		statementFindDipsAndSaucesByMenuId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_DIPSANDSAUCES_BY_MENUITEMID_QUERY); 
-		
-		// POTATO DISH - Prepares the SQL statement for retrieving a PotatoDish by its MenuItemId
-		statementFindPotatoDishByMenuId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_POTATODISH_BY_MENUITEMID_QUERY);
-		
-		// SIDE DISH - Prepares the SQL statement for retrieving a SideDish by its MenuItemId
-		statementFindSideDishByMenuId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_SIDEDISH_BY_MENUITEMID_QUERY);
-		
-		// DRINK - Prepares the SQL statement for retrieving a Drink by its MenuItemId
-		statementFindDrinkByMenuId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_DRINK_BY_MENUITEMID_QUERY);
-		
-		// MAIN COURSE - Prepares the SQL statement for retrieving a MainCourse by its MenuItemId
-		statementFindMainCourseMenuId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_MAINCOURSE_BY_MENUITEMID_QUERY);
-		
-		// MULTIPLE CHOICE MENU - Prepares the SQL statement for retrieving a MultipleChoiceMenu by its choiceMenuId
-		statementMultipleChoiceMenuByMainCourseId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_MULTIPLECHOICEMENUS_BY_MAINCOURSEID_QUERY);
-		
-		// SELECTION OPTION - Prepares the SQL statement for retrieving a SelcetionOption by its choiceMenuId
-		statementSelectionOptionChoiceMenuId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_SELECTIONOPTIONS_BY_CHOICEMENUID_QUERY);
-				
-		// ADD ON OPTION - Prepares the SQL statement for retrieving a AddOnOption by its menuItemID
-		statementAddOnOptionByMainCourseId = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_ADDONOPTIONS_BY_MAINCOURSEID_QUERY);
+		// The statements are prepared by each lookup, and closed once its rows have been read
 	}
 
 	
@@ -162,61 +104,50 @@ public class MenuItemDB implements MenuItemImpl
 	@Override
 	public MenuItem findMenuItemByMenuItemId(int menuItemId) throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-		
-		try
+		// Reading MenuItems happens thousands of times per day. As the lookup is a single SELECT statement it is run
+		// in auto-commit mode at the default isolation level, so it no longer reads uncommitted changes to the menu
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
-			databaseConnection.setAutoCommit(false);
-			
-			// Reading MenuItems happens thousands of times per day. However it occurs almost exclusively during business
-			// hours, and updating happens rarely, and can usually be scheduled.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
-			
 			//Prepare a SQL statement to find and retrieve MenuItem with a matching menuItemId
-			statementFindMenuItemById = databaseConnection.prepareStatement(FIND_MENUITEM_BY_MENUITEMID_QUERY);
-			
-			//Add the menuItem id provided in the method's parameter to the String instead of the placeholder
-			statementFindMenuItemById.setInt(1, menuItemId);
+			try (PreparedStatement statementFindMenuItemById = databaseConnection.prepareStatement(FIND_MENUITEM_BY_MENUITEMID_QUERY))
+			{
+				//Add the menuItem id provided in the method's parameter to the String instead of the placeholder
+				statementFindMenuItemById.setInt(1, menuItemId);
 			
-			//Execute the query, and store the retrieved data in the variable named resultSet, which is a ResultSet object
-			ResultSet resultSet = statementFindMenuItemById.executeQuery();
+				//Execute the query, and store the retrieved data in the variable named resultSet, which is a ResultSet object
+				// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+				QueryCancellationToken.track(statementFindMenuItemById);
+
+				try (ResultSet resultSet = statementFindMenuItemById.executeQuery())
+				{
+					//Create and initializes an MenuItem object as null, which will later be populated with MenuItem specific data
+					MenuItem menuItem = null;
 			
-			//Create and initializes an MenuItem object as null, which will later be populated with MenuItem specific data
-			MenuItem menuItem = null;
+					// Iterates through the resultSet while there are still more rows in the database's table
+					if(resultSet.next())
+					{
+						//Converts the retrieved database row into an MenuItem object using the buildMenuItemObject method
+						menuItem = buildMenuItemObject(resultSet, databaseConnection);
+					}
 			
-			// Iterates through the resultSet while there are still more rows in the database's table
-			if(resultSet.next())
-			{
-				//Converts the retrieved database row into an MenuItem object using the buildMenuItemObject method
-				menuItem = buildMenuItemObject(resultSet);
+					// Returns the menuItem with a matching menuItem id or null if no menuItem has the specified menuItem id
+					return menuItem;
+				}
 			}
-			
-			// Returns the menuItem with a matching menuItem id or null if no menuItem has the specified menuItem id
-			return menuItem;
-		} 
-		
-		catch (SQLException exception)
-		{
-			// If an SQL error occurs a custom exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an MenuItem object with an menuItem id matching: " + menuItemId, exception);
-		}
-		
-		finally
-		{
-			databaseConnection.setAutoCommit(true);
-		}
+		}, "Unable to find an MenuItem object with an menuItem id matching: " + menuItemId);
 	}	
 
 	
 	/**
      * Builds a specific MenuItem object from a database resultSet.
      * 
-     * @param resultSet 		- the result set containing MenuItem data
+     * @param resultSet 			- the result set containing MenuItem data
+     * @param databaseConnection 	- the connection the MenuItem was read on, which is used to read its subclass data
      * @return menuItem 		- a MenuItem object with the extracted data
      * @throws SQLException 	- if accessing the resultSet fails
+     * @throws DataAccessException - if the view requesting the MenuItem has been left
      */
-	private MenuItem buildMenuItemObject(ResultSet resultSet) throws SQLException
+	private MenuItem buildMenuItemObject(ResultSet resultSet, Connection databaseConnection) throws SQLException, DataAccessException
 	{		
 		// Extracts common fields from the MenuItem table
 		int menuItemId = resultSet.getInt("menuItemId");
@@ -236,31 +167,39 @@ public class MenuItemDB implements MenuItemImpl
 		// Check if the item type is "SelfServiceBar" and build the corresponding object
 		if(itemType.equals("SelfServiceBar"))
 		{
-			// Sets the menu item ID parameter in the prepared statement for the SelfServiceBar query
-			statementFindSelfServiceBarByMenuId.setInt(1, menuItemId);
+			// Prepares the SQL statement for retrieving the SelfServiceBar-specific fields
+			try (PreparedStatement statementFindSelfServiceBarByMenuId = databaseConnection.prepareStatement(FIND_SELFSERVEBAR_BY_MENUITEMID_QUERY))
+			{
+				// Sets the menu item ID parameter in the prepared statement for the SelfServiceBar query
+				statementFindSelfServiceBarByMenuId.setInt(1, menuItemId);
 		       
-		    // Executes the query to retrieve additional SelfServiceBar-specific fields
-		    ResultSet resultSetSelfServiceBar = statementFindSelfServiceBarByMenuId.executeQuery();
-
-		    // Checks if SelfServiceBar-specific data was found
-		    if (resultSetSelfServiceBar.next()) 
-		    { 
+			    // Executes the query to retrieve additional SelfServiceBar-specific fields
+			    // Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+			    QueryCancellationToken.track(statementFindSelfServiceBarByMenuId);
+
+			    try (ResultSet resultSetSelfServiceBar = statementFindSelfServiceBarByMenuId.executeQuery())
+			    {
+				    // Checks if SelfServiceBar-specific data was found
+				    if (resultSetSelfServiceBar.next()) 
+				    { 
 		           
-		    	// Retrieve the enum as an int
-		    	int barTypeInt = resultSetSelfServiceBar.getInt("BarType");	
+				    	// Retrieve the enum as an int
+				    	int barTypeInt = resultSetSelfServiceBar.getInt("BarType");	
 		    	
-		    	// Convert the int to an enum constant 
-		    	EnumBarType barType = EnumBarType.values()[barTypeInt];
+				    	// Convert the int to an enum constant 
+				    	EnumBarType barType = EnumBarType.values()[barTypeInt];
 		    	
-		    	// Retrieve the price as an double
-		        double lunchPrice = resultSetSelfServiceBar.getDouble("lunchPrice");
+				    	// Retrieve the price as an double
+				        double lunchPrice = resultSetSelfServiceBar.getDouble("lunchPrice");
 		        
-		        // Retrieve the price as an double
-		        double eveningPrice = resultSetSelfServiceBar.getDouble("eveningPrice");
+				        // Retrieve the price as an double
+				        double eveningPrice = resultSetSelfServiceBar.getDouble("eveningPrice");
 
-		        // Constructs a new SelfServiceBar object with both shared and specific attributes
-		        menuItem = new SelfServiceBar(barType, lunchPrice, eveningPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
-		     }
+				        // Constructs a new SelfServiceBar object with both shared and specific attributes
+				        menuItem = new SelfServiceBar(barType, lunchPrice, eveningPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
+				     }
+				}
+			}
 		}
 		
 		
@@ -268,23 +207,31 @@ public class MenuItemDB implements MenuItemImpl
 		// Check if the item type "DipAndSauces" and build the corresponding object
 		else if(itemType.equals("DipsAndSauces"))
 		{
-			// Sets the menu item ID parameter in the prepared statement for the DipsAndSauces query
-			statementFindDipsAndSaucesByMenuId.setInt(1, menuItemId);
+			// Prepares the SQL statement for retrieving the DipsAndSauces-specific fields
+			try (PreparedStatement statementFindDipsAndSaucesByMenuId = databaseConnection.prepareStatement(FIND_DIPSANDSAUCES_BY_MENUITEMID_QUERY))
+			{
+				// Sets the menu item ID parameter in the prepared statement for the DipsAndSauces query
+				statementFindDipsAndSaucesByMenuId.setInt(1, menuItemId);
 		       
-		    // Executes the query to retrieve additional DipsAndSauces fields
-		    ResultSet resultSetDipAndSauces = statementFindDipsAndSaucesByMenuId.executeQuery();
-
-		    // Checks if PotatoDish-specific data was found
-		    if (resultSetDipAndSauces.next()) 
-		    { 
+			    // Executes the query to retrieve additional DipsAndSauces fields
+			    // Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+			    QueryCancellationToken.track(statementFindDipsAndSaucesByMenuId);
+
+			    try (ResultSet resultSetDipAndSauces = statementFindDipsAndSaucesByMenuId.executeQuery())
+			    {
+				    // Checks if PotatoDish-specific data was found
+				    if (resultSetDipAndSauces.next()) 
+				    { 
 		           
-		    	// Reads specific attributes for PotatoDish from its result set
-		        boolean isSauce = resultSetDipAndSauces.getBoolean("isSauce");
-		        double fixedPrice = resultSetDipAndSauces.getDouble("fixedPrice");
+				    	// Reads specific attributes for PotatoDish from its result set
+				        boolean isSauce = resultSetDipAndSauces.getBoolean("isSauce");
+				        double fixedPrice = resultSetDipAndSauces.getDouble("fixedPrice");
 
-		        // Constructs a new DipsAndSauces object with both shared and specific attributes
-		        menuItem = new DipsAndSauces(isSauce, fixedPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
-		     }
+				        // Constructs a new DipsAndSauces object with both shared and specific attributes
+				        menuItem = new DipsAndSauces(isSauce, fixedPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
+				     }
+				}
+			}
 		}
 		
 		
@@ -292,22 +239,30 @@ public class MenuItemDB implements MenuItemImpl
 		// Check if the item type is "PotatoDish" and build the corresponding object
 		else if (itemType.equals("PotatoDish")) 
 		{
-		  	// Sets the menu item ID parameter in the prepared statement for the PotatoDish query
-		   	statementFindPotatoDishByMenuId.setInt(1, menuItemId);
+			// Prepares the SQL statement for retrieving the PotatoDish-specific fields
+			try (PreparedStatement statementFindPotatoDishByMenuId = databaseConnection.prepareStatement(FIND_POTATODISH_BY_MENUITEMID_QUERY))
+			{
+			  	// Sets the menu item ID parameter in the prepared statement for the PotatoDish query
+			   	statementFindPotatoDishByMenuId.setInt(1, menuItemId);
 		       
-		    // Executes the query to retrieve additional PotatoDish fields
-		    ResultSet resultSetPotatoDish = statementFindPotatoDishByMenuId.executeQuery();
-
-		    // Checks if PotatoDish-specific data was found
-		    if (resultSetPotatoDish.next()) 
-		    {  
-		    	// Reads specific attributes for PotatoDish from its result set
-		        boolean isPremium = resultSetPotatoDish.getBoolean("isPremium");
-		        double fixedPrice = resultSetPotatoDish.getDouble("fixedPrice");
-
-		        // Constructs a new PotatoDish object with both shared and specific attributes
-		        menuItem = new PotatoDish(isPremium, fixedPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
-		     }
+			    // Executes the query to retrieve additional PotatoDish fields
+			    // Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+			    QueryCancellationToken.track(statementFindPotatoDishByMenuId);
+
+			    try (ResultSet resultSetPotatoDish = statementFindPotatoDishByMenuId.executeQuery())
+			    {
+				    // Checks if PotatoDish-specific data was found
+				    if (resultSetPotatoDish.next()) 
+				    {  
+				    	// Reads specific attributes for PotatoDish from its result set
+				        boolean isPremium = resultSetPotatoDish.getBoolean("isPremium");
+				        double fixedPrice = resultSetPotatoDish.getDouble("fixedPrice");
+
+				        // Constructs a new PotatoDish object with both shared and specific attributes
+				        menuItem = new PotatoDish(isPremium, fixedPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
+				     }
+				}
+			}
 		}
 		
 		
@@ -315,22 +270,30 @@ public class MenuItemDB implements MenuItemImpl
 		// Check if the item type is "SideDish" and build the corresponding object
 		else if (itemType.equals("SideDish")) 
 		{				        
-		  	// Sets the menu item ID parameter in the prepared statement for the SideDish query
-		   	statementFindSideDishByMenuId.setInt(1, menuItemId);
+			// Prepares the SQL statement for retrieving the SideDish-specific fields
+			try (PreparedStatement statementFindSideDishByMenuId = databaseConnection.prepareStatement(FIND_SIDEDISH_BY_MENUITEMID_QUERY))
+			{
+			  	// Sets the menu item ID parameter in the prepared statement for the SideDish query
+			   	statementFindSideDishByMenuId.setInt(1, menuItemId);
 				       
-		    // Executes the query to retrieve additional SideDish fields
-		    ResultSet resultSetSideDish = statementFindSideDishByMenuId.executeQuery();
-
-		    // Checks if SideDish data was found
-		    if (resultSetSideDish.next()) 
-		    {         
-		    	// Reads specific attributes for SideDish from its result set
-		        int quantityPerServing = resultSetSideDish.getInt("quantityPerServing");
-		        double fixedPrice = resultSetSideDish.getDouble("fixedPrice");
-
-		        // Constructs a new SideDish object with both shared and specific attributes
-				menuItem = new SideDish(quantityPerServing, fixedPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
-		     }
+			    // Executes the query to retrieve additional SideDish fields
+			    // Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+			    QueryCancellationToken.track(statementFindSideDishByMenuId);
+
+			    try (ResultSet resultSetSideDish = statementFindSideDishByMenuId.executeQuery())
+			    {
+				    // Checks if SideDish data was found
+				    if (resultSetSideDish.next()) 
+				    {         
+				    	// Reads specific attributes for SideDish from its result set
+				        int quantityPerServing = resultSetSideDish.getInt("quantityPerServing");
+				        double fixedPrice = resultSetSideDish.getDouble("fixedPrice");
+
+				        // Constructs a new SideDish object with both shared and specific attributes
+						menuItem = new SideDish(quantityPerServing, fixedPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
+				     }
+				}
+			}
 		 }
 		
 		
@@ -338,23 +301,31 @@ public class MenuItemDB implements MenuItemImpl
 		// Check if the item type is "Drink" and build the corresponding object
 		else if (itemType.equals("Drink")) 
 		{				        
-		  	// Sets the menu item ID parameter in the prepared statement for the Drink query
-		   	statementFindDrinkByMenuId.setInt(1, menuItemId);
+			// Prepares the SQL statement for retrieving the Drink-specific fields
+			try (PreparedStatement statementFindDrinkByMenuId = databaseConnection.prepareStatement(FIND_DRINK_BY_MENUITEMID_QUERY))
+			{
+			  	// Sets the menu item ID parameter in the prepared statement for the Drink query
+			   	statementFindDrinkByMenuId.setInt(1, menuItemId);
 						       
-		    // Executes the query to retrieve additional Drink fields
-		    ResultSet resultSetDrink = statementFindDrinkByMenuId.executeQuery();
-
-		    // Checks if Drink data was found
-		    if (resultSetDrink.next()) 
-		    {         
-		    	// Reads specific attributes for Drink from its result set
-		        boolean isAlcoholic = resultSetDrink.getBoolean("isAlcoholic");
-		        boolean isRefill = resultSetDrink.getBoolean("isRefill");
-		        double price = resultSetDrink.getDouble("price");
-
-		        // Constructs a new Drink object with both shared and specific attributes
-				menuItem = new Drink(isAlcoholic, isRefill, price, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
-			 }
+			    // Executes the query to retrieve additional Drink fields
+			    // Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+			    QueryCancellationToken.track(statementFindDrinkByMenuId);
+
+			    try (ResultSet resultSetDrink = statementFindDrinkByMenuId.executeQuery())
+			    {
+				    // Checks if Drink data was found
+				    if (resultSetDrink.next()) 
+				    {         
+				    	// Reads specific attributes for Drink from its result set
+				        boolean isAlcoholic = resultSetDrink.getBoolean("isAlcoholic");
+				        boolean isRefill = resultSetDrink.getBoolean("isRefill");
+				        double price = resultSetDrink.getDouble("price");
+
+				        // Constructs a new Drink object with both shared and specific attributes
+						menuItem = new Drink(isAlcoholic, isRefill, price, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
+					 }
+				}
+			}
 		 }
 		
 		
@@ -362,52 +333,38 @@ public class MenuItemDB implements MenuItemImpl
 		// Check if the item type is "Drink" and build the corresponding object
 		else if (itemType.equals("MainCourse")) 
 		{				        
-			// Sets the menu item ID parameter in the prepared statement for the Drink query
-			statementFindMainCourseMenuId.setInt(1, menuItemId);
+			// Prepares the SQL statement for retrieving the MainCourse-specific fields
+			try (PreparedStatement statementFindMainCourseMenuId = databaseConnection.prepareStatement(FIND_MAINCOURSE_BY_MENUITEMID_QUERY))
+			{
+				// Sets the menu item ID parameter in the prepared statement for the Drink query
+				statementFindMainCourseMenuId.setInt(1, menuItemId);
 
-			// Executes the query to retrieve additional Drink fields
-			ResultSet resultSetMainCourse = statementFindMainCourseMenuId.executeQuery();
+				// Executes the query to retrieve additional Drink fields
+				// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+				QueryCancellationToken.track(statementFindMainCourseMenuId);
 
-			// Checks if Drink data was found
-			if (resultSetMainCourse.next()) 
-			{         
-				// Reads specific attributes for Drink from its result set
-				String introductionDescription = resultSetMainCourse.getString("introductionDescription");
-				double lunchPrice = resultSetMainCourse.getDouble("lunchPrice");
-				double eveningPrice = resultSetMainCourse.getDouble("eveningPrice");
-				
-				// Constructs a new Drink object with both shared and specific attributes
-				MainCourse mainCourse = new MainCourse(introductionDescription, lunchPrice, eveningPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
-				try
+				try (ResultSet resultSetMainCourse = statementFindMainCourseMenuId.executeQuery())
 				{
-					// Finds the AddOnOption objects associated with the specified menuItemId and stores them within the listOfAddOnOptions
-					List<AddOnOption> listOfAddOnOptions = findAddOnOptionsByMainCourseId(menuItemId);
-					
-					// Iterates through all of the AddOnOption objects within the listOfAddOnOptions
-					for (AddOnOption addOnOption: listOfAddOnOptions)
-					{
-						// Adds the AddOnOption object to the listOfAddOnOptions
-						mainCourse.addAddOnOption(addOnOption);
-					}
-					
-					// Finds the MultipleChoiceMenu objects associated with the specified menuItemId and stores them within the listOfMultipleChoiceMenus
-					List<MultipleChoiceMenu> listOfMultipleChoiceMenus = findMultipleChoiceMenusByMainCourseId(menuItemId);
-					
-					// Iterates through all of the multipleChoiceMenu objects within the listOfMultipleChoiceMenus
-					for (MultipleChoiceMenu multipleChoiceMenu: listOfMultipleChoiceMenus)
-					{
-						// Adds the MultipleChoiceMenu object to the listOfMultipleChoiceMenus
-						mainCourse.addMultipleChoiceMenu(multipleChoiceMenu);
-					}
-				}
+					// Checks if Drink data was found
+					if (resultSetMainCourse.next()) 
+					{         
+						// Reads specific attributes for Drink from its result set
+						String introductionDescription = resultSetMainCourse.getString("introductionDescription");
+						double lunchPrice = resultSetMainCourse.getDouble("lunchPrice");
+						double eveningPrice = resultSetMainCourse.getDouble("eveningPrice");
 				
-				catch (Exception exception)
-				{
-					// TODO Auto-generated catch block
-					exception.printStackTrace();
-				}
+						// Constructs a new Drink object with both shared and specific attributes
+						MainCourse mainCourse = new MainCourse(introductionDescription, lunchPrice, eveningPrice, menuItemId, preparationTime, name, description, isMadeByKitchenStaff);
+				
+						// The options are only retrieved once a guest actually chooses the MainCourse, instead of
+						// retrieving the options of every MainCourse on the menu card while the menu card is loaded
+						mainCourse.setOptionLoaders(
+								() -> findOptionsOrNull(() -> findMultipleChoiceMenusByMainCourseId(menuItemId)),
+								() -> findOptionsOrNull(() -> findAddOnOptionsByMainCourseId(menuItemId)));
 				
-				menuItem = mainCourse;
+						menuItem = mainCourse;
+					}
+				}
 			}
 		}
 		
@@ -416,6 +373,48 @@ public class MenuItemDB implements MenuItemImpl
 	}
 	
 
+	/**
+	 * The database lookup used by the MainCourse option loaders.
+	 *
+	 * @param <T> the type of the options being retrieved
+	 */
+	@FunctionalInterface
+	private interface OptionLookup<T>
+	{
+		List<T> find() throws DataAccessException, SQLException;
+	}
+	
+	
+	/**
+	 * Carries out the supplied lookup for the options of a MainCourse.
+	 * 
+	 * Used by the MainCourse option loaders, which can not throw checked exceptions, 
+	 * and therefore return null when the options could not be retrieved, so the
+	 * MainCourse tries to retrieve them again the next time they are accessed.
+	 * 
+	 * @param optionLookup 	- the lookup retrieving the options
+	 * @return the retrieved options, or null if the lookup failed
+	 */
+	private <T> List<T> findOptionsOrNull(OptionLookup<T> optionLookup)
+	{
+		try
+		{
+			return optionLookup.find();
+		}
+		
+		catch (DataAccessException | SQLException exception)
+		{
+			// A lookup cancelled because the guest left the view is not an error
+			if (!(exception instanceof QueryCancelledException))
+			{
+				exception.printStackTrace();
+			}
+			
+			return null;
+		}
+	}
+	
+	
 	/**
 	 * Finds a MultipleChoiceMenu object by searching for a MultipleChoiceMenu with a matching mainCourseId.
 	 * 
@@ -427,39 +426,38 @@ public class MenuItemDB implements MenuItemImpl
 	@Override
 	public List<MultipleChoiceMenu> findMultipleChoiceMenusByMainCourseId(int mainCourseId) throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-		
-		// Creates an empty list to store MultipleChoiceMenu objects within
-		List<MultipleChoiceMenu> listOfMultipleChoiceMenus = new ArrayList<MultipleChoiceMenu>();
-		
-		try
-		{	
+		// The lookup is run by the TransactionTemplate, so it is retried and guarded by the CircuitBreaker like the
+		// other reads, and fails with a DataAccessException instead of a NullPointerException if there is no connection
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
+		{
+			// Creates an empty list to store MultipleChoiceMenu objects within
+			List<MultipleChoiceMenu> listOfMultipleChoiceMenus = new ArrayList<MultipleChoiceMenu>();
+			
 			// Prepares a SQL statement to find and retrieve an MultipleChoiceMenu with a matching mainCourseId
-			statementMultipleChoiceMenuByMainCourseId = databaseConnection.prepareStatement(FIND_MULTIPLECHOICEMENUS_BY_MAINCOURSEID_QUERY);
-
-			// Adds the choiceMenuId provided in the method's parameter to the String instead of the placeholder
-			statementMultipleChoiceMenuByMainCourseId.setInt(1, mainCourseId);
-
-			// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
-			ResultSet resultSet = statementMultipleChoiceMenuByMainCourseId.executeQuery();
-
-			// Iterates through the resultSet while there are still more rows in the database's table
-			while (resultSet.next())
+			// The statement is closed once the options have been built, instead of being left open after every call
+			try (PreparedStatement statementMultipleChoiceMenuByMainCourseId = databaseConnection.prepareStatement(FIND_MULTIPLECHOICEMENUS_BY_MAINCOURSEID_QUERY))
 			{
-				// Converts the retrieved database row into an MultipleChoiceMenu object using the buildMultipleChoiceMenuObject method
-				listOfMultipleChoiceMenus.add(buildMultipleChoiceMenuObject(resultSet));
-			}
+				// Adds the choiceMenuId provided in the method's parameter to the String instead of the placeholder
+				statementMultipleChoiceMenuByMainCourseId.setInt(1, mainCourseId);
 			
-			// Returns the MultipleChoiceMenu with a matching choiceMenuId or null if no multipleChoiceMenu has the specified choiceMenuId
-			return listOfMultipleChoiceMenus;
-		}
-
-		catch (SQLException exception)
-		{
-			// If an SQL error occurs a custom exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an MultipleChoiceMenu object with an choiceMenuId matching: " + mainCourseId, exception);
-		}
+				// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
+				// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+				QueryCancellationToken.track(statementMultipleChoiceMenuByMainCourseId);
+			
+				try (ResultSet resultSet = statementMultipleChoiceMenuByMainCourseId.executeQuery())
+				{
+					// Iterates through the resultSet while there are still more rows in the database's table
+					while (resultSet.next())
+					{
+						// Converts the retrieved database row into an MultipleChoiceMenu object using the buildMultipleChoiceMenuObject method
+						listOfMultipleChoiceMenus.add(buildMultipleChoiceMenuObject(resultSet));
+					}
+			
+					// Returns the MultipleChoiceMenu with a matching choiceMenuId or null if no multipleChoiceMenu has the specified choiceMenuId
+					return listOfMultipleChoiceMenus;
+				}
+			}
+		}, "Unable to find an MultipleChoiceMenu object with an choiceMenuId matching: " + mainCourseId);
 	}
 	
 	
@@ -512,39 +510,37 @@ public class MenuItemDB implements MenuItemImpl
 	@Override
 	public List<SelectionOption> findSelectionOptionsByChoiceMenuId(int choiceMenuId) throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-		
-		// Creates an empty list to store SelectionOption objects within
-		List<SelectionOption> listOfSelectionOptions = new ArrayList<SelectionOption>();
-		
-		try
+		// Run by the TransactionTemplate, like the lookup of the MultipleChoiceMenus
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
+			// Creates an empty list to store SelectionOption objects within
+			List<SelectionOption> listOfSelectionOptions = new ArrayList<SelectionOption>();
+			
 			// Prepares a SQL statement to find and retrieve a SelectionOption with a matching mainCourseId
-			statementSelectionOptionChoiceMenuId = databaseConnection.prepareStatement(FIND_SELECTIONOPTIONS_BY_CHOICEMENUID_QUERY);
-
-			// Adds the mainCourseId provided in the method's parameter to the int instead of the placeholder
-			statementSelectionOptionChoiceMenuId.setInt(1, choiceMenuId);
-
-			// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
-			ResultSet resultSet = statementSelectionOptionChoiceMenuId.executeQuery();
-
-			// Iterates through the resultSet while there are still more rows in the database's table
-			while (resultSet.next())
+			// The statement is closed once the options have been built, instead of being left open after every call
+			try (PreparedStatement statementSelectionOptionChoiceMenuId = databaseConnection.prepareStatement(FIND_SELECTIONOPTIONS_BY_CHOICEMENUID_QUERY))
 			{
-				// Converts the retrieved database row into an SelectionOption object using the buildSelectionOptionObject method
-				listOfSelectionOptions.add(buildSelectionOptionObject(resultSet));
-			}
+				// Adds the mainCourseId provided in the method's parameter to the int instead of the placeholder
+				statementSelectionOptionChoiceMenuId.setInt(1, choiceMenuId);
 			
-			// Returns the listOfSelectionOptions with a matching choiceMenuId
-			return listOfSelectionOptions;
-		}
-
-		catch (SQLException exception)
-		{	
-			// If an SQL error occurs a custom exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an MultipleChoiceMenu object with an choiceMenuId matching: " + choiceMenuId, exception);
-		}	
+				// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
+				// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+				QueryCancellationToken.track(statementSelectionOptionChoiceMenuId);
+			
+				try (ResultSet resultSet = statementSelectionOptionChoiceMenuId.executeQuery())
+				{
+					// Iterates through the resultSet while there are still more rows in the database's table
+					while (resultSet.next())
+					{
+						// Converts the retrieved database row into an SelectionOption object using the buildSelectionOptionObject method
+						listOfSelectionOptions.add(buildSelectionOptionObject(resultSet));
+					}
+			
+					// Returns the listOfSelectionOptions with a matching choiceMenuId
+					return listOfSelectionOptions;
+				}
+			}
+		}, "Unable to find an MultipleChoiceMenu object with an choiceMenuId matching: " + choiceMenuId);
 	}
 	
 	
@@ -575,39 +571,37 @@ public class MenuItemDB implements MenuItemImpl
 	@Override
 	public List<AddOnOption> findAddOnOptionsByMainCourseId(int mainCourseId) throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-		
-		// Creates an empty list to store AddOnOption objects within
-		List<AddOnOption> listOfAddOnOptions = new ArrayList<>();
-
-		try
-		{	
+		// Run by the TransactionTemplate, like the lookup of the MultipleChoiceMenus
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
+		{
+			// Creates an empty list to store AddOnOption objects within
+			List<AddOnOption> listOfAddOnOptions = new ArrayList<>();
+			
 			// Prepares a SQL statement to find and retrieve an AddOnOptions with a matching mainCourseID id
-			statementAddOnOptionByMainCourseId = databaseConnection.prepareStatement(FIND_ADDONOPTIONS_BY_MAINCOURSEID_QUERY);
-
-			// Adds the choiceMenuId provided in the method's parameter to the String instead of the placeholder
-			statementAddOnOptionByMainCourseId.setInt(1, mainCourseId);
-
-			// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
-			ResultSet resultSet = statementAddOnOptionByMainCourseId.executeQuery();
-
-			// Iterates through the resultSet while there are still more rows in the database's table
-			while (resultSet.next())
+			// The statement is closed once the options have been built, instead of being left open after every call
+			try (PreparedStatement statementAddOnOptionByMainCourseId = databaseConnection.prepareStatement(FIND_ADDONOPTIONS_BY_MAINCOURSEID_QUERY))
 			{
-				// Converts the retrieved database row into an AddOnOption object using the buildAddOnOptionObject method
-				listOfAddOnOptions.add(buildAddOnOptionObject(resultSet));
+				// Adds the choiceMenuId provided in the method's parameter to the String instead of the placeholder
+				statementAddOnOptionByMainCourseId.setInt(1, mainCourseId);
+			
+				// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
+				// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+				QueryCancellationToken.track(statementAddOnOptionByMainCourseId);
+			
+				try (ResultSet resultSet = statementAddOnOptionByMainCourseId.executeQuery())
+				{
+					// Iterates through the resultSet while there are still more rows in the database's table
+					while (resultSet.next())
+					{
+						// Converts the retrieved database row into an AddOnOption object using the buildAddOnOptionObject method
+						listOfAddOnOptions.add(buildAddOnOptionObject(resultSet));
+					}
+			
+					// Returns the listOfAddOnOptions with a matching choiceMenuId
+					return listOfAddOnOptions;
+				}
 			}
-
-			// Returns the listOfAddOnOptions with a matching choiceMenuId
-			return listOfAddOnOptions;
-		}
-
-		catch (SQLException exception)
-		{
-			// If an SQL error occurs a custom exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an AddOnOption object with an menuItemId matching: " + mainCourseId, exception);
-		}
+		}, "Unable to find an AddOnOption object with an menuItemId matching: " + mainCourseId);
 	}
 	
 	
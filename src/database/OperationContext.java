@@ -0,0 +1,258 @@
+package database;
+
+// Imports
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * OperationContext counts the statements executed on behalf of one user action, such as opening
+ * a menu or refreshing the kitchen's overview, in order to detect N+1 queries, i.e. an action
+ * that executes the same statement once for every row of a previous statement.
+ *
+ * The context is opened around the action with try-with-resources, and is bound to the thread
+ * carrying out the action. Every statement executed on the InstrumentedConnection meanwhile is
+ * counted by the name of its SQL constant, so a statement executed with different parameters
+ * over and over shows up as one query with many repetitions. Contexts opened within an open
+ * context are counted as part of it.
+ *
+ * When the context is closed, an action that executed more than the maximum amount of
+ * statements, or repeated one statement more than the maximum amount of times, is reported.
+ * The report is printed once per action, or thrown as an IllegalStateException in strict mode,
+ * which the tests use to catch regressions in the amount of round-trips made by the DAO classes.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:42
+ */
+public class OperationContext implements AutoCloseable
+{
+	// The default maximum amount of statements a single user action may execute
+	public static final int DEFAULT_MAXIMUM_STATEMENTS = 50;
+
+	// The default maximum amount of times a single user action may execute the same statement
+	public static final int DEFAULT_MAXIMUM_REPETITIONS = 20;
+
+	// The name of the system property which turns on strict mode, e.g. -DoperationContext.strict=true
+	private static final String STRICT_MODE_PROPERTY = "operationContext.strict";
+
+	// The context bound to the thread carrying out the user action, or null if no action is in progress
+	private static final ThreadLocal<OperationContext> CURRENT_CONTEXT = new ThreadLocal<>();
+
+	// The actions that have already been reported, so each action is only printed once
+	private static final Set<String> reportedOperationNames = ConcurrentHashMap.newKeySet();
+
+	// Whether or not an action exceeding the maximums fails instead of being printed
+	private static volatile boolean isStrictMode = Boolean.getBoolean(STRICT_MODE_PROPERTY);
+
+	// The name of the user action, e.g. the request key of the view
+	private final String operationName;
+
+	// The maximum amount of statements the action may execute
+	private final int maximumStatements;
+
+	// The maximum amount of times the action may execute the same statement
+	private final int maximumRepetitions;
+
+	// The amount of executions of each statement, stored by the name of its SQL constant
+	private final Map<String, Integer> executionsByQueryName = new ConcurrentHashMap<>();
+
+	// The amount of contexts opened within this context which have not been closed yet
+	private int nestingDepth = 0;
+
+
+	/**
+	 * Private constructor, the contexts are opened using open.
+	 *
+	 * @param operationName 		- the name of the user action
+	 * @param maximumStatements 	- the maximum amount of statements the action may execute
+	 * @param maximumRepetitions 	- the maximum amount of times the action may execute the same statement
+	 */
+	private OperationContext(String operationName, int maximumStatements, int maximumRepetitions)
+	{
+		this.operationName = operationName;
+		this.maximumStatements = maximumStatements;
+		this.maximumRepetitions = maximumRepetitions;
+	}
+
+
+	/**
+	 * Opens a context around a user action with the default maximums, and binds it to the calling thread.
+	 *
+	 * @param operationName 	- the name of the user action, used in the report
+	 * @return the opened context, or the context already open on the thread
+	 */
+	public static OperationContext open(String operationName)
+	{
+		return open(operationName, DEFAULT_MAXIMUM_STATEMENTS, DEFAULT_MAXIMUM_REPETITIONS);
+	}
+
+
+	/**
+	 * Opens a context around a user action, and binds it to the calling thread.
+	 * If a context is already open on the thread then the action is counted as part of it.
+	 *
+	 * @param operationName 		- the name of the user action, used in the report
+	 * @param maximumStatements 	- the maximum amount of statements the action may execute
+	 * @param maximumRepetitions 	- the maximum amount of times the action may execute the same statement
+	 * @return the opened context, or the context already open on the thread
+	 */
+	public static OperationContext open(String operationName, int maximumStatements, int maximumRepetitions)
+	{
+		OperationContext currentContext = CURRENT_CONTEXT.get();
+
+		// If an action is already in progress then this action is part of it, and is checked when it is closed
+		if (currentContext != null)
+		{
+			currentContext.nestingDepth++;
+
+			return currentContext;
+		}
+
+		OperationContext operationContext = new OperationContext(operationName, maximumStatements, maximumRepetitions);
+
+		CURRENT_CONTEXT.set(operationContext);
+
+		return operationContext;
+	}
+
+
+	/**
+	 * Counts an execution of a statement in the context bound to the calling thread, if there is one.
+	 * Called by the InstrumentedConnection every time a statement is executed.
+	 *
+	 * @param queryName 	- the name of the SQL constant of the statement, or its SQL
+	 */
+	static void recordStatement(String queryName)
+	{
+		OperationContext currentContext = CURRENT_CONTEXT.get();
+
+		if (currentContext != null)
+		{
+			currentContext.executionsByQueryName.merge(queryName, 1, Integer::sum);
+		}
+	}
+
+
+	/**
+	 * Closes the context, and reports the action if it exceeded the maximums.
+	 * Closing a context opened within another context only ends the nested action.
+	 *
+	 * @throws IllegalStateException - if the action exceeded the maximums in strict mode
+	 */
+	@Override
+	public void close()
+	{
+		// If this closes a nested action then the outermost action is still in progress
+		if (nestingDepth > 0)
+		{
+			nestingDepth--;
+
+			return;
+		}
+
+		CURRENT_CONTEXT.remove();
+
+		// If the action stayed within the maximums then there is nothing to report
+		if (!isExceeded())
+		{
+			return;
+		}
+
+		String report = formatReport();
+
+		if (isStrictMode)
+		{
+			throw new IllegalStateException(report);
+		}
+
+		// Each action is only printed the first time, as e.g. the kitchen's overview is refreshed every 30 seconds
+		if (reportedOperationNames.add(operationName))
+		{
+			System.err.println(report);
+		}
+	}
+
+
+	/**
+	 * Returns whether or not the action executed more statements, or repeated a statement more times, than allowed.
+	 *
+	 * @return true if a maximum was exceeded, false otherwise
+	 */
+	public boolean isExceeded()
+	{
+		return getStatementCount() > maximumStatements || getMostRepeatedCount() > maximumRepetitions;
+	}
+
+
+	/**
+	 * Returns the amount of statements the action has executed.
+	 *
+	 * @return the amount of statements
+	 */
+	public int getStatementCount()
+	{
+		return executionsByQueryName.values().stream().mapToInt(Integer::intValue).sum();
+	}
+
+
+	/**
+	 * Returns the amount of times the action has executed the specified statement.
+	 *
+	 * @param queryName 	- the name of the SQL constant of the statement, or its SQL
+	 * @return the amount of executions
+	 */
+	public int getExecutionCount(String queryName)
+	{
+		return executionsByQueryName.getOrDefault(queryName, 0);
+	}
+
+
+	/**
+	 * Returns the amount of times the action has executed the statement it executed the most.
+	 *
+	 * @return the amount of executions of the most repeated statement
+	 */
+	public int getMostRepeatedCount()
+	{
+		return executionsByQueryName.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+	}
+
+
+	/**
+	 * Returns a description of the action's statements, listing every statement it repeated more than allowed.
+	 *
+	 * @return the report
+	 */
+	public String formatReport()
+	{
+		StringBuilder report = new StringBuilder();
+
+		report.append("Possible N+1 queries in '").append(operationName).append("': ").append(getStatementCount())
+				.append(" statements (maximum ").append(maximumStatements).append(")");
+
+		// Lists the statements that were repeated with different parameters more than allowed
+		executionsByQueryName.forEach((queryName, executions) ->
+		{
+			if (executions > maximumRepetitions)
+			{
+				report.append(System.lineSeparator()).append("  ").append(queryName).append(" executed ").append(executions)
+						.append(" times (maximum ").append(maximumRepetitions).append(")");
+			}
+		});
+
+		return report.toString();
+	}
+
+
+	/**
+	 * Turns strict mode on or off, in which an action exceeding the maximums fails instead of being printed.
+	 *
+	 * @param strictMode 	- true to fail the actions exceeding the maximums, false to print them
+	 */
+	public static void setStrictMode(boolean strictMode)
+	{
+		isStrictMode = strictMode;
+	}
+}
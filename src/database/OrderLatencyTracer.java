@@ -0,0 +1,462 @@
+package database;
+
+// Imports
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+
+/**
+ * OrderLatencyTracer is a singleton class that measures how long it takes from a guest sending
+ * their TableOrder to the kitchen, until the order is shown on the kitchen's order overview.
+ *
+ * When a guest sends a TableOrder a trace is started, which is given a correlation id, and the
+ * TableOrder then passes a number of hops, each of which is timestamped:
+ * - SENT: 			the guest tapped the button sending the TableOrder to the kitchen
+ * - CONTROLLER: 	the TableOrderController started updating the TableOrder
+ * - PERSISTED: 	the TableOrder, or the last of its PersonalOrders, was committed to the database
+ * - FETCH_STARTED: the kitchen's overview started the poll that found the TableOrder
+ * - FETCHED: 		the poll returned the TableOrder's KitchenTickets
+ * - RENDERED: 		the KitchenTickets were handed to the overview's table model
+ *
+ * The time from the previous hop to each hop is recorded in a LatencyHistogram per hop, so the
+ * summary shows whether the time until the order is visible in the kitchen is spent waiting for
+ * the next poll, running the queries, or rendering. Traces that take longer than the objective
+ * are printed with their correlation id and every hop.
+ *
+ * The objective defaults to 60 seconds, i.e. two of the kitchen's polls, and can be changed with
+ * -DorderLatency.objectiveMillis. Traces never rendered, e.g. because the kitchen's overview is
+ * not open, are discarded after 15 minutes.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:49
+ */
+public class OrderLatencyTracer
+{
+	/**
+	 * The hops a TableOrder passes from the guest's tablet to the kitchen's screen, in the order they are passed.
+	 */
+	public enum Hop
+	{
+		SENT,
+		CONTROLLER,
+		PERSISTED,
+		FETCH_STARTED,
+		FETCHED,
+		RENDERED
+	}
+
+	// The time a TableOrder may take from being sent until it is shown in the kitchen, before its trace is printed
+	private static final long DEFAULT_OBJECTIVE_MILLIS = 60_000;
+
+	// The time after which a trace that has not been rendered is discarded
+	private static final long TRACE_EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(15);
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static OrderLatencyTracer instance;
+
+	// Returns the current time in nanoseconds
+	private final LongSupplier nanoClock;
+
+	// The time a TableOrder may take from being sent until it is shown in the kitchen
+	private final long objectiveNanos;
+
+	// The traces that have not been rendered yet, stored by the id of their TableOrder
+	private final Map<Integer, OrderTrace> tracesByTableOrderId = new ConcurrentHashMap<>();
+
+	// The time from the previous hop to each hop
+	private final Map<Hop, LatencyHistogram> histogramsByHop = new EnumMap<>(Hop.class);
+
+	// The time from the TableOrder being sent until it was rendered
+	private final LatencyHistogram endToEndHistogram = new LatencyHistogram();
+
+	// The amount of traces that took longer than the objective
+	private long objectiveMissCount;
+
+
+	/**
+	 * The hops a single TableOrder has passed so far.
+	 */
+	private static class OrderTrace
+	{
+		// Identifies the trace in the printed traces
+		private final String correlationId;
+
+		// The id of the TableOrder that was sent
+		private final int tableOrderId;
+
+		// The time each hop was passed, or 0 if it has not been passed
+		private final long[] hopNanos = new long[Hop.values().length];
+
+		// The latest hop the TableOrder has passed
+		private Hop lastHop;
+
+
+		private OrderTrace(String correlationId, int tableOrderId)
+		{
+			this.correlationId = correlationId;
+			this.tableOrderId = tableOrderId;
+		}
+
+
+		// Timestamps the hop, and forgets any later hops that were passed before it, as they no longer apply
+		private void pass(Hop hop, long nanos)
+		{
+			for (int ordinal = hop.ordinal() + 1; ordinal < hopNanos.length; ordinal++)
+			{
+				hopNanos[ordinal] = 0;
+			}
+
+			hopNanos[hop.ordinal()] = nanos;
+			lastHop = hop;
+		}
+	}
+
+
+	/**
+	 * Constructor for the OrderLatencyTracer class, the application uses the instance returned by getInstance.
+	 *
+	 * @param nanoClock 		- returns the current time in nanoseconds, e.g. System::nanoTime
+	 * @param objectiveMillis 	- the time a TableOrder may take from being sent until it is shown in the kitchen
+	 */
+	public OrderLatencyTracer(LongSupplier nanoClock, long objectiveMillis)
+	{
+		this.nanoClock = nanoClock;
+		this.objectiveNanos = TimeUnit.MILLISECONDS.toNanos(objectiveMillis);
+
+		for (Hop hop : Hop.values())
+		{
+			histogramsByHop.put(hop, new LatencyHistogram());
+		}
+	}
+
+
+	/**
+	 * Returns the singleton instance of OrderLatencyTracer.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of OrderLatencyTracer
+	 */
+	public static synchronized OrderLatencyTracer getInstance()
+	{
+		// If the instance of the OrderLatencyTracer object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the OrderLatencyTracer object and stores it within the instance variable
+			instance = new OrderLatencyTracer(System::nanoTime, Long.getLong("orderLatency.objectiveMillis", DEFAULT_OBJECTIVE_MILLIS));
+		}
+
+		// Returns the instance of the OrderLatencyTracer object
+		return instance;
+	}
+
+
+	/**
+	 * Starts tracing a TableOrder that a guest has just sent to the kitchen, replacing any
+	 * earlier trace of the same TableOrder.
+	 *
+	 * @param tableOrderId 	- the id of the TableOrder that is sent
+	 * @return the correlation id of the trace
+	 */
+	public synchronized String startTrace(int tableOrderId)
+	{
+		long nanos = nanoClock.getAsLong();
+
+		// Discards the traces that were never rendered
+		tracesByTableOrderId.values().removeIf(trace -> nanos - trace.hopNanos[Hop.SENT.ordinal()] > TRACE_EXPIRY_NANOS);
+
+		OrderTrace trace = new OrderTrace(UUID.randomUUID().toString(), tableOrderId);
+		trace.pass(Hop.SENT, nanos);
+
+		tracesByTableOrderId.put(tableOrderId, trace);
+
+		return trace.correlationId;
+	}
+
+
+	/**
+	 * Records that the TableOrder has passed the CONTROLLER or PERSISTED hop, if it is being traced.
+	 *
+	 * The PERSISTED hop may be passed several times, as the TableOrder's PersonalOrders are inserted
+	 * after it has been sent, in which case the kitchen only sees the whole order once the last one
+	 * has been committed, and any poll that started before then is disregarded.
+	 *
+	 * @param tableOrderId 	- the id of the TableOrder
+	 * @param hop 			- the hop the TableOrder has passed
+	 */
+	public void recordHop(int tableOrderId, Hop hop)
+	{
+		// Most updates are not made while a trace is running, which is checked without waiting for the lock
+		if (tracesByTableOrderId.isEmpty())
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			OrderTrace trace = tracesByTableOrderId.get(tableOrderId);
+
+			// If the TableOrder is not being traced, or has already passed a later hop, then there is nothing to record
+			if (trace == null || (hop.compareTo(trace.lastHop) <= 0 && hop != Hop.PERSISTED))
+			{
+				return;
+			}
+
+			trace.pass(hop, nanoClock.getAsLong());
+		}
+	}
+
+
+	/**
+	 * Records that the kitchen's overview has started polling for KitchenTickets, which is the
+	 * FETCH_STARTED hop of every traced TableOrder that has been committed to the database.
+	 */
+	public void recordFetchStarted()
+	{
+		if (tracesByTableOrderId.isEmpty())
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			long nanos = nanoClock.getAsLong();
+
+			for (OrderTrace trace : tracesByTableOrderId.values())
+			{
+				// A poll that did not find the TableOrder is superseded by this one
+				if (trace.lastHop == Hop.PERSISTED || trace.lastHop == Hop.FETCH_STARTED)
+				{
+					trace.pass(Hop.FETCH_STARTED, nanos);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Records that the kitchen's poll has returned, which is the FETCHED hop of every traced
+	 * TableOrder that the poll found.
+	 *
+	 * @param tableOrderIds 	- the ids of the TableOrders the poll found
+	 */
+	public void recordFetched(Collection<Integer> tableOrderIds)
+	{
+		if (tracesByTableOrderId.isEmpty())
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			long nanos = nanoClock.getAsLong();
+
+			for (OrderTrace trace : tracesByTableOrderId.values())
+			{
+				if (trace.lastHop == Hop.FETCH_STARTED && tableOrderIds.contains(trace.tableOrderId))
+				{
+					trace.pass(Hop.FETCHED, nanos);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Records that the fetched KitchenTickets have been handed to the kitchen's overview, which
+	 * completes the trace of every fetched TableOrder, and records the time of each of its hops.
+	 */
+	public void recordRendered()
+	{
+		if (tracesByTableOrderId.isEmpty())
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			long nanos = nanoClock.getAsLong();
+
+			Iterator<OrderTrace> traceIterator = tracesByTableOrderId.values().iterator();
+
+			while (traceIterator.hasNext())
+			{
+				OrderTrace trace = traceIterator.next();
+
+				if (trace.lastHop == Hop.FETCHED)
+				{
+					trace.pass(Hop.RENDERED, nanos);
+					traceIterator.remove();
+
+					completeTrace(trace);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Records the time from the previous hop to each hop of a rendered trace, and prints the
+	 * trace if it took longer than the objective.
+	 *
+	 * @param trace 	- the rendered trace
+	 */
+	private void completeTrace(OrderTrace trace)
+	{
+		long previousNanos = trace.hopNanos[Hop.SENT.ordinal()];
+
+		for (Hop hop : Hop.values())
+		{
+			long hopNanos = trace.hopNanos[hop.ordinal()];
+
+			// Hops that were not passed, e.g. if the TableOrder was not sent through the TableOrderController, are skipped
+			if (hop == Hop.SENT || hopNanos == 0)
+			{
+				continue;
+			}
+
+			histogramsByHop.get(hop).record(hopNanos - previousNanos);
+			previousNanos = hopNanos;
+		}
+
+		long endToEndNanos = trace.hopNanos[Hop.RENDERED.ordinal()] - trace.hopNanos[Hop.SENT.ordinal()];
+		endToEndHistogram.record(endToEndNanos);
+
+		// Prints the trace, so it can be told which hop made the TableOrder miss the objective
+		if (endToEndNanos > objectiveNanos)
+		{
+			objectiveMissCount++;
+
+			System.err.println("TableOrder " + trace.tableOrderId + " took " + TimeUnit.NANOSECONDS.toMillis(endToEndNanos)
+					+ " ms to be shown in the kitchen (correlation id " + trace.correlationId + "): " + formatHops(trace));
+		}
+	}
+
+
+	/**
+	 * Returns the time from the previous hop to each hop that a trace has passed.
+	 *
+	 * @param trace 	- the trace
+	 * @return e.g. CONTROLLER +1 ms, PERSISTED +23 ms, FETCH_STARTED +14210 ms ...
+	 */
+	private static String formatHops(OrderTrace trace)
+	{
+		StringBuilder hops = new StringBuilder();
+		long previousNanos = trace.hopNanos[Hop.SENT.ordinal()];
+
+		for (Hop hop : Hop.values())
+		{
+			long hopNanos = trace.hopNanos[hop.ordinal()];
+
+			if (hop == Hop.SENT || hopNanos == 0)
+			{
+				continue;
+			}
+
+			if (hops.length() > 0)
+			{
+				hops.append(", ");
+			}
+
+			hops.append(hop).append(" +").append(TimeUnit.NANOSECONDS.toMillis(hopNanos - previousNanos)).append(" ms");
+			previousNanos = hopNanos;
+		}
+
+		return hops.toString();
+	}
+
+
+	/**
+	 * Returns the time from the previous hop to the hop, for every rendered trace.
+	 *
+	 * @param hop 	- the hop
+	 * @return the histogram of the hop, which is empty for the SENT hop
+	 */
+	public LatencyHistogram getHistogram(Hop hop)
+	{
+		return histogramsByHop.get(hop);
+	}
+
+
+	/**
+	 * Returns the time from the TableOrder being sent until it was rendered, for every rendered trace.
+	 *
+	 * @return the end to end histogram
+	 */
+	public LatencyHistogram getEndToEndHistogram()
+	{
+		return endToEndHistogram;
+	}
+
+
+	/**
+	 * Returns the amount of traces that took longer than the objective.
+	 *
+	 * @return the amount of traces
+	 */
+	public synchronized long getObjectiveMissCount()
+	{
+		return objectiveMissCount;
+	}
+
+
+	/**
+	 * Returns the amount of traces that have not been rendered yet.
+	 *
+	 * @return the amount of traces
+	 */
+	public int getPendingTraceCount()
+	{
+		return tracesByTableOrderId.size();
+	}
+
+
+	/**
+	 * Returns a summary of the time each hop takes, with one line per hop.
+	 *
+	 * @return the summary, or an empty string if no trace has been rendered
+	 */
+	public String formatSummary()
+	{
+		// If no trace has been rendered then there is nothing to summarize
+		if (endToEndHistogram.getCount() == 0)
+		{
+			return "";
+		}
+
+		StringBuilder summary = new StringBuilder("Order latency from guest to kitchen (" + endToEndHistogram.getCount() + " orders, "
+				+ getObjectiveMissCount() + " above the objective):");
+
+		for (Hop hop : Hop.values())
+		{
+			if (hop != Hop.SENT)
+			{
+				summary.append(System.lineSeparator()).append(formatHistogram(hop.toString(), histogramsByHop.get(hop)));
+			}
+		}
+
+		summary.append(System.lineSeparator()).append(formatHistogram("END_TO_END", endToEndHistogram));
+
+		return summary.toString();
+	}
+
+
+	/**
+	 * Returns a line with the percentiles of the histogram in milliseconds.
+	 *
+	 * @param name 		- the name the line starts with
+	 * @param histogram - the histogram
+	 * @return the line
+	 */
+	private static String formatHistogram(String name, LatencyHistogram histogram)
+	{
+		return String.format("  %-14s count=%d p50=%.1fms p99=%.1fms max=%.1fms", name, histogram.getCount(),
+				histogram.getPercentileMicros(50) / 1000.0, histogram.getPercentileMicros(99) / 1000.0, histogram.getMaximumMicros() / 1000.0);
+	}
+}
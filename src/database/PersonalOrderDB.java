@@ -23,8 +23,11 @@ import model.PersonalOrderLine;
  * 
  * It implements the PersonalOrderImpl, meaning it implements its methods
  * 
+ * The PersonalOrders of a TableOrder are read through and written through the 
+ * TableOrderAggregateCache.
+ * 
  * @author Line Bertelsen, Anders Trankjær, Lumière Schack & Christoffer Søndergaard
- * @version 11/06/2025 - 16:32
+ * @version 19/10/2026 - 09:56
  */
 public class PersonalOrderDB implements PersonalOrderImpl
 {
@@ -40,18 +43,6 @@ public class PersonalOrderDB implements PersonalOrderImpl
 	// - This is related to a future Read PersonalOrder use case
 	private static final String FIND_PERSONALORDER_BY_PERSONALORDERID_QUERY = "SELECT * FROM PersonalOrder WHERE personalOrderId = ?";
 	
-	private PreparedStatement statementFindLinesByPersonalOrderId;
-
-	private PreparedStatement statementInsertPersonalOrder;
-
-	private PreparedStatement statementInsertPersonalOrderLine;
-	
-	private PreparedStatement statementFindByTableOrderId;
-
-	// PreparedStatement for retrieving PersonalOrder based on the personalOrderId
-	// - This is related to a future Read PersonalOrder use case
-	private PreparedStatement statementFindByPersonalOrderId;
-	
 	// Constructor
 	public PersonalOrderDB()
 	{
@@ -70,57 +61,48 @@ public class PersonalOrderDB implements PersonalOrderImpl
 	@Override
 	public List<PersonalOrder> findPersonalOrdersBytableOrderId(int tableOrderId) throws SQLException, DataAccessException 
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-
-		try
+		// Returns the PersonalOrders from the TableOrderAggregateCache, which only queries the database
+		// if the PersonalOrders are not cached or another tablet has added a PersonalOrder
+		return TableOrderAggregateCache.getInstance().findPersonalOrders(tableOrderId, () -> loadPersonalOrdersBytableOrderId(tableOrderId));
+	}
+	
+	
+	/**
+	 * Retrieves all personalOrders that belong to the specified tableOrder from the
+	 * database, without using the TableOrderAggregateCache.
+	 * 
+	 * @param tableOrderId 			- the Id to find matching personalOrders
+	 * @return a list of the matching PersonalOrder objects
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	private List<PersonalOrder> loadPersonalOrdersBytableOrderId(int tableOrderId) throws SQLException, DataAccessException 
+	{
+		// Reading tableOrders happens many times per day. The PersonalOrders and their lines are read by several
+		// statements, which are run as one consistent read, so a PersonalOrder is never read without all of its lines
+		return TransactionTemplate.executeConsistentRead(databaseConnection ->
 		{
-			// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-			// When turned off multiple SQL statements is grouped into one transaction.
-			databaseConnection.setAutoCommit(false);
-
-			// Reading tableOrders happens many times per day. However it occurs almost exclusively during business
-			// hours, and updating happens rarely, and can usually be scheduled.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-
 			// Prepare a SQL statement to retrieve all tableOrders
-			statementFindByTableOrderId = databaseConnection.prepareStatement(FIND_PERSONALORDERS_BY_TABLEORDERID_QUERY);
-
-			// Adds the TableOrderId provided in the method's parameter to the String instead of the placeholder
-			statementFindByTableOrderId.setInt(1, tableOrderId);
-
-			// Executes the prepared statement and stores the result set
-			ResultSet resultSetPersonalOrder = statementFindByTableOrderId.executeQuery();
-
-			// Converts the result set into a list of PersonalOrder objects with the buildPersonalOrderObjects method
-			List<PersonalOrder> resultListOfPersonalOrder = buildPersonalOrderObjects(resultSetPersonalOrder);
-
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-
-			// Returns the list of TableOrder objects
-			return resultListOfPersonalOrder;
-		}
-
-		catch (SQLException exception1)
-		{
-
-			//Undo all changes made so far in the transaction
-			databaseConnection.rollback();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-
-			// If an SQL error occurs a custom exception is thrown with the specified details
-			throw new DataAccessException("Unable to find PersonalOrder objects in the database", exception1);
-		}
+			try (PreparedStatement statementFindByTableOrderId = databaseConnection.prepareStatement(FIND_PERSONALORDERS_BY_TABLEORDERID_QUERY))
+			{
+				// Adds the TableOrderId provided in the method's parameter to the String instead of the placeholder
+				statementFindByTableOrderId.setInt(1, tableOrderId);
+
+				// Executes the prepared statement and stores the result set
+				// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+				QueryCancellationToken.track(statementFindByTableOrderId);
+
+				try (ResultSet resultSetPersonalOrder = statementFindByTableOrderId.executeQuery())
+				{
+					// Converts the result set into a list of PersonalOrder objects with the buildPersonalOrderObjects method and returns it
+					return buildPersonalOrderObjects(resultSetPersonalOrder);
+				}
+			}
+		}, "Unable to find PersonalOrder objects in the database");
 	}
-
 	
-	/**
+	
+		/**
 	 * Builds a specific PersonalOrder object from a database resultSetPersonalOrder.
 	 * 
 	 * @param resultSetPersonalOrder 	- the result set containing PersonalOrder data
@@ -164,6 +146,9 @@ public class PersonalOrderDB implements PersonalOrderImpl
 		// Creates a PersonalOrder with null TableOrder, to be set later
 		PersonalOrder personalOrder = new PersonalOrder(null);
 
+		// Sets the id of the PersonalOrder, which the kitchen overview uses to keep its rows stable between refreshes
+		personalOrder.setPersonalOrderId(resultSet.getInt("personalOrderId"));
+
 		//Set the name and age, it gets from the database through a ResultSet, into a PersonalOrder object
 		personalOrder.setCustomerAge(resultSet.getInt("customerAge"));
 		personalOrder.setCustomerName(resultSet.getString("customerName"));
@@ -200,21 +185,24 @@ public class PersonalOrderDB implements PersonalOrderImpl
 		// Creates an empty list of PersonalOrderLine named listOfPersonalOrderLines
 		List<PersonalOrderLine> listOfPersonalOrderLines = new ArrayList<>();
 		
-		try
+		// Prepares a SQL statement to find and retrieve a listOfPersonalOrderLines with a matching personalOrderId
+		// The statement is closed once the lines have been built, instead of being left open after every call
+		try (PreparedStatement statementFindLinesByPersonalOrderId = databaseConnection.prepareStatement(FIND_PERSONALORDERLINES_BY_PERSONALORDERID_QUERY))
 		{
-			// Prepares a SQL statement to find and retrieve a listOfPersonalOrderLines with a matching personalOrderId
-			statementFindLinesByPersonalOrderId = databaseConnection.prepareStatement(FIND_PERSONALORDERLINES_BY_PERSONALORDERID_QUERY);
-			
 			// Adds the personalOrderId provided in the method's parameter to the String instead of the placeholder
 			statementFindLinesByPersonalOrderId.setInt(1, personalOrderLineId);
 			
 			// Executes the query, and stores the retrieved data in the variable named lineResultSet, which is a ResultSet object
-			ResultSet lineResultSet = statementFindLinesByPersonalOrderId.executeQuery();
-			
-			// Convert each line into a PersonalOrderLine using the buildPersonalOrderLineObject method
-			while (lineResultSet.next())
+			// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+			QueryCancellationToken.track(statementFindLinesByPersonalOrderId);
+
+			try (ResultSet lineResultSet = statementFindLinesByPersonalOrderId.executeQuery())
 			{
-				listOfPersonalOrderLines.add(buildPersonalOrderLineObject(lineResultSet));
+				// Convert each line into a PersonalOrderLine using the buildPersonalOrderLineObject method
+				while (lineResultSet.next())
+				{
+					listOfPersonalOrderLines.add(buildPersonalOrderLineObject(lineResultSet));
+				}
 			}
 		} 
 		
@@ -275,75 +263,58 @@ public class PersonalOrderDB implements PersonalOrderImpl
 	@Override
 	public PersonalOrder insertPersonalOrder(PersonalOrder personalOrder, int tableOrderId) throws DataAccessException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
+		// Starts timing the submission, which is recorded by Java Flight Recorder when a recording is running
+		PersonalOrderSubmittedEvent personalOrderSubmittedEvent = new PersonalOrderSubmittedEvent();
+		personalOrderSubmittedEvent.begin();
 		
-		try
+		// The PersonalOrder and its lines are inserted by several statements, which must succeed or fail together,
+		// so they are run as one transaction. Readers see either all of it or none of it, as they only read committed rows.
+		TransactionTemplate.executeInTransaction(IsolationPolicy.getInstance().getWriteIsolationLevel(), databaseConnection ->
 		{
-			// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-			// When turned off multiple SQL statements is grouped into one transaction.
-			databaseConnection.setAutoCommit(false);
-
-			// Insertion only really needs to read to know whether a value can be inserted into the database.
-			// Hence there is no issue with dirty reads, as any predicted collision is unlikely to not happen.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
-
 			// Prepares a SQL statement to insert PersonalOrder and return a generated key
-			statementInsertPersonalOrder = databaseConnection.prepareStatement(INSERT_PERSONALORDER, Statement.RETURN_GENERATED_KEYS);
-			
-			// Fill customer information
-			statementInsertPersonalOrder.setInt(1, personalOrder.getCustomerAge());
-			statementInsertPersonalOrder.setString(2, personalOrder.getCustomerName());
-			statementInsertPersonalOrder.setInt(3, tableOrderId);
-
-			statementInsertPersonalOrder.executeUpdate();
-
-			// The database generates a key and retrieve the new personalOrderId 
-			// and the data is stored in the ResultSet object called generatedKey
-			ResultSet generatedKey = statementInsertPersonalOrder.getGeneratedKeys();
-			
-			// Iterates through the resultSet while there are still more rows in the database's table
-			if (generatedKey.next())
+			try (PreparedStatement statementInsertPersonalOrder = databaseConnection.prepareStatement(INSERT_PERSONALORDER, Statement.RETURN_GENERATED_KEYS))
 			{
-				// Give the value of the first(1) column in the current row of the result set
-				// Store it in the personalOrderId variable
-				int personalOrderId = generatedKey.getInt(1);
+				// Fill customer information
+				statementInsertPersonalOrder.setInt(1, personalOrder.getCustomerAge());
+				statementInsertPersonalOrder.setString(2, personalOrder.getCustomerName());
+				statementInsertPersonalOrder.setInt(3, tableOrderId);
+
+				statementInsertPersonalOrder.executeUpdate();
+
+				// The database generates a key and retrieve the new personalOrderId 
+				// and the data is stored in the ResultSet object called generatedKey
+				try (ResultSet generatedKey = statementInsertPersonalOrder.getGeneratedKeys())
+				{
+					// Iterates through the resultSet while there are still more rows in the database's table
+					if (generatedKey.next())
+					{
+						// Give the value of the first(1) column in the current row of the result set
+						// Store it in the personalOrderId variable
+						int personalOrderId = generatedKey.getInt(1);
 				
-				// The new generated key is stored in the PersonalOrderLine table in the database 
-				insertPersonalOrderLines(personalOrder.getPersonalOrderLines(), personalOrderId);
-			}
-			
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-		} 
-		
-		//If an error happens 
-		catch (SQLException exception)
-		{
-			exception.printStackTrace();
-			
-			try
-			{
-				//Undo all changes made so far in the transaction
-				databaseConnection.rollback();
+						// Assigns the generated personalOrderId to the PersonalOrder object
+						personalOrder.setPersonalOrderId(personalOrderId);
 				
-				//Restores the default behavior and turns on auto-commit
-				databaseConnection.setAutoCommit(true);
-			} 
+						// The new generated key is stored in the PersonalOrderLine table in the database 
+						insertPersonalOrderLines(personalOrder.getPersonalOrderLines(), personalOrderId);
+					}
 			
-			//If a rollback error happens it throws an exception
-			catch (SQLException rollbackException)
-			{
-				// If rollback fails, throw a custom exception with details
-				throw new DataAccessException("Rollback failed after updateTableOrder error", rollbackException);
+					return personalOrder;
+				}
 			}
-			
-			// If an SQL error occurs while updating the tableOrder an exception is thrown with the specified details
-			throw new DataAccessException("Failed to insert PersonalOrder", exception);
-		}
+		}, "Failed to insert PersonalOrder");
+		
+		// Adds the PersonalOrder to the cached PersonalOrders, so they match the database without being loaded again
+		TableOrderAggregateCache.getInstance().addPersonalOrder(tableOrderId, personalOrder);
+		
+		// Records the submitted PersonalOrder, including the time spent on retries
+		personalOrderSubmittedEvent.tableOrderId = tableOrderId;
+		personalOrderSubmittedEvent.personalOrderId = personalOrder.getPersonalOrderId();
+		personalOrderSubmittedEvent.lineCount = personalOrder.getPersonalOrderLines().size();
+		personalOrderSubmittedEvent.commit();
+		
+		// Records that the PersonalOrder has been committed, if its TableOrder is being sent to the kitchen
+		OrderLatencyTracer.getInstance().recordHop(tableOrderId, OrderLatencyTracer.Hop.PERSISTED);
 
 		return personalOrder;
 	}
@@ -363,25 +334,26 @@ public class PersonalOrderDB implements PersonalOrderImpl
 		// Gets a connection to the database
 		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
 		
-		// Prepares a SQL statement to insert PersonalOrderLine
-		statementInsertPersonalOrderLine = databaseConnection.prepareStatement(INSERT_PERSONALORDERLINE);
-		
-		//Adds multiple lines with a for-each loop
-		for (PersonalOrderLine personalOrderLine : personalOrderLines)
+		// Prepares a SQL statement to insert PersonalOrderLine, which is closed once the batch has been executed
+		try (PreparedStatement statementInsertPersonalOrderLine = databaseConnection.prepareStatement(INSERT_PERSONALORDERLINE))
 		{
-			// Fills in the 5 placeholders with the values from the PersonalOrderLine object.
-			statementInsertPersonalOrderLine.setDouble(1, personalOrderLine.getAdditionalPrice());
-			statementInsertPersonalOrderLine.setString(2, personalOrderLine.getNotes());
-			statementInsertPersonalOrderLine.setInt(3, personalOrderLine.getStatus().ordinal());
-			statementInsertPersonalOrderLine.setInt(4, personalOrderId);
-			statementInsertPersonalOrderLine.setInt(5, personalOrderLine.getMenuItem().getMenuItemId());
+			//Adds multiple lines with a for-each loop
+			for (PersonalOrderLine personalOrderLine : personalOrderLines)
+			{
+				// Fills in the 5 placeholders with the values from the PersonalOrderLine object.
+				statementInsertPersonalOrderLine.setDouble(1, personalOrderLine.getAdditionalPrice());
+				statementInsertPersonalOrderLine.setString(2, personalOrderLine.getNotes());
+				statementInsertPersonalOrderLine.setInt(3, personalOrderLine.getStatus().ordinal());
+				statementInsertPersonalOrderLine.setInt(4, personalOrderId);
+				statementInsertPersonalOrderLine.setInt(5, personalOrderLine.getMenuItem().getMenuItemId());
+				
+				// Adds the filled in values to the statement batch and send them to the database
+				statementInsertPersonalOrderLine.addBatch();
+			}
 			
-			// Adds the filled in values to the statement batch and send them to the database
-			statementInsertPersonalOrderLine.addBatch();
+			// Execute insertion of the listed data
+			statementInsertPersonalOrderLine.executeBatch();
 		}
-		
-		// Execute insertion of the listed data
-		statementInsertPersonalOrderLine.executeBatch();
 	}
 	
 	
@@ -412,53 +384,37 @@ public class PersonalOrderDB implements PersonalOrderImpl
 	@Override
 	public PersonalOrder findPersonalOrderById(int personalOrderId) throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-		
-		try
+		// As the lookup is a single SELECT statement it is run in auto-commit mode at
+		// the default isolation level, instead of as an explicit transaction
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
-			// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-			// When turned off multiple SQL statements is grouped into one transaction.
-			databaseConnection.setAutoCommit(false);
-			
-			// Prevent data from changing between reads, to ensure stable views of the data in multi-user environments
-			// Once a row had been read, it can be changed during the transaction
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-			
 			// Prepares a SQL statement to find and retrieve an PersonalOrder with a matching personalOrderId
-			statementFindByPersonalOrderId = databaseConnection.prepareStatement(FIND_PERSONALORDER_BY_PERSONALORDERID_QUERY);
-
-			// Adds the personalOrderId provided in the method's parameter to the String instead of the placeholder
-			statementFindByPersonalOrderId.setInt(1, personalOrderId);
-
-			// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
-			ResultSet resultSet = statementFindByPersonalOrderId.executeQuery();
-
-			// Creates and initializes an PersonalOrder object as null, which will later be populated with PersonalOrder specific data
-			PersonalOrder personalOrder = null;
-
-			// Iterates through the resultSet while there are still more rows in the database's table
-			if (resultSet.next())
+			try (PreparedStatement statementFindByPersonalOrderId = databaseConnection.prepareStatement(FIND_PERSONALORDER_BY_PERSONALORDERID_QUERY))
 			{
-				// Converts the retrieved database row into an PersonalOrder object using the buildPersonalOrderObject method
-				personalOrder = buildPersonalOrderObject(resultSet);
+				// Adds the personalOrderId provided in the method's parameter to the String instead of the placeholder
+				statementFindByPersonalOrderId.setInt(1, personalOrderId);
+
+				// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
+				// Registers the statement with the view's QueryCancellationToken, so it is aborted if the guest leaves the view
+				QueryCancellationToken.track(statementFindByPersonalOrderId);
+
+				try (ResultSet resultSet = statementFindByPersonalOrderId.executeQuery())
+				{
+					// Creates and initializes an PersonalOrder object as null, which will later be populated with PersonalOrder specific data
+					PersonalOrder personalOrder = null;
+
+					// Iterates through the resultSet while there are still more rows in the database's table
+					if (resultSet.next())
+					{
+						// Converts the retrieved database row into an PersonalOrder object using the buildPersonalOrderObject method
+						personalOrder = buildPersonalOrderObject(resultSet);
+					}
+
+					// Returns the personalOrder with a matching personalOrderId or null if no
+					// PersonalOrder has the specified personalOrderId
+					return personalOrder;
+				}
 			}
-
-			// Returns the personalOrder with a matching personalOrderId or null if no
-			// PersonalOrder has the specified personalOrderId
-			databaseConnection.setAutoCommit(true);
-			
-			return personalOrder;
-		}
-
-		catch (SQLException exception)
-		{	
-			// Reset auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// If an SQL error occurs while trying to find personalOrder, an exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an AvailabilityTracker object with an choiceMenuId matching Id: " + personalOrderId,
-						exception);
-		}
+		}, "Unable to find an AvailabilityTracker object with an choiceMenuId matching Id: " + personalOrderId);
 	}
 }
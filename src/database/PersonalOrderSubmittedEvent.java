@@ -0,0 +1,35 @@
+package database;
+
+// Imports
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+
+/**
+ * A Java Flight Recorder event, which is committed when a PersonalOrder and its lines have
+ * been inserted in to the database, covering the whole transaction including its retries.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:47
+ */
+@Name("bones.PersonalOrderSubmitted")
+@Label("Personal Order Submitted")
+@Category({"Bone's", "Order Lifecycle"})
+@Description("A PersonalOrder and its lines were inserted in to the database")
+@StackTrace(false)
+class PersonalOrderSubmittedEvent extends Event
+{
+	@Label("Table Order Id")
+	int tableOrderId;
+
+	@Label("Personal Order Id")
+	int personalOrderId;
+
+	@Label("Line Count")
+	int lineCount;
+}
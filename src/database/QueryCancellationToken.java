@@ -0,0 +1,176 @@
+package database;
+
+// Imports
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * QueryCancellationToken ties the database work requested by a view to the lifetime of the view.
+ *
+ * While the UtilityViewLoader carries out a view's work, the view's token is bound to the loader
+ * thread, and the DAO classes register the statements they execute with it by calling track.
+ * When the guest leaves the view, or the view is disposed, the view cancels its token, which
+ * calls Statement.cancel() on the statements that are still executing, so the driver aborts them
+ * on the server and the shared connection is free for the next view right away. Work that has not
+ * started yet is abandoned before it reaches the database.
+ *
+ * A token can not be reset once it has been cancelled, the view creates a new token instead.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:38
+ */
+public class QueryCancellationToken
+{
+	// The token bound to the thread carrying out the work, or null if the work can not be cancelled
+	private static final ThreadLocal<QueryCancellationToken> CURRENT_TOKEN = new ThreadLocal<>();
+
+	// The statements executed on behalf of the token, which are cancelled together with it
+	private final Set<Statement> trackedStatements = new HashSet<>();
+
+	// Whether or not the token has been cancelled
+	private volatile boolean isCancelled = false;
+
+
+	/**
+	 * Constructor for the QueryCancellationToken class.
+	 */
+	public QueryCancellationToken()
+	{
+
+	}
+
+
+	/**
+	 * Cancels the token, and every statement that is currently executing on its behalf.
+	 * May be called from any thread, typically the EDT when a view is left.
+	 */
+	public void cancel()
+	{
+		// The statements are copied, so they are cancelled without holding the lock the loader thread registers them with
+		Set<Statement> statementsToCancel;
+
+		synchronized (this)
+		{
+			// If the token has already been cancelled then there is nothing more to do
+			if (isCancelled)
+			{
+				return;
+			}
+
+			isCancelled = true;
+
+			statementsToCancel = new HashSet<>(trackedStatements);
+			trackedStatements.clear();
+		}
+
+		for (Statement statement : statementsToCancel)
+		{
+			try
+			{
+				// Asks the driver to abort the statement on the server, which makes it fail on the loader thread
+				statement.cancel();
+			}
+
+			catch (SQLException exception)
+			{
+				// The statement has already completed or been closed, so there is nothing to abort
+			}
+		}
+	}
+
+
+	/**
+	 * Returns whether or not the token has been cancelled.
+	 *
+	 * @return true if the token has been cancelled, false otherwise
+	 */
+	public boolean isCancelled()
+	{
+		return isCancelled;
+	}
+
+
+	/**
+	 * Binds the token to the calling thread, so the statements executed by the thread are registered with it.
+	 */
+	public void bindToCurrentThread()
+	{
+		CURRENT_TOKEN.set(this);
+	}
+
+
+	/**
+	 * Unbinds the token from the calling thread once its work has completed, and forgets the statements of the work.
+	 */
+	public void unbindFromCurrentThread()
+	{
+		CURRENT_TOKEN.remove();
+
+		synchronized (this)
+		{
+			trackedStatements.clear();
+		}
+	}
+
+
+	/**
+	 * Returns the token bound to the calling thread.
+	 *
+	 * @return the token, or null if the work carried out by the thread can not be cancelled
+	 */
+	public static QueryCancellationToken current()
+	{
+		return CURRENT_TOKEN.get();
+	}
+
+
+	/**
+	 * Registers the statement with the token bound to the calling thread, so it is aborted if the token is cancelled.
+	 * Must be called before the statement is executed.
+	 *
+	 * @param statement 			- the statement that is about to be executed
+	 * @throws QueryCancelledException - if the token has already been cancelled, in which case the statement should not be executed
+	 */
+	public static void track(Statement statement) throws QueryCancelledException
+	{
+		QueryCancellationToken token = CURRENT_TOKEN.get();
+
+		// If the work can not be cancelled then there is nothing to register the statement with
+		if (token == null)
+		{
+			return;
+		}
+
+		synchronized (token)
+		{
+			// If the token was cancelled before the statement was executed then the statement is never executed
+			if (token.isCancelled)
+			{
+				throw new QueryCancelledException("The query was cancelled before it was executed", null);
+			}
+
+			token.trackedStatements.add(statement);
+		}
+	}
+
+
+	/**
+	 * Throws a QueryCancelledException if the token bound to the calling thread has been cancelled.
+	 *
+	 * @param message 				- the description of the work that is about to be carried out
+	 * @throws QueryCancelledException - if the token has been cancelled
+	 */
+	public static void throwIfCurrentCancelled(String message) throws QueryCancelledException
+	{
+		QueryCancellationToken token = CURRENT_TOKEN.get();
+
+		if (token != null && token.isCancelled)
+		{
+			throw new QueryCancelledException(message, null);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+// Packages
+package database;
+
+
+/**
+ * Thrown when database work is abandoned because its QueryCancellationToken has been
+ * cancelled, i.e. because the view that requested it has been left or disposed.
+ *
+ * A cancelled query says nothing about the state of the database, and is therefore
+ * neither retried by the RetryExecutor nor counted as a failure by the CircuitBreaker.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:38
+ */
+public class QueryCancelledException extends DataAccessException
+{
+	// Unique identifier of the class used by Java's serialization
+	private static final long serialVersionUID = 1L;
+
+
+	/**
+	 * Constructor for the QueryCancelledException class.
+	 *
+	 * @param message 	- the description of the work that was abandoned
+	 * @param exception - the failure reported by the driver when the running statement was cancelled, or null
+	 */
+	public QueryCancelledException(String message, Throwable exception)
+	{
+		super(message, exception);
+	}
+}
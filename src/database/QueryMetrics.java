@@ -0,0 +1,267 @@
+package database;
+
+// Imports
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * QueryMetrics is a singleton class that collects the QueryStatistics of every SQL statement
+ * executed on the shared connection, so it can be seen how long e.g. the kitchen's
+ * FIND_VISIBLE_TO_KITCHEN_TABLE_ORDERS_QUERY or INSERT_PERSONALORDERLINE take in production.
+ *
+ * The DataBaseConnection hands out an InstrumentedConnection, which measures every statement
+ * prepared on it without the DAO classes having to do anything. The statements are reported by
+ * the name of the constant holding their SQL in the DAO classes, which is looked up once when
+ * the statement is prepared.
+ *
+ * The statistics can be read through getStatistics, and a summary of them can be printed
+ * periodically by calling startPeriodicSummary.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:49
+ */
+public class QueryMetrics
+{
+	// The amount of minutes between the summaries printed by startPeriodicSummary
+	private static final long SUMMARY_INTERVAL_MINUTES = 5;
+
+	// The classes whose SQL constants are reported by the name of the constant
+	private static final List<Class<?>> QUERY_CLASSES = List.of(KitchenTicketDB.class, MenuCardDB.class, MenuItemDB.class, PersonalOrderDB.class,
+			RestaurantDB.class, TableDB.class, TableOrderDB.class, TableOrderAggregateCache.class, IsolationPolicy.class);
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static QueryMetrics instance;
+
+	// The names of the SQL constants, stored by the SQL they hold
+	private final Map<String, String> queryNamesBySql = new ConcurrentHashMap<>();
+
+	// The statistics of each statement, stored by the name of the query
+	private final Map<String, QueryStatistics> statisticsByQueryName = new ConcurrentHashMap<>();
+
+	// Prints the summaries, or null if startPeriodicSummary has not been called
+	private ScheduledExecutorService summaryExecutor;
+
+
+	/**
+	 * Constructor for the QueryMetrics class, the application uses the instance returned by getInstance.
+	 * Looks up the names of the SQL constants of the DAO classes.
+	 */
+	public QueryMetrics()
+	{
+		for (Class<?> queryClass : QUERY_CLASSES)
+		{
+			registerQueryNames(queryClass);
+		}
+	}
+
+
+	/**
+	 * Returns the singleton instance of QueryMetrics.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of QueryMetrics
+	 */
+	public static synchronized QueryMetrics getInstance()
+	{
+		// If the instance of the QueryMetrics object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the QueryMetrics object and stores it within the instance variable
+			instance = new QueryMetrics();
+		}
+
+		// Returns the instance of the QueryMetrics object
+		return instance;
+	}
+
+
+	/**
+	 * Wraps the connection, so every statement prepared on it is measured by these QueryMetrics.
+	 *
+	 * @param connection 	- the connection to the database
+	 * @return the instrumented connection, or null if the connection is null
+	 */
+	public Connection instrument(Connection connection)
+	{
+		// If the connection could not be established then there is nothing to measure
+		if (connection == null)
+		{
+			return null;
+		}
+
+		return InstrumentedConnection.wrap(connection, this);
+	}
+
+
+	/**
+	 * Registers the names of the constants of the class which hold SQL, i.e. its static final
+	 * String fields whose value starts with SELECT, INSERT, UPDATE or DELETE.
+	 *
+	 * @param queryClass 	- the class declaring the constants, typically a DAO class
+	 */
+	public void registerQueryNames(Class<?> queryClass)
+	{
+		for (Field field : queryClass.getDeclaredFields())
+		{
+			int modifiers = field.getModifiers();
+
+			// Only constants of the type String can hold SQL
+			if (!Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers) || field.getType() != String.class)
+			{
+				continue;
+			}
+
+			try
+			{
+				// The constants are private to the DAO classes
+				field.setAccessible(true);
+
+				String sql = (String) field.get(null);
+
+				if (sql != null && isSql(sql))
+				{
+					queryNamesBySql.putIfAbsent(sql, field.getName());
+				}
+			}
+
+			catch (IllegalAccessException | RuntimeException exception)
+			{
+				// The statement is reported by its SQL instead of the name of the constant
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the statistics of the statement with the specified SQL, creating them the first time the SQL is prepared.
+	 *
+	 * @param sql 	- the SQL of the statement
+	 * @return the statistics the executions of the statement are recorded in
+	 */
+	QueryStatistics statisticsForSql(String sql)
+	{
+		// Statements not held by a constant, e.g. the partial updates of TableOrderDB, are reported by their SQL
+		String queryName = queryNamesBySql.getOrDefault(sql, sql);
+
+		return statisticsByQueryName.computeIfAbsent(queryName, QueryStatistics::new);
+	}
+
+
+	/**
+	 * Returns the statistics of the query with the specified name.
+	 *
+	 * @param queryName 	- the name of the constant holding the SQL, or the SQL itself if it is not held by a constant
+	 * @return the statistics, or null if the query has not been prepared
+	 */
+	public QueryStatistics getStatistics(String queryName)
+	{
+		return statisticsByQueryName.get(queryName);
+	}
+
+
+	/**
+	 * Returns the statistics of every query that has been prepared, the slowest query at the 99th percentile first.
+	 *
+	 * @return a list of the statistics
+	 */
+	public List<QueryStatistics> getAllStatistics()
+	{
+		List<QueryStatistics> allStatistics = new ArrayList<>(statisticsByQueryName.values());
+
+		allStatistics.sort(Comparator.comparingLong((QueryStatistics statistics) -> statistics.getLatencyHistogram().getPercentileMicros(99)).reversed());
+
+		return allStatistics;
+	}
+
+
+	/**
+	 * Forgets the statistics of every query, e.g. between the tests measuring them.
+	 */
+	public void reset()
+	{
+		statisticsByQueryName.clear();
+	}
+
+
+	/**
+	 * Returns a summary of the statistics of every query that has been executed, one query per line.
+	 *
+	 * @return the summary
+	 */
+	public String formatSummary()
+	{
+		StringBuilder summary = new StringBuilder("Query metrics:");
+
+		for (QueryStatistics statistics : getAllStatistics())
+		{
+			// Statements that have been prepared but never executed are left out
+			if (statistics.getExecutionCount() > 0)
+			{
+				summary.append(System.lineSeparator()).append("  ").append(statistics);
+			}
+		}
+
+		return summary.toString();
+	}
+
+
+	/**
+	 * Starts printing a summary of the statistics every SUMMARY_INTERVAL_MINUTES minutes, unless it has already been started.
+	 */
+	public synchronized void startPeriodicSummary()
+	{
+		// If the summaries are already being printed then there is nothing to do
+		if (summaryExecutor != null)
+		{
+			return;
+		}
+
+		summaryExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			// Creates a named daemon thread, so it is recognizable when debugging and does not keep the application alive
+			Thread summaryThread = new Thread(runnable, "QueryMetricsSummary");
+			summaryThread.setDaemon(true);
+
+			return summaryThread;
+		});
+
+		summaryExecutor.scheduleAtFixedRate(() -> 
+		{
+			System.out.println(formatSummary());
+			
+			// Prints the time the TableOrders take from the guests to the kitchen, once any have been shown in the kitchen
+			String orderLatencySummary = OrderLatencyTracer.getInstance().formatSummary();
+			
+			if (!orderLatencySummary.isEmpty())
+			{
+				System.out.println(orderLatencySummary);
+			}
+		}, SUMMARY_INTERVAL_MINUTES, SUMMARY_INTERVAL_MINUTES, TimeUnit.MINUTES);
+	}
+
+
+	/**
+	 * Returns whether or not the string is SQL, rather than e.g. a cache key or a SQLState.
+	 *
+	 * @param value the value of a String constant
+	 * @return true if the value starts with SELECT, INSERT, UPDATE or DELETE, false otherwise
+	 */
+	private static boolean isSql(String value)
+	{
+		String statementType = value.stripLeading().toUpperCase(Locale.ROOT);
+
+		return statementType.startsWith("SELECT") || statementType.startsWith("INSERT") || statementType.startsWith("UPDATE") || statementType.startsWith("DELETE");
+	}
+}
@@ -0,0 +1,140 @@
+package database;
+
+// Imports
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * QueryStatistics holds the measurements of one SQL statement constant of the DAO classes,
+ * i.e. how long its executions took, how many rows they read or changed, and how many failed.
+ *
+ * The measurements are recorded by the statements of the InstrumentedConnection, using
+ * lock-free counters, and read through the QueryMetrics.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:40
+ */
+public class QueryStatistics
+{
+	// The name of the constant holding the SQL, or the SQL itself if it is not held by a constant
+	private final String queryName;
+
+	// The latencies of the executions of the statement
+	private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+	// The amount of rows read from or changed by the statement
+	private final LongAdder rowCount = new LongAdder();
+
+	// The amount of executions that failed with an SQLException
+	private final LongAdder errorCount = new LongAdder();
+
+
+	/**
+	 * Constructor for the QueryStatistics class.
+	 *
+	 * @param queryName the name of the constant holding the SQL, or the SQL itself
+	 */
+	QueryStatistics(String queryName)
+	{
+		this.queryName = queryName;
+	}
+
+
+	/**
+	 * Records one execution of the statement.
+	 *
+	 * @param latencyNanos 	- how long the execution took, in nanoseconds
+	 * @param isFailed 		- whether or not the execution failed with an SQLException
+	 */
+	void recordExecution(long latencyNanos, boolean isFailed)
+	{
+		latencyHistogram.record(latencyNanos);
+
+		if (isFailed)
+		{
+			errorCount.increment();
+		}
+	}
+
+
+	/**
+	 * Records rows read from or changed by the statement.
+	 *
+	 * @param rows the amount of rows
+	 */
+	void recordRows(long rows)
+	{
+		rowCount.add(rows);
+	}
+
+
+	/**
+	 * Returns the name of the constant holding the SQL, or the SQL itself if it is not held by a constant.
+	 *
+	 * @return the name of the query
+	 */
+	public String getQueryName()
+	{
+		return queryName;
+	}
+
+
+	/**
+	 * Returns the latencies of the executions of the statement.
+	 *
+	 * @return the latency histogram
+	 */
+	public LatencyHistogram getLatencyHistogram()
+	{
+		return latencyHistogram;
+	}
+
+
+	/**
+	 * Returns the amount of times the statement has been executed.
+	 *
+	 * @return the amount of executions
+	 */
+	public long getExecutionCount()
+	{
+		return latencyHistogram.getCount();
+	}
+
+
+	/**
+	 * Returns the amount of rows read from or changed by the statement.
+	 *
+	 * @return the amount of rows
+	 */
+	public long getRowCount()
+	{
+		return rowCount.sum();
+	}
+
+
+	/**
+	 * Returns the amount of executions that failed with an SQLException.
+	 *
+	 * @return the amount of failed executions
+	 */
+	public long getErrorCount()
+	{
+		return errorCount.sum();
+	}
+
+
+	/**
+	 * Returns a one line summary of the measurements, as printed by the QueryMetrics.
+	 *
+	 * @return the summary
+	 */
+	@Override
+	public String toString()
+	{
+		return String.format("%s: executions=%d, p50=%.1fms, p99=%.1fms, max=%.1fms, rows=%d, errors=%d",
+				queryName, getExecutionCount(),
+				latencyHistogram.getPercentileMicros(50) / 1000.0, latencyHistogram.getPercentileMicros(99) / 1000.0, latencyHistogram.getMaximumMicros() / 1000.0,
+				getRowCount(), getErrorCount());
+	}
+}
@@ -1,6 +1,5 @@
 package database;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -21,13 +20,10 @@ public class RestaurantDB implements RestaurantImpl
 	// selects a specific row from restaurant table in the database
 	private static final String FIND_RESTAURANT_BY_RESTAURANTCODE_QUERY = "SELECT * FROM Restaurant WHERE restaurantCode = ?";
 	
-	// PreparedStatement for retrieving a restaurant based on the restaurantCode
-	private PreparedStatement statementFindByRestaurantCode; 
-	
 	
 	public RestaurantDB() throws SQLException
 	{
-		statementFindByRestaurantCode = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_RESTAURANT_BY_RESTAURANTCODE_QUERY);
+		// The statement is prepared by findRestaurantByCode, on the connection supplied by the TransactionTemplate
 	}
 
 	/**
@@ -42,59 +38,35 @@ public class RestaurantDB implements RestaurantImpl
 	@Override
 	public Restaurant findRestaurantByCode(String restaurantCode) throws DataAccessException, SQLException 
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-		
-		try
+		// Reading restaurantscodes happens many times per day. As the lookup is a single SELECT statement
+		// it is run in auto-commit mode at the default isolation level, instead of as an explicit transaction
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
-			// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-			// When turned off multiple SQL statements is grouped into one transaction.
-			databaseConnection.setAutoCommit(false);
-			
-			// Reading restaurantscodes happens many times per day. However it occurs almost exclusively during business
-			// hours, and updating happens rarely, and can usually be scheduled.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-			
-			// Prepares a SQL statement to find and retrieve a restaurant with a matching tableCode
-			statementFindByRestaurantCode = databaseConnection.prepareStatement(FIND_RESTAURANT_BY_RESTAURANTCODE_QUERY);
-			
-			// Adds the tableCode from the methods parameterlist to the String instead of the placeholder
-			statementFindByRestaurantCode.setString(1, restaurantCode);
-			
-			// Executes the query, and stores the retrieved data as a ResultSet
-			ResultSet resultSet = statementFindByRestaurantCode.executeQuery();
-			
-			// Creates and initializes an restaurant object as null
-			Restaurant restaurant = null;
-			
-			// Iterates through the resultSet while there are still more rows in the database's table
-			if (resultSet.next())
+			// Prepares a SQL statement to find and retrieve a restaurant with a matching tableCode, on the
+			// connection supplied for this attempt, as the connection may have been re-established
+			try (PreparedStatement statementFindByRestaurantCode = databaseConnection.prepareStatement(FIND_RESTAURANT_BY_RESTAURANTCODE_QUERY))
 			{
-				// Converts the retrieved database row into a restaurant object using the buildrestaurantObject method
-				restaurant = buildRestaurantObject(resultSet);
-			}
+				// Adds the tableCode from the methods parameterlist to the String instead of the placeholder
+				statementFindByRestaurantCode.setString(1, restaurantCode);
 			
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
+				// Executes the query, and stores the retrieved data as a ResultSet
+				try (ResultSet resultSet = statementFindByRestaurantCode.executeQuery())
+				{
+					// Creates and initializes an restaurant object as null
+					Restaurant restaurant = null;
 			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
+					// Iterates through the resultSet while there are still more rows in the database's table
+					if (resultSet.next())
+					{
+						// Converts the retrieved database row into a restaurant object using the buildrestaurantObject method
+						restaurant = buildRestaurantObject(resultSet);
+					}
 			
-			// Returns an object with with a restaurantCode matching the parameterlist after it was built
-			return restaurant;
-		}
-		
-		catch (SQLException exception)
-		{
-			//Undo all changes made so far in the transaction
-			databaseConnection.rollback();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// If an SQL error occurs while trying to find restaurant, an exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an resetaurant object with a restaurantCode matching: " + restaurantCode, exception);
-		}
+					// Returns an object with with a restaurantCode matching the parameterlist after it was built
+					return restaurant;
+				}
+			}
+		}, "Unable to find an resetaurant object with a restaurantCode matching: " + restaurantCode);
 	}
 
 
@@ -0,0 +1,553 @@
+package database;
+
+// Imports
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * RetryExecutor is responsible for retrying database operations that fail because of
+ * transient contention or a dropped connection, instead of losing e.g. a guest's order.
+ *
+ * A failure is retried if one of the SQLExceptions it was caused by has a SQL Server error
+ * code that is known to be transient, such as being chosen as deadlock victim (1205), or if
+ * the connection to the database was lost, in which case the connection is re-established
+ * before the operation is retried.
+ *
+ * A lost connection is only retried for operations that are idempotent, i.e. reads and writes
+ * that set columns to given values. The connection may have been lost after the database had
+ * committed the operation, so attempting e.g. the insertion of a PersonalOrder again could insert
+ * it twice. For such operations the connection is re-established for the following operations,
+ * and the failure is passed on to the caller instead.
+ *
+ * Between the attempts the executor waits for an exponentially increasing, randomly jittered
+ * amount of time, so tablets that failed at the same time do not retry at the same time.
+ *
+ * Retries are limited by a retry budget, which is replenished by operations that succeed.
+ * If the database is failing for every operation the budget runs out, and operations fail
+ * immediately rather than multiplying the load on the database at peak hours.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:39
+ */
+public class RetryExecutor
+{
+	// The maximum amount of times an operation is attempted, including the first attempt
+	private static final int MAXIMUM_ATTEMPTS = 4;
+
+	// The upper bound of the wait before the first retry, which is doubled for every following retry
+	private static final long INITIAL_BACKOFF_MILLIS = 50;
+
+	// The upper bound of the wait before any retry
+	private static final long MAXIMUM_BACKOFF_MILLIS = 1000;
+
+	// The amount of retries that can be made in a row when every operation is failing
+	private static final double MAXIMUM_RETRY_TOKENS = 10;
+
+	// The part of a retry each successful operation adds to the budget, i.e. at most one retry per ten operations in the long run
+	private static final double TOKENS_PER_SUCCESS = 0.1;
+
+	// SQL Server error codes of failures that are likely to succeed if the operation is simply attempted again
+	private static final Set<Integer> RETRYABLE_ERROR_CODES = Set.of(
+			1205,	// The transaction was chosen as deadlock victim
+			1222,	// The lock request time out period was exceeded
+			3960,	// Snapshot isolation transaction aborted due to an update conflict
+			8645);	// A timeout occurred while waiting for memory resources to execute the query
+
+	// SQL Server error codes of failures where the connection to the database was lost
+	private static final Set<Integer> CONNECTION_ERROR_CODES = Set.of(
+			64,		// The specified network name is no longer available
+			233,	// No process is on the other end of the pipe
+			10053,	// The connection was aborted by the software in the host machine
+			10054,	// The connection was forcibly closed by the remote host
+			10060);	// The connection attempt failed because the server did not respond
+
+	// The SQLState class of failures where the connection to the database was lost, e.g. 08S01
+	private static final String CONNECTION_SQLSTATE_CLASS = "08";
+
+	// The SQLState of a serialization failure, which includes deadlocks
+	private static final String SERIALIZATION_FAILURE_SQLSTATE = "40001";
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static RetryExecutor instance;
+
+	// The maximum amount of times an operation is attempted
+	private final int maximumAttempts;
+
+	// The upper bound of the wait before the first retry
+	private final long initialBackoffMillis;
+
+	// The upper bound of the wait before any retry
+	private final long maximumBackoffMillis;
+
+	// The maximum amount of retries the budget can hold
+	private final double maximumRetryTokens;
+
+	// Waits between the attempts
+	private final Sleeper sleeper;
+
+	// Re-establishes the connection to the database after it has been lost
+	private final ConnectionRecovery connectionRecovery;
+
+	// The amount of retries currently left in the budget
+	private double retryTokens;
+
+	// - Metrics - //
+	private final AtomicLong operationCount = new AtomicLong();
+	private final AtomicLong retryCount = new AtomicLong();
+	private final AtomicLong recoveredOperationCount = new AtomicLong();
+	private final AtomicLong exhaustedOperationCount = new AtomicLong();
+	private final AtomicLong budgetRejectionCount = new AtomicLong();
+	private final AtomicLong nonRetryableFailureCount = new AtomicLong();
+	private final AtomicLong reconnectCount = new AtomicLong();
+
+
+	/**
+	 * A database operation that may be attempted several times.
+	 *
+	 * @param <T> the type of the result of the operation
+	 */
+	@FunctionalInterface
+	public interface RetryableOperation<T>
+	{
+		/**
+		 * Carries out the operation.
+		 *
+		 * @return the result of the operation
+		 * @throws DataAccessException 	- if the operation fails
+		 */
+		T execute() throws DataAccessException;
+	}
+
+
+	/**
+	 * Waits the specified amount of milliseconds between two attempts.
+	 */
+	@FunctionalInterface
+	public interface Sleeper
+	{
+		/**
+		 * Waits the specified amount of milliseconds.
+		 *
+		 * @param millis 				- the amount of milliseconds to wait
+		 * @throws InterruptedException - if the thread is interrupted while waiting
+		 */
+		void sleep(long millis) throws InterruptedException;
+	}
+
+
+	/**
+	 * Re-establishes the connection to the database after it has been lost.
+	 */
+	@FunctionalInterface
+	public interface ConnectionRecovery
+	{
+		/**
+		 * Re-establishes the connection.
+		 *
+		 * @throws SQLException			- if the connection could not be re-established
+		 */
+		void reconnect() throws SQLException;
+	}
+
+
+	/**
+	 * Constructor for the RetryExecutor class, the application uses the instance returned by getInstance,
+	 * which waits using Thread.sleep and reconnects the DataBaseConnection while holding the connection's lock.
+	 *
+	 * @param maximumAttempts 		- the maximum amount of times an operation is attempted, including the first attempt
+	 * @param initialBackoffMillis 	- the upper bound of the wait before the first retry
+	 * @param maximumBackoffMillis 	- the upper bound of the wait before any retry
+	 * @param maximumRetryTokens 	- the amount of retries that can be made in a row when every operation is failing
+	 * @param sleeper 				- waits between the attempts
+	 * @param connectionRecovery 	- re-establishes the connection to the database after it has been lost
+	 */
+	public RetryExecutor(int maximumAttempts, long initialBackoffMillis, long maximumBackoffMillis, double maximumRetryTokens,
+			Sleeper sleeper, ConnectionRecovery connectionRecovery)
+	{
+		this.maximumAttempts = maximumAttempts;
+		this.initialBackoffMillis = initialBackoffMillis;
+		this.maximumBackoffMillis = maximumBackoffMillis;
+		this.maximumRetryTokens = maximumRetryTokens;
+		this.sleeper = sleeper;
+		this.connectionRecovery = connectionRecovery;
+
+		// The budget starts out full
+		this.retryTokens = maximumRetryTokens;
+	}
+
+
+	/**
+	 * Returns the singleton instance of RetryExecutor.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of RetryExecutor
+	 */
+	public static synchronized RetryExecutor getInstance()
+	{
+		// If the instance of the RetryExecutor object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the RetryExecutor object and stores it within the instance variable
+			instance = new RetryExecutor(MAXIMUM_ATTEMPTS, INITIAL_BACKOFF_MILLIS, MAXIMUM_BACKOFF_MILLIS, MAXIMUM_RETRY_TOKENS,
+					Thread::sleep, TransactionTemplate::reconnectLostConnection);
+		}
+
+		// Returns the instance of the RetryExecutor object
+		return instance;
+	}
+
+
+	/**
+	 * Carries out an idempotent operation, e.g. a read, and attempts it again if it fails because of a transient
+	 * failure, as long as the maximum amount of attempts has not been reached and the retry budget allows it.
+	 *
+	 * @param operation 			- the operation that should be carried out
+	 * @return the result of the operation
+	 * @throws DataAccessException 	- the failure of the last attempt, if the operation could not be carried out
+	 */
+	public <T> T execute(RetryableOperation<T> operation) throws DataAccessException
+	{
+		return execute(operation, true);
+	}
+
+
+	/**
+	 * Carries out the operation, and attempts it again if it fails because of a transient failure,
+	 * as long as the maximum amount of attempts has not been reached and the retry budget allows it.
+	 *
+	 * A failed attempt must not have changed anything in the database, which holds for transactions
+	 * that have been rolled back. If the connection was lost the database may have committed the
+	 * attempt anyway, so the operation is then only attempted again if it is idempotent.
+	 *
+	 * @param operation 			- the operation that should be carried out
+	 * @param isIdempotent 			- whether or not carrying out the operation twice has the same effect as carrying it out once
+	 * @return the result of the operation
+	 * @throws DataAccessException 	- the failure of the last attempt, if the operation could not be carried out
+	 */
+	public <T> T execute(RetryableOperation<T> operation, boolean isIdempotent) throws DataAccessException
+	{
+		operationCount.incrementAndGet();
+
+		// The number of the current attempt, starting at 1
+		int attempt = 1;
+
+		// The failure of the previous attempt, if it was caused by the connection being lost
+		DataAccessException connectionFailure = null;
+
+		while (true)
+		{
+			// The lost connection is re-established at the start of the next attempt, after the wait
+			if (connectionFailure != null)
+			{
+				reestablishConnection(connectionFailure);
+
+				connectionFailure = null;
+			}
+
+			try
+			{
+				T result = operation.execute();
+
+				// The successful operation adds to the retry budget
+				depositRetryTokens();
+
+				// If the operation was retried then it has recovered from a transient failure
+				if (attempt > 1)
+				{
+					recoveredOperationCount.incrementAndGet();
+				}
+
+				return result;
+			}
+
+			catch (DataAccessException exception)
+			{
+				// If the failure is not transient then attempting again would fail the same way
+				if (!isRetryable(exception))
+				{
+					nonRetryableFailureCount.incrementAndGet();
+
+					throw exception;
+				}
+
+				// If the connection was lost during a write that is not idempotent then the write may already have been committed
+				if (!isIdempotent && isConnectionFailure(exception))
+				{
+					nonRetryableFailureCount.incrementAndGet();
+
+					// The connection is re-established for the following operations, but the write is not attempted again
+					reestablishConnection(exception);
+
+					throw exception;
+				}
+
+				// If the operation has been attempted the maximum amount of times then it fails
+				if (attempt >= maximumAttempts)
+				{
+					exhaustedOperationCount.incrementAndGet();
+
+					throw exception;
+				}
+
+				// If the retry budget is used up then the operation fails, to avoid overloading the database
+				if (!withdrawRetryToken())
+				{
+					budgetRejectionCount.incrementAndGet();
+
+					throw exception;
+				}
+
+				// Waits before the next attempt
+				waitBeforeRetry(exception, attempt);
+
+				// If the connection was lost then it is re-established before the next attempt
+				if (isConnectionFailure(exception))
+				{
+					connectionFailure = exception;
+				}
+
+				retryCount.incrementAndGet();
+				attempt++;
+			}
+		}
+	}
+
+
+	/**
+	 * Waits before the next attempt.
+	 *
+	 * @param exception 			- the failure of the attempt that was just made
+	 * @param attempt 				- the number of the attempt that was just made, starting at 1
+	 * @throws DataAccessException 	- the failure of the attempt, if the thread is interrupted while waiting
+	 */
+	private void waitBeforeRetry(DataAccessException exception, int attempt) throws DataAccessException
+	{
+		try
+		{
+			sleeper.sleep(computeBackoffMillis(attempt));
+		}
+
+		catch (InterruptedException interruptedException)
+		{
+			// Restores the interrupted status of the thread, and gives up on the operation
+			Thread.currentThread().interrupt();
+
+			throw exception;
+		}
+	}
+
+
+	/**
+	 * Re-establishes the connection to the database after it has been lost. The ConnectionRecovery of the
+	 * application only replaces the connection while no other thread is using it, and only if it has not
+	 * already been replaced by another thread whose attempt failed on the same lost connection.
+	 *
+	 * @param exception 			- the failure caused by the lost connection, to which a failure to reconnect is added
+	 */
+	private void reestablishConnection(DataAccessException exception)
+	{
+		try
+		{
+			connectionRecovery.reconnect();
+
+			reconnectCount.incrementAndGet();
+		}
+
+		catch (SQLException reconnectException)
+		{
+			// The next attempt fails on the lost connection, and is retried again if the budget allows it
+			exception.addSuppressed(reconnectException);
+		}
+	}
+
+
+	/**
+	 * Computes how long to wait before the retry following the specified attempt. The wait is a random
+	 * amount of time between zero and an upper bound, which is doubled for every attempt (full jitter).
+	 *
+	 * @param attempt the number of the attempt that has just failed, starting at 1
+	 * @return the amount of milliseconds to wait
+	 */
+	long computeBackoffMillis(int attempt)
+	{
+		// Doubles the upper bound for every attempt, without exceeding the maximum wait
+		long upperBoundMillis = Math.min(maximumBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+
+		return ThreadLocalRandom.current().nextLong(upperBoundMillis + 1);
+	}
+
+
+	/**
+	 * Adds the part of a retry a successful operation earns to the retry budget.
+	 */
+	private synchronized void depositRetryTokens()
+	{
+		retryTokens = Math.min(maximumRetryTokens, retryTokens + TOKENS_PER_SUCCESS);
+	}
+
+
+	/**
+	 * Takes one retry from the retry budget, if there is one left.
+	 *
+	 * @return true if a retry may be made, false if the budget is used up
+	 */
+	private synchronized boolean withdrawRetryToken()
+	{
+		// If less than one retry is left then no retry may be made
+		if (retryTokens < 1)
+		{
+			return false;
+		}
+
+		retryTokens--;
+
+		return true;
+	}
+
+
+	/**
+	 * Returns whether or not the failure is transient, meaning that the operation is likely
+	 * to succeed if it is attempted again, based on the SQLExceptions that caused it.
+	 *
+	 * @param failure the failure of the operation
+	 * @return true if the operation should be attempted again, false otherwise
+	 */
+	public static boolean isRetryable(Throwable failure)
+	{
+		// A query cancelled because its view was left must not be carried out again
+		if (failure instanceof QueryCancelledException)
+		{
+			return false;
+		}
+
+		// Goes through every SQLException in the chain of causes, including the ones chained by the driver
+		for (Throwable cause = failure; cause != null; cause = cause.getCause())
+		{
+			if (cause instanceof SQLException)
+			{
+				for (SQLException sqlException = (SQLException) cause; sqlException != null; sqlException = sqlException.getNextException())
+				{
+					if (RETRYABLE_ERROR_CODES.contains(sqlException.getErrorCode()) || SERIALIZATION_FAILURE_SQLSTATE.equals(sqlException.getSQLState())
+							|| isConnectionFailure(sqlException))
+					{
+						return true;
+					}
+				}
+			}
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * Returns whether or not the failure was caused by the connection to the database being lost.
+	 *
+	 * @param failure the failure of the operation
+	 * @return true if the connection should be re-established before the operation is attempted again, false otherwise
+	 */
+	public static boolean isConnectionFailure(Throwable failure)
+	{
+		// Goes through every SQLException in the chain of causes
+		for (Throwable cause = failure; cause != null; cause = cause.getCause())
+		{
+			if (cause instanceof SQLException)
+			{
+				SQLException sqlException = (SQLException) cause;
+
+				// The driver reports a lost connection using SQLState class 08, the server using its error codes
+				String sqlState = sqlException.getSQLState();
+
+				if ((sqlState != null && sqlState.startsWith(CONNECTION_SQLSTATE_CLASS)) || CONNECTION_ERROR_CODES.contains(sqlException.getErrorCode()))
+				{
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+
+	// - Metrics - //
+
+	/**
+	 * Returns the amount of operations that have been carried out.
+	 *
+	 * @return the amount of operations
+	 */
+	public long getOperationCount()
+	{
+		return operationCount.get();
+	}
+
+
+	/**
+	 * Returns the amount of retries that have been made.
+	 *
+	 * @return the amount of retries
+	 */
+	public long getRetryCount()
+	{
+		return retryCount.get();
+	}
+
+
+	/**
+	 * Returns the amount of operations that succeeded after being retried.
+	 *
+	 * @return the amount of recovered operations
+	 */
+	public long getRecoveredOperationCount()
+	{
+		return recoveredOperationCount.get();
+	}
+
+
+	/**
+	 * Returns the amount of operations that failed after being attempted the maximum amount of times.
+	 *
+	 * @return the amount of exhausted operations
+	 */
+	public long getExhaustedOperationCount()
+	{
+		return exhaustedOperationCount.get();
+	}
+
+
+	/**
+	 * Returns the amount of transient failures that were not retried because the retry budget was used up.
+	 *
+	 * @return the amount of rejected retries
+	 */
+	public long getBudgetRejectionCount()
+	{
+		return budgetRejectionCount.get();
+	}
+
+
+	/**
+	 * Returns the amount of operations that failed with a failure that is not transient.
+	 *
+	 * @return the amount of non-retryable failures
+	 */
+	public long getNonRetryableFailureCount()
+	{
+		return nonRetryableFailureCount.get();
+	}
+
+
+	/**
+	 * Returns the amount of times the connection to the database has been re-established.
+	 *
+	 * @return the amount of reconnects
+	 */
+	public long getReconnectCount()
+	{
+		return reconnectCount.get();
+	}
+}
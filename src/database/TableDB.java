@@ -1,6 +1,5 @@
 package database;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -14,21 +13,20 @@ import model.TableOrder;
  * 
  * It implements the tableImpl interface. 
  * 
+ * Tables are looked up through the TableResolutionCache, so the many guest tablets 
+ * starting a session at the same time do not each query the database.
+ * 
  * @author Anders Trankjær, Line Bertelsen & Christoffer Søndergaard
- * @version 02/06/2025 - 13:54
+ * @version 19/10/2026 - 10:14
  */
 public class TableDB implements TableImpl
 {
 	//  selects a specific row from table_object
 	private static final String FIND_TABLE_BY_TABLECODE_QUERY = "SELECT * FROM Object_table WHERE tableNumber = ? AND restaurantCode = ?";
 		
-	// PreparedStatement for retrieving a table from the database
-	private PreparedStatement statementFindByTableCode; 
-	
 	public TableDB() throws SQLException
 	{
-		//Prepares the SQL statement for retrieving a table
-		//statementFindByTableCode = DataBaseConnection.getInstance().getConnection().prepareStatement(FIND_TABLE_BY_TABLECODE_QUERY);
+		// The statement is prepared by loadTableByCode, and closed once the table has been built
 	}
 	
 	/**
@@ -44,62 +42,63 @@ public class TableDB implements TableImpl
 	@Override
 	public Table findTableByCode(String tableNumber, String restaurantCode) throws DataAccessException, SQLException 
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-
-		try
+		// Returns the table from the TableResolutionCache, which only queries the database if the 
+		// table has not been looked up recently and no other request is already looking it up
+		Table table = TableResolutionCache.getInstance().resolve(tableNumber, restaurantCode, () -> loadTableByCode(tableNumber, restaurantCode));
+		
+		// If the table's current TableOrder has been closed then the table is about to be given a new TableOrder,
+		// so the table is looked up in the database again next time instead of handing the closed TableOrder to the next guest
+		if (table != null && table.getCurrentTableOrder() != null && table.getCurrentTableOrder().isTableOrderClosed())
+		{
+			TableResolutionCache.getInstance().invalidate(tableNumber, restaurantCode);
+		}
+		
+		return table;
+	}
+	
+	
+	/**
+	 * Retrieves a table by its table code from the database, without using the TableResolutionCache.
+	 * 
+	 * @param tableNumber 			- the tableCode used in the search
+	 * @param restaurantCode 		- the restaurantCode used in the search
+	 * @return chosenTable 			- a table that matches the search parameters, or null if none matches
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	private Table loadTableByCode(String tableNumber, String restaurantCode) throws DataAccessException, SQLException 
+	{
+		// Reading Tables happens many of times per day. As the lookup is a single SELECT statement
+		// it is run in auto-commit mode at the default isolation level, instead of as an explicit transaction
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
-			// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-			// When turned off multiple SQL statements is grouped into one transaction.
-			databaseConnection.setAutoCommit(false);
-			
-			// Reading Tables happens many of times per day. However it occurs almost exclusively during business
-			// hours, and updating happens rarely, and can usually be scheduled.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-			
 			// Prepares a SQL statement to find and retrieve a table with a matching tableCode
-			statementFindByTableCode = databaseConnection.prepareStatement(FIND_TABLE_BY_TABLECODE_QUERY);
-
-			// Adds the tableCode from the methods parameterlist to the String instead of the placeholder
-			statementFindByTableCode.setString(1, tableNumber);
-			statementFindByTableCode.setString(2, restaurantCode);
-
-			// Executes the query, and stores the retrieved data as a ResultSet
-			ResultSet resultSet = statementFindByTableCode.executeQuery();
-
-			// Creates and initializes an Table object as null, which may later have table specific data
-			// If no matching table is found it will return null
-			Table chosenTable = null;
-			
-			// Moves the cursor to the next row in the result set returned by the database.
-			// Returns true if a row exists, returns false if there are no more rows to read.
-			if (resultSet.next())
+			try (PreparedStatement statementFindByTableCode = databaseConnection.prepareStatement(FIND_TABLE_BY_TABLECODE_QUERY))
 			{
-				// Converts the retrieved database row into a table object using the buildTableObject method
-				chosenTable = buildTableObject(resultSet);
-			}
-
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// Returns a object with with a tableCode matching the parameterlist
-			return chosenTable;
-		}
+				// Adds the tableCode from the methods parameterlist to the String instead of the placeholder
+				statementFindByTableCode.setString(1, tableNumber);
+				statementFindByTableCode.setString(2, restaurantCode);
 
-		catch (SQLException exception1)
-		{
-			//Undo all changes made so far in the transaction
-			databaseConnection.rollback();
+				// Executes the query, and stores the retrieved data as a ResultSet
+				try (ResultSet resultSet = statementFindByTableCode.executeQuery())
+				{
+					// Creates and initializes an Table object as null, which may later have table specific data
+					// If no matching table is found it will return null
+					Table chosenTable = null;
 			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
+					// Moves the cursor to the next row in the result set returned by the database.
+					// Returns true if a row exists, returns false if there are no more rows to read.
+					if (resultSet.next())
+					{
+						// Converts the retrieved database row into a table object using the buildTableObject method
+						chosenTable = buildTableObject(resultSet);
+					}
 			
-			// If an SQL error occurs a custom exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an table object with a tableCode matching: " + tableNumber + restaurantCode, exception1);
-		}
+					// Returns a object with with a tableCode matching the parameterlist
+					return chosenTable;
+				}
+			}
+		}, "Unable to find an table object with a tableCode matching: " + tableNumber + restaurantCode);
 	}
 	
 	
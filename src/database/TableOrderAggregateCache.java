@@ -0,0 +1,838 @@
+package database;
+
+// Imports
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import model.EnumTableOrderField;
+import model.PersonalOrder;
+import model.PersonalOrderLine;
+import model.TableOrder;
+
+
+/**
+ * TableOrderAggregateCache is a singleton class that keeps the most recently used TableOrders
+ * together with their PersonalOrders, stored by their tableOrderId.
+ *
+ * The guest views show the same TableOrder and PersonalOrders every time the guest navigates
+ * back and forth between them. The cache is read-through, meaning the DAO classes ask the cache
+ * first and only query the database if the aggregate is missing, and write-through, meaning the
+ * DAO classes update the cached aggregate in place after a successful update or insert.
+ *
+ * An aggregate that has been validated within the last VALIDATION_INTERVAL_SECONDS is used
+ * without any database work. After that a cheap version probe is made against the database,
+ * comparing the TableOrder's rowVersion, its PersonalOrders and a checksum of their
+ * PersonalOrderLines, and the aggregate is only loaded again if the probe shows that it has
+ * been changed, e.g. by another tablet or by the kitchen changing the status of a line.
+ *
+ * The checksum of the PersonalOrderLines is calculated by the database, so once a PersonalOrder
+ * has been added in place the aggregate is used until it is validated next, and then loaded again.
+ *
+ * The cache holds at most MAXIMUM_CACHED_AGGREGATES aggregates, and discards the least
+ * recently used aggregate once it is full.
+ *
+ * The database is never queried while the cache is locked, so a slow lookup of one TableOrder
+ * does not hold up the lookups of the others. Concurrent lookups of the same part of an aggregate
+ * are coalesced, meaning that only the first request queries the database while the others wait
+ * for its result (single-flight), the same way the TableResolutionCache coalesces its lookups.
+ * A part that is changed in place while it is being loaded is discarded once the load completes.
+ *
+ * Every caller receives its own copies of the TableOrder and PersonalOrders, so changes made by
+ * one guest's session never leak in to the cached aggregate.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:47
+ */
+public class TableOrderAggregateCache
+{
+	// The maximum amount of aggregates that are kept in the cache at any one time
+	private static final int MAXIMUM_CACHED_AGGREGATES = 16;
+
+	// The amount of seconds an aggregate is used without checking its version against the database
+	private static final long VALIDATION_INTERVAL_SECONDS = 5;
+
+	// Selects the version of a TableOrder aggregate, consisting of the TableOrder's rowVersion, which changes whenever
+	// the TableOrder is updated, the amount and highest id of its PersonalOrders, which change when one is inserted or removed,
+	// and a checksum of the columns of their PersonalOrderLines, which changes when a line is inserted, removed or updated
+	private static final String FIND_AGGREGATE_VERSION_QUERY = "SELECT (SELECT rowVersion FROM TableOrder WHERE tableOrderId = ?) AS tableOrderRowVersion, "
+			+ "(SELECT CHECKSUM_AGG(CHECKSUM(personalOrderLine.personalOrderLineId, personalOrderLine.additionalPrice, personalOrderLine.notes, "
+			+ "personalOrderLine.status, personalOrderLine.menuItemId)) FROM PersonalOrderLine personalOrderLine JOIN PersonalOrder linePersonalOrder "
+			+ "ON linePersonalOrder.personalOrderId = personalOrderLine.personalOrderId WHERE linePersonalOrder.tableOrderId = ?) AS personalOrderLinesChecksum, "
+			+ "COUNT(*) AS personalOrderCount, MAX(personalOrderId) AS latestPersonalOrderId FROM PersonalOrder WHERE tableOrderId = ?";
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static TableOrderAggregateCache instance;
+
+	// The maximum amount of aggregates that are kept, and the time an aggregate is used without checking its version
+	private final int maximumCachedAggregates;
+	private final long validationIntervalNanos;
+
+	// Retrieves the current version of an aggregate from the database
+	private final VersionProbe versionProbe;
+
+	// Returns the current time in nanoseconds, e.g. System::nanoTime
+	private final LongSupplier nanoClock;
+
+	// The amount of lookups answered by the cache, and the amount that had to query the database
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	// The cached aggregates, stored by their tableOrderId, ordered from least to most recently used, guarded by the cache's lock
+	private final LinkedHashMap<Integer, CachedAggregate> cachedAggregates;
+
+
+	/**
+	 * The database lookup carried out when a part of an aggregate is not cached.
+	 *
+	 * @param <T> the type of the loaded data
+	 */
+	@FunctionalInterface
+	public interface AggregateLoader<T>
+	{
+		/**
+		 * Looks up the data in the database.
+		 *
+		 * @return the loaded data
+		 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+		 * @throws SQLException			- if a SQL operation fails
+		 */
+		T load() throws DataAccessException, SQLException;
+	}
+
+
+	/**
+	 * The database lookup of the current version of an aggregate, which is typically the query
+	 * made by findAggregateVersion.
+	 */
+	@FunctionalInterface
+	public interface VersionProbe
+	{
+		/**
+		 * Looks up the version of the aggregate in the database.
+		 *
+		 * @param tableOrderId 			- the tableOrderId of the TableOrder
+		 * @return the version of the aggregate
+		 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+		 * @throws SQLException			- if a SQL operation fails
+		 */
+		AggregateVersion findVersion(int tableOrderId) throws DataAccessException, SQLException;
+	}
+
+
+	/**
+	 * A cached TableOrder and its PersonalOrders, either of which may not have been loaded yet,
+	 * together with the version they were loaded at. The fields are guarded by the cache's lock.
+	 */
+	private static class CachedAggregate
+	{
+		// The TableOrder row, which is never handed to the callers, only copies of it
+		private final AggregatePart<TableOrder> tableOrder = new AggregatePart<>();
+
+		// The TableOrder's PersonalOrders, which are never handed to the callers, only copies of them
+		private final AggregatePart<List<PersonalOrder>> personalOrders = new AggregatePart<>();
+
+		// The version of the aggregate, as returned by the version probe
+		private AggregateVersion version;
+
+		// The nanoClock value at which the aggregate was last known to match the database
+		private long lastValidatedNanos;
+	}
+
+
+	/**
+	 * A part of a cached aggregate, which is either not loaded, being loaded by a request, or loaded.
+	 *
+	 * @param <T> the type of the part
+	 */
+	private static class AggregatePart<T>
+	{
+		// Completed by the request that queries the database, or null if the part has not been loaded
+		private CompletableFuture<T> load;
+
+
+		/**
+		 * Returns the part if it has been loaded.
+		 *
+		 * @return the part, or null if it has not been loaded or is still being loaded
+		 */
+		private T getLoadedValue()
+		{
+			return load != null && load.isDone() && !load.isCompletedExceptionally() ? load.getNow(null) : null;
+		}
+
+
+		/**
+		 * Discards a load in progress, whose result may have been read before the part was changed,
+		 * so its result is only handed to the requests already waiting for it.
+		 */
+		private void discardLoadInProgress()
+		{
+			if (load != null && !load.isDone())
+			{
+				load = null;
+			}
+		}
+	}
+
+
+	/**
+	 * The version of a TableOrder aggregate, which changes whenever the TableOrder row
+	 * is updated, a PersonalOrder is inserted or removed, or a PersonalOrderLine is changed.
+	 */
+	public static final class AggregateVersion
+	{
+		// The rowVersion of the TableOrder row
+		private final long tableOrderRowVersion;
+
+		// The amount of PersonalOrders
+		private final int personalOrderCount;
+
+		// The highest personalOrderId, or 0 if there are no PersonalOrders
+		private final int latestPersonalOrderId;
+
+		// The checksum of the PersonalOrderLines calculated by the database, or null if lines have been inserted since it was calculated
+		private final Integer personalOrderLinesChecksum;
+
+
+		/**
+		 * Constructs a new AggregateVersion with the specified parts.
+		 *
+		 * @param tableOrderRowVersion 			- the rowVersion of the TableOrder row
+		 * @param personalOrderCount 			- the amount of PersonalOrders
+		 * @param latestPersonalOrderId 		- the highest personalOrderId, or 0 if there are no PersonalOrders
+		 * @param personalOrderLinesChecksum 	- the checksum of the PersonalOrderLines, or null if it is not known
+		 */
+		public AggregateVersion(long tableOrderRowVersion, int personalOrderCount, int latestPersonalOrderId, Integer personalOrderLinesChecksum)
+		{
+			this.tableOrderRowVersion = tableOrderRowVersion;
+			this.personalOrderCount = personalOrderCount;
+			this.latestPersonalOrderId = latestPersonalOrderId;
+			this.personalOrderLinesChecksum = personalOrderLinesChecksum;
+		}
+
+
+		@Override
+		public boolean equals(Object object)
+		{
+			// If the object is not an AggregateVersion then the versions can not be equal
+			if (!(object instanceof AggregateVersion))
+			{
+				return false;
+			}
+
+			AggregateVersion otherVersion = (AggregateVersion) object;
+
+			// The database always calculates a checksum, so a checksum that is not known never matches the probed version
+			return tableOrderRowVersion == otherVersion.tableOrderRowVersion && personalOrderCount == otherVersion.personalOrderCount
+					&& latestPersonalOrderId == otherVersion.latestPersonalOrderId && Objects.equals(personalOrderLinesChecksum, otherVersion.personalOrderLinesChecksum);
+		}
+
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(tableOrderRowVersion, personalOrderCount, latestPersonalOrderId, personalOrderLinesChecksum);
+		}
+	}
+
+
+	/**
+	 * Constructor for the TableOrderAggregateCache class, the application uses the instance returned by getInstance.
+	 * Initializes the cache of aggregates.
+	 *
+	 * @param maximumCachedAggregates 	- the maximum amount of aggregates that are kept in the cache at any one time
+	 * @param validationIntervalNanos 	- the time an aggregate is used without checking its version against the database
+	 * @param versionProbe 				- retrieves the current version of an aggregate from the database
+	 * @param nanoClock 				- returns the current time in nanoseconds, e.g. System::nanoTime
+	 */
+	public TableOrderAggregateCache(int maximumCachedAggregates, long validationIntervalNanos, VersionProbe versionProbe, LongSupplier nanoClock)
+	{
+		this.maximumCachedAggregates = maximumCachedAggregates;
+		this.validationIntervalNanos = validationIntervalNanos;
+		this.versionProbe = versionProbe;
+		this.nanoClock = nanoClock;
+
+		// Creates the cache of aggregates, using the access order so the least recently used aggregate comes first
+		cachedAggregates = new LinkedHashMap<Integer, CachedAggregate>(16, 0.75f, true)
+		{
+			// Added in order to suppress the warning that appears in serializable classes where no serialVersionUID is specified
+			private static final long serialVersionUID = 1L;
+
+			// Discards the least recently used aggregate once the cache exceeds its maximum size
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, CachedAggregate> eldestEntry)
+			{
+				return size() > maximumCachedAggregates;
+			}
+		};
+	}
+
+
+	/**
+	 * Returns the singleton instance of TableOrderAggregateCache.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of TableOrderAggregateCache
+	 */
+	public static synchronized TableOrderAggregateCache getInstance()
+	{
+		// If the instance of the TableOrderAggregateCache object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the TableOrderAggregateCache object and stores it within the instance variable
+			instance = new TableOrderAggregateCache(MAXIMUM_CACHED_AGGREGATES, TimeUnit.SECONDS.toNanos(VALIDATION_INTERVAL_SECONDS),
+					TableOrderAggregateCache::findAggregateVersion, System::nanoTime);
+		}
+
+		// Returns the instance of the TableOrderAggregateCache object
+		return instance;
+	}
+
+
+	/**
+	 * Returns the TableOrder with the specified tableOrderId, either from the cache
+	 * or by calling the supplied tableOrderLoader if it is not cached or has changed.
+	 *
+	 * If another request for the same TableOrder is already querying the database, this
+	 * request waits for that result instead of querying the database a second time.
+	 *
+	 * @param tableOrderId 			- the tableOrderId of the TableOrder
+	 * @param tableOrderLoader 		- looks up the TableOrder row in the database
+	 * @return a copy of the TableOrder, or null if no TableOrder matches
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	public TableOrder findTableOrder(int tableOrderId, AggregateLoader<TableOrder> tableOrderLoader) throws DataAccessException, SQLException
+	{
+		// Retrieves the aggregate, discarding the parts of it that no longer match the database
+		CachedAggregate cachedAggregate = findValidatedAggregate(tableOrderId);
+
+		// Retrieves the TableOrder row, which is loaded from the database if it is not cached
+		TableOrder tableOrder = findPart(cachedAggregate.tableOrder, tableOrderLoader,
+				"Unable to find the TableOrder with the tableOrderId: " + tableOrderId);
+
+		// If no TableOrder matches then there is nothing to copy
+		if (tableOrder == null)
+		{
+			return null;
+		}
+
+		// Copies the TableOrder while holding the lock, as it may be updated in place at the same time
+		synchronized (this)
+		{
+			return copyTableOrder(tableOrder);
+		}
+	}
+
+
+	/**
+	 * Returns the PersonalOrders of the TableOrder with the specified tableOrderId, either from
+	 * the cache or by calling the supplied personalOrdersLoader if they are not cached or have changed.
+	 *
+	 * If another request for the same PersonalOrders is already querying the database, this
+	 * request waits for that result instead of querying the database a second time.
+	 *
+	 * @param tableOrderId 			- the tableOrderId of the TableOrder
+	 * @param personalOrdersLoader 	- looks up the PersonalOrders in the database
+	 * @return a new list containing copies of the PersonalOrders
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	public List<PersonalOrder> findPersonalOrders(int tableOrderId, AggregateLoader<List<PersonalOrder>> personalOrdersLoader) throws DataAccessException, SQLException
+	{
+		// Retrieves the aggregate, discarding the parts of it that no longer match the database
+		CachedAggregate cachedAggregate = findValidatedAggregate(tableOrderId);
+
+		// Retrieves the PersonalOrders, which are loaded from the database if they are not cached
+		List<PersonalOrder> personalOrders = findPart(cachedAggregate.personalOrders, () -> new ArrayList<>(personalOrdersLoader.load()),
+				"Unable to find the PersonalOrders of the TableOrder with the tableOrderId: " + tableOrderId);
+
+		// Copies the PersonalOrders while holding the lock, as a PersonalOrder may be added at the same time
+		synchronized (this)
+		{
+			List<PersonalOrder> listOfPersonalOrderCopies = new ArrayList<>();
+
+			for (PersonalOrder personalOrder : personalOrders)
+			{
+				listOfPersonalOrderCopies.add(copyPersonalOrder(personalOrder));
+			}
+
+			return listOfPersonalOrderCopies;
+		}
+	}
+
+
+	/**
+	 * Returns the part of an aggregate, either from the cache or by calling the supplied loader if it is not cached.
+	 * The database is queried without holding the lock, and only by the first of the concurrent requests for the part.
+	 *
+	 * @param part 					- the part of the aggregate
+	 * @param partLoader 			- looks up the part in the database
+	 * @param failureMessage 		- the message of the DataAccessException thrown if another request failed to load the part
+	 * @return the cached part, which must be copied before it is handed to the caller, or null if nothing matches
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	private <T> T findPart(AggregatePart<T> part, AggregateLoader<T> partLoader, String failureMessage) throws DataAccessException, SQLException
+	{
+		// The load this request starts, if the part is neither cached nor being loaded
+		CompletableFuture<T> newLoad = new CompletableFuture<>();
+
+		// The load of the part, which may be in progress
+		CompletableFuture<T> partLoad;
+
+		synchronized (this)
+		{
+			if (part.load == null)
+			{
+				part.load = newLoad;
+			}
+
+			partLoad = part.load;
+		}
+
+		// If another request has loaded the part, or is loading it, then its result is used
+		if (partLoad != newLoad)
+		{
+			hitCount.increment();
+
+			return awaitPart(partLoad, failureMessage);
+		}
+
+		missCount.increment();
+
+		try
+		{
+			// Queries the database, without holding the lock
+			T loadedPart = partLoader.load();
+
+			// If nothing matches then the part is not kept, as it may be created later
+			if (loadedPart == null)
+			{
+				forgetLoad(part, newLoad);
+			}
+
+			// Hands the result to the requests waiting for it
+			newLoad.complete(loadedPart);
+
+			return loadedPart;
+		}
+
+		catch (DataAccessException | SQLException | RuntimeException exception)
+		{
+			// Forgets the failed load and hands the failure to the requests waiting for it
+			forgetLoad(part, newLoad);
+			newLoad.completeExceptionally(exception);
+
+			throw exception;
+		}
+	}
+
+
+	/**
+	 * Forgets the load of a part, unless the part has already been discarded or loaded again meanwhile.
+	 *
+	 * @param part 		- the part of the aggregate
+	 * @param partLoad 	- the load that should be forgotten
+	 */
+	private synchronized <T> void forgetLoad(AggregatePart<T> part, CompletableFuture<T> partLoad)
+	{
+		if (part.load == partLoad)
+		{
+			part.load = null;
+		}
+	}
+
+
+	/**
+	 * Waits for the request that is loading the part to complete the load.
+	 *
+	 * @param partLoad 				- the load of the part
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the load failed
+	 * @return the part, or null if nothing matches
+	 * @throws DataAccessException 	- if the other request failed to load the part
+	 */
+	private static <T> T awaitPart(CompletableFuture<T> partLoad, String failureMessage) throws DataAccessException
+	{
+		try
+		{
+			return partLoad.get();
+		}
+
+		catch (InterruptedException exception)
+		{
+			// Restores the interrupted status of the thread
+			Thread.currentThread().interrupt();
+
+			throw new DataAccessException("Interrupted while waiting: " + failureMessage, exception);
+		}
+
+		catch (ExecutionException exception)
+		{
+			// If the other request failed then this request fails with the same cause
+			throw new DataAccessException(failureMessage, exception.getCause());
+		}
+	}
+
+
+	/**
+	 * Updates the cached TableOrder row in place, after it has been updated in the database.
+	 *
+	 * The cached row is only updated if it is the row that was updated, meaning the cached rowVersion
+	 * is the one the row had right before the update. Otherwise another tablet has updated the row
+	 * since it was cached, and as only the written fields are known the aggregate is discarded.
+	 *
+	 * @param tableOrder 			- the TableOrder that has been updated
+	 * @param writtenFields 		- the fields of the TableOrder that were written to the database
+	 * @param previousRowVersion 	- the rowVersion the row had right before the update, or 0 if no row was updated
+	 */
+	public synchronized void updateTableOrder(TableOrder tableOrder, Set<EnumTableOrderField> writtenFields, long previousRowVersion)
+	{
+		// Retrieves the cached aggregate, if there is one
+		CachedAggregate cachedAggregate = cachedAggregates.get(tableOrder.getTableOrderId());
+
+		// If the aggregate is not cached then there is nothing to update
+		if (cachedAggregate == null)
+		{
+			return;
+		}
+
+		// If the row was changed by someone else before the update, or was not updated at all, then the cached row is outdated
+		if (previousRowVersion == 0 || cachedAggregate.version.tableOrderRowVersion != previousRowVersion)
+		{
+			cachedAggregates.remove(tableOrder.getTableOrderId());
+
+			return;
+		}
+
+		// A load of the TableOrder row in progress may have read the row before it was updated
+		cachedAggregate.tableOrder.discardLoadInProgress();
+
+		// If every field was written then the TableOrder row is replaced with a copy of the updated one
+		if (writtenFields.containsAll(EnumSet.allOf(EnumTableOrderField.class)))
+		{
+			cachedAggregate.tableOrder.load = CompletableFuture.completedFuture(copyTableOrder(tableOrder));
+		}
+
+		// The cached TableOrder row, if it is cached
+		TableOrder cachedTableOrder = cachedAggregate.tableOrder.getLoadedValue();
+
+		// If only some fields were written then they are copied in to the cached TableOrder row, if it is cached
+		if (cachedTableOrder != null)
+		{
+			copyWrittenFields(tableOrder, cachedTableOrder, writtenFields);
+
+			// The total price written to the database is the calculated one
+			if (writtenFields.contains(EnumTableOrderField.TOTALTABLEORDERPRICE))
+			{
+				cachedTableOrder.setTotalTableOrderPrice(tableOrder.calculateTotalTableOrderPrice());
+			}
+
+			// Keeps the version of the row the cached TableOrder matches
+			cachedTableOrder.setRowVersion(tableOrder.getRowVersion());
+		}
+
+		// Moves the version along to the TableOrder's new rowVersion, the same way the database's version has moved
+		AggregateVersion previousVersion = cachedAggregate.version;
+		cachedAggregate.version = new AggregateVersion(tableOrder.getRowVersion(), previousVersion.personalOrderCount, previousVersion.latestPersonalOrderId,
+				previousVersion.personalOrderLinesChecksum);
+	}
+
+
+	/**
+	 * Adds a PersonalOrder to the cached PersonalOrders in place, after it has been inserted in the database.
+	 *
+	 * @param tableOrderId 		- the tableOrderId of the TableOrder the PersonalOrder belongs to
+	 * @param personalOrder 	- the PersonalOrder that has been inserted
+	 */
+	public synchronized void addPersonalOrder(int tableOrderId, PersonalOrder personalOrder)
+	{
+		// Retrieves the cached aggregate, if there is one
+		CachedAggregate cachedAggregate = cachedAggregates.get(tableOrderId);
+
+		// If the aggregate is not cached then there is nothing to update
+		if (cachedAggregate == null)
+		{
+			return;
+		}
+
+		// A load of the PersonalOrders in progress may have been read before the PersonalOrder was inserted
+		cachedAggregate.personalOrders.discardLoadInProgress();
+
+		// The cached PersonalOrders, if they are cached
+		List<PersonalOrder> cachedPersonalOrders = cachedAggregate.personalOrders.getLoadedValue();
+
+		// If the aggregate's PersonalOrders are not cached then there is nothing to update
+		if (cachedPersonalOrders == null)
+		{
+			return;
+		}
+
+		// Adds a copy of the PersonalOrder, as the caller may go on changing it, and moves the version along the same way the database's version has moved,
+		// except for the checksum of the PersonalOrderLines, which only the database can calculate, so the aggregate is loaded again once it is validated
+		cachedPersonalOrders.add(copyPersonalOrder(personalOrder));
+		cachedAggregate.version = new AggregateVersion(cachedAggregate.version.tableOrderRowVersion, cachedPersonalOrders.size(),
+				findLatestPersonalOrderId(cachedPersonalOrders), null);
+	}
+
+
+	/**
+	 * Removes the aggregate with the specified tableOrderId from the cache.
+	 *
+	 * @param tableOrderId the tableOrderId of the TableOrder
+	 */
+	public synchronized void invalidate(int tableOrderId)
+	{
+		cachedAggregates.remove(tableOrderId);
+	}
+
+
+	/**
+	 * Removes every aggregate from the cache.
+	 */
+	public synchronized void invalidateAll()
+	{
+		cachedAggregates.clear();
+	}
+
+
+	/**
+	 * Returns the amount of lookups that were answered by the cache.
+	 *
+	 * @return the amount of hits
+	 */
+	public long getHitCount()
+	{
+		return hitCount.sum();
+	}
+
+
+	/**
+	 * Returns the amount of lookups that had to query the database.
+	 *
+	 * @return the amount of misses
+	 */
+	public long getMissCount()
+	{
+		return missCount.sum();
+	}
+
+
+	/**
+	 * Returns the cached aggregate with the specified tableOrderId, creating an empty one if
+	 * it is not cached. If the aggregate has not been validated within the validation interval
+	 * its version is checked against the database, and its contents discarded if it has changed.
+	 *
+	 * @param tableOrderId the tableOrderId of the TableOrder
+	 * @return the cached aggregate
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	private CachedAggregate findValidatedAggregate(int tableOrderId) throws DataAccessException, SQLException
+	{
+		synchronized (this)
+		{
+			// Retrieves the cached aggregate, which also marks it as the most recently used aggregate
+			CachedAggregate cachedAggregate = cachedAggregates.get(tableOrderId);
+
+			// If the aggregate has been validated recently then it is used without any database work
+			if (cachedAggregate != null && nanoClock.getAsLong() - cachedAggregate.lastValidatedNanos < validationIntervalNanos)
+			{
+				return cachedAggregate;
+			}
+		}
+
+		// Retrieves the aggregate's current version from the database, without holding the lock
+		AggregateVersion currentVersion = versionProbe.findVersion(tableOrderId);
+
+		synchronized (this)
+		{
+			// Retrieves the aggregate again, as it may have been replaced or updated while the version was retrieved
+			CachedAggregate cachedAggregate = cachedAggregates.get(tableOrderId);
+
+			// If the aggregate is not cached, or another tablet has changed it, then an empty aggregate replaces it
+			if (cachedAggregate == null || !Objects.equals(cachedAggregate.version, currentVersion))
+			{
+				cachedAggregate = new CachedAggregate();
+				cachedAggregate.version = currentVersion;
+				cachedAggregates.put(tableOrderId, cachedAggregate);
+			}
+
+			// The aggregate is now known to match the database
+			cachedAggregate.lastValidatedNanos = nanoClock.getAsLong();
+
+			return cachedAggregate;
+		}
+	}
+
+
+	/**
+	 * Retrieves the current version of the aggregate with the specified tableOrderId from the database.
+	 *
+	 * @param tableOrderId 			- the tableOrderId of the TableOrder
+	 * @return the version of the aggregate
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	private static AggregateVersion findAggregateVersion(int tableOrderId) throws DataAccessException, SQLException
+	{
+		// The version is read by a single SELECT statement in auto-commit mode at the default
+		// isolation level, so it only reflects changes that have been committed
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
+		{
+			// Prepares a SQL statement to find the version of the aggregate
+			try (PreparedStatement statementFindAggregateVersion = databaseConnection.prepareStatement(FIND_AGGREGATE_VERSION_QUERY))
+			{
+				// Adds the tableOrderId provided in the method's parameter to the String instead of the placeholder
+				statementFindAggregateVersion.setInt(1, tableOrderId);
+				statementFindAggregateVersion.setInt(2, tableOrderId);
+				statementFindAggregateVersion.setInt(3, tableOrderId);
+
+				// Executes the query, and stores the retrieved data in the variable named resultSet
+				try (ResultSet resultSet = statementFindAggregateVersion.executeQuery())
+				{
+					// An aggregate query always returns exactly one row
+					resultSet.next();
+
+					// The checksum is 0 if there are no PersonalOrderLines
+					return new AggregateVersion(TableOrderDB.convertRowVersion(resultSet.getBytes("tableOrderRowVersion")),
+							resultSet.getInt("personalOrderCount"), resultSet.getInt("latestPersonalOrderId"), resultSet.getInt("personalOrderLinesChecksum"));
+				}
+			}
+		}, "Unable to find the version of the TableOrder with the tableOrderId: " + tableOrderId);
+	}
+
+
+	/**
+	 * Copies the values of the written fields from the updated TableOrder in to the cached TableOrder row.
+	 *
+	 * @param updatedTableOrder 	- the TableOrder that has been updated
+	 * @param cachedTableOrder 		- the cached TableOrder row
+	 * @param writtenFields 		- the fields that were written to the database
+	 */
+	private static void copyWrittenFields(TableOrder updatedTableOrder, TableOrder cachedTableOrder, Set<EnumTableOrderField> writtenFields)
+	{
+		for (EnumTableOrderField field : writtenFields)
+		{
+			switch (field)
+			{
+				case TIMEOFARRIVAL:
+					cachedTableOrder.setTimeOfArrival(updatedTableOrder.getTimeOfArrival());
+					break;
+
+				case ISTABLEORDERCLOSED:
+					cachedTableOrder.setTableOrderClosed(updatedTableOrder.isTableOrderClosed());
+					break;
+
+				case PAYMENTTYPE:
+					cachedTableOrder.setPaymentType(updatedTableOrder.getPaymentType());
+					break;
+
+				case TOTALAMOUNTPAID:
+					cachedTableOrder.setTotalAmountPaid(updatedTableOrder.getTotalAmountPaid());
+					break;
+
+				case ISSENTTOKITCHEN:
+					cachedTableOrder.setSentToKitchen(updatedTableOrder.isSentToKitchen());
+					break;
+
+				case ISREQUESTINGSERVICE:
+					cachedTableOrder.setRequestingService(updatedTableOrder.isRequestingService());
+					break;
+
+				case ORDERPREPARATIONTIME:
+					cachedTableOrder.setOrderPreparationTime(updatedTableOrder.getOrderPreparationTime());
+					break;
+
+				// The total price is set by the caller, as the calculated price is the one written to the database
+				case TOTALTABLEORDERPRICE:
+					break;
+			}
+		}
+	}
+
+
+	/**
+	 * Finds the highest personalOrderId amongst the supplied PersonalOrders.
+	 *
+	 * @param personalOrders the PersonalOrders to search through
+	 * @return the highest personalOrderId, or 0 if there are no PersonalOrders
+	 */
+	private static int findLatestPersonalOrderId(List<PersonalOrder> personalOrders)
+	{
+		int latestPersonalOrderId = 0;
+
+		for (PersonalOrder personalOrder : personalOrders)
+		{
+			latestPersonalOrderId = Math.max(latestPersonalOrderId, personalOrder.getPersonalOrderId());
+		}
+
+		return latestPersonalOrderId;
+	}
+
+
+	/**
+	 * Creates a copy of the supplied PersonalOrder and its PersonalOrderLines and discounts, so the
+	 * caller can change the copy without changing the cached PersonalOrder. The MenuItems and
+	 * Discounts are shared, as they are not changed once they have been read. A PersonalOrder does
+	 * not keep the TableOrder it is created with, so the copy is created the same way PersonalOrderDB
+	 * builds a PersonalOrder.
+	 *
+	 * @param personalOrder the PersonalOrder that should be copied
+	 * @return the copy
+	 */
+	static PersonalOrder copyPersonalOrder(PersonalOrder personalOrder)
+	{
+		PersonalOrder personalOrderCopy = new PersonalOrder(null);
+		personalOrderCopy.setPersonalOrderId(personalOrder.getPersonalOrderId());
+		personalOrderCopy.setCustomerName(personalOrder.getCustomerName());
+		personalOrderCopy.setCustomerAge(personalOrder.getCustomerAge());
+		personalOrderCopy.addAllDiscounts(personalOrder.getDiscounts());
+
+		for (PersonalOrderLine personalOrderLine : personalOrder.getPersonalOrderLines())
+		{
+			PersonalOrderLine personalOrderLineCopy = new PersonalOrderLine(personalOrderLine.getMenuItem());
+			personalOrderLineCopy.setNotes(personalOrderLine.getNotes());
+			personalOrderLineCopy.setAdditionalPrice(personalOrderLine.getAdditionalPrice());
+			personalOrderLineCopy.setStatus(personalOrderLine.getStatus());
+
+			personalOrderCopy.addPersonalOrderLine(personalOrderLineCopy);
+		}
+
+		return personalOrderCopy;
+	}
+
+
+	/**
+	 * Creates a copy of the supplied TableOrder row, without its PersonalOrders, so the
+	 * caller can change the copy without changing the cached TableOrder.
+	 *
+	 * @param tableOrder the TableOrder that should be copied
+	 * @return the copy
+	 */
+	static TableOrder copyTableOrder(TableOrder tableOrder)
+	{
+		TableOrder tableOrderCopy = new TableOrder(tableOrder.getTableOrderId(), tableOrder.getTimeOfArrival(), tableOrder.isTableOrderClosed(),
+				tableOrder.getPaymentType(), tableOrder.getTotalTableOrderPrice(), tableOrder.getTotalAmountPaid(),
+				tableOrder.isSentToKitchen(), tableOrder.isRequestingService(), tableOrder.getOrderPreparationTime());
+
+		// Keeps the version of the row the TableOrder was read at
+		tableOrderCopy.setRowVersion(tableOrder.getRowVersion());
+
+		return tableOrderCopy;
+	}
+}
@@ -1,14 +1,20 @@
 package database;
 
-import java.sql.Connection;
+import java.nio.ByteBuffer;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
+import model.EnumTableOrderField;
 import model.PersonalOrder;
 import model.TableOrder;
 
@@ -18,37 +24,39 @@ import model.TableOrder;
  * 
  * It implements the TableOrderImpl, meaning it implements its methods
  * 
+ * TableOrders are read through and written through the TableOrderAggregateCache,
+ * so navigating between the guest views does not load the same TableOrder again.
+ * 
+ * Updates only write the columns of the fields that have changed, using UPDATE
+ * statements that are built once for each combination of changed columns.
+ * 
  * @author Line Bertelsen
- * @version 02/06/2025 - 13:54
+ * @version 19/10/2026 - 10:48
  */
 public class TableOrderDB implements TableOrderImpl
 {
 	// Selects all the data within tableOrder table in the database
-	private static final String FIND_AllTABLEORDERS_QUERY = "SELECT tableOrderId FROM TableOrder";
-	
-	// PreparedStatement for retrieving all tableOrder from the database
-	private PreparedStatement statementFindAllTableOrders; 
+	// - Every column read by buildTableOrderObject is selected, including the rowVersion
+	private static final String FIND_AllTABLEORDERS_QUERY = "SELECT tableOrderId, timeOfArrival, isTableOrderClosed, paymentType, totalTableOrderPrice, "
+			+ "totalAmountPaid, isSentToKitchen, isRequestingService, orderPreparationTime, rowVersion FROM TableOrder";
 	
 	
 	// Selects a row from the table menuItem in the database, based on the given tableOrderId
 	private static final String FIND_TABLEORDER_BY_TABLEORDERID_QUERY = "SELECT * FROM TableOrder WHERE tableOrderId = ?";
 	
-	// PreparedStatement for retrieving a TableOrder based on the tableOrderId
-	private PreparedStatement statementFindTableOrderByTableOrderId;
-	
 	
 	// Selects a row from the table menuItem in the database, based on the given tableOrderId
-	private static final String UPDATE_TABLEORDER_QUERY = "UPDATE TableOrder SET timeOfArrival = ?, isTableOrderClosed = ?, paymentType = ?, totalTableOrderPrice = ?, totalAmountPaid = ?, isSentToKitchen = ?, isRequestingService = ?, orderPreparationTime = ? WHERE tableOrderId = ?";
+	// - The OUTPUT clause returns the row's rowVersion from right before the update, and its new rowVersion, which the database changes on every update
+	private static final String UPDATE_TABLEORDER_QUERY = "UPDATE TableOrder SET timeOfArrival = ?, isTableOrderClosed = ?, paymentType = ?, totalTableOrderPrice = ?, totalAmountPaid = ?, isSentToKitchen = ?, isRequestingService = ?, orderPreparationTime = ? OUTPUT deleted.rowVersion AS previousRowVersion, inserted.rowVersion WHERE tableOrderId = ?";
+	
 	
-	// PreparedStatement for update a TableOrder
-	private PreparedStatement statementUpdateTableOrder;
+	// The UPDATE statements that only set the changed columns, built once for each combination of changed 
+	// columns, and stored by the columns and whether or not the statement compares the rowVersion
+	private static final Map<String, String> PARTIAL_UPDATE_QUERIES = new ConcurrentHashMap<>();
 	
 	
 	// Selects every row from the TableOrder where isSentToKitchen = true and isTableOrderClsoed = false, in the database
 	private static final String FIND_VISIBLE_TO_KITCHEN_TABLE_ORDERS_QUERY =  "SELECT * FROM TableOrder WHERE isSentToKitchen = 1 AND isTableOrderClosed = 0";
-			
-	// PreparedStatement for retrieving a TableOrder based on the tableOrderId
-	private PreparedStatement statementFindVisibleToKitchenTableOrders;
 	
 	
 	public TableOrderDB() throws SQLException
@@ -67,50 +75,21 @@ public class TableOrderDB implements TableOrderImpl
 	@Override
 	public List<TableOrder> findAllTableOrders() throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-
-		try
+		// Reading tableOrders happens many times per day. As the lookup is a single SELECT statement
+		// it is run in auto-commit mode at the default isolation level, instead of as an explicit transaction
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
-			// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-			// When turned off multiple SQL statements is grouped into one transaction.
-			databaseConnection.setAutoCommit(false);
-			
-			// Reading tableOrders happens many times per day. However it occurs almost exclusively during business
-			// hours, and updating happens rarely, and can usually be scheduled.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
-			
 			// Prepare a SQL statement to retrieve all tableOrders
-			statementFindAllTableOrders = databaseConnection.prepareStatement(FIND_AllTABLEORDERS_QUERY);
-			
-			// Executes the prepared statement and stores the result set
-			ResultSet resultSetTableOrder = statementFindAllTableOrders.executeQuery();
-
-			// Converts the result set into a list of TableOrder objects
-			List<TableOrder> resultListOfTableOrder = buildTableOrderObjects(resultSetTableOrder);
-
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// Returns the list of TableOrder objects
-			return resultListOfTableOrder;
-		}
-
-		catch (SQLException exception)
-		{
-			
-			//Undo all changes made so far in the transaction
-			databaseConnection.rollback();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// If an SQL error occurs an exception is thrown with the specified details
-			throw new DataAccessException("Unable to find TableOrder objects in the database", exception);
-		}
+			try (PreparedStatement statementFindAllTableOrders = databaseConnection.prepareStatement(FIND_AllTABLEORDERS_QUERY))
+			{
+				// Executes the prepared statement and stores the result set
+				try (ResultSet resultSetTableOrder = statementFindAllTableOrders.executeQuery())
+				{
+					// Converts the result set into a list of TableOrder objects and returns it
+					return buildTableOrderObjects(resultSetTableOrder);
+				}
+			}
+		}, "Unable to find TableOrder objects in the database");
 	}
 	
 	
@@ -150,58 +129,51 @@ public class TableOrderDB implements TableOrderImpl
 	@Override
 	public TableOrder findTableOrderByTableOrderId(int tableOrderId) throws DataAccessException, SQLException
 	{
-		// Gets a connection to the database
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-
-		try
+		// Returns the TableOrder from the TableOrderAggregateCache, which only queries the database
+		// if the TableOrder is not cached or has been changed by another tablet
+		return TableOrderAggregateCache.getInstance().findTableOrder(tableOrderId, () -> loadTableOrderByTableOrderId(tableOrderId));
+	}
+	
+	
+	/**
+	 * Retrieves the TableOrder with the specified tableOrderId from the database,
+	 * without using the TableOrderAggregateCache.
+	 * 
+	 * @param tableOrderId 			- the ID of the TableOrder to be retrieved
+	 * @return tableOrder 			- the TableOrder object that matches the provided ID, or null if none matches
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	private TableOrder loadTableOrderByTableOrderId(int tableOrderId) throws DataAccessException, SQLException
+	{
+		// Reading tabelOrder happens many of times per day. As the lookup is a single SELECT statement
+		// it is run in auto-commit mode at the default isolation level, instead of as an explicit transaction
+		return TransactionTemplate.executeReadOnly(databaseConnection ->
 		{
-			databaseConnection.setAutoCommit(false);
-		
-			// Reading tabelOrder happens many of times per day. However it occurs almost exclusively during business
-			// hours, and updating happens rarely, and can usually be scheduled.
-			databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_UNCOMMITTED);
-						
 			// Prepares a SQL statement to find and retrieve an MultipleChoiceMenu with a matching TableOrder id
-			statementFindTableOrderByTableOrderId = databaseConnection.prepareStatement(FIND_TABLEORDER_BY_TABLEORDERID_QUERY);
-
-			// Adds the choiceMenuId provided in the method's parameter to the String instead of the placeholder
-			statementFindTableOrderByTableOrderId.setInt(1, tableOrderId);
-
-			// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
-			ResultSet resultSet = statementFindTableOrderByTableOrderId.executeQuery();
-
-			// Creates and initializes a MultipleChoiceMenu object as null, which will later be populated with TableOrderspecific data
-			TableOrder tableOrder = null;
-
-			// Iterates through the resultSet while there are still more rows in the database's table
-			if (resultSet.next())
+			try (PreparedStatement statementFindTableOrderByTableOrderId = databaseConnection.prepareStatement(FIND_TABLEORDER_BY_TABLEORDERID_QUERY))
 			{
-				// Converts the retrieved database row into an MultipleChoiceMenu object using the buildMultipleChoiceMenuObject method
-				tableOrder = buildTableOrderObject(resultSet);
-			}
-
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// Returns the MultipleChoiceMenu with a matching choiceMenuId or null if no multipleChoiceMenu has the specified choiceMenuId
-			return tableOrder;
-		}
-
-		catch (SQLException exception)
-		{
-			
-			//Undo all changes made so far in the transaction
-			databaseConnection.rollback();
+				// Adds the choiceMenuId provided in the method's parameter to the String instead of the placeholder
+				statementFindTableOrderByTableOrderId.setInt(1, tableOrderId);
+
+				// Executes the query, and stores the retrieved data in the variable named resultSet, which is a ResultSet object
+				try (ResultSet resultSet = statementFindTableOrderByTableOrderId.executeQuery())
+				{
+					// Creates and initializes a MultipleChoiceMenu object as null, which will later be populated with TableOrderspecific data
+					TableOrder tableOrder = null;
+
+					// Iterates through the resultSet while there are still more rows in the database's table
+					if (resultSet.next())
+					{
+						// Converts the retrieved database row into an MultipleChoiceMenu object using the buildMultipleChoiceMenuObject method
+						tableOrder = buildTableOrderObject(resultSet);
+					}
 			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// If an SQL error occurs while trying to find tableOrder, an exception is thrown with the specified details
-			throw new DataAccessException("Unable to find an TableOrder object with an tableOrderId matching: " + tableOrderId, exception);
-		}
+					// Returns the MultipleChoiceMenu with a matching choiceMenuId or null if no multipleChoiceMenu has the specified choiceMenuId
+					return tableOrder;
+				}
+			}
+		}, "Unable to find an TableOrder object with an tableOrderId matching: " + tableOrderId);
 	}
 	
 	
@@ -233,6 +205,9 @@ public class TableOrderDB implements TableOrderImpl
 				resultSet.getString("paymentType"), resultSet.getDouble("totalTableOrderPrice"), resultSet.getDouble("totalAmountPaid"),
 				resultSet.getBoolean("isSentToKitchen"), resultSet.getBoolean("isRequestingService"), resultSet.getInt("orderPreparationTime"));
 		
+		// Stores the version of the row the TableOrder was read at
+		tableOrder.setRowVersion(convertRowVersion(resultSet.getBytes("rowVersion")));
+		
 		return tableOrder;
 	}
 	
@@ -241,69 +216,340 @@ public class TableOrderDB implements TableOrderImpl
 	 * Method updates a given TableOrder in data storage. Doesn't add associations, just updates the specific TableOrderRow.
 	 * Rolls back the transaction and restores auto-commit if an error occurs.
 	 * 
+	 * The update is applied regardless of whether another tablet has updated the TableOrder since
+	 * it was read, use updateTableOrderIfUnchanged to detect such conflicts.
+	 * 
 	 * @param tableOrder			- the TableOrder object containing the updated data to persist. 
 	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
 	 */
 	@Override
 	public void updateTableOrder(TableOrder tableOrder) throws DataAccessException 
 	{
-	    
-	    // Gets a connection to the database
-	    Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-
-	    try 
-	    {
-	    	// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-	    	// When turned off multiple SQL statements is grouped into one transaction.
-	    	databaseConnection.setAutoCommit(false);
-
-	        // Set transaction isolation level
-	        databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-
+		// The update is a single statement setting the columns to given values, which is atomic and idempotent, so it is run in auto-commit mode
+		long previousRowVersion = TransactionTemplate.executeIdempotentStatement(databaseConnection ->
+		{
 	        //Prepares the SQL statement for updating TableOrder for the matching tableOrderId
-	        statementUpdateTableOrder = databaseConnection.prepareStatement(UPDATE_TABLEORDER_QUERY);
-
-	        // Set values in the prepared statement
-	        statementUpdateTableOrder.setTimestamp(1, java.sql.Timestamp.valueOf(tableOrder.getTimeOfArrival()));
-	        statementUpdateTableOrder.setBoolean(2, tableOrder.isTableOrderClosed());
-	        statementUpdateTableOrder.setString(3, tableOrder.getPaymentType());
-	        statementUpdateTableOrder.setDouble(4, tableOrder.calculateTotalTableOrderPrice());
-	        statementUpdateTableOrder.setDouble(5, tableOrder.getTotalAmountPaid());
-	        statementUpdateTableOrder.setBoolean(6, tableOrder.isSentToKitchen());
-	        statementUpdateTableOrder.setBoolean(7, tableOrder.isRequestingService());
-	        statementUpdateTableOrder.setInt(8, tableOrder.getOrderPreparationTime());
-	        statementUpdateTableOrder.setInt(9, tableOrder.getTableOrderId()); 
-
-	        // Execute update
-	        statementUpdateTableOrder.executeUpdate();
-
-			//All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
+	        try (PreparedStatement statementUpdateTableOrder = databaseConnection.prepareStatement(UPDATE_TABLEORDER_QUERY))
+	        {
+		        // Set values in the prepared statement
+		        setUpdateParameters(statementUpdateTableOrder, tableOrder);
+
+		        // Execute update, which returns the row's previous and new version if the TableOrder exists
+		        try (ResultSet resultSet = statementUpdateTableOrder.executeQuery())
+		        {
+			        return readUpdatedRowVersions(resultSet, tableOrder);
+	        	}
+	        }
+		}, "Failed to update TableOrder in database");
 			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-
-	    } 
-	    catch (SQLException exception) 
-	    {
-	        try 
+		// The table's current TableOrder has changed, so the tables resolving to it must be looked up again
+		TableResolutionCache.getInstance().invalidateTableOrder(tableOrder.getTableOrderId());
+		
+		// Updates the cached TableOrder in place, so it matches the database without being loaded again
+		TableOrderAggregateCache.getInstance().updateTableOrder(tableOrder, EnumSet.allOf(EnumTableOrderField.class), previousRowVersion);
+		
+		// Every field has been written, so none of them are changed anymore
+		tableOrder.clearChangedFields();
+	}
+	
+	
+	/**
+	 * Method updates a given TableOrder in data storage, but only if no one else has updated the 
+	 * TableOrder since it was read, which is determined by comparing the TableOrder's rowVersion.
+	 * 
+	 * Only the fields that have been changed since the TableOrder was read are written, or 
+	 * every field if the TableOrder does not know which fields have been changed.
+	 * 
+	 * No locks are held between reading the TableOrder and updating it, so the guests can 
+	 * take as long as they want in between. If the update is in conflict the TableOrder's 
+	 * current row is read within the same transaction and returned in the result.
+	 * 
+	 * @param tableOrder			- the TableOrder object containing the updated data to persist
+	 * @return the result of the update, containing the current row if it was in conflict
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 */
+	@Override
+	public TableOrderUpdateResult updateTableOrderIfUnchanged(TableOrder tableOrder) throws DataAccessException 
+	{
+        // Retrieves the fields that should be written, which are every field if none are known to have changed
+        Set<EnumTableOrderField> changedFields = tableOrder.hasChangedFields() ? tableOrder.getChangedFields() : EnumSet.allOf(EnumTableOrderField.class);
+        
+        // The row is only updated if its rowVersion is still the one the TableOrder was read at
+        long previousRowVersion = tableOrder.getRowVersion();
+        
+		// The update may be followed by a read of the current row, which must be made in the same transaction
+		TableOrderUpdateResult updateResult = TransactionTemplate.executeInTransaction(IsolationPolicy.getInstance().getWriteIsolationLevel(), databaseConnection ->
+		{
+	        //Prepares the SQL statement for updating TableOrder for the matching tableOrderId and rowVersion
+	        try (PreparedStatement statementUpdateTableOrderIfUnchanged = databaseConnection.prepareStatement(findPartialUpdateQuery(changedFields, true)))
 	        {
-				//Undo all changes made so far in the transaction
-				databaseConnection.rollback();
-				
-				//Restores the default behavior and turns on auto-commit
-				databaseConnection.setAutoCommit(true);
-	        } 
+		        // Set values in the prepared statement, followed by the version the TableOrder was read at
+		        int parameterIndex = setChangedFieldParameters(statementUpdateTableOrderIfUnchanged, tableOrder, changedFields);
+		        statementUpdateTableOrderIfUnchanged.setBytes(parameterIndex, convertRowVersion(tableOrder.getRowVersion()));
+
+		        // Execute update, which only returns the row's new version if the rowVersion still matched
+		        try (ResultSet resultSet = statementUpdateTableOrderIfUnchanged.executeQuery())
+		        {
+			        // If the TableOrder was updated then the TableOrder object is given the row's new version
+			        if (resultSet.next())
+			        {
+			        	tableOrder.setRowVersion(convertRowVersion(resultSet.getBytes("rowVersion")));
+			        	
+			        	return TableOrderUpdateResult.updated(tableOrder);
+			        }
+		        }
+	        }
 	        
-	        catch (SQLException rollbackException) 
+	        // Otherwise another tablet has updated the TableOrder, and its current row is read so the changes can be merged
+			try (PreparedStatement statementFindTableOrderByTableOrderId = databaseConnection.prepareStatement(FIND_TABLEORDER_BY_TABLEORDERID_QUERY))
+			{
+				statementFindTableOrderByTableOrderId.setInt(1, tableOrder.getTableOrderId());
+				
+				try (ResultSet resultSetCurrent = statementFindTableOrderByTableOrderId.executeQuery())
+				{
+					return TableOrderUpdateResult.conflict(resultSetCurrent.next() ? buildTableOrderObject(resultSetCurrent) : null);
+				}
+			}
+		}, "Failed to update TableOrder in database");
+			
+		// The table's current TableOrder has changed, so the tables resolving to it must be looked up again
+		TableResolutionCache.getInstance().invalidateTableOrder(tableOrder.getTableOrderId());
+		
+		// If the TableOrder was updated then the cached TableOrder is updated in place, and the fields are no longer changed
+		if (updateResult.isUpdated())
+		{
+			TableOrderAggregateCache.getInstance().updateTableOrder(tableOrder, changedFields, previousRowVersion);
+			tableOrder.clearChangedFields();
+			
+			// Records that the TableOrder has been committed, if it is being sent to the kitchen
+			OrderLatencyTracer.getInstance().recordHop(tableOrder.getTableOrderId(), OrderLatencyTracer.Hop.PERSISTED);
+		}
+		
+		// Otherwise the cached TableOrder is outdated, and is discarded
+		else
+		{
+			TableOrderAggregateCache.getInstance().invalidate(tableOrder.getTableOrderId());
+		}
+		
+		return updateResult;
+	}
+	
+	
+	/**
+	 * Method updates only the fields of a given TableOrder that have been changed since it was
+	 * read or last written, e.g. a press on the service button only writes isRequestingService.
+	 * 
+	 * The total price is only calculated and written if the PersonalOrders or the price itself 
+	 * have changed. Like updateTableOrder the changed columns are written regardless of whether 
+	 * another tablet has updated the TableOrder, but the columns that have not been changed are
+	 * left as they are in the database.
+	 * 
+	 * @param tableOrder			- the TableOrder object containing the changed data to persist
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 */
+	@Override
+	public void updateChangedTableOrderFields(TableOrder tableOrder) throws DataAccessException 
+	{
+		// If no fields have been changed then there is nothing to write
+		if (!tableOrder.hasChangedFields())
+		{
+			return;
+		}
+		
+        // Retrieves the fields that have been changed
+        Set<EnumTableOrderField> changedFields = tableOrder.getChangedFields();
+
+		// The update is a single statement setting the columns to given values, which is atomic and idempotent, so it is run in auto-commit mode
+		long previousRowVersion = TransactionTemplate.executeIdempotentStatement(databaseConnection ->
+		{
+	        //Prepares the SQL statement for updating the changed columns of the TableOrder for the matching tableOrderId
+	        try (PreparedStatement statementUpdateChangedTableOrderFields = databaseConnection.prepareStatement(findPartialUpdateQuery(changedFields, false)))
 	        {
-	        	// If rollback fails, throw a custom exception with details
-	        	throw new DataAccessException("Rollback failed after updateTableOrder error", rollbackException);
+		        // Set values in the prepared statement
+		        setChangedFieldParameters(statementUpdateChangedTableOrderFields, tableOrder, changedFields);
+
+		        // Execute update, which returns the row's previous and new version if the TableOrder exists
+		        try (ResultSet resultSet = statementUpdateChangedTableOrderFields.executeQuery())
+		        {
+			        return readUpdatedRowVersions(resultSet, tableOrder);
+	        	}
 	        }
-
-	        // If an SQL error occurs while updating the tableOrder an exception is thrown with the specified details
-	        throw new DataAccessException("Failed to update TableOrder in database", exception);
-	    }
+		}, "Failed to update the changed fields of TableOrder in database");
+			
+		// The table's current TableOrder has changed, so the tables resolving to it must be looked up again
+		TableResolutionCache.getInstance().invalidateTableOrder(tableOrder.getTableOrderId());
+		
+		// Updates the changed fields of the cached TableOrder in place, unless another tablet has updated the row since it was cached
+		TableOrderAggregateCache.getInstance().updateTableOrder(tableOrder, changedFields, previousRowVersion);
+		
+		// The changed fields have been written, so they are no longer changed
+		tableOrder.clearChangedFields();
+	}
+	
+	
+	/**
+	 * Reads the row versions returned by the OUTPUT clause of an UPDATE statement, and gives the
+	 * TableOrder object the row's new version if the TableOrder was updated.
+	 * 
+	 * @param resultSet 		- the result of the UPDATE statement
+	 * @param tableOrder 		- the TableOrder that was updated
+	 * @return the rowVersion the row had right before the update, or 0 if no row was updated
+	 * @throws SQLException		- if a SQL operation fails
+	 */
+	private static long readUpdatedRowVersions(ResultSet resultSet, TableOrder tableOrder) throws SQLException
+	{
+		// If no TableOrder matches then nothing was updated
+		if (!resultSet.next())
+		{
+			return 0;
+		}
+		
+		tableOrder.setRowVersion(convertRowVersion(resultSet.getBytes("rowVersion")));
+		
+		return convertRowVersion(resultSet.getBytes("previousRowVersion"));
+	}
+	
+	
+	/**
+	 * Returns the UPDATE statement that sets the specified columns of a TableOrder and returns
+	 * the row's previous and new rowVersion. The statement is only built the first time a combination of 
+	 * columns is used, after which the same statement text is reused.
+	 * 
+	 * @param changedFields 	- the fields whose columns should be set
+	 * @param isConditional 	- whether or not the statement should only update the row if its rowVersion matches
+	 * @return the UPDATE statement
+	 */
+	static String findPartialUpdateQuery(Set<EnumTableOrderField> changedFields, boolean isConditional)
+	{
+		// The fields are iterated in the order they are declared in, so the same combination always creates the same statement
+		EnumSet<EnumTableOrderField> orderedFields = EnumSet.copyOf(changedFields);
+		
+		return PARTIAL_UPDATE_QUERIES.computeIfAbsent(orderedFields.toString() + isConditional, key -> 
+		{
+			StringJoiner setClause = new StringJoiner(", ");
+			
+			// Adds a placeholder for each of the changed columns
+			for (EnumTableOrderField field : orderedFields)
+			{
+				setClause.add(field.getColumnName() + " = ?");
+			}
+			
+			return "UPDATE TableOrder SET " + setClause + " OUTPUT deleted.rowVersion AS previousRowVersion, inserted.rowVersion WHERE tableOrderId = ?" + (isConditional ? " AND rowVersion = ?" : "");
+		});
+	}
+	
+	
+	/**
+	 * Adds the values of the changed fields, followed by the tableOrderId, to the placeholders
+	 * of a statement built by findPartialUpdateQuery.
+	 * 
+	 * @param statement 		- the update statement
+	 * @param tableOrder 		- the TableOrder containing the values
+	 * @param changedFields 	- the fields the statement sets
+	 * @return the index of the next placeholder after the tableOrderId
+	 * @throws SQLException		- if a SQL operation fails
+	 */
+	private int setChangedFieldParameters(PreparedStatement statement, TableOrder tableOrder, Set<EnumTableOrderField> changedFields) throws SQLException
+	{
+		// The index of the next placeholder
+		int parameterIndex = 1;
+		
+		// Adds the value of each changed field in the order they are declared in, matching the statement
+		for (EnumTableOrderField field : EnumSet.copyOf(changedFields))
+		{
+			switch (field)
+			{
+				case TIMEOFARRIVAL:
+					statement.setTimestamp(parameterIndex, java.sql.Timestamp.valueOf(tableOrder.getTimeOfArrival()));
+					break;
+					
+				case ISTABLEORDERCLOSED:
+					statement.setBoolean(parameterIndex, tableOrder.isTableOrderClosed());
+					break;
+					
+				case PAYMENTTYPE:
+					statement.setString(parameterIndex, tableOrder.getPaymentType());
+					break;
+					
+				case TOTALTABLEORDERPRICE:
+					statement.setDouble(parameterIndex, tableOrder.calculateTotalTableOrderPrice());
+					break;
+					
+				case TOTALAMOUNTPAID:
+					statement.setDouble(parameterIndex, tableOrder.getTotalAmountPaid());
+					break;
+					
+				case ISSENTTOKITCHEN:
+					statement.setBoolean(parameterIndex, tableOrder.isSentToKitchen());
+					break;
+					
+				case ISREQUESTINGSERVICE:
+					statement.setBoolean(parameterIndex, tableOrder.isRequestingService());
+					break;
+					
+				case ORDERPREPARATIONTIME:
+					statement.setInt(parameterIndex, tableOrder.getOrderPreparationTime());
+					break;
+			}
+			
+			parameterIndex++;
+		}
+		
+		// Adds the tableOrderId used in the WHERE clause
+		statement.setInt(parameterIndex, tableOrder.getTableOrderId());
+		
+		return parameterIndex + 1;
+	}
+	
+	
+	/**
+	 * Adds the TableOrder's values to the placeholders of the UPDATE_TABLEORDER_QUERY statement.
+	 * 
+	 * @param statement 		- the update statement
+	 * @param tableOrder 		- the TableOrder containing the values
+	 * @throws SQLException		- if a SQL operation fails
+	 */
+	private void setUpdateParameters(PreparedStatement statement, TableOrder tableOrder) throws SQLException
+	{
+        statement.setTimestamp(1, java.sql.Timestamp.valueOf(tableOrder.getTimeOfArrival()));
+        statement.setBoolean(2, tableOrder.isTableOrderClosed());
+        statement.setString(3, tableOrder.getPaymentType());
+        statement.setDouble(4, tableOrder.calculateTotalTableOrderPrice());
+        statement.setDouble(5, tableOrder.getTotalAmountPaid());
+        statement.setBoolean(6, tableOrder.isSentToKitchen());
+        statement.setBoolean(7, tableOrder.isRequestingService());
+        statement.setInt(8, tableOrder.getOrderPreparationTime());
+        statement.setInt(9, tableOrder.getTableOrderId()); 
+	}
+	
+	
+	/**
+	 * Converts a rowversion value, which the database stores as 8 bytes, in to a number.
+	 * 
+	 * @param rowVersionBytes the rowversion as returned by the database, may be null
+	 * @return the rowversion as a number, or 0 if there is no rowversion
+	 */
+	static long convertRowVersion(byte[] rowVersionBytes)
+	{
+		// If there is no rowversion then 0 is used, which never matches a rowversion in the database
+		if (rowVersionBytes == null || rowVersionBytes.length != Long.BYTES)
+		{
+			return 0;
+		}
+		
+		return ByteBuffer.wrap(rowVersionBytes).getLong();
+	}
+	
+	
+	/**
+	 * Converts a rowversion number back in to the 8 bytes the database compares it as.
+	 * 
+	 * @param rowVersion the rowversion as a number
+	 * @return the rowversion as bytes
+	 */
+	static byte[] convertRowVersion(long rowVersion)
+	{
+		return ByteBuffer.allocate(Long.BYTES).putLong(rowVersion).array();
 	}
 
 
@@ -318,48 +564,21 @@ public class TableOrderDB implements TableOrderImpl
 	@Override
 	public List<TableOrder> findAllVisibleToKitchenTableOrders() throws DataAccessException, SQLException
 	{   
-		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
-
-	    try 
-	    {
-	    	// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
-	    	// When turned off multiple SQL statements is grouped into one transaction.
-	    	databaseConnection.setAutoCommit(false);
-	        
-	    	// Prevent data from changing between reads, to ensure stable views of the data in multi-user environments
-	    	// Once a row has been read, it can be changed during the transaction
-	        databaseConnection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
-
-			// Prepares a SQL statement to find all tableOrder instances that are visible to the kitchen staff
-	        statementFindVisibleToKitchenTableOrders = databaseConnection.prepareStatement(FIND_VISIBLE_TO_KITCHEN_TABLE_ORDERS_QUERY);
-
-	        // Run query
-	        ResultSet resultSet = statementFindVisibleToKitchenTableOrders.executeQuery();
-
-	        // Convert resultSet to a list
-	        List<TableOrder> tableOrders = buildTableOrderObjectsAssociated(resultSet);
-
-	        //All the changes you've made since setAutoCommit(false), is manually saved into the database
-			databaseConnection.commit();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-
-	        return tableOrders;
-	    } 
-	    
-	    catch (SQLException exception)
+		// The TableOrders are read along with their PersonalOrders and lines by several statements, which are run as 
+		// one consistent read, so the kitchen never sees a PersonalOrder whose lines are committed halfway through
+		return TransactionTemplate.executeConsistentRead(databaseConnection ->
 		{
-			
-	    	//Undo all changes made so far in the transaction
-			databaseConnection.rollback();
-			
-			//Restores the default behavior and turns on auto-commit
-			databaseConnection.setAutoCommit(true);
-			
-			// If an SQL error occurs while finding all visible tableOrders, an exception is thrown with the specified details
-			throw new DataAccessException("Failed to update TableOrder in database", exception);
-		}
+			// Prepares a SQL statement to find all tableOrder instances that are visible to the kitchen staff
+	        try (PreparedStatement statementFindVisibleToKitchenTableOrders = databaseConnection.prepareStatement(FIND_VISIBLE_TO_KITCHEN_TABLE_ORDERS_QUERY))
+	        {
+		        // Run query
+		        try (ResultSet resultSet = statementFindVisibleToKitchenTableOrders.executeQuery())
+		        {
+			        // Convert resultSet to a list and return it
+			        return buildTableOrderObjectsAssociated(resultSet);
+	        	}
+	        }
+		}, "Unable to find the TableOrders visible to the kitchen in the database");
 	}
 	
 	
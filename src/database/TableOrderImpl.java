@@ -60,6 +60,27 @@ public interface TableOrderImpl
 	 */
 	void updateTableOrder(TableOrder tableOrder) throws DataAccessException, SQLException;
 
+	/**
+	 * Method updates a given TableOrder in data storage, but only if the TableOrder's rowVersion
+	 * still matches the row in data storage, meaning no one else has updated it since it was read.
+	 * 
+	 * @param tableOrder		 	- the TableOrder to be updated.
+	 * @return the result of the update, containing the current row if it was in conflict
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	TableOrderUpdateResult updateTableOrderIfUnchanged(TableOrder tableOrder) throws DataAccessException, SQLException;
+
+	/**
+	 * Method updates only the fields of a given TableOrder that have been changed since it was read 
+	 * or last written. Does nothing if no fields have been changed.
+	 * 
+	 * @param tableOrder		 	- the TableOrder to be updated.
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	void updateChangedTableOrderFields(TableOrder tableOrder) throws DataAccessException, SQLException;
+
 	/**
 	 * Method gets all the TableOrders that the kitchen should be able to see.
 	 * 
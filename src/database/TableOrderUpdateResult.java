@@ -0,0 +1,100 @@
+package database;
+
+// Imports
+import model.TableOrder;
+
+
+/**
+ * The result of a conditional update of a TableOrder, made by
+ * TableOrderImpl.updateTableOrderIfUnchanged.
+ *
+ * The update is either applied, in which case the TableOrder has been given its new
+ * rowVersion, or it is in conflict because another tablet has updated the TableOrder
+ * since it was read. In case of a conflict the result contains the TableOrder's row as
+ * it currently is in the database, so the caller can merge its changes in to it and retry.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 09:20
+ */
+public class TableOrderUpdateResult
+{
+	// Whether or not the update was applied
+	private final boolean isUpdated;
+
+	// The TableOrder as it is in the database after the attempt, or null if it no longer exists
+	private final TableOrder currentTableOrder;
+
+
+	/**
+	 * Private constructor, the results are created using the updated and conflict methods.
+	 *
+	 * @param isUpdated 			- whether or not the update was applied
+	 * @param currentTableOrder 	- the TableOrder as it is in the database after the attempt
+	 */
+	private TableOrderUpdateResult(boolean isUpdated, TableOrder currentTableOrder)
+	{
+		this.isUpdated = isUpdated;
+		this.currentTableOrder = currentTableOrder;
+	}
+
+
+	/**
+	 * Creates the result of an update that was applied.
+	 *
+	 * @param updatedTableOrder the TableOrder that was updated, carrying its new rowVersion
+	 * @return the result
+	 */
+	public static TableOrderUpdateResult updated(TableOrder updatedTableOrder)
+	{
+		return new TableOrderUpdateResult(true, updatedTableOrder);
+	}
+
+
+	/**
+	 * Creates the result of an update that was not applied because the TableOrder had changed.
+	 *
+	 * @param currentTableOrder the TableOrder's row as it currently is in the database, or null if it no longer exists
+	 * @return the result
+	 */
+	public static TableOrderUpdateResult conflict(TableOrder currentTableOrder)
+	{
+		return new TableOrderUpdateResult(false, currentTableOrder);
+	}
+
+
+	/**
+	 * Returns whether or not the update was applied.
+	 *
+	 * @return true if the update was applied, false otherwise
+	 */
+	public boolean isUpdated()
+	{
+		return isUpdated;
+	}
+
+
+	/**
+	 * Returns whether or not the update was rejected because another tablet had updated the TableOrder.
+	 *
+	 * @return true if the update is in conflict, false otherwise
+	 */
+	public boolean isConflict()
+	{
+		return !isUpdated;
+	}
+
+
+	/**
+	 * Returns the TableOrder as it is in the database after the attempt.
+	 *
+	 * If the update was applied this is the updated TableOrder, otherwise it is a
+	 * newly read TableOrder row without any PersonalOrders, or null if it no longer exists.
+	 *
+	 * @return the current TableOrder
+	 */
+	public TableOrder getCurrentTableOrder()
+	{
+		return currentTableOrder;
+	}
+}
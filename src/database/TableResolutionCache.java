@@ -0,0 +1,368 @@
+package database;
+
+// Imports
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import model.Table;
+import model.TableOrder;
+
+
+/**
+ * TableResolutionCache is a singleton class that remembers which Table, and which current
+ * TableOrder, a combination of restaurantCode and tableNumber resolved to for a short while.
+ *
+ * When the restaurant opens every guest tablet starts a session at roughly the same time,
+ * and without the cache each of them would query Object_Table and TableOrder separately.
+ *
+ * Concurrent requests for the same table are coalesced, meaning that only the first request
+ * queries the database while the others wait for its result (single-flight). The result is
+ * then kept for TIME_TO_LIVE_SECONDS, after which the next request queries the database again.
+ *
+ * The cached entry is invalidated explicitly whenever the table's current TableOrder changes,
+ * including an entry whose lookup is still in progress, whose result is then not kept,
+ * and every caller receives its own copy of the Table, so changes made by one guest's session
+ * never leak in to the cached entry.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:14
+ */
+public class TableResolutionCache
+{
+	// The amount of seconds a resolved table is kept before it is looked up in the database again
+	private static final long TIME_TO_LIVE_SECONDS = 30;
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static TableResolutionCache instance;
+
+	// The time a resolved table is kept, in nanoseconds
+	private final long timeToLiveNanos;
+
+	// Returns the current time in nanoseconds, e.g. System::nanoTime
+	private final LongSupplier nanoClock;
+
+	// The resolved and currently resolving tables, stored by their restaurantCode and tableNumber
+	private final Map<String, CachedTable> cachedTables = new ConcurrentHashMap<>();
+
+	// The amount of lookups answered by the cache, and the amount that had to query the database
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+
+	/**
+	 * The database lookup carried out when a table is not cached,
+	 * typically the query made by TableDB.
+	 */
+	@FunctionalInterface
+	public interface TableLoader
+	{
+		/**
+		 * Looks up the table in the database.
+		 *
+		 * @return the table, or null if no table matches
+		 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+		 * @throws SQLException			- if a SQL operation fails
+		 */
+		Table load() throws DataAccessException, SQLException;
+	}
+
+
+	/**
+	 * A cache entry consisting of the lookup's result, which may still be in progress,
+	 * and the point in time where the entry expires.
+	 */
+	private static class CachedTable
+	{
+		// Completed by the request that queries the database
+		private final CompletableFuture<Table> resolvedTable = new CompletableFuture<>();
+
+		// The nanoClock value after which the entry is expired, set once the lookup has completed
+		private volatile long expiresAtNanos = Long.MAX_VALUE;
+	}
+
+
+	/**
+	 * Constructor for the TableResolutionCache class, the application uses the instance returned by getInstance.
+	 *
+	 * @param timeToLiveNanos 	- the time a resolved table is kept before it is looked up in the database again
+	 * @param nanoClock 		- returns the current time in nanoseconds, e.g. System::nanoTime
+	 */
+	public TableResolutionCache(long timeToLiveNanos, LongSupplier nanoClock)
+	{
+		this.timeToLiveNanos = timeToLiveNanos;
+		this.nanoClock = nanoClock;
+	}
+
+
+	/**
+	 * Returns the singleton instance of TableResolutionCache.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of TableResolutionCache
+	 */
+	public static synchronized TableResolutionCache getInstance()
+	{
+		// If the instance of the TableResolutionCache object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the TableResolutionCache object and stores it within the instance variable
+			instance = new TableResolutionCache(TimeUnit.SECONDS.toNanos(TIME_TO_LIVE_SECONDS), System::nanoTime);
+		}
+
+		// Returns the instance of the TableResolutionCache object
+		return instance;
+	}
+
+
+	/**
+	 * Returns the table with the specified tableNumber and restaurantCode, either from
+	 * the cache or by calling the supplied tableLoader if the table is not cached.
+	 *
+	 * If another request for the same table is already querying the database, this
+	 * request waits for that result instead of querying the database a second time.
+	 *
+	 * @param tableNumber 			- the tableNumber of the table
+	 * @param restaurantCode 		- the restaurantCode of the restaurant the table belongs to
+	 * @param tableLoader 			- looks up the table in the database if it is not cached
+	 * @return a copy of the table, or null if no table matches
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	public Table resolve(String tableNumber, String restaurantCode, TableLoader tableLoader) throws DataAccessException, SQLException
+	{
+		// The key the table is cached under
+		String cacheKey = createCacheKey(tableNumber, restaurantCode);
+
+		// The entry this request creates, if there is no usable entry already
+		CachedTable newEntry = new CachedTable();
+
+		// Retrieves the cached entry, or replaces it with the new entry if it is missing or has expired
+		CachedTable cachedEntry = cachedTables.compute(cacheKey, (key, existingEntry) ->
+				existingEntry == null || isExpired(existingEntry) ? newEntry : existingEntry);
+
+		// If this request created the entry then it is the one that queries the database
+		if (cachedEntry == newEntry)
+		{
+			missCount.increment();
+
+			return copyTable(loadEntry(cacheKey, newEntry, tableLoader));
+		}
+
+		hitCount.increment();
+
+		// Otherwise the request waits for the result of the request that is querying the database
+		return copyTable(awaitEntry(cachedEntry, tableNumber, restaurantCode));
+	}
+
+
+	/**
+	 * Removes the specified table from the cache, so the next request looks it up in the database.
+	 *
+	 * @param tableNumber 		- the tableNumber of the table
+	 * @param restaurantCode 	- the restaurantCode of the restaurant the table belongs to
+	 */
+	public void invalidate(String tableNumber, String restaurantCode)
+	{
+		// Also removes an entry whose lookup is still in progress, as it may have read the table before it changed,
+		// so its result is only handed to the requests already waiting for it, and is not kept for the next request
+		cachedTables.remove(createCacheKey(tableNumber, restaurantCode));
+	}
+
+
+	/**
+	 * Removes every table whose current TableOrder has the specified tableOrderId from the cache.
+	 * Called whenever a TableOrder is updated, e.g. when it is sent to the kitchen or closed.
+	 *
+	 * @param tableOrderId the tableOrderId of the TableOrder that has changed
+	 */
+	public void invalidateTableOrder(int tableOrderId)
+	{
+		// Removes the entries that have resolved to the TableOrder
+		cachedTables.values().removeIf(cachedEntry ->
+		{
+			// An entry still being looked up may resolve to the TableOrder as it was before the change, so it is removed
+			// as well, which means its result is only handed to the requests already waiting for it and is not kept
+			if (!cachedEntry.resolvedTable.isDone())
+			{
+				return true;
+			}
+
+			Table table = cachedEntry.resolvedTable.getNow(null);
+
+			return table != null && table.getCurrentTableOrder() != null && table.getCurrentTableOrder().getTableOrderId() == tableOrderId;
+		});
+	}
+
+
+	/**
+	 * Removes every table from the cache.
+	 */
+	public void invalidateAll()
+	{
+		cachedTables.clear();
+	}
+
+
+	/**
+	 * Returns the amount of lookups that were answered by the cache.
+	 *
+	 * @return the amount of hits
+	 */
+	public long getHitCount()
+	{
+		return hitCount.sum();
+	}
+
+
+	/**
+	 * Returns the amount of lookups that had to query the database.
+	 *
+	 * @return the amount of misses
+	 */
+	public long getMissCount()
+	{
+		return missCount.sum();
+	}
+
+
+	/**
+	 * Looks up the table in the database and completes the entry with the result.
+	 *
+	 * If the lookup fails, or no table matches, the entry is removed again so the
+	 * next request queries the database instead of reusing the failure.
+	 * An entry invalidated while the lookup was in progress has already been removed.
+	 *
+	 * @param cacheKey 				- the key the entry is cached under
+	 * @param cachedEntry 			- the entry created by this request
+	 * @param tableLoader 			- looks up the table in the database
+	 * @return the table, or null if no table matches
+	 * @throws DataAccessException 	- if an error occurs during data access, such as rollback or connection issues
+	 * @throws SQLException			- if a SQL operation fails
+	 */
+	private Table loadEntry(String cacheKey, CachedTable cachedEntry, TableLoader tableLoader) throws DataAccessException, SQLException
+	{
+		try
+		{
+			// Queries the database
+			Table table = tableLoader.load();
+
+			// If no table matches then the entry is not kept, as the table may be created later
+			if (table == null)
+			{
+				cachedTables.remove(cacheKey, cachedEntry);
+			}
+
+			// Starts the entry's time to live now that the lookup has completed
+			cachedEntry.expiresAtNanos = nanoClock.getAsLong() + timeToLiveNanos;
+
+			// Hands the result to the requests waiting for it
+			cachedEntry.resolvedTable.complete(table);
+
+			return table;
+		}
+
+		catch (DataAccessException | SQLException | RuntimeException exception)
+		{
+			// Removes the failed entry and hands the failure to the requests waiting for it
+			cachedTables.remove(cacheKey, cachedEntry);
+			cachedEntry.resolvedTable.completeExceptionally(exception);
+
+			throw exception;
+		}
+	}
+
+
+	/**
+	 * Returns whether or not the entry has expired.
+	 *
+	 * @param cachedEntry the entry that should be checked
+	 * @return true if the entry should be looked up again, false otherwise
+	 */
+	private boolean isExpired(CachedTable cachedEntry)
+	{
+		return nanoClock.getAsLong() - cachedEntry.expiresAtNanos > 0;
+	}
+
+
+	/**
+	 * Waits for the request that is looking up the table in the database to complete the entry.
+	 *
+	 * @param cachedEntry 			- the entry that is being looked up by another request
+	 * @param tableNumber 			- the tableNumber of the table, used in the error message
+	 * @param restaurantCode 		- the restaurantCode of the table, used in the error message
+	 * @return the table, or null if no table matches
+	 * @throws DataAccessException 	- if the other request failed to look up the table
+	 */
+	private Table awaitEntry(CachedTable cachedEntry, String tableNumber, String restaurantCode) throws DataAccessException
+	{
+		try
+		{
+			return cachedEntry.resolvedTable.get();
+		}
+
+		catch (InterruptedException exception)
+		{
+			// Restores the interrupted status of the thread
+			Thread.currentThread().interrupt();
+
+			throw new DataAccessException("Interrupted while waiting for the table with the tableCode: " + restaurantCode + tableNumber, exception);
+		}
+
+		catch (ExecutionException exception)
+		{
+			// If the other request failed then this request fails with the same cause
+			throw new DataAccessException("Unable to find an table object with a tableCode matching: " + restaurantCode + tableNumber, exception.getCause());
+		}
+	}
+
+
+	/**
+	 * Creates a copy of the supplied table and its current TableOrder, so the caller
+	 * can change the copy without changing the cached table.
+	 *
+	 * @param table the table that should be copied, may be null
+	 * @return the copy, or null if the supplied table was null
+	 */
+	private static Table copyTable(Table table)
+	{
+		// If no table was found then there is nothing to copy
+		if (table == null)
+		{
+			return null;
+		}
+
+		// Creates a new Table object with the same tableCode
+		Table tableCopy = new Table(table.getTableCode());
+
+		// Retrieves the table's current TableOrder
+		TableOrder tableOrder = table.getCurrentTableOrder();
+
+		// If the table has a current TableOrder then a copy of it is assigned to the Table copy
+		if (tableOrder != null)
+		{
+			tableCopy.setCurrentTableOrder(TableOrderAggregateCache.copyTableOrder(tableOrder));
+		}
+
+		return tableCopy;
+	}
+
+
+	/**
+	 * Creates the key a table is cached under.
+	 *
+	 * @param tableNumber 		- the tableNumber of the table
+	 * @param restaurantCode 	- the restaurantCode of the restaurant the table belongs to
+	 * @return the key
+	 */
+	private static String createCacheKey(String tableNumber, String restaurantCode)
+	{
+		return restaurantCode + "/" + tableNumber;
+	}
+}
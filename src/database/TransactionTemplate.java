@@ -0,0 +1,548 @@
+package database;
+
+// Imports
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * TransactionTemplate is responsible for running the DAO classes' database work
+ * on the shared connection, either as a read or as an explicit transaction.
+ *
+ * Reads consisting of a single SELECT statement are run by executeReadOnly in auto-commit
+ * mode at the connection's default isolation level. They therefore no longer turn auto-commit
+ * off and on, set the isolation level and commit, which each cost a round-trip to the server.
+ *
+ * Writes consisting of a single statement, e.g. an UPDATE of one TableOrder row, are atomic on
+ * their own and are therefore also run in auto-commit mode by executeSingleStatement.
+ *
+ * Reads consisting of several statements that must see the same committed state of the database
+ * are run by executeConsistentRead, as one transaction at the consistent read isolation level
+ * of the IsolationPolicy.
+ *
+ * Only work consisting of several statements that must succeed or fail together is run by
+ * executeInTransaction, which turns off auto-commit, commits the work once it has completed
+ * and rolls it back if it fails.
+ *
+ * If any of the methods is called while a transaction is already in progress on the same thread,
+ * e.g. because a DAO class reads from another DAO class while writing, the work simply becomes
+ * part of the transaction in progress, which is then committed or rolled back by the outermost call.
+ *
+ * The shared connection is used by one thread at a time. Each attempt of the outermost call holds
+ * the connection's lock until its work has been committed or rolled back, so work requested by the
+ * Event Dispatch Thread, the UtilityViewLoader and the UtilitySchedulerService at the same time is
+ * carried out one after the other, and never joins a transaction started by another thread. Whether
+ * a call is nested is decided by the thread holding the lock, and not by the state of the connection.
+ *
+ * Work that fails because of a transient failure, such as a deadlock or a lost connection, is
+ * attempted again by the RetryExecutor. A lost connection is only retried for reads and for writes
+ * run by executeIdempotentStatement, as the database may have committed the work before it was
+ * lost. Only the outermost call is retried, as the failure has rolled back the whole transaction,
+ * and not just the part carried out by a nested call.
+ * While the database is unavailable the CircuitBreaker fails the work without querying it.
+ *
+ * Work requested by a view whose QueryCancellationToken has been cancelled is abandoned, and fails
+ * with a QueryCancelledException instead of being retried.
+ *
+ *
+ * @author Anders Have
+ * @version 19/10/2026 - 10:39
+ */
+public final class TransactionTemplate
+{
+	// The isolation level the connection is kept at outside of explicit transactions
+	public static final int DEFAULT_ISOLATION_LEVEL = IsolationPolicy.getInstance().getReadIsolationLevel();
+
+	// The SQLState reported when there is no connection to the database
+	private static final String CONNECTION_DOES_NOT_EXIST_SQLSTATE = "08003";
+
+	// The amount of operations currently using the shared connection, and the total time it has been in use
+	private static final LongAdder activeOperationCount = new LongAdder();
+	private static final LongAdder connectionBusyNanos = new LongAdder();
+
+	// Held by the thread carrying out work on the shared connection, its hold count being the depth of the nested calls
+	private static final ReentrantLock CONNECTION_LOCK = new ReentrantLock();
+
+	// The amount of transactions the thread has started and not yet ended, only the outermost of which is committed or rolled back
+	private static final ThreadLocal<Integer> TRANSACTION_DEPTH = ThreadLocal.withInitial(() -> 0);
+
+	// The generation of the connection the thread's latest attempt was carried out on, which is the connection to replace if it was lost
+	private static final ThreadLocal<Long> ATTEMPTED_CONNECTION_GENERATION = new ThreadLocal<>();
+
+
+	/**
+	 * Private constructor as this class only contains static utility methods.
+	 */
+	private TransactionTemplate()
+	{
+	}
+
+
+	/**
+	 * The database work carried out by a DAO class on the shared connection.
+	 *
+	 * @param <T> the type of the result of the work
+	 */
+	@FunctionalInterface
+	public interface TransactionWork<T>
+	{
+		/**
+		 * Carries out the work.
+		 *
+		 * @param databaseConnection 	- the connection the work should be carried out on
+		 * @return the result of the work
+		 * @throws DataAccessException 	- if an error occurs during data access
+		 * @throws SQLException			- if a SQL operation fails
+		 */
+		T execute(Connection databaseConnection) throws DataAccessException, SQLException;
+	}
+
+
+	/**
+	 * Runs a read consisting of a single statement in auto-commit mode at the default isolation
+	 * level, or as part of the transaction in progress if there is one.
+	 *
+	 * @param readWork 				- the read that should be carried out
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the read fails
+	 * @return the result of the read
+	 * @throws DataAccessException 	- if the read fails
+	 */
+	public static <T> T executeReadOnly(TransactionWork<T> readWork, String failureMessage) throws DataAccessException
+	{
+		return executeWithRetry(() -> executeInAutoCommit(readWork, failureMessage), true);
+	}
+
+
+	/**
+	 * Runs a write consisting of a single statement in auto-commit mode at the default isolation
+	 * level, or as part of the transaction in progress if there is one. The database commits the
+	 * statement as soon as it has completed, or undoes it entirely if it fails.
+	 *
+	 * The write is not attempted again if the connection is lost, as the database may already have
+	 * committed it, use executeIdempotentStatement for writes that can safely be carried out twice.
+	 *
+	 * @param writeWork 			- the write that should be carried out
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the write fails
+	 * @return the result of the write
+	 * @throws DataAccessException 	- if the write fails
+	 */
+	public static <T> T executeSingleStatement(TransactionWork<T> writeWork, String failureMessage) throws DataAccessException
+	{
+		return executeWithRetry(() -> executeInAutoCommit(writeWork, failureMessage), false);
+	}
+
+
+	/**
+	 * Runs an idempotent write consisting of a single statement in auto-commit mode, e.g. an UPDATE
+	 * setting the columns of a row to given values, which has the same effect if it is carried out
+	 * twice, and is therefore also attempted again if the connection is lost.
+	 *
+	 * @param writeWork 			- the write that should be carried out
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the write fails
+	 * @return the result of the write
+	 * @throws DataAccessException 	- if the write fails
+	 */
+	public static <T> T executeIdempotentStatement(TransactionWork<T> writeWork, String failureMessage) throws DataAccessException
+	{
+		return executeWithRetry(() -> executeInAutoCommit(writeWork, failureMessage), true);
+	}
+
+
+	/**
+	 * Runs a read consisting of several statements as one transaction at the consistent read
+	 * isolation level of the IsolationPolicy, so every statement sees the same committed state
+	 * of the database without waiting for the writes made meanwhile by the guests.
+	 *
+	 * @param readWork 				- the read that should be carried out
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the read fails
+	 * @return the result of the read
+	 * @throws DataAccessException 	- if the read fails
+	 */
+	public static <T> T executeConsistentRead(TransactionWork<T> readWork, String failureMessage) throws DataAccessException
+	{
+		int isolationLevel = IsolationPolicy.getInstance().getConsistentReadIsolationLevel();
+
+		// A read changes nothing, so it is also attempted again if the connection is lost
+		return executeWithRetry(() -> executeTransactionAttempt(isolationLevel, readWork, failureMessage), true);
+	}
+
+
+	/**
+	 * Runs work consisting of several statements as one transaction at the specified isolation level,
+	 * which is committed if the work completes and rolled back if it fails. If a transaction is
+	 * already in progress the work becomes part of it instead.
+	 *
+	 * The work is not attempted again if the connection is lost, as the database may already have
+	 * committed it, e.g. the insertion of a PersonalOrder, which would otherwise be inserted twice.
+	 *
+	 * @param isolationLevel 		- the isolation level of the transaction, e.g. Connection.TRANSACTION_READ_COMMITTED
+	 * @param transactionWork 		- the work that should be carried out
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the work fails
+	 * @return the result of the work
+	 * @throws DataAccessException 	- if the work fails, or the transaction can not be committed or rolled back
+	 */
+	public static <T> T executeInTransaction(int isolationLevel, TransactionWork<T> transactionWork, String failureMessage) throws DataAccessException
+	{
+		return executeWithRetry(() -> executeTransactionAttempt(isolationLevel, transactionWork, failureMessage), false);
+	}
+
+
+	/**
+	 * Carries out the operation, using the RetryExecutor to attempt it again if it fails because of a transient
+	 * failure, unless it is nested in an operation the thread is already carrying out, in which case the
+	 * outermost call retries it. The operation is not carried out at all while the CircuitBreaker is open.
+	 *
+	 * @param operation 			- the operation that should be carried out
+	 * @param isIdempotent 			- whether or not the operation may be attempted again after the connection has been lost
+	 * @return the result of the operation
+	 * @throws DataAccessException 	- if the operation fails, or is not carried out because the CircuitBreaker is open
+	 */
+	// The resource scope is only opened to be closed, which closes what the operation leaves open, and is therefore never referenced
+	@SuppressWarnings("try")
+	private static <T> T executeWithRetry(RetryExecutor.RetryableOperation<T> operation, boolean isIdempotent) throws DataAccessException
+	{
+		// If the view that requested the work has been left then the work is abandoned before it reaches the database
+		QueryCancellationToken.throwIfCurrentCancelled("The database work was cancelled before it was carried out");
+
+		// If the thread is already carrying out an operation then the work becomes part of it, and the failure is passed on to the call that started it
+		if (CONNECTION_LOCK.isHeldByCurrentThread())
+		{
+			return operation.execute();
+		}
+
+		activeOperationCount.increment();
+
+		// Any statement or result set the operation leaves open is closed once it ends
+		try (JdbcResourceTracker.Scope resourceScope = JdbcResourceTracker.getInstance().openScope())
+		{
+			// The CircuitBreaker fails the operation immediately if the database has recently been unavailable
+			return CircuitBreaker.getInstance().execute(() -> RetryExecutor.getInstance().execute(() -> executeExclusively(operation), isIdempotent));
+		}
+
+		finally
+		{
+			activeOperationCount.decrement();
+		}
+	}
+
+
+	/**
+	 * Makes one attempt at carrying out the operation while holding the connection's lock, so no other
+	 * thread uses the shared connection until the attempt has ended. The lock is not held while the
+	 * RetryExecutor waits before the next attempt, so the other threads can use the connection meanwhile.
+	 *
+	 * @param operation 			- the operation that should be carried out
+	 * @return the result of the operation
+	 * @throws DataAccessException 	- if the operation fails, or the thread is interrupted while waiting for the connection
+	 */
+	private static <T> T executeExclusively(RetryExecutor.RetryableOperation<T> operation) throws DataAccessException
+	{
+		try
+		{
+			// Waits for the thread using the connection to end its attempt
+			CONNECTION_LOCK.lockInterruptibly();
+		}
+
+		catch (InterruptedException exception)
+		{
+			// Restores the interrupted status of the thread
+			Thread.currentThread().interrupt();
+
+			throw new DataAccessException("Interrupted while waiting for the connection to the database", exception);
+		}
+
+		long startNanos = System.nanoTime();
+
+		// Remembers the connection the attempt is carried out on, which can not be replaced while the lock is held
+		ATTEMPTED_CONNECTION_GENERATION.set(DataBaseConnection.getInstance().getConnectionGeneration());
+
+		try
+		{
+			return executeCancellable(operation);
+		}
+
+		finally
+		{
+			// Records how long the attempt used the connection
+			connectionBusyNanos.add(System.nanoTime() - startNanos);
+
+			CONNECTION_LOCK.unlock();
+		}
+	}
+
+
+	/**
+	 * Re-establishes the shared connection after the thread's latest attempt failed because it was lost.
+	 * Called by the RetryExecutor before the next attempt.
+	 *
+	 * The connection's lock is held while the connection is replaced, so it is never closed under another
+	 * thread's attempt. If another thread has already replaced the lost connection, e.g. because its attempt
+	 * failed at the same time, the new connection is kept instead of being replaced once more.
+	 *
+	 * @throws SQLException			- if the connection could not be re-established
+	 */
+	static void reconnectLostConnection() throws SQLException
+	{
+		Long failedConnectionGeneration = ATTEMPTED_CONNECTION_GENERATION.get();
+
+		// Waits for the thread using the connection to end its attempt
+		CONNECTION_LOCK.lock();
+
+		try
+		{
+			DataBaseConnection dataBaseConnection = DataBaseConnection.getInstance();
+
+			// If the thread has made no attempt then the connection currently in use is the one that was lost
+			dataBaseConnection.reconnect(failedConnectionGeneration != null ? failedConnectionGeneration : dataBaseConnection.getConnectionGeneration());
+		}
+
+		finally
+		{
+			CONNECTION_LOCK.unlock();
+		}
+	}
+
+
+	/**
+	 * Returns the amount of operations currently using the shared connection.
+	 *
+	 * @return the amount of operations in progress
+	 */
+	public static long getActiveOperationCount()
+	{
+		return activeOperationCount.sum();
+	}
+
+
+	/**
+	 * Returns the total time the shared connection has been in use by the DAO classes' operations.
+	 *
+	 * @return the time in nanoseconds
+	 */
+	public static long getConnectionBusyNanos()
+	{
+		return connectionBusyNanos.sum();
+	}
+
+
+	/**
+	 * Carries out the operation, and reports its failure as a QueryCancelledException if it failed because
+	 * the QueryCancellationToken bound to the thread was cancelled while one of its statements was executing.
+	 *
+	 * @param operation 			- the operation that should be carried out
+	 * @return the result of the operation
+	 * @throws QueryCancelledException - if the operation was cancelled
+	 * @throws DataAccessException 	- if the operation fails for any other reason
+	 */
+	private static <T> T executeCancellable(RetryExecutor.RetryableOperation<T> operation) throws DataAccessException
+	{
+		try
+		{
+			return operation.execute();
+		}
+
+		catch (DataAccessException exception)
+		{
+			QueryCancellationToken token = QueryCancellationToken.current();
+
+			// The driver reports an aborted statement like a timeout, which must neither be retried nor open the CircuitBreaker
+			if (token != null && token.isCancelled() && !(exception instanceof QueryCancelledException))
+			{
+				throw new QueryCancelledException(exception.getMessage(), exception);
+			}
+
+			throw exception;
+		}
+	}
+
+
+	/**
+	 * Makes one attempt at running the work as one transaction at the specified isolation level,
+	 * or as part of the transaction the thread has in progress if there is one.
+	 *
+	 * @param isolationLevel 		- the isolation level of the transaction
+	 * @param transactionWork 		- the work that should be carried out
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the work fails
+	 * @return the result of the work
+	 * @throws DataAccessException 	- if the work fails, or the transaction can not be committed or rolled back
+	 */
+	private static <T> T executeTransactionAttempt(int isolationLevel, TransactionWork<T> transactionWork, String failureMessage) throws DataAccessException
+	{
+		// The connection to the database
+		Connection databaseConnection;
+
+		// The amount of transactions the thread had in progress before this call
+		int transactionDepth = TRANSACTION_DEPTH.get();
+
+		// Whether or not this call starts the transaction, and is responsible for ending it
+		boolean isOutermostTransaction = transactionDepth == 0;
+
+		try
+		{
+			// Gets a connection to the database
+			databaseConnection = getConnection();
+
+			// If the thread has no transaction in progress then this call starts one
+			if (isOutermostTransaction)
+			{
+				// Turns off the auto-commit in the database, so it doesn't automatically save changes after each SQL statement.
+				// When turned off multiple SQL statements is grouped into one transaction.
+				databaseConnection.setAutoCommit(false);
+
+				// Only changes the isolation level if it differs, as every change costs a round-trip to the server
+				if (databaseConnection.getTransactionIsolation() != isolationLevel)
+				{
+					databaseConnection.setTransactionIsolation(isolationLevel);
+				}
+			}
+		}
+
+		catch (SQLException exception)
+		{
+			// If the transaction could not be started a custom exception is thrown with the specified details
+			throw new DataAccessException(failureMessage, exception);
+		}
+
+		// Any call made by the work becomes part of this transaction
+		TRANSACTION_DEPTH.set(transactionDepth + 1);
+
+		try
+		{
+			// Carries out the work
+			T result = transactionWork.execute(databaseConnection);
+
+			// If this call started the transaction then it is committed and auto-commit is turned back on
+			if (isOutermostTransaction)
+			{
+				//All the changes you've made since setAutoCommit(false), is manually saved into the database
+				databaseConnection.commit();
+
+				//Restores the default behavior and turns on auto-commit
+				databaseConnection.setAutoCommit(true);
+			}
+
+			return result;
+		}
+
+		catch (SQLException | DataAccessException | RuntimeException exception)
+		{
+			// If this call started the transaction then all of its changes are undone
+			if (isOutermostTransaction)
+			{
+				rollback(databaseConnection, failureMessage);
+			}
+
+			// A DataAccessException or RuntimeException thrown by the work is passed on as it is
+			if (exception instanceof DataAccessException)
+			{
+				throw (DataAccessException) exception;
+			}
+
+			if (exception instanceof RuntimeException)
+			{
+				throw (RuntimeException) exception;
+			}
+
+			// If an SQL error occurs a custom exception is thrown with the specified details
+			throw new DataAccessException(failureMessage, exception);
+		}
+
+		finally
+		{
+			// The transaction has ended, or is still carried on by an enclosing call
+			if (isOutermostTransaction)
+			{
+				TRANSACTION_DEPTH.remove();
+			}
+
+			else
+			{
+				TRANSACTION_DEPTH.set(transactionDepth);
+			}
+		}
+	}
+
+
+	/**
+	 * Runs work consisting of a single statement in auto-commit mode at the default isolation
+	 * level, or as part of the transaction in progress if there is one.
+	 *
+	 * @param work 					- the work that should be carried out
+	 * @param failureMessage 		- the message of the DataAccessException thrown if the work fails
+	 * @return the result of the work
+	 * @throws DataAccessException 	- if the work fails
+	 */
+	private static <T> T executeInAutoCommit(TransactionWork<T> work, String failureMessage) throws DataAccessException
+	{
+		try
+		{
+			// Gets a connection to the database
+			Connection databaseConnection = getConnection();
+
+			// If the thread has no transaction in progress, and an explicit transaction has left the connection at a
+			// different isolation level, then the connection is returned to the default isolation level
+			if (TRANSACTION_DEPTH.get() == 0 && databaseConnection.getTransactionIsolation() != DEFAULT_ISOLATION_LEVEL)
+			{
+				databaseConnection.setTransactionIsolation(DEFAULT_ISOLATION_LEVEL);
+			}
+
+			// Carries out the work, which is committed by the database as soon as the statement has completed
+			return work.execute(databaseConnection);
+		}
+
+		catch (SQLException exception)
+		{
+			// If an SQL error occurs a custom exception is thrown with the specified details
+			throw new DataAccessException(failureMessage, exception);
+		}
+	}
+
+
+	/**
+	 * Returns the shared connection to the database.
+	 *
+	 * @return the connection
+	 * @throws SQLException			- if the connection could not be established when the application started,
+	 * 								  reported as a lost connection so the RetryExecutor establishes it again
+	 */
+	private static Connection getConnection() throws SQLException
+	{
+		Connection databaseConnection = DataBaseConnection.getInstance().getConnection();
+
+		// If the connection could not be established then there is nothing to carry out the work on
+		if (databaseConnection == null)
+		{
+			throw new SQLException("There is no connection to the database", CONNECTION_DOES_NOT_EXIST_SQLSTATE);
+		}
+
+		return databaseConnection;
+	}
+
+
+	/**
+	 * Undoes all changes made in the transaction in progress and turns auto-commit back on.
+	 *
+	 * @param databaseConnection 	- the connection the transaction is in progress on
+	 * @param failureMessage 		- the message of the failed work, used in the exception if the rollback fails
+	 * @throws DataAccessException 	- if the rollback fails
+	 */
+	private static void rollback(Connection databaseConnection, String failureMessage) throws DataAccessException
+	{
+		try
+		{
+			//Undo all changes made so far in the transaction
+			databaseConnection.rollback();
+
+			//Restores the default behavior and turns on auto-commit
+			databaseConnection.setAutoCommit(true);
+		}
+
+		catch (SQLException rollbackException)
+		{
+			// If rollback fails, throw a custom exception with details
+			throw new DataAccessException("Rollback failed after error: " + failureMessage, rollbackException);
+		}
+	}
+}
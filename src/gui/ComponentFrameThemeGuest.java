@@ -7,11 +7,9 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Image;
-import java.net.URL;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -258,18 +256,12 @@ public class ComponentFrameThemeGuest
 	
 	private void setFavIcon(JFrame frame, String favIconPath)
 	{
-		// Finds the resource with the name specified in the method's parameter and stores its url destination in the local imageUrlPath variable 
-		URL imageUrlPath = getClass().getResource(favIconPath);
+		// Retrieves the favorite icon, which is only loaded the first time it is used
+		Image favoriteIconImage = UtilityResourceCache.getImage(favIconPath);
 		
-		// If the imageUrlPath is not null then execute this section
-		if (imageUrlPath != null)
+		// If the image could be loaded then execute this section
+		if (favoriteIconImage != null)
 		{
-			// Creates and loads an ImageIcon by using the resource file found at the provided url path
-			ImageIcon favoriteIcon = new ImageIcon(imageUrlPath);
-			
-			// Retrieves the icon's image and store it within the favoriteIconImage variable
-			Image favoriteIconImage = favoriteIcon.getImage();
-			
 			// Sets the window's image icon to the image stored within the favoriteIconImage variable
 			frame.setIconImage(favoriteIconImage);
 		}
@@ -54,7 +54,7 @@ import javax.swing.SwingConstants;
 		this.setBorderPainted(false);
 
 		// Sets the font to the specified style type and size
-		this.setFont(new Font("Tahoma", Font.PLAIN, 16));
+		this.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 16));
 
 		// Center-align the button in the layout
 		this.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -43,7 +43,7 @@ public class ComponentGuestCheckBox extends JCheckBox
 		setOpaque(false);
 		
 		// Sets the font to the specified style type and size
-		setFont(new Font("SansSerif", Font.ITALIC, 16));
+		setFont(UtilityResourceCache.getFont("SansSerif", Font.ITALIC, 16));
 		
 		// Sets the text color to a dark medium grey
 		setForeground(new Color(62, 62, 62));
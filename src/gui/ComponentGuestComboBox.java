@@ -64,7 +64,7 @@ public class ComponentGuestComboBox extends JPanel
 		JLabel lblHeadingTitle = new JLabel(labelHeadingText);
 		
 		// Sets the font to the specified style type and size
-		lblHeadingTitle.setFont(new Font("SansSerif", Font.BOLD, 16));
+		lblHeadingTitle.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 16));
 		
 		// Sets the text color to a dark medium grey
 		lblHeadingTitle.setForeground(new Color(62, 62, 62));
@@ -87,7 +87,7 @@ public class ComponentGuestComboBox extends JPanel
 		comboBox = new JComboBox<>(options.toArray(new String[0]));
 		
 		// Sets the font to the specified style type and size
-		comboBox.setFont(new Font("SansSerif", Font.ITALIC, 14));
+		comboBox.setFont(UtilityResourceCache.getFont("SansSerif", Font.ITALIC, 14));
 		
 		// Limit max size of the UI component
 		comboBox.setMaximumSize(new Dimension(320, 40));
@@ -49,8 +49,9 @@ public class ComponentGuestErrorDialog extends JDialog
         // Sets the size of the viewport / window
         setSize(320, 275);
         
-        // Sets the location to be relative to the parent frame
-        setLocationRelativeTo(parentFrame);
+        // Sets the location to be relative to the parent frame, or to the guest window if the parent frame 
+        // is a guest view whose contents are being shown by the UtilityGuestNavigator instead of itself
+        setLocationRelativeTo(parentFrame.isShowing() ? parentFrame : UtilityGuestNavigator.getInstance().getHostFrame());
         
         // Makes the viewport non-resizeable
         setResizable(false);
@@ -85,7 +86,7 @@ public class ComponentGuestErrorDialog extends JDialog
         JLabel labelHeading = new JLabel("Forkert Udfyldning");
 
         // Sets the font to the specified style type and size
-        labelHeading.setFont(new Font("SansSerif", Font.BOLD, 18));
+        labelHeading.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 18));
         
         // Changes the text color to 
         labelHeading.setForeground(new Color(40, 40, 40));
@@ -179,7 +180,7 @@ public class ComponentGuestErrorDialog extends JDialog
     private void setLabelDesign(JLabel label)
     {
     	// Sets the font to the specified style type and size
-    	label.setFont(new Font("SansSerif", Font.PLAIN, 14));
+    	label.setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 14));
 
 		// Sets the text color to a dark medium grey
     	label.setForeground(new Color(62, 62, 62));
@@ -6,7 +6,6 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Image;
-import java.net.URL;
 
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
@@ -72,13 +71,11 @@ public class ComponentGuestHeaderTitle extends JPanel
 		// Make the overlay panel transparent so background shows through
 		panelHeaderOverlay.setOpaque(false);
 
-		// Load and scale the header image
-		URL urlPath = this.getClass().getResource(headerLogoPath);
-		ImageIcon originalIcon = new ImageIcon(urlPath);
-		Image scaledImage = originalIcon.getImage().getScaledInstance(380, 100, Image.SCALE_SMOOTH);
+		// Retrieve the header image, which is only loaded and scaled the first time it is used
+		ImageIcon scaledIcon = UtilityResourceCache.getScaledIcon(headerLogoPath, 380, 100);
 
 		// Create a JLabel with the scaled image as its icon
-		JLabel labelHeaderLogo = new JLabel(new ImageIcon(scaledImage));
+		JLabel labelHeaderLogo = new JLabel(scaledIcon);
 
 		// Center the image horizontally and vertically in the overlay panel
 		labelHeaderLogo.setAlignmentX(0.5f);
@@ -97,7 +94,7 @@ public class ComponentGuestHeaderTitle extends JPanel
 		labelText.setForeground(Color.WHITE);
 
 		// Sets the font to the specified style type and size
-		labelText.setFont(new Font("SansSerif", Font.BOLD, 24));
+		labelText.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 24));
 
 		// Aligns the label horizontally to the center within its container
 		labelText.setHorizontalAlignment(SwingConstants.CENTER);
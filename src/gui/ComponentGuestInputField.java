@@ -85,7 +85,7 @@ public class ComponentGuestInputField extends JTextField
 		
 
 		// Sets the font to the specified style type and size
-		setFont(new Font("SansSerif", Font.PLAIN, 14));
+		setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 14));
 
 		// Sets the text color to a dark medium grey
 		setForeground(new Color(139, 139, 139));
@@ -33,7 +33,7 @@ public class ComponentGuestLabelHeading extends JLabel
 		super(heading);
 		
 		// Sets the font to the specified style type and size
-		this.setFont(new Font("SansSerif", Font.PLAIN, 23));
+		this.setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 23));
 
 		// Sets the text color to a dark medium grey
 		this.setForeground(new Color(62, 62, 62));
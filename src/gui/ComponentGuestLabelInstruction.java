@@ -44,7 +44,7 @@ public class ComponentGuestLabelInstruction extends JLabel
 		this.setText("<html><div style='text-align: center;'>" + instructionText + "</div></html>");
 		
 		// Sets the font to the specified style type and size
-		this.setFont(new Font("SansSerif", Font.PLAIN, 14));
+		this.setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 14));
 
 		// Sets the text color to a dark medium grey
 		this.setForeground(new Color(62, 62, 62));
@@ -75,7 +75,7 @@ public class ComponentGuestMenuItem extends JPanel
 		JLabel lblTitle = new JLabel(menuItem.getName().toUpperCase());
 
 		// Set the font style and size for the title
-		lblTitle.setFont(new Font("SansSerif", Font.BOLD, 14));
+		lblTitle.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 14));
 
 		// Set the title text color to a dark gray
 		lblTitle.setForeground(new Color(40, 40, 40));
@@ -84,7 +84,7 @@ public class ComponentGuestMenuItem extends JPanel
 		JLabel lblDescription = new JLabel("<html><i>" + menuItem.getDescription() + "</i></html>");
 
 		// Set the font style and size for the description
-		lblDescription.setFont(new Font("SansSerif", Font.PLAIN, 11));
+		lblDescription.setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 11));
 
 		// Set the description text color to a slightly lighter gray
 		lblDescription.setForeground(new Color(70, 70, 70));
@@ -122,7 +122,7 @@ public class ComponentGuestMenuItem extends JPanel
 		JLabel lblPrice = new JLabel(price + ",-");
 		
 		// Changes the font styling to the specified style
-		lblPrice.setFont(new Font("SansSerif", Font.BOLD, 14));
+		lblPrice.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 14));
 		
 		// Changes the font color to  black
 		lblPrice.setForeground(Color.BLACK);
@@ -131,7 +131,7 @@ public class ComponentGuestMenuItem extends JPanel
 		btnAdd = new JButton("+");
 
 		// Set a large bold font for visibility
-		btnAdd.setFont(new Font("SansSerif", Font.BOLD, 26));
+		btnAdd.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 26));
 
 		// Set the text color to white
 		btnAdd.setForeground(Color.WHITE);
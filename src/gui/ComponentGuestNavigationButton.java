@@ -15,11 +15,12 @@ import javax.swing.SwingUtilities;
  * Unlike other buttons the visuals are made to look like a clickable hyperlink.
  * 
  * These are currently used for styling Anmod Om Service and Tilbage in the 
- * navigation section at the top of the GUI.
+ * navigation section at the top of the GUI. The Anmod Om Service button requests
+ * service for the guest's table, which is written to the TableOrder in the background.
  * 
  * 
  * Author: Christoffer Søndergaard  
- * Version: 08/06/2025 - 13:02
+ * Version: 19/10/2026 - 10:44
  */
 public class ComponentGuestNavigationButton extends JButton
 {
@@ -49,7 +50,7 @@ public class ComponentGuestNavigationButton extends JButton
 		this.setHorizontalAlignment(JButton.LEFT);
 
 		// Sets the font to the specified style type and size
-		this.setFont(new Font("SansSerif", Font.PLAIN, 12));
+		this.setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 12));
 
 		// Add a ChangeListener to monitor the model state of the button whether it is being pressed or not
 		this.getModel().addChangeListener(event -> 
@@ -76,16 +77,55 @@ public class ComponentGuestNavigationButton extends JButton
 			// If the button that was pressed contains the text "Anmod Om Service" button then execute this section
 			if(this.getText().equals("Anmod Om Service 🔔"))
 			{
+				requestService();
+			}
+		});
+	}
+	
+	
+	/**
+	 * Requests service for the guest's table in the background, so the window stays responsive
+	 * while the TableOrder is written to the database. Only the isRequestingService column is written.
+	 */
+	private void requestService()
+	{
+		// Disables the button while the request is being sent, so it is only sent once
+		this.setEnabled(false);
+		
+		UtilityViewLoader.load("requestService", null,
+			
+			() ->
+			{
+				UtilityGuestInformation.getInstance().requestService();
+				
+				return null;
+			},
+			
+			// Executed on the EDT once the service has been requested
+			result -> this.setEnabled(true),
+			
+			// Executed on the EDT if the service could not be requested
+			exception ->
+			{
+				this.setEnabled(true);
+				
+				// If the guest's session has expired then the guest has already been sent back to entering the table code
+				if (exception instanceof GuestSessionExpiredException)
+				{
+					return;
+				}
+				
+				exception.printStackTrace();
+				
 				// Returns the parent window / jframe as a JFrame and stores it within the parentFrame variable
 				JFrame parentFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
 				
 				// Creates a dialog box informing about the action that went wrong
 				new ComponentGuestErrorDialog(parentFrame, 
-						"Følgende feature",
+						"Personalet kunne ikke tilkaldes:",
 						"Anmod Om Service",
-						"Er endnu ikke integreret i systemet"
+						"Prøv igen."
 				);
-			}
-		});
+			});
 	}
 }
\ No newline at end of file
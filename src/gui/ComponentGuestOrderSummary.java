@@ -65,7 +65,7 @@ public class ComponentGuestOrderSummary extends JPanel
 		JLabel labelName = new JLabel(guestName.toUpperCase());
 		
 		// Set bold font and size for name
-		labelName.setFont(new Font("SansSerif", Font.BOLD, 20));
+		labelName.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 20));
 		
 		// Set dark gray color for name text
 		labelName.setForeground(new Color(40, 40, 40));
@@ -74,7 +74,7 @@ public class ComponentGuestOrderSummary extends JPanel
 		JLabel labelPrice = new JLabel(price + ",-");
 		
 		// Set regular font and size for price
-		labelPrice.setFont(new Font("SansSerif", Font.PLAIN, 20));
+		labelPrice.setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 20));
 		
 		// Set dark gray color for price
 		labelPrice.setForeground(new Color(40, 40, 40));
@@ -111,7 +111,7 @@ public class ComponentGuestOrderSummary extends JPanel
 			JLabel lblItem = new JLabel("1x " + menuitem);
 			
 			// Sets the font to the specified style type and size
-			lblItem.setFont(new Font("SansSerif", Font.ITALIC, 16));
+			lblItem.setFont(UtilityResourceCache.getFont("SansSerif", Font.ITALIC, 16));
 			
 			// Changes the color of the text to dark grey
 			lblItem.setForeground(new Color(70, 70, 70));
@@ -71,7 +71,7 @@ public class ComponentGuestOrderTotalPrice extends JPanel
 		JLabel labelName = new JLabel(guestName.toUpperCase());
 
 		// Set bold font and size for the guest name
-		labelName.setFont(new Font("SansSerif", Font.BOLD, 20));
+		labelName.setFont(UtilityResourceCache.getFont("SansSerif", Font.BOLD, 20));
 
 		// Set a dark gray color for the guest name
 		labelName.setForeground(new Color(40, 40, 40));
@@ -80,7 +80,7 @@ public class ComponentGuestOrderTotalPrice extends JPanel
 		JLabel labelPrice = new JLabel(price + ",-");
 
 		// Set plain font and size for the price
-		labelPrice.setFont(new Font("SansSerif", Font.PLAIN, 20));
+		labelPrice.setFont(UtilityResourceCache.getFont("SansSerif", Font.PLAIN, 20));
 
 		// Set the same dark gray color for the price
 		labelPrice.setForeground(new Color(40, 40, 40));
@@ -46,7 +46,7 @@ public class ComponentStaffButton extends JButton
 		this.setBorderPainted(false);
 		
 		// Set font to the specified settings
-		this.setFont(new Font("Tahoma", Font.PLAIN, 18));
+		this.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 18));
 		
 		// Center text horizontally inside the button
 		this.setHorizontalAlignment(SwingConstants.CENTER);
@@ -0,0 +1,31 @@
+// Packages
+package gui;
+
+
+/**
+ * Thrown when the guest window uses the guest's GuestSession after it has ended or been
+ * evicted by the GuestSessionManager, e.g. because the tablet was left idle for hours.
+ *
+ * The session's Table and TableOrder are gone, so the action that needed them is abandoned,
+ * and the guest is sent back to entering the table code to start a new session.
+ *
+ *
+ * @author Anders Have
+ * @version: 19/10/2026 - 10:32
+ */
+public class GuestSessionExpiredException extends RuntimeException
+{
+	// Unique identifier of the class used by Java's serialization
+	private static final long serialVersionUID = 1L;
+
+
+	/**
+	 * Constructor for the GuestSessionExpiredException class.
+	 *
+	 * @param message 	- the description of the action that was abandoned
+	 */
+	public GuestSessionExpiredException(String message)
+	{
+		super(message);
+	}
+}
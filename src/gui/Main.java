@@ -1,6 +1,13 @@
 //Packages
 package gui;
 
+//Imports
+import java.util.concurrent.TimeUnit;
+
+import application.GuestSessionManager;
+import application.OperationalMetrics;
+import database.QueryMetrics;
+
 
 /**
  * The Main class serves as the entry point for the system.
@@ -32,17 +39,29 @@ public class Main
 		// Tries to run the code within the braces
 		try
 		{
+			// Loads the images and fonts shared by the views in advance, so the first view opens faster
+			UtilityResourceCache.warmUp();
+			
+			// Prints a summary of how long the database queries take every few minutes
+			QueryMetrics.getInstance().startPeriodicSummary();
+			
+			// Exposes the restaurant's health figures over JMX, so they can be watched in e.g. JConsole
+			OperationalMetrics.getInstance().registerMBean();
+			
+			// Prints the stack of the Event Dispatch Thread whenever it is blocked long enough to freeze the views
+			UtilityEdtWatchdog.getInstance().start();
+			
+			// Evicts the sessions of guests who left without paying every minute, so they do not take up memory until the end of the shift
+			UtilitySchedulerService.getInstance().schedulePeriodic("guestSessionEviction", GuestSessionManager.getInstance()::evictIdleSessions, 1, 1, TimeUnit.MINUTES);
+			
 			// Creates a ViewStaffLogin instance and stores it within the viewStaffLogin variable
 			ViewStaffLogin viewStaffLogin = new ViewStaffLogin();
 
 			// Changes the visibility of the LoginView window to be visible
 			viewStaffLogin.setVisible(true);
 			
-			// Creates a ViewGuestTableInformation instance and stores it within the viewGuestTableInformation variable
-			ViewGuestTableInformation  viewGuestTableInformation = new ViewGuestTableInformation();
-			
-			// Changes the visibility of the LoginView window to be visible
-			viewGuestTableInformation.setVisible(true);
+			// Opens the guest window, which hosts all of the guest views, starting with the ViewGuestTableInformation
+			UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTableInformation.class, ViewGuestTableInformation::new);
 		}
 		
 		// Catches any type of exception that may occur while running the above code
@@ -0,0 +1,297 @@
+// Packages
+package gui;
+
+//Imports
+import java.awt.KeyboardFocusManager;
+import java.awt.Window;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.swing.SwingUtilities;
+
+import database.LatencyHistogram;
+
+
+/**
+ * UtilityEdtWatchdog is a singleton class that detects when Swing's Event Dispatch Thread (EDT)
+ * stops responding, e.g. because an action listener queries the database directly, which freezes
+ * the guest's tablet or the staff's screen until the query returns.
+ *
+ * A background thread regularly hands the EDT a heartbeat and checks how long ago the EDT last
+ * handled one. If the EDT has not handled the heartbeat within the threshold, the stack of the EDT
+ * is printed together with the name of the view that was shown, which points out the code that is
+ * blocking it. Once the EDT responds again the duration of the stall is recorded, both in total
+ * and per view, so every freeze the guests and staff experience can be found and fixed.
+ *
+ * The threshold defaults to 500 milliseconds, and can be changed with -DedtWatchdog.thresholdMillis.
+ *
+ *
+ * @author Anders Have
+ * @version: 19/10/2026 - 10:26
+ */
+public final class UtilityEdtWatchdog
+{
+	// The time the EDT may take to handle a heartbeat, before it is considered stalled
+	private static final long DEFAULT_THRESHOLD_MILLIS = 500;
+
+	// The time between the checks made by the watchdog
+	private static final long DEFAULT_CHECK_INTERVAL_MILLIS = 100;
+
+	// The name used for the view when none of the application's windows are active
+	private static final String NO_ACTIVE_VIEW = "no active view";
+
+	// The amount of stack frames printed when a stall is detected
+	private static final int MAXIMUM_PRINTED_FRAMES = 25;
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static UtilityEdtWatchdog instance;
+
+	// The time the EDT may take to handle a heartbeat, before it is considered stalled
+	private final long thresholdNanos;
+
+	// The time between the checks made by the watchdog, each of which hands the EDT a heartbeat if it has handled the previous one
+	private final long checkIntervalMillis;
+
+	// Returns the current time in nanoseconds, e.g. System::nanoTime
+	private final LongSupplier nanoClock;
+
+	// The durations of every stall
+	private final LatencyHistogram stallHistogram = new LatencyHistogram();
+
+	// The durations of the stalls, stored by the name of the view they happened in
+	private final Map<String, LatencyHistogram> stallHistogramsByView = new ConcurrentHashMap<>();
+
+	// Carries out the checks, or null if the watchdog has not been started
+	private ScheduledExecutorService watchdogExecutor;
+
+	// The EDT, which is remembered by the first heartbeat so its stack can be captured
+	private volatile Thread eventDispatchThread;
+
+	// The view that was shown when the EDT last handled a heartbeat
+	private volatile String lastViewName = NO_ACTIVE_VIEW;
+
+	// Whether or not the EDT has been handed a heartbeat it has not handled yet
+	private boolean isHeartbeatPending;
+
+	// The time the heartbeat the EDT has not handled yet was handed to it
+	private long heartbeatPostedNanos;
+
+	// Whether or not the current stall has already been printed
+	private boolean isStallReported;
+
+
+	/**
+	 * Constructor for the UtilityEdtWatchdog class, the application uses the instance returned by getInstance.
+	 *
+	 * @param thresholdMillis 		- the time the EDT may take to handle a heartbeat, before it is considered stalled
+	 * @param checkIntervalMillis 	- the time between the checks made by the watchdog once it has been started
+	 * @param nanoClock 			- returns the current time in nanoseconds, e.g. System::nanoTime
+	 */
+	public UtilityEdtWatchdog(long thresholdMillis, long checkIntervalMillis, LongSupplier nanoClock)
+	{
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+		this.checkIntervalMillis = checkIntervalMillis;
+		this.nanoClock = nanoClock;
+	}
+
+
+	/**
+	 * Returns the singleton instance of UtilityEdtWatchdog.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of UtilityEdtWatchdog
+	 */
+	public static synchronized UtilityEdtWatchdog getInstance()
+	{
+		// If the instance of the UtilityEdtWatchdog object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the UtilityEdtWatchdog object and stores it within the instance variable
+			instance = new UtilityEdtWatchdog(Long.getLong("edtWatchdog.thresholdMillis", DEFAULT_THRESHOLD_MILLIS), DEFAULT_CHECK_INTERVAL_MILLIS, System::nanoTime);
+		}
+
+		// Returns the instance of the UtilityEdtWatchdog object
+		return instance;
+	}
+
+
+	/**
+	 * Starts watching the EDT on a background thread, unless it is already being watched.
+	 */
+	public synchronized void start()
+	{
+		// If the EDT is already being watched then there is nothing to do
+		if (watchdogExecutor != null)
+		{
+			return;
+		}
+
+		// Forgets any heartbeat handed to the EDT before the watchdog was stopped
+		isHeartbeatPending = false;
+		isStallReported = false;
+
+		watchdogExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+		{
+			// Creates a named daemon thread, so it is recognizable when debugging and does not keep the application alive
+			Thread watchdogThread = new Thread(runnable, "EdtWatchdog");
+			watchdogThread.setDaemon(true);
+
+			return watchdogThread;
+		});
+
+		watchdogExecutor.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+
+	/**
+	 * Stops watching the EDT.
+	 */
+	public synchronized void stop()
+	{
+		if (watchdogExecutor != null)
+		{
+			watchdogExecutor.shutdownNow();
+			watchdogExecutor = null;
+		}
+	}
+
+
+	/**
+	 * Hands the EDT a heartbeat if it has handled the previous one, and otherwise prints the
+	 * stack of the EDT if it has been stalled for longer than the threshold.
+	 *
+	 * Called every check interval once the watchdog has been started, and may be called directly
+	 * instead, e.g. to check the EDT at given times of the clock.
+	 */
+	public void check()
+	{
+		long nanos = nanoClock.getAsLong();
+		long stalledNanos;
+		Thread stalledThread;
+
+		synchronized (this)
+		{
+			// If the EDT has handled the previous heartbeat then it is handed a new one
+			if (!isHeartbeatPending)
+			{
+				isHeartbeatPending = true;
+				heartbeatPostedNanos = nanos;
+
+				SwingUtilities.invokeLater(this::handleHeartbeat);
+
+				return;
+			}
+
+			// If the EDT is not stalled, or the stall has already been printed, then there is nothing more to do
+			if (nanos - heartbeatPostedNanos < thresholdNanos || isStallReported)
+			{
+				return;
+			}
+
+			isStallReported = true;
+			stalledNanos = nanos - heartbeatPostedNanos;
+			stalledThread = eventDispatchThread;
+		}
+
+		// Prints the stack of the EDT outside of the lock, as it may take a while
+		StringBuilder report = new StringBuilder("The Event Dispatch Thread has not responded for " + TimeUnit.NANOSECONDS.toMillis(stalledNanos)
+				+ " ms while showing " + lastViewName);
+
+		if (stalledThread != null)
+		{
+			StackTraceElement[] stackTrace = stalledThread.getStackTrace();
+
+			for (int frame = 0; frame < Math.min(stackTrace.length, MAXIMUM_PRINTED_FRAMES); frame++)
+			{
+				report.append(System.lineSeparator()).append("\tat ").append(stackTrace[frame]);
+			}
+		}
+
+		System.err.println(report);
+	}
+
+
+	/**
+	 * Handles a heartbeat on the EDT, which records the duration of the stall if the EDT was stalled.
+	 */
+	private void handleHeartbeat()
+	{
+		eventDispatchThread = Thread.currentThread();
+
+		long stallNanos;
+		boolean wasStalled;
+
+		synchronized (this)
+		{
+			stallNanos = nanoClock.getAsLong() - heartbeatPostedNanos;
+			wasStalled = isStallReported || stallNanos >= thresholdNanos;
+
+			isHeartbeatPending = false;
+			isStallReported = false;
+		}
+
+		// Records the stall under the view it happened in, which is the view shown before the EDT was stalled
+		if (wasStalled)
+		{
+			stallHistogram.record(stallNanos);
+			stallHistogramsByView.computeIfAbsent(lastViewName, viewName -> new LatencyHistogram()).record(stallNanos);
+
+			System.err.println("The Event Dispatch Thread responded again after " + TimeUnit.NANOSECONDS.toMillis(stallNanos) + " ms while showing " + lastViewName);
+		}
+
+		lastViewName = findActiveViewName();
+	}
+
+
+	/**
+	 * Returns the name of the view shown in the window that is currently active.
+	 *
+	 * @return the simple name of the view's class, or NO_ACTIVE_VIEW if no window is active
+	 */
+	private static String findActiveViewName()
+	{
+		Window activeWindow = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+
+		// If none of the application's windows are active then no view is shown
+		if (activeWindow == null)
+		{
+			return NO_ACTIVE_VIEW;
+		}
+
+		// The guest window shows the guest views as cards, so the view is retrieved from the UtilityGuestNavigator
+		UtilityGuestNavigator guestNavigator = UtilityGuestNavigator.getInstance();
+
+		if (activeWindow == guestNavigator.getHostFrame() && guestNavigator.getCurrentViewName() != null)
+		{
+			return guestNavigator.getCurrentViewName();
+		}
+
+		return activeWindow.getClass().getSimpleName();
+	}
+
+
+	/**
+	 * Returns the durations of every stall since the watchdog was started.
+	 *
+	 * @return the histogram of the stalls
+	 */
+	public LatencyHistogram getStallHistogram()
+	{
+		return stallHistogram;
+	}
+
+
+	/**
+	 * Returns the durations of the stalls, stored by the name of the view they happened in.
+	 *
+	 * @return the histograms of the stalls per view
+	 */
+	public Map<String, LatencyHistogram> getStallHistogramsByView()
+	{
+		return Map.copyOf(stallHistogramsByView);
+	}
+}
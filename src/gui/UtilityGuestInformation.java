@@ -4,7 +4,12 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.swing.SwingUtilities;
+
+import application.GuestSession;
+import application.GuestSessionManager;
 import application.PersonalOrderController;
+import application.TableOrderController;
 import database.DataAccessException;
 import model.AddOnOption;
 import model.DipsAndSauces;
@@ -13,6 +18,7 @@ import model.Drink;
 import model.MainCourse;
 import model.MenuCard;
 import model.MenuItem;
+import model.PersonalOrder;
 import model.PotatoDish;
 import model.SelectionOption;
 import model.SelfServiceBar;
@@ -27,37 +33,45 @@ import model.TableOrder;
  * It acts as a bridge between the GUI and the business logic, particularly in relation to
  * tables, table orders, discounts, and menu selections.
  * 
- * This class holds information such as the current table, table order,
- * selected main course, available menu cards, and discounts. It delegates
- * business logic to the PersonalOrderController.
+ * The information such as the current table, table order, selected main course,
+ * available menu cards, and discounts is held by the guest's GuestSession, which
+ * is kept by the GuestSessionManager under the session id remembered by this class.
+ * The business logic is delegated to the session's PersonalOrderController.
+ * 
+ * The guest views are shown within the single guest window of the UtilityGuestNavigator,
+ * so this class holds the session of that window, and the application serves one guest
+ * at a time. The GuestSessionManager keeps the session apart from the shared state of
+ * the application, and bounds and evicts the sessions.
+ * 
+ * A session is started when the guest enters the table code, and is ended when the guest
+ * has paid, so the next guest using the tablet starts a new session. If the session has
+ * been evicted because the tablet was left idle, it is not silently replaced by an empty
+ * session, as the guest's Table and TableOrder would be missing. Instead the action is
+ * abandoned with a GuestSessionExpiredException, and the guest is sent back to entering
+ * the table code.
  * 
- * This class is instantiated only once during a guest session and should be
+ * This class is instantiated only once for the guest window and should be
  * accessed via getInstance() as it is using a singleton pattern.
  * 
  * 
  * @author Christoffer Søndergaard & Lumière Schack
- * @version: 09/06/2025 - 06:50
+ * @version: 19/10/2026 - 10:47
  */
 public class UtilityGuestInformation
 {
 	// Used by the class for the singleton pattern that it utilizes
 	private static UtilityGuestInformation instance;
 
-	private PersonalOrderController personalOrderController;
-	private Table table;
-	private TableOrder tableOrder;
-	private List<Discount> listOfDiscounts;
-	private List<MenuCard> listOfMenuCards;
-	private MainCourse mainCourse;
+	// The id of the guest's GuestSession, or null if no session has been started
+	private String sessionId;
 
 	
 	/**
 	 * Private constructor as this is using a singleton pattern.
-	 * Initializes the personalOrderController.
 	 */
 	private UtilityGuestInformation()
 	{
-		personalOrderController = new PersonalOrderController();
+		
 	}
 
 
@@ -81,6 +95,78 @@ public class UtilityGuestInformation
 	}
 	
 	
+	/**
+	 * Returns the guest's GuestSession, and sends the guest back to entering the table code
+	 * if the session has ended or been evicted.
+	 * 
+	 * @return the guest's GuestSession
+	 * @throws GuestSessionExpiredException if the guest has no session, which abandons the action that needed it
+	 */
+	private synchronized GuestSession getSession()
+	{
+		// Looks up the session, which also records that it is being used
+		GuestSession session = GuestSessionManager.getInstance().findSession(sessionId);
+		
+		// If the session has been evicted then its Table and TableOrder are gone, and the guest has to enter the table code again
+		if (session == null)
+		{
+			// Only sends the guest back once, even if several actions find the session missing
+			if (sessionId != null)
+			{
+				sessionId = null;
+				
+				SwingUtilities.invokeLater(UtilityGuestInformation::returnToTableCodeEntry);
+			}
+			
+			throw new GuestSessionExpiredException("The guest's session has ended or been evicted");
+		}
+		
+		return session;
+	}
+	
+	
+	/**
+	 * Returns the guest's GuestSession, starting a new session if none has been started, 
+	 * or if the session has ended or been evicted, which is done when the guest enters the table code.
+	 * 
+	 * @return the guest's GuestSession
+	 */
+	private synchronized GuestSession findOrStartSession()
+	{
+		// Looks up the session, which also records that it is being used
+		GuestSession session = GuestSessionManager.getInstance().findSession(sessionId);
+		
+		// If there is no session then a new one is started and its id is remembered
+		if (session == null)
+		{
+			session = GuestSessionManager.getInstance().startSession();
+			sessionId = session.getSessionId();
+		}
+		
+		return session;
+	}
+	
+	
+	/**
+	 * Shows the table code entry within the guest window, and informs the guest that the session has expired.
+	 * Executed on the EDT.
+	 */
+	private static void returnToTableCodeEntry()
+	{
+		UtilityGuestNavigator guestNavigator = UtilityGuestNavigator.getInstance();
+		
+		// Navigates to the specified view within the guest window, reusing it if it has been built before
+		guestNavigator.navigateTo(ViewGuestTableInformation.class, ViewGuestTableInformation::new);
+		
+		// Creates a dialog box informing about why the guest has to start over
+		new ComponentGuestErrorDialog(guestNavigator.getHostFrame(), 
+				"Din bestilling er udløbet, da tabletten ikke har været brugt i et stykke tid:",
+				"",
+				"Indtast bordets kode igen."
+		);
+	}
+	
+	
 	/**
 	 * Returns the PersonalOrderController.
 	 * 
@@ -88,7 +174,7 @@ public class UtilityGuestInformation
 	 */
 	public PersonalOrderController getPersonalOrderController()
 	{
-		return personalOrderController;
+		return getSession().getPersonalOrderController();
 	}
 	
 	
@@ -104,11 +190,19 @@ public class UtilityGuestInformation
 	 */
 	public Table enterTableCode(String tableNumber, String restaurantCode) throws DataAccessException, SQLException
 	{
-		// Looks up a table in the database using the specified table number and restaurant code, and assigns the found table to the table variable
-		table = personalOrderController.enterTableCode(tableNumber, restaurantCode);
+		// Entering the table code starts the guest's visit, so a session is started if the guest has none
+		GuestSession session = findOrStartSession();
+		
+		// Looks up a table in the database using the specified table number and restaurant code, and stores the found table in the session
+		Table table = session.getPersonalOrderController().enterTableCode(tableNumber, restaurantCode);
+		session.setTable(table);
 		
-		// Returns the TableOrder instance that is associated with this particular Table instance and assigns it to the tableOrder variable
-		tableOrder = table.getCurrentTableOrder();
+		// Stores the TableOrder instance that is associated with this particular Table instance in the session
+		session.setTableOrder(table.getCurrentTableOrder());
+		
+		// Starts loading the menu cards and the table's PersonalOrders in the background, while the guest enters their information
+		// - Uses the same background thread as the views, as the database connection is shared
+		session.getPersonalOrderController().prefetchTableContents(UtilityViewLoader.getExecutor());
 		
 		// Returns the table object with a matching code or null if no table was found
 		return table;
@@ -127,9 +221,11 @@ public class UtilityGuestInformation
 	{
 		// Sets the customerName and customerAge attributes of the PersonalOrder object to the specified values and retrieves a
 		// list of Discounts
-		listOfDiscounts = personalOrderController.enterNameAndAge(customerName, customerAge);
+		GuestSession session = getSession();
+		
+		session.setListOfDiscounts(session.getPersonalOrderController().enterNameAndAge(customerName, customerAge));
 		
-		return listOfDiscounts;
+		return session.getListOfDiscounts();
 	}
 	
 	
@@ -145,9 +241,26 @@ public class UtilityGuestInformation
 	{
 		// Adds a list of Discount objects to the current PersonalOrder (currently not being applied, that will be done in another use case)
 		// and retrieves all MenuCard objects available for the restaurant associated with the PersonalOrder's selected table 
-		listOfMenuCards = personalOrderController.enterDiscounts(listOfDiscounts);
+		GuestSession session = getSession();
 		
-		return listOfMenuCards;
+		session.setListOfMenuCards(session.getPersonalOrderController().enterDiscounts(listOfDiscounts));
+		
+		return session.getListOfMenuCards();
+	}
+	
+	
+	/**
+	 * Retrieves all of the PersonalOrders associated with the specified TableOrder,
+	 * which are cached if they were prefetched when the table was found.
+	 * 
+	 * @param tableOrderId the id of the TableOrder
+	 * @return a list of the TableOrder's PersonalOrder objects
+     * @throws DataAccessException if a database access issue occurs
+     * @throws SQLException if an SQL query execution fails
+	 */
+	public List<PersonalOrder> findPersonalOrdersBytableOrderId(int tableOrderId) throws DataAccessException, SQLException
+	{
+		return getSession().getPersonalOrderController().findPersonalOrdersBytableOrderId(tableOrderId);
 	}
 	
 	
@@ -163,7 +276,7 @@ public class UtilityGuestInformation
 		MenuCard adultMenuCard = null;
 		
 		// Uses a for-each loop to iterate through the list MenuCard objects
-		for (MenuCard menuCard: listOfMenuCards)
+		for (MenuCard menuCard: getSession().getListOfMenuCards())
 		{
 			// If a MenuCard object's name contains the word "Voksen" then execute this section
 			if (menuCard.getName().contains("Voksen"))
@@ -196,7 +309,7 @@ public class UtilityGuestInformation
 		boolean isLunch = false;
 		
 		// If the TimeStamp for when the first guest arrived at the table is earlier than 16:00 then execute this section
-		if (16 < (tableOrder.getTimeOfArrival().getHour()))
+		if (16 < (getSession().getTableOrder().getTimeOfArrival().getHour()))
 		{
 			// Sets the isLunch variable to true to indicate this is within lunch hours
 			isLunch = true;
@@ -406,9 +519,11 @@ public class UtilityGuestInformation
 	 */
 	public void enterMainCourse(MainCourse mainCourse)
 	{
-		personalOrderController.enterMainCourse(mainCourse);
+		GuestSession session = getSession();
 		
-		this.mainCourse = mainCourse;
+		session.getPersonalOrderController().enterMainCourse(mainCourse);
+		
+		session.setMainCourse(mainCourse);
 	}
 	
 	
@@ -419,7 +534,7 @@ public class UtilityGuestInformation
 	 */
 	public MainCourse getMainCourse()
 	{
-		return mainCourse;
+		return getSession().getMainCourse();
 	}
 	
 	
@@ -433,7 +548,7 @@ public class UtilityGuestInformation
 	 */
 	public void enterMainCourseOptions(MenuItem potatoDish, List<AddOnOption> listOfAddOnOptionChoices, List<SelectionOption> listOfSelectionOption)
 	{
-		personalOrderController.enterMainCourseOptions(potatoDish, listOfAddOnOptionChoices, listOfSelectionOption);
+		getSession().getPersonalOrderController().enterMainCourseOptions(potatoDish, listOfAddOnOptionChoices, listOfSelectionOption);
 	}
 	
 	
@@ -446,7 +561,7 @@ public class UtilityGuestInformation
 	 */
 	public void enterSideOrder(MenuItem menuItem)
 	{
-		personalOrderController.enterSideOrder(menuItem);
+		getSession().getPersonalOrderController().enterSideOrder(menuItem);
 	}
 	
 	
@@ -458,6 +573,8 @@ public class UtilityGuestInformation
 	 */
 	public void finishPersonalOrder()
 	{
+		PersonalOrderController personalOrderController = getSession().getPersonalOrderController();
+		
 		try
 		{
 			// Finalizes the current personal order by inserting it into the database and linking it to the TableOrder object
@@ -475,14 +592,38 @@ public class UtilityGuestInformation
 	}
 	
 	
+	/**
+	 * Requests service for the guest's table, which only writes the TableOrder's isRequestingService column.
+	 * Carried out on the UtilityViewLoader's background thread, as the TableOrder is written to the database.
+	 * 
+	 * @throws DataAccessException 	- if the TableOrder could not be written
+	 * @throws SQLException 		- if a SQL operation fails
+	 */
+	public void requestService() throws DataAccessException, SQLException
+	{
+		new TableOrderController().requestService(getSession().getTableOrder(), true);
+	}
+	
+	
+	/**
+	 * Ends the guest's visit once the guest has paid, so the next guest using the tablet starts a new session.
+	 */
+	public synchronized void endGuestSession()
+	{
+		GuestSessionManager.getInstance().endSession(sessionId);
+		
+		sessionId = null;
+	}
+	
+	
 	/**
 	 * Returns the TableOrder object that the customer is associating their PersonalOrder with.
 	 * 
-	 * @return TableOrder the TableOrder object stored in the class' tableOrder attribute 
+	 * @return TableOrder the TableOrder object stored in the guest's GuestSession
 	 */
 	public TableOrder getTableOrder()
 	{
-		return tableOrder;
+		return getSession().getTableOrder();
 	}
 	
 	
@@ -491,6 +632,6 @@ public class UtilityGuestInformation
 	 */
 	public void clearOrder()
 	{
-		personalOrderController.clearMenuItemList();
+		getSession().getPersonalOrderController().clearMenuItemList();
 	}
 }
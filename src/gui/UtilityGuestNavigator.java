@@ -0,0 +1,344 @@
+// Packages
+package gui;
+
+//Imports
+import java.awt.CardLayout;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Image;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+
+
+/**
+ * UtilityGuestNavigator is a singleton class that is responsible for displaying
+ * all of the guest views within one single window.
+ *
+ * The guest views are still built as JFrames, but instead of being made visible
+ * themselves, the navigator takes over their content pane and shows it as a card
+ * in its own window using a CardLayout. Since the views' own frames are never made
+ * visible, no native window resources are created for them.
+ *
+ * Views that have already been built are kept in a bounded cache, where the least
+ * recently shown view is discarded once the cache is full. Going back to a cached
+ * view is therefore instant. Views displaying data which may have changed since
+ * they were built can implement RefreshableView to be notified when they are shown
+ * again, and views that can not be reused at all are opened using navigateToNew.
+ *
+ * This class is instantiated only once and should be accessed via getInstance()
+ * as it is using a singleton pattern.
+ *
+ *
+ * @author Anders Have
+ * @version: 19/10/2026 - 10:32
+ */
+public class UtilityGuestNavigator
+{
+	// The maximum amount of views that are kept in the cache at any one time
+	private static final int MAXIMUM_CACHED_VIEWS = 8;
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static UtilityGuestNavigator instance;
+
+	// The single window that all of the guest views are shown within
+	private JFrame hostFrame;
+
+	// The panel containing a card for each cached view
+	private JPanel cardPanel;
+
+	// The layout used for switching between the cards in the cardPanel
+	private CardLayout cardLayout;
+
+	// The views that have been built, stored by their class, ordered from least to most recently shown
+	private LinkedHashMap<Class<? extends JFrame>, JFrame> cachedViews;
+
+	// The view currently being shown
+	private JFrame currentView;
+
+
+	/**
+	 * The refresh hook implemented by views whose contents may have changed
+	 * since the view was built, e.g. because they display data from the database.
+	 */
+	public interface RefreshableView
+	{
+		/**
+		 * Called on the EDT when a cached view is shown again.
+		 */
+		void refreshView();
+	}
+
+
+	/**
+	 * Private constructor as this is using a singleton pattern.
+	 * Initializes the host window and the cache of views.
+	 */
+	private UtilityGuestNavigator()
+	{
+		// Creates the window that hosts all of the guest views
+		hostFrame = new JFrame("Bone's");
+
+		// Sets the operation that will occur when the close window button (x) is clicked to exit the application altogether
+		hostFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+
+		// Creates the card layout and the panel that holds a card for each view
+		cardLayout = new CardLayout();
+		cardPanel = new JPanel(cardLayout);
+
+		// Sets the cardPanel as the content of the host window
+		hostFrame.setContentPane(cardPanel);
+
+		// Creates the cache of views, using the access order so the least recently shown view comes first
+		cachedViews = new LinkedHashMap<Class<? extends JFrame>, JFrame>(16, 0.75f, true)
+		{
+			// Added in order to suppress the warning that appears in serializable classes where no serialVersionUID is specified
+			private static final long serialVersionUID = 1L;
+
+			// Discards the least recently shown view once the cache exceeds its maximum size
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Class<? extends JFrame>, JFrame> eldestEntry)
+			{
+				// If the cache has not exceeded its maximum size then the view is kept
+				if (size() <= MAXIMUM_CACHED_VIEWS)
+				{
+					return false;
+				}
+
+				// Removes the discarded view's card from the host window
+				cardPanel.remove(eldestEntry.getValue().getContentPane());
+
+				// Releases any resources held by the discarded view's frame
+				eldestEntry.getValue().dispose();
+
+				return true;
+			}
+		};
+	}
+
+
+	/**
+	 * Returns the singleton instance of UtilityGuestNavigator.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of UtilityGuestNavigator
+	 */
+	public static UtilityGuestNavigator getInstance()
+	{
+		// If the instance of the UtilityGuestNavigator object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the UtilityGuestNavigator object and stores it within the instance variable
+			instance = new UtilityGuestNavigator();
+		}
+
+		// Returns the instance of the UtilityGuestNavigator object
+		return instance;
+	}
+
+
+	/**
+	 * Shows the view of the specified class within the guest window.
+	 *
+	 * If the view has been built before and is still cached, the cached view is shown
+	 * and its refresh hook is called, otherwise the view is built using the supplied
+	 * viewFactory and added to the cache.
+	 *
+	 * If the guest's session has expired while the view was being built or refreshed, the view
+	 * is not shown, as the guest is sent back to entering the table code instead.
+	 *
+	 * @param viewClass 	- the class of the view that should be shown
+	 * @param viewFactory 	- builds the view if it is not cached, e.g. ViewGuestMenuAdult::new
+	 */
+	public <T extends JFrame> void navigateTo(Class<T> viewClass, Supplier<T> viewFactory)
+	{
+		// Retrieves the cached view, which also marks it as the most recently shown view
+		JFrame view = cachedViews.get(viewClass);
+
+		try
+		{
+			// If the view is not cached then it is built and added to the cache
+			if (view == null)
+			{
+				view = addView(viewClass, viewFactory.get());
+			}
+
+			// If the view is cached and can refresh its contents then it is asked to do so
+			else if (view instanceof RefreshableView)
+			{
+				((RefreshableView) view).refreshView();
+			}
+		}
+
+		catch (GuestSessionExpiredException exception)
+		{
+			// The navigation is abandoned, as the UtilityGuestInformation sends the guest back to the table code entry
+			return;
+		}
+
+		// Shows the view within the guest window
+		showView(viewClass, view);
+	}
+
+
+	/**
+	 * Shows a newly built view of the specified class within the guest window,
+	 * replacing any cached view of the same class.
+	 *
+	 * Used for views that depend on choices made in the previous views and therefore
+	 * can not be reused, e.g. the options for the chosen main course. If the guest's
+	 * session has expired while the view was being built, the view is not shown.
+	 *
+	 * @param viewClass 	- the class of the view that should be shown
+	 * @param viewFactory 	- builds the view
+	 */
+	public <T extends JFrame> void navigateToNew(Class<T> viewClass, Supplier<T> viewFactory)
+	{
+		// Removes the previously cached view of the same class, if there is one
+		removeView(viewClass);
+
+		T view;
+
+		try
+		{
+			// Builds the view
+			view = viewFactory.get();
+		}
+
+		catch (GuestSessionExpiredException exception)
+		{
+			// The navigation is abandoned, as the UtilityGuestInformation sends the guest back to the table code entry
+			return;
+		}
+
+		// Adds the view to the cache and shows it within the guest window
+		showView(viewClass, addView(viewClass, view));
+	}
+
+
+	/**
+	 * Closes the guest window and discards all of the cached views,
+	 * which is done once a guest has finished their visit.
+	 */
+	public void closeWindow()
+	{
+		// Removes and disposes every cached view
+		for (JFrame view : cachedViews.values())
+		{
+			view.dispose();
+		}
+
+		// Empties the cache and the host window
+		cachedViews.clear();
+		cardPanel.removeAll();
+		currentView = null;
+
+		// Closes the guest window
+		hostFrame.dispose();
+	}
+
+
+	/**
+	 * Returns the single window that all of the guest views are shown within.
+	 *
+	 * @return the guest window
+	 */
+	public JFrame getHostFrame()
+	{
+		return hostFrame;
+	}
+
+	
+	/**
+	 * Returns the name of the view currently being shown within the guest window.
+	 *
+	 * @return the simple name of the view's class, or null if no view has been shown
+	 */
+	public String getCurrentViewName()
+	{
+		return currentView != null ? currentView.getClass().getSimpleName() : null;
+	}
+
+
+	/**
+	 * Adds the content of the supplied view as a card in the guest window and caches the view.
+	 *
+	 * @param viewClass the class of the view, used as the name of its card
+	 * @param view the view that has just been built
+	 * @return the view that was added
+	 */
+	private JFrame addView(Class<? extends JFrame> viewClass, JFrame view)
+	{
+		// Adds the view's content pane as a card named after the view's class
+		cardPanel.add(view.getContentPane(), viewClass.getName());
+
+		// Caches the view, which may discard the least recently shown view
+		cachedViews.put(viewClass, view);
+
+		return view;
+	}
+
+
+	/**
+	 * Removes the cached view of the specified class, if there is one.
+	 *
+	 * @param viewClass the class of the view that should be removed
+	 */
+	private void removeView(Class<? extends JFrame> viewClass)
+	{
+		// Removes the view from the cache
+		JFrame view = cachedViews.remove(viewClass);
+
+		// If a view was cached then its card is removed and its frame disposed
+		if (view != null)
+		{
+			cardPanel.remove(view.getContentPane());
+			view.dispose();
+		}
+	}
+
+
+	/**
+	 * Shows the card of the specified view and adjusts the guest window to the view's size and icon.
+	 *
+	 * @param viewClass the class of the view, used as the name of its card
+	 * @param view the view that should be shown
+	 */
+	private void showView(Class<? extends JFrame> viewClass, JFrame view)
+	{
+		// Shows the card containing the view
+		cardLayout.show(cardPanel, viewClass.getName());
+
+		// If the window is opened for the first time, or the view has different dimensions than the previous view
+		if (currentView == null || !view.getSize().equals(currentView.getSize()))
+		{
+			// Takes over the minimum size and size that the view has set for itself
+			Dimension minimumSize = view.getMinimumSize();
+			hostFrame.setMinimumSize(minimumSize);
+			hostFrame.setSize(view.getSize());
+
+			// Changes the window's position to the middle of the screen
+			hostFrame.setLocationRelativeTo(null);
+		}
+
+		// Takes over the favorite icon that the view has set for itself
+		Image iconImage = view.getIconImage();
+
+		if (iconImage != null)
+		{
+			hostFrame.setIconImage(iconImage);
+		}
+
+		// Stores the view as the one currently shown
+		currentView = view;
+
+		// Makes the window re-render its contents and ensures it is visible
+		Container contentPane = hostFrame.getContentPane();
+		contentPane.revalidate();
+		contentPane.repaint();
+		hostFrame.setVisible(true);
+	}
+}
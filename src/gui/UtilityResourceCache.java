@@ -0,0 +1,308 @@
+// Packages
+package gui;
+
+//Imports
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+
+/**
+ * UtilityResourceCache is responsible for loading the images and fonts used by
+ * the graphical user interface once, and sharing them between all of the views.
+ *
+ * Images are decoded a single time and converted in to BufferedImages that are
+ * compatible with the screen, which means they can be drawn without any further
+ * conversion. Scaled versions of the images are made once per size and then reused,
+ * instead of every view scaling the original image again while it is being built.
+ *
+ * Fonts are immutable, and the same Font instance is therefore shared by every
+ * component that uses the same font name, style and size.
+ *
+ * The warmUp() method is called at startup, so the first view does not have to
+ * wait for the most commonly used resources to be loaded.
+ *
+ *
+ * @author Anders Have
+ * @version: 19/10/2026 - 09:11
+ */
+public final class UtilityResourceCache
+{
+	// The path to the favorite icon shown in the corner of every window
+	public static final String FAVICON_PATH = "/favIcon.png";
+
+	// The path to the logo shown in the header of the guest views
+	public static final String GUEST_HEADER_LOGO_PATH = "/bones_logo.png";
+
+	// The path to the logo shown in the header of the staff views
+	public static final String STAFF_HEADER_LOGO_PATH = "/headerLogo.png";
+
+	// The width and height that the guest header logo is shown in
+	public static final int GUEST_HEADER_LOGO_WIDTH = 380;
+	public static final int GUEST_HEADER_LOGO_HEIGHT = 100;
+
+	// The decoded and scaled images, stored by their path and size
+	private static final Map<String, BufferedImage> cachedImages = new ConcurrentHashMap<>();
+
+	// The icons wrapping the cached images, stored by their path and size
+	private static final Map<String, ImageIcon> cachedIcons = new ConcurrentHashMap<>();
+
+	// The shared fonts, stored by their name, style and size
+	private static final Map<String, Font> cachedFonts = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Private constructor as this class only contains static utility methods.
+	 */
+	private UtilityResourceCache()
+	{
+	}
+
+
+	/**
+	 * Loads the most commonly used images and fonts, so they are ready
+	 * by the time the first view is built.
+	 */
+	public static void warmUp()
+	{
+		// Loads the images used by the headers and window icons of every view
+		getImage(FAVICON_PATH);
+		getScaledIcon(GUEST_HEADER_LOGO_PATH, GUEST_HEADER_LOGO_WIDTH, GUEST_HEADER_LOGO_HEIGHT);
+		getIcon(STAFF_HEADER_LOGO_PATH);
+
+		// Loads the fonts used by the guest theme's headings, instructions and buttons
+		getFont("SansSerif", Font.BOLD, 24);
+		getFont("SansSerif", Font.PLAIN, 23);
+		getFont("SansSerif", Font.PLAIN, 14);
+		getFont("SansSerif", Font.PLAIN, 12);
+		getFont("Tahoma", Font.PLAIN, 16);
+	}
+
+
+	/**
+	 * Returns the shared Font instance with the specified name, style and size.
+	 *
+	 * @param fontName 	- the name of the font, e.g. "SansSerif"
+	 * @param fontStyle - the style of the font, e.g. Font.BOLD
+	 * @param fontSize 	- the point size of the font
+	 * @return the shared Font instance
+	 */
+	public static Font getFont(String fontName, int fontStyle, int fontSize)
+	{
+		return cachedFonts.computeIfAbsent(fontName + "-" + fontStyle + "-" + fontSize, key -> new Font(fontName, fontStyle, fontSize));
+	}
+
+
+	/**
+	 * Returns the image found at the specified resource path in its original size.
+	 *
+	 * @param resourcePath the path to the image resource, e.g. "/favIcon.png"
+	 * @return the image, or null if the resource could not be found or decoded
+	 */
+	public static BufferedImage getImage(String resourcePath)
+	{
+		// Uses the cached image if it has been loaded before
+		BufferedImage image = cachedImages.get(resourcePath);
+
+		// If the image has not been loaded before then it is decoded and cached
+		if (image == null)
+		{
+			image = loadImage(resourcePath);
+
+			// Only successfully loaded images are cached, so a missing resource is looked up again next time
+			if (image != null)
+			{
+				cachedImages.put(resourcePath, image);
+			}
+		}
+
+		return image;
+	}
+
+
+	/**
+	 * Returns the image found at the specified resource path scaled to the specified size.
+	 * The image is only scaled the first time it is requested in this size.
+	 *
+	 * @param resourcePath 	- the path to the image resource
+	 * @param width 		- the width of the scaled image in pixels
+	 * @param height 		- the height of the scaled image in pixels
+	 * @return the scaled image, or null if the resource could not be found or decoded
+	 */
+	public static BufferedImage getScaledImage(String resourcePath, int width, int height)
+	{
+		// The key the scaled image is cached under
+		String cacheKey = resourcePath + "@" + width + "x" + height;
+
+		// Uses the cached image if it has been scaled to this size before
+		BufferedImage scaledImage = cachedImages.get(cacheKey);
+
+		// If the image has not been scaled to this size before then execute this section
+		if (scaledImage == null)
+		{
+			// Retrieves the image in its original size
+			BufferedImage originalImage = getImage(resourcePath);
+
+			// If the image could not be loaded then there is nothing to scale
+			if (originalImage == null)
+			{
+				return null;
+			}
+
+			// Scales the image and caches the result
+			scaledImage = scaleImage(originalImage, width, height);
+			cachedImages.put(cacheKey, scaledImage);
+		}
+
+		return scaledImage;
+	}
+
+
+	/**
+	 * Returns a shared ImageIcon showing the image found at the specified resource path.
+	 *
+	 * @param resourcePath the path to the image resource
+	 * @return the icon, or null if the resource could not be found or decoded
+	 */
+	public static ImageIcon getIcon(String resourcePath)
+	{
+		// Retrieves the image in its original size
+		BufferedImage image = getImage(resourcePath);
+
+		// If the image could not be loaded then there is no icon either
+		if (image == null)
+		{
+			return null;
+		}
+
+		return cachedIcons.computeIfAbsent(resourcePath, key -> new ImageIcon(image));
+	}
+
+
+	/**
+	 * Returns a shared ImageIcon showing the image found at the specified resource path
+	 * scaled to the specified size.
+	 *
+	 * @param resourcePath 	- the path to the image resource
+	 * @param width 		- the width of the icon in pixels
+	 * @param height 		- the height of the icon in pixels
+	 * @return the icon, or null if the resource could not be found or decoded
+	 */
+	public static ImageIcon getScaledIcon(String resourcePath, int width, int height)
+	{
+		// Retrieves the scaled image
+		BufferedImage scaledImage = getScaledImage(resourcePath, width, height);
+
+		// If the image could not be loaded then there is no icon either
+		if (scaledImage == null)
+		{
+			return null;
+		}
+
+		return cachedIcons.computeIfAbsent(resourcePath + "@" + width + "x" + height, key -> new ImageIcon(scaledImage));
+	}
+
+
+	/**
+	 * Decodes the image found at the specified resource path and converts it
+	 * in to an image that is compatible with the screen.
+	 *
+	 * @param resourcePath the path to the image resource
+	 * @return the decoded image, or null if the resource could not be found or decoded
+	 */
+	private static BufferedImage loadImage(String resourcePath)
+	{
+		// Finds the resource with the specified name and stores its url destination in the local urlPath variable
+		URL urlPath = UtilityResourceCache.class.getResource(resourcePath);
+
+		// If the resource could not be found then execute this section
+		if (urlPath == null)
+		{
+			System.err.println("Unable to find the image resource: " + resourcePath);
+
+			return null;
+		}
+
+		try
+		{
+			// Decodes the image synchronously
+			BufferedImage decodedImage = ImageIO.read(urlPath);
+
+			// If the resource is not an image that can be decoded then execute this section
+			if (decodedImage == null)
+			{
+				System.err.println("Unable to decode the image resource: " + resourcePath);
+
+				return null;
+			}
+
+			// Converts the decoded image in to an image compatible with the screen
+			return scaleImage(decodedImage, decodedImage.getWidth(), decodedImage.getHeight());
+		}
+
+		catch (IOException exception)
+		{
+			exception.printStackTrace();
+
+			return null;
+		}
+	}
+
+
+	/**
+	 * Draws the supplied image in to a new screen compatible image of the specified size.
+	 *
+	 * @param sourceImage 	- the image that should be drawn
+	 * @param width 		- the width of the new image in pixels
+	 * @param height 		- the height of the new image in pixels
+	 * @return the new image
+	 */
+	private static BufferedImage scaleImage(BufferedImage sourceImage, int width, int height)
+	{
+		// Creates an empty image with support for transparency that matches the screen's pixel format
+		BufferedImage targetImage = createCompatibleImage(width, height);
+
+		// Draws the source image in to the new image using high quality interpolation
+		Graphics2D graphics2D = targetImage.createGraphics();
+		graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		graphics2D.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics2D.drawImage(sourceImage, 0, 0, width, height, null);
+		graphics2D.dispose();
+
+		return targetImage;
+	}
+
+
+	/**
+	 * Creates an empty image with support for transparency in the pixel format used by the screen.
+	 *
+	 * @param width the width of the image in pixels
+	 * @param height the height of the image in pixels
+	 * @return the new image
+	 */
+	private static BufferedImage createCompatibleImage(int width, int height)
+	{
+		// If there is no screen, e.g. when running the tests, a standard pixel format is used
+		if (GraphicsEnvironment.isHeadless())
+		{
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+
+		// Retrieves the configuration of the default screen
+		GraphicsConfiguration graphicsConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+
+		return graphicsConfiguration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+	}
+}
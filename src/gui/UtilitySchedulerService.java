@@ -0,0 +1,316 @@
+// Packages
+package gui;
+
+//Imports
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * UtilitySchedulerService is a singleton class that carries out the periodic tasks of the views,
+ * e.g. the kitchen's order overview refreshing its TableOrders every 30 seconds.
+ *
+ * Every task is carried out on the same small pool of named daemon threads, instead of each view
+ * creating an executor of its own, which was never shut down and kept polling the database for a
+ * view that had already been closed. A task can be bound to the window of its view, in which case
+ * it is cancelled as soon as the window is disposed, e.g. when the staff clicks "Tilbage".
+ *
+ * The tasks are scheduled by name, and scheduling a task under a name that is already in use
+ * cancels the previous task, so a view that is opened again never ends up with two polls.
+ * The tasks should only hand their work on, e.g. to the UtilityViewLoader, as a task blocking
+ * the scheduler's thread delays every other task.
+ *
+ *
+ * @author Anders Have
+ * @version: 19/10/2026 - 09:58
+ */
+public final class UtilitySchedulerService
+{
+	// The amount of threads the periodic tasks are carried out on
+	private static final int DEFAULT_THREAD_COUNT = 1;
+
+	// Used by the class for the singleton pattern that it utilizes
+	private static UtilitySchedulerService instance;
+
+	// Carries out the periodic tasks
+	private final ScheduledThreadPoolExecutor schedulerExecutor;
+
+	// The tasks that have not been cancelled, stored by their name
+	private final Map<String, ScheduledTask> scheduledTasks = new ConcurrentHashMap<>();
+
+	// The amount of times the tasks have been carried out
+	private final LongAdder runCount = new LongAdder();
+
+	// The amount of times the tasks have failed
+	private final LongAdder failureCount = new LongAdder();
+
+
+	/**
+	 * A periodic task that has been scheduled, which can be cancelled by the view that scheduled it.
+	 */
+	public final class ScheduledTask
+	{
+		// The name the task was scheduled under
+		private final String name;
+
+		// The task's future, which is set right after the task has been scheduled
+		private volatile ScheduledFuture<?> future;
+
+		// Whether or not the task has been cancelled, which may happen before its future has been set
+		private volatile boolean isCancelRequested;
+
+
+		private ScheduledTask(String name)
+		{
+			this.name = name;
+		}
+
+
+		/**
+		 * Stops the task from being carried out again, a run already in progress is allowed to finish.
+		 */
+		public void cancel()
+		{
+			isCancelRequested = true;
+
+			// Only forgets the task if it has not already been replaced by a task with the same name
+			scheduledTasks.remove(name, this);
+
+			if (future != null)
+			{
+				future.cancel(false);
+			}
+		}
+
+
+		/**
+		 * Returns whether or not the task has been cancelled.
+		 *
+		 * @return true if the task will not be carried out again, false otherwise
+		 */
+		public boolean isCancelled()
+		{
+			return isCancelRequested;
+		}
+
+
+		/**
+		 * Returns the name the task was scheduled under.
+		 *
+		 * @return the name of the task
+		 */
+		public String getName()
+		{
+			return name;
+		}
+	}
+
+
+	/**
+	 * Constructor for the UtilitySchedulerService class, the application uses the instance returned by getInstance.
+	 *
+	 * @param threadCount 	- the amount of threads the periodic tasks are carried out on
+	 */
+	public UtilitySchedulerService(int threadCount)
+	{
+		AtomicInteger threadNumber = new AtomicInteger();
+
+		schedulerExecutor = new ScheduledThreadPoolExecutor(threadCount, runnable ->
+		{
+			// Creates a named daemon thread, so it is recognizable when debugging and does not keep the application alive
+			Thread schedulerThread = new Thread(runnable, "Scheduler-" + threadNumber.incrementAndGet());
+			schedulerThread.setDaemon(true);
+
+			return schedulerThread;
+		});
+
+		// Removes cancelled tasks from the queue right away, instead of keeping them until they would have run
+		schedulerExecutor.setRemoveOnCancelPolicy(true);
+	}
+
+
+	/**
+	 * Returns the singleton instance of UtilitySchedulerService.
+	 * If no instance exists, a new one is created.
+	 *
+	 * @return the single instance of UtilitySchedulerService
+	 */
+	public static synchronized UtilitySchedulerService getInstance()
+	{
+		// If the instance of the UtilitySchedulerService object is currently set to null then execute this section
+		if (instance == null)
+		{
+			// Instantiates the UtilitySchedulerService object and stores it within the instance variable
+			instance = new UtilitySchedulerService(DEFAULT_THREAD_COUNT);
+		}
+
+		// Returns the instance of the UtilitySchedulerService object
+		return instance;
+	}
+
+
+	/**
+	 * Schedules a task that is carried out periodically until it is cancelled, replacing any task with the same name.
+	 *
+	 * @param name 			- the name of the task, e.g. "kitchenOverviewRefresh"
+	 * @param task 			- the work carried out every period
+	 * @param initialDelay 	- the time before the task is carried out the first time
+	 * @param period 		- the time between the start of each run
+	 * @param unit 			- the unit of the initialDelay and the period
+	 * @return the scheduled task, which can be cancelled
+	 */
+	public ScheduledTask schedulePeriodic(String name, Runnable task, long initialDelay, long period, TimeUnit unit)
+	{
+		ScheduledTask scheduledTask = new ScheduledTask(name);
+
+		// A task with the same name is left over from an earlier instance of the view, and is cancelled
+		ScheduledTask replacedTask = scheduledTasks.put(name, scheduledTask);
+
+		if (replacedTask != null)
+		{
+			replacedTask.cancel();
+		}
+
+		scheduledTask.future = schedulerExecutor.scheduleAtFixedRate(() -> run(name, task), initialDelay, period, unit);
+
+		// If the task was cancelled while it was being scheduled then its future is cancelled as well
+		if (scheduledTask.isCancelRequested)
+		{
+			scheduledTask.future.cancel(false);
+		}
+
+		return scheduledTask;
+	}
+
+
+	/**
+	 * Schedules a task that is carried out periodically until the window is disposed, replacing any task with the same name.
+	 *
+	 * @param owner 		- the window of the view the task belongs to
+	 * @param name 			- the name of the task, e.g. "kitchenOverviewRefresh"
+	 * @param task 			- the work carried out every period
+	 * @param initialDelay 	- the time before the task is carried out the first time
+	 * @param period 		- the time between the start of each run
+	 * @param unit 			- the unit of the initialDelay and the period
+	 * @return the scheduled task, which can also be cancelled before the window is disposed
+	 */
+	public ScheduledTask schedulePeriodic(Window owner, String name, Runnable task, long initialDelay, long period, TimeUnit unit)
+	{
+		ScheduledTask scheduledTask = schedulePeriodic(name, task, initialDelay, period, unit);
+
+		// Cancels the task once the window has been disposed, e.g. when the staff navigates back
+		owner.addWindowListener(new WindowAdapter()
+		{
+			@Override
+			public void windowClosed(WindowEvent event)
+			{
+				scheduledTask.cancel();
+				owner.removeWindowListener(this);
+			}
+		});
+
+		return scheduledTask;
+	}
+
+
+	/**
+	 * Carries out a run of a task, catching its failures, as the executor would otherwise never run the task again.
+	 *
+	 * @param name 	- the name of the task
+	 * @param task 	- the work carried out every period
+	 */
+	private void run(String name, Runnable task)
+	{
+		try
+		{
+			task.run();
+		}
+
+		catch (RuntimeException exception)
+		{
+			failureCount.increment();
+
+			System.err.println("The scheduled task " + name + " failed, and will be attempted again in its next period: " + exception.getMessage());
+		}
+
+		finally
+		{
+			runCount.increment();
+		}
+	}
+
+
+	/**
+	 * Returns the names of the tasks that have not been cancelled.
+	 *
+	 * @return the names of the scheduled tasks
+	 */
+	public List<String> getScheduledTaskNames()
+	{
+		return List.copyOf(scheduledTasks.keySet());
+	}
+
+
+	/**
+	 * Returns the amount of tasks that have not been cancelled.
+	 *
+	 * @return the amount of scheduled tasks
+	 */
+	public int getScheduledTaskCount()
+	{
+		return scheduledTasks.size();
+	}
+
+
+	/**
+	 * Returns the amount of threads currently carrying out the tasks, which never exceeds the thread count given to the constructor.
+	 *
+	 * @return the amount of threads in the pool
+	 */
+	public int getThreadCount()
+	{
+		return schedulerExecutor.getPoolSize();
+	}
+
+
+	/**
+	 * Returns the largest amount of threads that have carried out the tasks at the same time.
+	 *
+	 * @return the largest amount of threads in the pool
+	 */
+	public int getLargestThreadCount()
+	{
+		return schedulerExecutor.getLargestPoolSize();
+	}
+
+
+	/**
+	 * Returns the amount of times the tasks have been carried out.
+	 *
+	 * @return the amount of runs
+	 */
+	public long getRunCount()
+	{
+		return runCount.sum();
+	}
+
+
+	/**
+	 * Returns the amount of times the tasks have failed.
+	 *
+	 * @return the amount of failed runs
+	 */
+	public long getFailureCount()
+	{
+		return failureCount.sum();
+	}
+}
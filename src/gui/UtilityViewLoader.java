@@ -0,0 +1,435 @@
+// Packages
+package gui;
+
+//Imports
+import java.awt.Color;
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+import database.OperationContext;
+import database.QueryCancellationToken;
+import database.QueryCancelledException;
+
+
+/**
+ * UtilityViewLoader is responsible for loading data for the views without blocking
+ * Swing's Event Dispatch Thread (EDT).
+ *
+ * The views supply a ViewLoadTask containing the database call, and a callback that
+ * receives the result. The database call is executed by a SwingWorker on a background
+ * thread, after which the callback is handed back to the EDT where it is safe to
+ * manipulate the GUI components.
+ *
+ * While a task is running a loading placeholder can be shown in a panel of the view,
+ * and requests using the same request key are coalesced, meaning that a request that
+ * is identical to one that is already in progress does not hit the database a second
+ * time, and its callbacks are handed the result of the request in progress instead.
+ *
+ * All of the tasks are executed one at a time on the same background thread, as the
+ * DataBaseConnection shares a single JDBC connection between all of the DAO classes.
+ *
+ * A view can tie its tasks to a QueryCancellationToken, which it cancels when the guest
+ * leaves the view or the view is disposed. The statements a cancelled task is executing
+ * are aborted, tasks that have not started yet are abandoned, and the view is handed a
+ * QueryCancelledException instead of the result.
+ *
+ * Every task is carried out within an OperationContext named after its request key, which
+ * reports the tasks executing an excessive amount of statements.
+ *
+ *
+ * @author Anders Have
+ * @version: 19/10/2026 - 10:25
+ */
+public final class UtilityViewLoader
+{
+	// The single background thread that all of the database calls made by the views are executed on
+	private static final ExecutorService LOADER_EXECUTOR = Executors.newSingleThreadExecutor(runnable ->
+	{
+		// Creates a named daemon thread, so it is recognizable when debugging and does not keep the application alive
+		Thread loaderThread = new Thread(runnable, "ViewLoader");
+		loaderThread.setDaemon(true);
+
+		return loaderThread;
+	});
+
+	// The requests currently in progress, stored by their request key
+	// - Only accessed from the EDT, and therefore does not need to be synchronized
+	private static final Map<String, LoadRequest<?>> requestsInProgress = new HashMap<>();
+
+
+	/**
+	 * A request in progress, together with the callbacks of every caller waiting for its result.
+	 *
+	 * @param <T> the type of the loaded data
+	 */
+	private static final class LoadRequest<T>
+	{
+		// The token of the caller that started the request, which the task is bound to, or null if it can not be cancelled
+		private final QueryCancellationToken cancellationToken;
+
+		// The callbacks of the caller that started the request, followed by those of the requests coalesced with it
+		private final List<LoadCallbacks<T>> listOfCallbacks = new ArrayList<>();
+
+
+		private LoadRequest(QueryCancellationToken cancellationToken)
+		{
+			this.cancellationToken = cancellationToken;
+		}
+
+
+		/**
+		 * Returns whether or not a loading placeholder is already shown in the panel for this request.
+		 *
+		 * @param loadingPanel 	- the panel of a caller
+		 * @return true if one of the callers already shows a placeholder in the panel, false otherwise
+		 */
+		private boolean isShowingPlaceholderIn(JPanel loadingPanel)
+		{
+			for (LoadCallbacks<T> callbacks : listOfCallbacks)
+			{
+				if (callbacks.loadingPanel == loadingPanel && callbacks.loadingPlaceholder != null)
+				{
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+
+
+	/**
+	 * The callbacks and the loading placeholder of one caller waiting for a request.
+	 *
+	 * @param <T> the type of the loaded data
+	 */
+	private static final class LoadCallbacks<T>
+	{
+		private final JPanel loadingPanel;
+		private final JLabel loadingPlaceholder;
+		private final QueryCancellationToken cancellationToken;
+		private final Consumer<T> onLoaded;
+		private final Consumer<Exception> onFailed;
+
+
+		private LoadCallbacks(JPanel loadingPanel, JLabel loadingPlaceholder, QueryCancellationToken cancellationToken, Consumer<T> onLoaded, Consumer<Exception> onFailed)
+		{
+			this.loadingPanel = loadingPanel;
+			this.loadingPlaceholder = loadingPlaceholder;
+			this.cancellationToken = cancellationToken;
+			this.onLoaded = onLoaded;
+			this.onFailed = onFailed;
+		}
+	}
+
+
+	/**
+	 * Private constructor as this class only contains static utility methods.
+	 */
+	private UtilityViewLoader()
+	{
+	}
+
+
+	/**
+	 * The work that should be carried out on the background thread,
+	 * typically a call to one of the controllers which queries the database.
+	 *
+	 * @param <T> the type of the loaded data
+	 */
+	@FunctionalInterface
+	public interface ViewLoadTask<T>
+	{
+		/**
+		 * Loads the data. This method is never called on the EDT.
+		 *
+		 * @return the loaded data
+		 * @throws Exception if the data could not be loaded
+		 */
+		T load() throws Exception;
+	}
+
+
+	/**
+	 * Loads data in the background and hands the result to the supplied callbacks on the EDT.
+	 *
+	 * If a request with the same request key is already in progress, the request
+	 * is coalesced with it, and the callbacks are handed the result of that request.
+	 *
+	 * The method may be called from any thread, if it is not called from the EDT
+	 * the request is handed over to the EDT before it is started.
+	 *
+	 * @param requestKey 		- the key identifying the request, used to coalesce duplicate requests
+	 * @param loadingPanel 		- the panel a loading placeholder is shown in while loading, or null for no placeholder
+	 * @param loadTask 			- the work that should be carried out on the background thread
+	 * @param onLoaded 			- called on the EDT with the result once the data has been loaded
+	 * @param onFailed 			- called on the EDT with the exception if the data could not be loaded
+	 */
+	public static <T> void load(String requestKey, JPanel loadingPanel, ViewLoadTask<T> loadTask, Consumer<T> onLoaded, Consumer<Exception> onFailed)
+	{
+		load(requestKey, loadingPanel, null, loadTask, onLoaded, onFailed);
+	}
+
+
+	/**
+	 * Loads data in the background and hands the result to the supplied callbacks on the EDT,
+	 * unless the supplied cancellation token is cancelled first.
+	 *
+	 * If the token is cancelled while the task is running, the statement it is executing is aborted,
+	 * and if it is cancelled before the task has started the task never reaches the database.
+	 * In both cases onFailed is called with a QueryCancelledException.
+	 *
+	 * @param requestKey 			- the key identifying the request, used to coalesce duplicate requests
+	 * @param loadingPanel 			- the panel a loading placeholder is shown in while loading, or null for no placeholder
+	 * @param cancellationToken 	- the token of the view requesting the data, or null if the request can not be cancelled
+	 * @param loadTask 				- the work that should be carried out on the background thread
+	 * @param onLoaded 				- called on the EDT with the result once the data has been loaded
+	 * @param onFailed 				- called on the EDT with the exception if the data could not be loaded
+	 */
+	public static <T> void load(String requestKey, JPanel loadingPanel, QueryCancellationToken cancellationToken, ViewLoadTask<T> loadTask, Consumer<T> onLoaded, Consumer<Exception> onFailed)
+	{
+		// If the method is called from a different thread than the EDT then execute this section
+		if (!SwingUtilities.isEventDispatchThread())
+		{
+			// Hands the request over to the EDT, as the placeholder and the map of requests are only touched there
+			SwingUtilities.invokeLater(() -> load(requestKey, loadingPanel, cancellationToken, loadTask, onLoaded, onFailed));
+
+			return;
+		}
+
+		// Retrieves the identical request in progress, if there is one
+		LoadRequest<?> requestInProgress = requestsInProgress.get(requestKey);
+
+		// If an identical request is already in progress then the new request is coalesced with it, and its callbacks
+		// are handed the same result, unless the request in progress has been cancelled, as its task is then aborted
+		if (requestInProgress != null && (requestInProgress.cancellationToken == null || !requestInProgress.cancellationToken.isCancelled()))
+		{
+			// Requests using the same key carry out the same task, and therefore load the same type of data
+			@SuppressWarnings("unchecked")
+			LoadRequest<T> coalescedRequest = (LoadRequest<T>) requestInProgress;
+
+			// Only shows a loading placeholder if the panel is not already showing one for the request
+			JLabel loadingPlaceholder = coalescedRequest.isShowingPlaceholderIn(loadingPanel) ? null : showLoadingPlaceholder(loadingPanel);
+
+			coalescedRequest.listOfCallbacks.add(new LoadCallbacks<>(loadingPanel, loadingPlaceholder, cancellationToken, onLoaded, onFailed));
+
+			return;
+		}
+
+		// Creates the request, with the callbacks of this caller, showing the loading placeholder if a panel for it has been supplied
+		LoadRequest<T> request = new LoadRequest<>(cancellationToken);
+		request.listOfCallbacks.add(new LoadCallbacks<>(loadingPanel, showLoadingPlaceholder(loadingPanel), cancellationToken, onLoaded, onFailed));
+
+		// Creates the worker that carries out the task on the background thread and hands the result back to the EDT
+		SwingWorker<T, Void> worker = new SwingWorker<T, Void>()
+		{
+			// Executed on the background thread, the context is only opened to be closed, which checks the counted statements
+			@Override
+			@SuppressWarnings("try")
+			protected T doInBackground() throws Exception
+			{
+				// Counts the statements executed by the task as one user action, to detect N+1 queries
+				try (OperationContext operationContext = OperationContext.open(requestKey))
+				{
+					return loadCancellable();
+				}
+			}
+
+			// Executed on the background thread, carries out the task unless it has been cancelled
+			private T loadCancellable() throws Exception
+			{
+				// If the request can not be cancelled then the task is simply carried out
+				if (cancellationToken == null)
+				{
+					return loadTask.load();
+				}
+
+				// If the view was left while the request was waiting for the background thread then it is abandoned
+				if (cancellationToken.isCancelled())
+				{
+					throw new QueryCancelledException("The request was cancelled before it was started: " + requestKey, null);
+				}
+
+				// Binds the token to the background thread, so the DAO classes register their statements with it
+				cancellationToken.bindToCurrentThread();
+
+				try
+				{
+					return loadTask.load();
+				}
+
+				finally
+				{
+					cancellationToken.unbindFromCurrentThread();
+				}
+			}
+
+			// Executed on the EDT once doInBackground has finished
+			@Override
+			protected void done()
+			{
+				// The request is no longer in progress and identical requests are allowed again,
+				// unless a new identical request has replaced it because this one was cancelled
+				requestsInProgress.remove(requestKey, request);
+
+				// Removes the loading placeholders again now that the loading has finished
+				for (LoadCallbacks<T> callbacks : request.listOfCallbacks)
+				{
+					hideLoadingPlaceholder(callbacks.loadingPanel, callbacks.loadingPlaceholder);
+				}
+
+				// If the worker was cancelled then nobody is waiting for the result
+				if (isCancelled())
+				{
+					return;
+				}
+
+				T result = null;
+				Exception failure = null;
+
+				try
+				{
+					// Retrieves the result of the task
+					result = get();
+				}
+
+				catch (InterruptedException interruptedException)
+				{
+					// Restores the interrupted status of the thread
+					Thread.currentThread().interrupt();
+
+					return;
+				}
+
+				catch (ExecutionException executionException)
+				{
+					// Retrieves the exception that was thrown by the task itself, wrapping any errors that are not exceptions
+					Throwable cause = executionException.getCause();
+					failure = cause instanceof Exception ? (Exception) cause : new Exception(cause);
+				}
+
+				// Hands the result or the exception to every caller waiting for the request
+				for (LoadCallbacks<T> callbacks : request.listOfCallbacks)
+				{
+					// If the caller's view was left meanwhile then it is not handed the result, even if the task completed anyway
+					if (callbacks.cancellationToken != null && callbacks.cancellationToken.isCancelled())
+					{
+						callbacks.onFailed.accept(new QueryCancelledException("The request was cancelled: " + requestKey, null));
+					}
+
+					else if (failure != null)
+					{
+						callbacks.onFailed.accept(failure);
+					}
+
+					else
+					{
+						callbacks.onLoaded.accept(result);
+					}
+				}
+			}
+		};
+
+		// Registers the request as being in progress
+		requestsInProgress.put(requestKey, request);
+
+		// Executes the worker on the background thread that is shared by all of the views
+		LOADER_EXECUTOR.execute(worker);
+	}
+
+
+	/**
+	 * Returns the background thread's executor, so other database work, such as
+	 * prefetching, is carried out one at a time together with the views' requests.
+	 *
+	 * @return the executor shared by all of the views' database calls
+	 */
+	public static Executor getExecutor()
+	{
+		return LOADER_EXECUTOR;
+	}
+
+
+	/**
+	 * Returns whether or not a request with the specified key is currently in progress.
+	 * Must be called on the EDT.
+	 *
+	 * @param requestKey the key identifying the request
+	 * @return true if the request is in progress, false otherwise
+	 */
+	public static boolean isLoading(String requestKey)
+	{
+		return requestsInProgress.containsKey(requestKey);
+	}
+
+
+	/**
+	 * Adds a loading placeholder to the bottom of the specified panel.
+	 *
+	 * @param loadingPanel the panel the placeholder should be added to, or null for no placeholder
+	 * @return the placeholder that was added, or null if no panel was supplied
+	 */
+	private static JLabel showLoadingPlaceholder(JPanel loadingPanel)
+	{
+		// If no panel has been supplied then no placeholder is shown
+		if (loadingPanel == null)
+		{
+			return null;
+		}
+
+		// Creates a label informing the user that the contents are being loaded
+		JLabel loadingPlaceholder = new JLabel("Indlæser...");
+
+		// Sets the font to the specified style type and size
+		loadingPlaceholder.setFont(UtilityResourceCache.getFont("SansSerif", Font.ITALIC, 14));
+
+		// Sets the text color to a dark medium grey
+		loadingPlaceholder.setForeground(new Color(62, 62, 62));
+
+		// Aligns the label to the center within its container
+		loadingPlaceholder.setAlignmentX(JLabel.CENTER_ALIGNMENT);
+		loadingPlaceholder.setHorizontalAlignment(SwingConstants.CENTER);
+
+		// Adds the placeholder to the panel and makes the panel re-render its contents
+		loadingPanel.add(loadingPlaceholder);
+		loadingPanel.revalidate();
+		loadingPanel.repaint();
+
+		return loadingPlaceholder;
+	}
+
+
+	/**
+	 * Removes a previously added loading placeholder from the specified panel.
+	 *
+	 * @param loadingPanel the panel the placeholder was added to
+	 * @param loadingPlaceholder the placeholder that should be removed
+	 */
+	private static void hideLoadingPlaceholder(JPanel loadingPanel, JLabel loadingPlaceholder)
+	{
+		// If no placeholder was shown then there is nothing to remove
+		if (loadingPanel == null || loadingPlaceholder == null)
+		{
+			return;
+		}
+
+		// Removes the placeholder and makes the panel re-render its contents
+		loadingPanel.remove(loadingPlaceholder);
+		loadingPanel.revalidate();
+		loadingPanel.repaint();
+	}
+}
@@ -137,14 +137,8 @@ public class ViewGuestCustomerInformation extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestTableInformation previouslyOpenFrameView = new ViewGuestTableInformation();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTableInformation.class, ViewGuestTableInformation::new);
 			});
 		}
 		
@@ -231,14 +225,8 @@ public class ViewGuestCustomerInformation extends JFrame
 				// is done within the UtilityGuestInformation class.
 				info.enterNameAndAge(firstName, age);
 				
-				// Creates the new frame that should be opened when pressing the button
-				ViewGuestDiscountSelection nextView = new ViewGuestDiscountSelection();
-
-				// Sets the visibility to true turning the previous view / window visible
-				nextView.setVisible(true);
-				
-				// Closes the current frame/window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestDiscountSelection.class, ViewGuestDiscountSelection::new);
 			}
 			
 			catch (IllegalArgumentException illegalArgumentException)
@@ -137,14 +137,8 @@ public class ViewGuestDiscountSelection extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestCustomerInformation previouslyOpenFrameView = new ViewGuestCustomerInformation();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestCustomerInformation.class, ViewGuestCustomerInformation::new);
 			});
 		}
 		
@@ -179,39 +173,38 @@ public class ViewGuestDiscountSelection extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnContinue.addActionListener(event ->
 		{
-			try
-			{
-				// Temporarily disables the button to show something is happening and
-				// also to prevent user spamming the database
-				btnContinue.setEnabled(false);
-				
-				// TODO: Make EnterDiscounts actually enter the selected discounts
-				// 		 Note this is in a different use case in a future iteration
+			// Temporarily disables the button to show something is happening and
+			// also to prevent user spamming the database
+			btnContinue.setEnabled(false);
+			
+			// TODO: Make EnterDiscounts actually enter the selected discounts
+			// 		 Note this is in a different use case in a future iteration
+			
+			// Loads the menu cards in the background, so the window stays responsive during the database call
+			UtilityViewLoader.load("enterDiscounts", primaryContentPanel,
 				
 				// Retrieves the singleton instance of the UtilityGuestInformation
 				// and inserts the list of discounts, which are currently empty
-				UtilityGuestInformation.getInstance().enterDiscounts(new ArrayList<Discount>());
+				() -> UtilityGuestInformation.getInstance().enterDiscounts(new ArrayList<Discount>()),
 				
-				// Creates the new frame that should be opened when pressing the button
-				ViewGuestMenuOverview nextView = new ViewGuestMenuOverview();
-
-				// Sets the visibility to true turning the previous view / window visible
-				nextView.setVisible(true);
+				// Executed on the EDT once the menu cards have been loaded
+				listOfMenuCards ->
+				{
+					// Reenables the button, as the view is kept and may be shown again when navigating back
+					btnContinue.setEnabled(true);
+					
+					// Navigates to the specified view within the guest window, reusing it if it has been built before
+					UtilityGuestNavigator.getInstance().navigateTo(ViewGuestMenuOverview.class, ViewGuestMenuOverview::new);
+				},
 				
-				// Closes the current frame/window
-				this.dispose();
-			}
-			
-			catch (Exception exception)
-			{
-				exception.printStackTrace();
-			}
-			
-			finally
-			{
-				// Reenables the button if something goes wrong
-				btnContinue.setEnabled(true);
-			}
+				// Executed on the EDT if the menu cards could not be loaded
+				exception ->
+				{
+					exception.printStackTrace();
+					
+					// Reenables the button if something goes wrong
+					btnContinue.setEnabled(true);
+				});
 		});
 	}
-}
\ No newline at end of file
+}
@@ -8,9 +8,12 @@ import java.util.List;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
+import javax.swing.JButton;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
+import database.QueryCancelledException;
+import database.QueryCancellationToken;
 import model.MainCourse;
 import model.MenuCard;
 import model.MenuItem;
@@ -58,6 +61,9 @@ public class ViewGuestMenuAdult extends JFrame
 	// navigational panel
 	boolean isServiceEnabled = true;
 
+	// Cancelled when the guest leaves the view, which aborts the loading of a main course's options if it is still running
+	private QueryCancellationToken viewCancellationToken = new QueryCancellationToken();
+
 	
 	/**
 	 * Constructs the ViewGuestMenuAdult frame and initializes
@@ -163,7 +169,7 @@ public class ViewGuestMenuAdult extends JFrame
 				UtilityGuestInformation.getInstance().enterMainCourse((MainCourse) menuItemBox.getMenuItem());
 				
 		        // Launches the view / window where the user can choose how their main course should be
-		        openUniversalMainMenu();
+		        openUniversalMainMenu((MainCourse) menuItemBox.getMenuItem(), menuItemBox.getAddButton());
 			});
 		}
 
@@ -344,15 +350,11 @@ public class ViewGuestMenuAdult extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual
-				// destination window)
-				ViewGuestMenuOverview previouslyOpenFrameView = new ViewGuestMenuOverview();
-
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
+				// Stops loading the options of a main course, as the guest has not chosen it after all
+				cancelOutstandingLoads();
 
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestMenuOverview.class, ViewGuestMenuOverview::new);
 			});
 		}
 
@@ -400,14 +402,8 @@ public class ViewGuestMenuAdult extends JFrame
 			// Gets the instance UtilityGuestInformation singleton's instance and calls upon the finishPersonalOrder method
 			UtilityGuestInformation.getInstance().finishPersonalOrder();
 			
-			// Creates the new frame that should be opened when pressing the button
-			ViewGuestTableOrder nextView = new ViewGuestTableOrder();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-
-			// Closes the current frame/window
-			this.dispose();
+			// Navigates to the specified view within the guest window, reusing it if it has been built before
+			UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTableOrder.class, ViewGuestTableOrder::new);
 		});
 		
 		
@@ -434,16 +430,84 @@ public class ViewGuestMenuAdult extends JFrame
 	 *
 	 * This method is triggered when a guest selects a main course and chooses to
 	 * configure it further before then finally adding it to their PersonalOrder.
+	 * 
+	 * The main course's options are only loaded from the database when the guest
+	 * chooses the main course, which is done in the background before the view opens.
+	 * 
+	 * @param mainCourse the main course chosen by the guest
+	 * @param btnAdd the button that was clicked, which is disabled while the options are loaded
+	 */
+	private void openUniversalMainMenu(MainCourse mainCourse, JButton btnAdd)
+	{
+		// If the options have already been loaded then the view can be opened straight away
+		if (mainCourse.isOptionsLoaded())
+		{
+			// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+			UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestUniversalMainMenu.class, ViewGuestUniversalMainMenu::new);
+			
+			return;
+		}
+		
+		// Temporarily disables the button to show something is happening and to prevent the guest from clicking it repeatedly
+		btnAdd.setEnabled(false);
+		
+		// Loads the main course's options in the background, so the window stays responsive during the database calls
+		UtilityViewLoader.load("loadOptions:" + mainCourse.getMenuItemId(), null, viewCancellationToken,
+			() -> 
+			{
+				mainCourse.loadOptions();
+				
+				return mainCourse;
+			},
+			
+			// Executed on the EDT once the options have been loaded
+			loadedMainCourse ->
+			{
+				// Reenables the button, as the view is kept and may be shown again when navigating back
+				btnAdd.setEnabled(true);
+				
+				// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+				UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestUniversalMainMenu.class, ViewGuestUniversalMainMenu::new);
+			},
+			
+			// Executed on the EDT if the options could not be loaded
+			exception ->
+			{
+				// If the guest left the view then the loading was cancelled on purpose
+				if (!(exception instanceof QueryCancelledException))
+				{
+					exception.printStackTrace();
+				}
+				
+				// Reenables the button so the guest can try again
+				btnAdd.setEnabled(true);
+			});
+	}
+
+
+	/**
+	 * Cancels the database work this view has requested which has not completed yet,
+	 * and replaces the cancellation token so the view can request new work when it is shown again.
 	 */
-	private void openUniversalMainMenu()
+	private void cancelOutstandingLoads()
 	{
-		// Creates the new frame that should be opened when pressing the button
-		JFrame nextView = new ViewGuestUniversalMainMenu();
+		// Aborts the statements being executed for this view and abandons the requests that have not started
+		viewCancellationToken.cancel();
+
+		// Creates a new token for the requests made the next time the view is shown
+		viewCancellationToken = new QueryCancellationToken();
+	}
 
-		// Sets the visibility to true turning the previous view / window visible
-		nextView.setVisible(true);
 
-		// Closes the current frame/window
-		this.dispose();
+	/**
+	 * Cancels the database work this view has requested before releasing the frame,
+	 * e.g. when the UtilityGuestNavigator discards the view.
+	 */
+	@Override
+	public void dispose()
+	{
+		cancelOutstandingLoads();
+
+		super.dispose();
 	}
-}
\ No newline at end of file
+}
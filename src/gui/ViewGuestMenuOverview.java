@@ -113,14 +113,8 @@ public class ViewGuestMenuOverview extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestDiscountSelection previouslyOpenFrameView = new ViewGuestDiscountSelection();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestDiscountSelection.class, ViewGuestDiscountSelection::new);
 			});
 		}
 		
@@ -191,14 +185,8 @@ public class ViewGuestMenuOverview extends JFrame
 				// Temporarily disables the button to make it visible to the user that the interaction was registered
 				btnAdultMenu.setEnabled(false);
 				
-				// Creates the new frame that should be opened when pressing the button
-				ViewGuestMenuAdult nextView = new ViewGuestMenuAdult();
-
-				// Sets the visibility to true turning the previous view / window visible
-				nextView.setVisible(true);
-				
-				// Closes the current frame/window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestMenuAdult.class, ViewGuestMenuAdult::new);
 			}
 			
 			catch (Exception exception)
@@ -128,14 +128,8 @@ public class ViewGuestOrderMore extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestTableOrder previouslyOpenFrameView = new ViewGuestTableOrder();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTableOrder.class, ViewGuestTableOrder::new);
 			});
 		}
 		
@@ -175,14 +169,8 @@ public class ViewGuestOrderMore extends JFrame
 			// 			the person's personal order should be what is being added to.
 			
 			
-			// Creates the new frame that should be opened when pressing the button
-			ViewGuestTableOrder nextView = new ViewGuestTableOrder();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-			
-			// Closes the current frame/window
-//			this.dispose();
+			// Navigates to the specified view within the guest window, reusing it if it has been built before
+			UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTableOrder.class, ViewGuestTableOrder::new);
 		});
 	}
 }
\ No newline at end of file
@@ -114,14 +114,8 @@ public class ViewGuestOrderOverview extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestTableOrderConfirmation previouslyOpenFrameView = new ViewGuestTableOrderConfirmation();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+				UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestTableOrderConfirmation.class, ViewGuestTableOrderConfirmation::new);
 			});
 		}
 		
@@ -174,14 +168,8 @@ public class ViewGuestOrderOverview extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnReorderPotato.addActionListener(event ->
 		{
-			// Creates the new frame that should be opened when pressing the button
-			ViewGuestReorderPotato nextView = new ViewGuestReorderPotato();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-			
-			// Closes the current frame/window
-			this.dispose();
+			// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+			UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestReorderPotato.class, ViewGuestReorderPotato::new);
 		});
 		
 		
@@ -194,14 +182,8 @@ public class ViewGuestOrderOverview extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnPay.addActionListener(event ->
 		{
-			// Creates the new frame that should be opened when pressing the button
-			ViewGuestPaymentMethod nextView = new ViewGuestPaymentMethod();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-			
-			// Closes the current frame/window
-			this.dispose();
+			// Navigates to the specified view within the guest window, reusing it if it has been built before
+			UtilityGuestNavigator.getInstance().navigateTo(ViewGuestPaymentMethod.class, ViewGuestPaymentMethod::new);
 		});
 	}
 }
\ No newline at end of file
@@ -108,14 +108,8 @@ public class ViewGuestPayForDining extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestTipping previouslyOpenFrameView = new ViewGuestTipping();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTipping.class, ViewGuestTipping::new);
 			});
 		}
 		
@@ -150,8 +144,11 @@ public class ViewGuestPayForDining extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnContinue.addActionListener(event ->
 		{
-			// Closes the current frame/window
-			this.dispose();
+			// Ends the guest's visit, so the guest is no longer counted as ordering
+			UtilityGuestInformation.getInstance().endGuestSession();
+			
+			// Closes the guest window and discards the views built during the guest's visit
+			UtilityGuestNavigator.getInstance().closeWindow();
 		});
 	}
 }
\ No newline at end of file
@@ -110,14 +110,8 @@ public class ViewGuestPaymentMethod extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestOrderOverview previouslyOpenFrameView = new ViewGuestOrderOverview();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+				UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestOrderOverview.class, ViewGuestOrderOverview::new);
 			});
 		}
 		
@@ -184,13 +178,7 @@ public class ViewGuestPaymentMethod extends JFrame
      */
 	private void continueToNextView()
 	{
-		// Creates the new frame that should be opened when pressing the button
-		ViewGuestTipping nextView = new ViewGuestTipping();
-
-		// Sets the visibility to true turning the previous view / window visible
-		nextView.setVisible(true);
-		
-		// Closes the current frame/window
-		this.dispose();
+		// Navigates to the specified view within the guest window, reusing it if it has been built before
+		UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTipping.class, ViewGuestTipping::new);
 	}
 }
\ No newline at end of file
@@ -174,13 +174,7 @@ public class ViewGuestReorderPotato extends JFrame
 	// Brings the user one step back in the ordering process, by closing this view and opening the takes the user one step back in the process 
 	private void returnToPreviousView()
 	{
-		// Create and configure the new frame (you can replace this with your actual destination window)
-		ViewGuestOrderOverview previouslyOpenFrameView = new ViewGuestOrderOverview();
-		
-		// Sets the visibility to true turning the previous view / window visible
-		previouslyOpenFrameView.setVisible(true);
-
-		// Find and closes the current view / window
-		this.dispose();
+		// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+		UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestOrderOverview.class, ViewGuestOrderOverview::new);
 	}
 }
\ No newline at end of file
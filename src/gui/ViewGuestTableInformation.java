@@ -132,42 +132,15 @@ public class ViewGuestTableInformation extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnContinue.addActionListener(event ->
 		{
-			try
-			{
-				// Temporarily disables the button to show something is happening and
-				// also to prevent user spamming the database
-				btnContinue.setEnabled(false);
-				
-				// Retrieves the supplied information from the table code text field
-				String tableCode = inputField.getText();
-				
-				// If the tableCode's length is anything else than 7 digits long then execute this section
-				if (tableCode.length() != 7)
-				{
-					// Creates a dialog box, with the "Ok" option, containing a specific and detailed error message			
-					throw new IllegalArgumentException("Invalid table code");
-				}
-				
-				// Retrieves the singleton instance of the UtilityGuestInformation
-				UtilityGuestInformation info = UtilityGuestInformation.getInstance();
-				
-				// Splits the table string up in to the 4 last digits (table number)
-				// and in to the 3 first digits (restaurant code) and stores the extracted
-				// data where it then gets used to supply the personalorder controller with 
-				// information within the UtilityGuestInformation class.
-				info.enterTableCode(tableCode.substring(3,7), tableCode.substring(0,3));
-				
-				// Creates the new frame that should be opened when pressing the button
-				ViewGuestCustomerInformation nextView = new ViewGuestCustomerInformation();
-
-				// Sets the visibility to true turning the previous view / window visible
-				nextView.setVisible(true);
-				
-				// Closes the current frame/window
-				this.dispose();
-			}
+			// Temporarily disables the button to show something is happening and
+			// also to prevent user spamming the database
+			btnContinue.setEnabled(false);
 			
-			catch (IllegalArgumentException illegalArgumentException)
+			// Retrieves the supplied information from the table code text field
+			String tableCode = inputField.getText();
+			
+			// If the tableCode's length is anything else than 7 digits long then execute this section
+			if (tableCode.length() != 7)
 			{
 				// Creates a dialog box informing about the action that went wrong
 				new ComponentGuestErrorDialog(this, 
@@ -176,26 +149,49 @@ public class ViewGuestTableInformation extends JFrame
 						"Indtast et gyldigt bordnummer (7 cifre)"
 				);
 				
-				illegalArgumentException.printStackTrace();
-			}
-			
-			catch (Exception exception)
-			{
-				// Creates a dialog box informing about the action that went wrong
-				new ComponentGuestErrorDialog(this, 
-						"Der skete en uventet fejl:",
-						"",
-						"Prøv igen."
-				);
+				// Reenables the button so the guest can try again
+				btnContinue.setEnabled(true);
 				
-				exception.printStackTrace();
+				return;
 			}
 			
-			finally
-			{
-				// Reenables the button if something goes wrong
-				btnContinue.setEnabled(true);
-			}
+			// Retrieves the singleton instance of the UtilityGuestInformation
+			UtilityGuestInformation info = UtilityGuestInformation.getInstance();
+			
+			// Looks up the table in the background, so the window stays responsive during the database call
+			UtilityViewLoader.load("enterTableCode", primaryContentPanel,
+				
+				// Splits the table string up in to the 4 last digits (table number)
+				// and in to the 3 first digits (restaurant code) and stores the extracted
+				// data where it then gets used to supply the personalorder controller with 
+				// information within the UtilityGuestInformation class.
+				() -> info.enterTableCode(tableCode.substring(3,7), tableCode.substring(0,3)),
+				
+				// Executed on the EDT once the table has been found
+				table ->
+				{
+					// Reenables the button, as the view is kept and may be shown again when navigating back
+					btnContinue.setEnabled(true);
+					
+					// Navigates to the specified view within the guest window, reusing it if it has been built before
+					UtilityGuestNavigator.getInstance().navigateTo(ViewGuestCustomerInformation.class, ViewGuestCustomerInformation::new);
+				},
+				
+				// Executed on the EDT if the table could not be found
+				exception ->
+				{
+					// Creates a dialog box informing about the action that went wrong
+					new ComponentGuestErrorDialog(this, 
+							"Der skete en uventet fejl:",
+							"",
+							"Prøv igen."
+					);
+					
+					exception.printStackTrace();
+					
+					// Reenables the button if something goes wrong
+					btnContinue.setEnabled(true);
+				});
 		});
 	}
-}
\ No newline at end of file
+}
@@ -3,7 +3,6 @@ package gui;
 //Imports
 import java.awt.BorderLayout;
 import java.awt.Dimension;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -14,8 +13,8 @@ import javax.swing.Box;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
-import application.PersonalOrderController;
-import database.DataAccessException;
+import database.QueryCancelledException;
+import database.QueryCancellationToken;
 import model.PersonalOrder;
 import model.TableOrder;
 
@@ -34,11 +33,14 @@ import model.TableOrder;
  * group's order before submitting it for preparation. The interface lists 
  * each individual's order along with pricing and provides a total for the table.
  * 
+ * As the view is reused by the UtilityGuestNavigator, the personal orders are
+ * retrieved again every time the view is shown, so newly finished orders appear.
+ * 
  * 
  * @author Christoffer Søndergaard & Anders Trankjær 
  * @version: 08/06/2025 - 21:27
  */	
-public class ViewGuestTableOrder extends JFrame
+public class ViewGuestTableOrder extends JFrame implements UtilityGuestNavigator.RefreshableView
 {
 	// Added in order to suppress the warning that appears in serializable classes where no serialVersionUID is specified
 	private static final long serialVersionUID = 1L;
@@ -60,7 +62,8 @@ public class ViewGuestTableOrder extends JFrame
 	// a tableOrder which will be carried over to the next Jframe 
 	private TableOrder currentTableOrder;
 	
-	private PersonalOrderController personalController;
+	// Cancelled when the guest leaves the view, which aborts the retrieval of the personal orders if it is still running
+	private QueryCancellationToken viewCancellationToken = new QueryCancellationToken();
 	
 	
 	/**
@@ -71,7 +74,6 @@ public class ViewGuestTableOrder extends JFrame
 	 */
 	public ViewGuestTableOrder()
 	{
-		personalController = new PersonalOrderController();
 		personalOrderList = new ArrayList<PersonalOrder>();
 		
 		initGUI();
@@ -118,28 +120,9 @@ public class ViewGuestTableOrder extends JFrame
 		
 		// Retrieves the current table order from the UtilityGuestInformation singleton,
 	    // sets the arrival time, and fetches all personal orders associated with the TableOrder
-	    // from the database using the PersonalOrderController.
+	    // from the database in the background, after which the contents are displayed.
 		retrieveTableOrderContentsAndSetTimeOfArrival();
 		
-		// Makes a dummyTableOrder which for the purpose of calculating totalPrice 
-		TableOrder dummyTableOrder = new TableOrder(currentTableOrder.getTableOrderId(), currentTableOrder.getTimeOfArrival(), false, "not decided", 0, 0, false, false, 0);
-		
-		// This loop displays each personalOrder from the currentTableOrder
-		for (PersonalOrder personalOrder : personalOrderList) 
-		{
-			// Adds the name of the customer whose personalOrder it is aswell as the price of the individual personalOrder and a list of each item they have ordered. 
-			primaryContentPanel.add(new ComponentGuestOrderSummary(personalOrder.getCustomerName(), personalOrder.getTotalPersonalOrderEveningPrice(), personalOrder.getNameOfItemsInList()));
-
-			// Adds the panel that holds the order information
-			primaryContentPanel.add(Box.createRigidArea(new Dimension(0, 45)));
-			
-			// Adds the personalOrder to the tableOrder
-			dummyTableOrder.addPersonalOrder(personalOrder);
-		}
-		
-		//displays the total price of all the personalOrders within the TableOrder
-		primaryContentPanel.add(new ComponentGuestOrderTotalPrice("Total Pris:", dummyTableOrder.calculateTotalTableOrderPrice()));
-		
 		
 		
 		////////////////////////////////
@@ -159,14 +142,11 @@ public class ViewGuestTableOrder extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestMenuAdult previouslyOpenFrameView = new ViewGuestMenuAdult();
+				// Stops retrieving the personal orders, as the guest will no longer see them
+				cancelOutstandingLoads();
 				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestMenuAdult.class, ViewGuestMenuAdult::new);
 			});
 		}
 		
@@ -220,14 +200,8 @@ public class ViewGuestTableOrder extends JFrame
 			
 			finally
 			{
-				// Creates the new frame that should be opened when pressing the button
-				ViewGuestMenuAdult nextView = new ViewGuestMenuAdult();
-
-				// Sets the visibility to true turning the previous view / window visible
-				nextView.setVisible(true);
-				
-				// Closes the current frame/window
-				this.dispose();				
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestMenuAdult.class, ViewGuestMenuAdult::new);
 			}
 		});
 		
@@ -240,25 +214,38 @@ public class ViewGuestTableOrder extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnSendToKitchen.addActionListener(event ->
 		{
-			// Creates the new frame that should be opened when pressing the button the new Jframe carries over the tableOrder from this Jframe
-			ViewGuestTableOrderConfirmation nextView = new ViewGuestTableOrderConfirmation();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-			
-			// Closes the current frame/window
-			this.dispose();
+			// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+			UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestTableOrderConfirmation.class, ViewGuestTableOrderConfirmation::new);
 		});
 	}
 	
 	
+	/**
+	 * Called by the UtilityGuestNavigator when this view is shown again.
+	 * 
+	 * Removes the previously displayed personal orders and retrieves them again,
+	 * as more personal orders may have been finished since the view was built.
+	 */
+	@Override
+	public void refreshView()
+	{
+		// Removes the previously displayed personal orders from the view
+		personalOrderList.clear();
+		primaryContentPanel.removeAll();
+		
+		// Retrieves and displays the personal orders of the table order again
+		retrieveTableOrderContentsAndSetTimeOfArrival();
+	}
+	
+	
     /**
      * Retrieves the current table order from the UtilityGuestInformation singleton,
      * sets the arrival time, and fetches all personal orders associated with the TableOrder
      * from the database using the PersonalOrderController.
      * 
-     * The resulting personal orders are stored in the personalOrderList field
-     * for display and further processing.
+     * The personal orders are fetched in the background using the UtilityViewLoader, 
+     * so the window stays responsive while the database is queried. Once they arrive 
+     * they are stored in the personalOrderList field and displayed by displayPersonalOrders().
      */
 	private void retrieveTableOrderContentsAndSetTimeOfArrival()
 	{
@@ -268,22 +255,91 @@ public class ViewGuestTableOrder extends JFrame
 		// 
 		currentTableOrder.setTimeOfArrival(LocalDateTime.of(LocalDate.now(), LocalTime.of(16, 0)));
 		
-		//personalOrder code
-		try
-		{
-			// findPersonalOrderByTableOrderId retrieves a list of all personalOrders in a given tableOrder the return type is List
-			// it then adds it to personalOrderList
-			personalOrderList.addAll(personalController.findPersonalOrdersBytableOrderId(currentTableOrder.getTableOrderId()));
-		}
+		// Stores the id in a local variable, as the lambda below is executed on a background thread
+		int tableOrderId = currentTableOrder.getTableOrderId();
 		
-		catch (SQLException e)
-		{
-			e.printStackTrace();
-		} 
+		// findPersonalOrderByTableOrderId retrieves a list of all personalOrders in a given tableOrder the return type is List
+		UtilityViewLoader.load("findPersonalOrdersBytableOrderId:" + tableOrderId, primaryContentPanel, viewCancellationToken,
+			() -> UtilityGuestInformation.getInstance().findPersonalOrdersBytableOrderId(tableOrderId),
+			
+			// Executed on the EDT once the personal orders have been retrieved
+			listOfPersonalOrders ->
+			{
+				// Adds the retrieved personal orders to the personalOrderList
+				personalOrderList.addAll(listOfPersonalOrders);
+				
+				// Displays the personal orders within the primary content panel
+				displayPersonalOrders();
+			},
+			
+			// Executed on the EDT if the personal orders could not be retrieved
+			exception ->
+			{
+				// If the guest left the view then the retrieval was cancelled on purpose
+				if (!(exception instanceof QueryCancelledException))
+				{
+					exception.printStackTrace();
+				}
+			});
+	}
+	
+	
+	/**
+	 * Adds a summary of each personal order in the personalOrderList, as well as the
+	 * total price of the table order, to the primary content panel.
+	 * 
+	 * Must be called on the EDT.
+	 */
+	private void displayPersonalOrders()
+	{
+		// Makes a dummyTableOrder which for the purpose of calculating totalPrice 
+		TableOrder dummyTableOrder = new TableOrder(currentTableOrder.getTableOrderId(), currentTableOrder.getTimeOfArrival(), false, "not decided", 0, 0, false, false, 0);
 		
-		catch (DataAccessException e)
+		// This loop displays each personalOrder from the currentTableOrder
+		for (PersonalOrder personalOrder : personalOrderList) 
 		{
-			e.printStackTrace();
+			// Adds the name of the customer whose personalOrder it is aswell as the price of the individual personalOrder and a list of each item they have ordered. 
+			primaryContentPanel.add(new ComponentGuestOrderSummary(personalOrder.getCustomerName(), personalOrder.getTotalPersonalOrderEveningPrice(), personalOrder.getNameOfItemsInList()));
+
+			// Adds the panel that holds the order information
+			primaryContentPanel.add(Box.createRigidArea(new Dimension(0, 45)));
+			
+			// Adds the personalOrder to the tableOrder
+			dummyTableOrder.addPersonalOrder(personalOrder);
 		}
+		
+		//displays the total price of all the personalOrders within the TableOrder
+		primaryContentPanel.add(new ComponentGuestOrderTotalPrice("Total Pris:", dummyTableOrder.calculateTotalTableOrderPrice()));
+		
+		// Makes the panel re-render now that its contents have changed
+		primaryContentPanel.revalidate();
+		primaryContentPanel.repaint();
+	}
+
+
+	/**
+	 * Cancels the database work this view has requested which has not completed yet,
+	 * and replaces the cancellation token so the view can request new work when it is shown again.
+	 */
+	private void cancelOutstandingLoads()
+	{
+		// Aborts the statements being executed for this view and abandons the requests that have not started
+		viewCancellationToken.cancel();
+
+		// Creates a new token for the requests made the next time the view is shown
+		viewCancellationToken = new QueryCancellationToken();
+	}
+
+
+	/**
+	 * Cancels the database work this view has requested before releasing the frame,
+	 * e.g. when the UtilityGuestNavigator discards the view.
+	 */
+	@Override
+	public void dispose()
+	{
+		cancelOutstandingLoads();
+
+		super.dispose();
 	}
-}
\ No newline at end of file
+}
@@ -10,7 +10,8 @@ import javax.swing.JPanel;
 import application.PersonalOrderController;
 import application.TableOrderController;
 import database.DataAccessException;
-import model.PersonalOrder;
+import database.OrderLatencyTracer;
+import database.TableOrderUpdateResult;
 import model.TableOrder;
 
 
@@ -20,7 +21,7 @@ import model.TableOrder;
  * 
  * 
  * @author Christoffer Søndergaard & Anders trankjær
- * @version 28/05/2025 - 13:20
+ * @version 19/10/2026 - 10:41
  */	
 public class ViewGuestTableOrderConfirmation extends JFrame
 {
@@ -54,6 +55,9 @@ public class ViewGuestTableOrderConfirmation extends JFrame
 	{
 		// Instantiates a new controller for handling table order related tasks
 		tableOrderController = new TableOrderController();
+		
+		// Retrieves the guest's controller, which inserts the PersonalOrders that are sent to the kitchen together with the TableOrder
+		personalOrderController = UtilityGuestInformation.getInstance().getPersonalOrderController();
 
 		// Retrieves the current table order from the UtilityGuestInformation singleton and stores it within the currentTableOrder instance variable
 		this.currentTableOrder = UtilityGuestInformation.getInstance().getTableOrder();
@@ -157,57 +161,58 @@ public class ViewGuestTableOrderConfirmation extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnConfirm.addActionListener(event ->
 		{
-			// Prepares the tableOrder for being send to the kitchen 
-			tableOrderController.sendToKitchen(currentTableOrder);
-
-			try
-			{
-				//updates a tableOrder in the database.
-				tableOrderController.updateTableOrder(currentTableOrder);
-			} 
-			
-			//DataAccessException is thrown in TableOrderController
-			catch (DataAccessException exception)
-			{
-				exception.printStackTrace();
-			} 
-			
-			//SQLException is thrown in TableOrderController
-			catch (SQLException exception) 
-			{
-				exception.printStackTrace();
-			}
-			
-			// Uses a for-each loop to iterate through every PersonalOrder object associated with the TableOrder object
-			for (PersonalOrder personalOrder : currentTableOrder.getPersonalOrders())
-			{
-			    try 
-			    {
-					// Sets the current PersonalOrder object in the PersonalOrderController
-					personalOrderController.setPersonalOrder(personalOrder);
-
-					// Sets the associated TableOrder object in the personalOrderController
-					personalOrderController.setTableOrder(currentTableOrder);
-
-					// Finalizes the PersonalOrder order by inserting it into the database.
-					personalOrderController.finishPersonalOrder();
-			    }
-			    
-			    catch (DataAccessException exception) 
-			    {
-			    	exception.printStackTrace();
-			    }
-			}
+			// Disables the button while the TableOrder is being sent, so it can not be sent twice
+			btnConfirm.setEnabled(false);
 			
+			// Starts tracing the TableOrder's way to the kitchen's order overview
+			OrderLatencyTracer.getInstance().startTrace(currentTableOrder.getTableOrderId());
 			
-			// Creates the new frame that should be opened when pressing the button
-			ViewGuestOrderOverview nextView = new ViewGuestOrderOverview();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-			
-			// Closes the current frame/window
-			this.dispose();
+			// Sends the TableOrder in the background, so the window stays responsive while the database is written to,
+			// including while the RetryExecutor waits before attempting the write again
+			UtilityViewLoader.load("sendToKitchen:" + currentTableOrder.getTableOrderId(), primaryContentPanel,
+				
+				this::sendToKitchen,
+				
+				// Executed on the EDT once the TableOrder has been written
+				updateResult ->
+				{
+					// If the TableOrder kept being updated by the other guests then it could not be sent to the kitchen
+					if (updateResult.isConflict())
+					{
+						System.err.println("Unable to send the TableOrder " + currentTableOrder.getTableOrderId() + " to the kitchen, as it was updated by another tablet");
+						
+						// Creates a dialog box informing about the action that went wrong
+						new ComponentGuestErrorDialog(this, 
+								"Bordets bestilling blev ændret af en anden gæst:",
+								"Send til køkken",
+								"Prøv igen om et øjeblik."
+						);
+						
+						// Stays on the view, so the guest can send the TableOrder again without the PersonalOrders being inserted twice
+						btnConfirm.setEnabled(true);
+						
+						return;
+					}
+					
+					// Navigates to a newly built view within the guest window, as the view depends on the choices made so far
+					UtilityGuestNavigator.getInstance().navigateToNew(ViewGuestOrderOverview.class, ViewGuestOrderOverview::new);
+				},
+				
+				// Executed on the EDT if the TableOrder could not be written
+				exception ->
+				{
+					exception.printStackTrace();
+					
+					// Creates a dialog box informing about the action that went wrong
+					new ComponentGuestErrorDialog(this, 
+							"Bestillingen kunne ikke sendes:",
+							"Send til køkken",
+							"Prøv igen."
+					);
+					
+					// Reenables the button so the guest can try again
+					btnConfirm.setEnabled(true);
+				});
 		});
 		
 
@@ -229,13 +234,24 @@ public class ViewGuestTableOrderConfirmation extends JFrame
 	// Brings the user one step back in the ordering process, by closing this view and opening the takes the user one step back in the process 
 	private void returnToPreviousView()
 	{
-		// Create and configure the new frame (you can replace this with your actual destination window)
-		ViewGuestTableOrder previouslyOpenFrameView = new ViewGuestTableOrder();
-		
-		// Sets the visibility to true turning the previous view / window visible
-		previouslyOpenFrameView.setVisible(true);
-
-		// Find and closes the current view / window
-		this.dispose();
+		// Navigates to the specified view within the guest window, reusing it if it has been built before
+		UtilityGuestNavigator.getInstance().navigateTo(ViewGuestTableOrder.class, ViewGuestTableOrder::new);
+	}
+	
+	
+	/**
+	 * Sends the TableOrder to the kitchen together with its PersonalOrders that have not been inserted yet, 
+	 * merging in any changes made by the other guests at the table in the meantime. Either all of it is 
+	 * written or none of it, so a failure is handed to the guest, who can send the TableOrder again.
+	 * 
+	 * Carried out on the UtilityViewLoader's background thread.
+	 * 
+	 * @return the result of the update, which is a conflict if the TableOrder kept being updated by the other guests
+	 * @throws DataAccessException 	- if the TableOrder or its PersonalOrders could not be written
+	 * @throws SQLException 		- if the TableOrder could not be updated
+	 */
+	private TableOrderUpdateResult sendToKitchen() throws DataAccessException, SQLException
+	{
+		return tableOrderController.sendTableOrderToKitchen(currentTableOrder, personalOrderController);
 	}
 }
\ No newline at end of file
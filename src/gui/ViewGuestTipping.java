@@ -114,14 +114,8 @@ public class ViewGuestTipping extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
-				ViewGuestPaymentMethod previouslyOpenFrameView = new ViewGuestPaymentMethod();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestPaymentMethod.class, ViewGuestPaymentMethod::new);
 			});
 		}
 		
@@ -156,14 +150,8 @@ public class ViewGuestTipping extends JFrame
 		// Adds an action listener for when the button is clicked
 		btnContinue.addActionListener(event ->
 		{
-			// Creates the new frame that should be opened when pressing the button
-			ViewGuestPayForDining nextView = new ViewGuestPayForDining();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-			
-			// Closes the current frame/window
-			this.dispose();
+			// Navigates to the specified view within the guest window, reusing it if it has been built before
+			UtilityGuestNavigator.getInstance().navigateTo(ViewGuestPayForDining.class, ViewGuestPayForDining::new);
 		});
 	}
 }
\ No newline at end of file
@@ -252,16 +252,10 @@ public class ViewGuestUniversalMainMenu extends JFrame
 			// Adds an action listener for when the button is clicked
 			btnBack.addActionListener(event ->
 			{
-				// Create and configure the new frame (you can replace this with your actual destination window)
+				// Navigates to the specified view within the guest window, reusing it if it has been built before
 				// - We bring the user two steps back in this case, as we know that they could be in either menu
 				// TODO: this would be something to solve in a future iteration as we dive more in to menu cards
-				ViewGuestMenuOverview previouslyOpenFrameView = new ViewGuestMenuOverview();
-				
-				// Sets the visibility to true turning the previous view / window visible
-				previouslyOpenFrameView.setVisible(true);
-
-				// Find and closes the current view / window
-				this.dispose();
+				UtilityGuestNavigator.getInstance().navigateTo(ViewGuestMenuOverview.class, ViewGuestMenuOverview::new);
 			});
 		}
 		
@@ -300,14 +294,8 @@ public class ViewGuestUniversalMainMenu extends JFrame
 			// Collects the user's selected options and stores them
 			enterBoxInfo();
 			
-			// Creates the new frame that should be opened when pressing the button
-			ViewGuestMenuAdult nextView = new ViewGuestMenuAdult();
-
-			// Sets the visibility to true turning the previous view / window visible
-			nextView.setVisible(true);
-			
-			// Closes the current frame/window
-			this.dispose();
+			// Navigates to the specified view within the guest window, reusing it if it has been built before
+			UtilityGuestNavigator.getInstance().navigateTo(ViewGuestMenuAdult.class, ViewGuestMenuAdult::new);
 		});
 	}
 	
@@ -14,7 +14,6 @@ import java.awt.Image;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.net.URL;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -174,7 +173,7 @@ public class ViewStaffHome extends JFrame
 		gbc_lblWelcomeUser.gridy = 1;
 		panel.add(lblWelcomeUser, gbc_lblWelcomeUser);
 		lblWelcomeUser.setForeground(new Color(62, 62, 62));
-		lblWelcomeUser.setFont(new Font("Tahoma", Font.PLAIN, 72));
+		lblWelcomeUser.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 72));
 		lblWelcomeUser.setAlignmentX(Component.CENTER_ALIGNMENT);
 		
 
@@ -186,7 +185,7 @@ public class ViewStaffHome extends JFrame
 		gbc_lblUserName.gridy = 2;
 		panel.add(lblUserName, gbc_lblUserName);
 		lblUserName.setForeground(new Color(62, 62, 62));
-		lblUserName.setFont(new Font("Tahoma", Font.BOLD, 32));
+		lblUserName.setFont(UtilityResourceCache.getFont("Tahoma", Font.BOLD, 32));
 		lblUserName.setAlignmentX(0.5f);
 	}
 
@@ -251,7 +250,7 @@ public class ViewStaffHome extends JFrame
 	 */
 	private void setDesignSideBarButton(JButton button)
 	{
-		button.setFont(new Font("Tahoma", Font.BOLD, 16));
+		button.setFont(UtilityResourceCache.getFont("Tahoma", Font.BOLD, 16));
 		button.setBorderPainted(false);
 		button.setBackground(new Color(245, 243, 236));
 		button.setForeground(new Color(187, 41, 41));
@@ -343,14 +342,8 @@ public class ViewStaffHome extends JFrame
 	 */
 	private void setFavIcon(String favIconPath)
 	{
-		// Finds the resource with the name specified in the method's parameter and stores its url destination in the local urlPath variable 
-		URL urlPath = this.getClass().getResource(favIconPath);
-		
-		// Creates and loads an ImageIcon by using the resource file found at the provided url path
-		ImageIcon favoriteIcon = new ImageIcon(urlPath);
-		
-		// Retrieves the icon's image and store it within the favoriteIconImage variable
-		Image favoriteIconImage = favoriteIcon.getImage();
+		// Retrieves the favorite icon, which is only loaded the first time it is used by any of the views
+		Image favoriteIconImage = UtilityResourceCache.getImage(favIconPath);
 		
 		// Sets the window's image icon to the image stored within the favoriteIconImage variable
 		setIconImage(favoriteIconImage);
@@ -386,11 +379,8 @@ public class ViewStaffHome extends JFrame
 		// Creates a new label with no text as it will be used for placing the image
 		JLabel lblHeaderLogo = new JLabel("");
 		
-		// Finds the resource with the name specified in the method's parameter and stores its url destination in the local urlPath variable 
-		URL urlPath = this.getClass().getResource(headerLogoPath);
-		
-		// Creates and loads an ImageIcon by using the resource file found at the provided url path
-		ImageIcon imageIcon = new ImageIcon(urlPath);
+		// Retrieves the header logo, which is only loaded the first time it is used by any of the views
+		ImageIcon imageIcon = UtilityResourceCache.getIcon(headerLogoPath);
 	
 		// Sets the image icon to be used by the empty label and show at its location in the viewport
 		lblHeaderLogo.setIcon(imageIcon);
@@ -13,7 +13,6 @@ import java.awt.Image;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.net.URL;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFrame;
@@ -97,7 +96,7 @@ public class ViewStaffLogin extends JFrame
 		JLabel lblViewHeading = new JLabel("Medarbejderlogin");
 		lblViewHeading.setForeground(new Color(62, 62, 62));
 		lblViewHeading.setBackground(new Color(89, 95, 111));
-		lblViewHeading.setFont(new Font("Tahoma", Font.PLAIN, 26));
+		lblViewHeading.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 26));
 		GridBagConstraints gbc_lblViewHeading = new GridBagConstraints();
 		gbc_lblViewHeading.insets = new Insets(0, 0, 5, 0);
 		gbc_lblViewHeading.gridx = 3;
@@ -109,7 +108,7 @@ public class ViewStaffLogin extends JFrame
 		JLabel lblUsername = new JLabel("Medarbejder ID:");
 		lblUsername.setForeground(new Color(62, 62, 62));
 		lblUsername.setHorizontalAlignment(SwingConstants.LEFT);
-		lblUsername.setFont(new Font("Tahoma", Font.PLAIN, 16));
+		lblUsername.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 16));
 		GridBagConstraints gbc_lblUsername = new GridBagConstraints();
 		gbc_lblUsername.anchor = GridBagConstraints.WEST;
 		gbc_lblUsername.insets = new Insets(0, 0, 5, 0);
@@ -120,7 +119,7 @@ public class ViewStaffLogin extends JFrame
 		JLabel lblPassword = new JLabel("Adgangskode:");
 		lblPassword.setForeground(new Color(62, 62, 62));
 		lblPassword.setHorizontalAlignment(SwingConstants.LEFT);
-		lblPassword.setFont(new Font("Tahoma", Font.PLAIN, 16));
+		lblPassword.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 16));
 		GridBagConstraints gbc_lblPassword = new GridBagConstraints();
 		gbc_lblPassword.insets = new Insets(0, 0, 5, 0);
 		gbc_lblPassword.anchor = GridBagConstraints.WEST;
@@ -129,7 +128,7 @@ public class ViewStaffLogin extends JFrame
 		panelCenter.add(lblPassword, gbc_lblPassword);
 		
 		lblErrorMessage = new JLabel("");
-		lblErrorMessage.setFont(new Font("Tahoma", Font.PLAIN, 11));
+		lblErrorMessage.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 11));
 		lblErrorMessage.setForeground(new Color(255, 0, 0));
 		GridBagConstraints gbc_lblErrorMessage = new GridBagConstraints();
 		gbc_lblErrorMessage.insets = new Insets(0, 0, 5, 0);
@@ -142,7 +141,7 @@ public class ViewStaffLogin extends JFrame
 		textFieldUsername = new JTextField();
 		textFieldUsername.setText("100000");
 		textFieldUsername.setForeground(new Color(192, 192, 192));
-		textFieldUsername.setFont(new Font("Tahoma", Font.PLAIN, 16));
+		textFieldUsername.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 16));
 		GridBagConstraints gbc_textFieldUsername = new GridBagConstraints();
 		gbc_textFieldUsername.anchor = GridBagConstraints.WEST;
 		gbc_textFieldUsername.fill = GridBagConstraints.HORIZONTAL;
@@ -154,7 +153,7 @@ public class ViewStaffLogin extends JFrame
 		passwordField = new JPasswordField();
 		passwordField.setText("Password");
 		passwordField.setForeground(new Color(192, 192, 192));
-		passwordField.setFont(new Font("Tahoma", Font.PLAIN, 16));
+		passwordField.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 16));
 		GridBagConstraints gbc_passwordField = new GridBagConstraints();
 		gbc_passwordField.anchor = GridBagConstraints.WEST;
 		gbc_passwordField.fill = GridBagConstraints.HORIZONTAL;
@@ -292,16 +291,8 @@ public class ViewStaffLogin extends JFrame
 	 */
 	private void setFavIcon(String favIconPath)
 	{
-		// Finds the resource with the name specified in the method's parameter and stores its url destination in the local urlPath variable 
-		URL urlPath = this.getClass().getResource(favIconPath);
-		
-		System.out.println(urlPath);
-		
-		// Creates and loads an ImageIcon by using the resource file found at the provided url path
-		ImageIcon favoriteIcon = new ImageIcon(urlPath);
-		
-		// Retrieves the icon's image and store it within the favoriteIconImage variable
-		Image favoriteIconImage = favoriteIcon.getImage();
+		// Retrieves the favorite icon, which is only loaded the first time it is used by any of the views
+		Image favoriteIconImage = UtilityResourceCache.getImage(favIconPath);
 		
 		// Sets the window's image icon to the image stored within the favoriteIconImage variable
 		setIconImage(favoriteIconImage);
@@ -337,11 +328,8 @@ public class ViewStaffLogin extends JFrame
 		// Creates a new label with no text as it will be used for placing the image
 		JLabel lblHeaderLogo = new JLabel("");
 
-		// Finds the resource with the name specified in the method's parameter and stores its url destination in the local urlPath variable 
-		URL urlPath = this.getClass().getResource(headerLogoPath);
-		
-		// Creates and loads an ImageIcon by using the resource file found at the provided url path
-		ImageIcon imageIcon = new ImageIcon(urlPath);
+		// Retrieves the header logo, which is only loaded the first time it is used by any of the views
+		ImageIcon imageIcon = UtilityResourceCache.getIcon(headerLogoPath);
 	
 		// Sets the image icon to be used by the empty label and show at its location in the viewport
 		lblHeaderLogo.setIcon(imageIcon);
@@ -14,11 +14,6 @@ import java.awt.GridLayout;
 import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.net.URL;
-import java.sql.SQLException;
-import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import javax.swing.ImageIcon;
@@ -34,8 +29,7 @@ import javax.swing.table.JTableHeader;
 import javax.swing.table.TableColumnModel;
 
 import application.TableOrderController;
-import database.DataAccessException;
-import model.TableOrder;
+import database.OrderLatencyTracer;
 
 
 /**
@@ -70,6 +64,9 @@ public class ViewStaffTableOrderOverview extends JFrame
 	private JTable table;
 	private ViewStaffTableOrderOverviewTableModel tableOrderOverviewModel;
 
+	// Informs the kitchen staff when the overview could not be updated, and is empty otherwise
+	private JLabel lblUpdateStatus;
+
 
 	/**
 	 * Constructs the ViewStaffTableOrderOverview frame, initializes all GUI components, 
@@ -188,8 +185,13 @@ public class ViewStaffTableOrderOverview extends JFrame
 		// Labels
 		JLabel lblViewHeading = new JLabel("Bestillingsoversigt");
 		lblViewHeading.setForeground(new Color(62, 62, 62));
-		lblViewHeading.setFont(new Font("Tahoma", Font.BOLD, 28));
+		lblViewHeading.setFont(UtilityResourceCache.getFont("Tahoma", Font.BOLD, 28));
 		panelCenterNorthNorth.add(lblViewHeading);
+
+		lblUpdateStatus = new JLabel("");
+		lblUpdateStatus.setForeground(new Color(180, 40, 40));
+		lblUpdateStatus.setFont(UtilityResourceCache.getFont("Tahoma", Font.PLAIN, 16));
+		panelCenterNorthNorth.add(lblUpdateStatus);
 	}
 
 	
@@ -324,19 +326,10 @@ public class ViewStaffTableOrderOverview extends JFrame
 	 */
 	private void setFavIcon(String favIconPath)
 	{
-		// Finds the resource with the name specified in the method's parameter and
-		// stores its url destination in the local urlPath variable
-		URL urlPath = this.getClass().getResource(favIconPath);
-
-		// Creates and loads an ImageIcon by using the resource file found at the
-		// provided url path
-		ImageIcon favoriteIcon = new ImageIcon(urlPath);
-
-		// Retrieves the icon's image and store it within the favoriteIconImage variable
-		Image favoriteIconImage = favoriteIcon.getImage();
-
-		// Sets the window's image icon to the image stored within the favoriteIconImage
-		// variable
+		// Retrieves the favorite icon, which is only loaded the first time it is used by any of the views
+		Image favoriteIconImage = UtilityResourceCache.getImage(favIconPath);
+		
+		// Sets the window's image icon to the image stored within the favoriteIconImage variable
 		setIconImage(favoriteIconImage);
 	}
 
@@ -371,13 +364,8 @@ public class ViewStaffTableOrderOverview extends JFrame
 		// Creates a new label with no text as it will be used for placing the image
 		JLabel lblHeaderLogo = new JLabel("");
 
-		// Finds the resource with the name specified in the method's parameter and
-		// stores its url destination in the local urlPath variable
-		URL urlPath = this.getClass().getResource(headerLogoPath);
-
-		// Creates and loads an ImageIcon by using the resource file found at the
-		// provided url path
-		ImageIcon imageIcon = new ImageIcon(urlPath);
+		// Retrieves the header logo, which is only loaded the first time it is used by any of the views
+		ImageIcon imageIcon = UtilityResourceCache.getIcon(headerLogoPath);
 
 		// Sets the image icon to be used by the empty label and show at its location in
 		// the viewport
@@ -419,36 +407,16 @@ public class ViewStaffTableOrderOverview extends JFrame
 	 * The task waits 5 seconds before its first execution, and then continues to run 
 	 * once every 30 seconds. 
 	 * 
-	 * It uses a single-threaded executor allowing for scheduling of commands to run after
-	 * a given delay, and execute periodically. It is being ran asynchronously, which allows 
-	 * the GUI to remain responsive  while the table data is being updated.
-	 * 
-	 * The repeated execution of the task is handled by Java's built-in thread planning, which 
-	 * is handled asynchronously.
+	 * The task is carried out by the UtilitySchedulerService, which shares its thread with the
+	 * periodic tasks of the other views. The task is bound to this frame, so it is cancelled
+	 * when the frame is disposed, instead of polling the database for a frame that is no longer
+	 * shown every time the staff navigates back and opens the overview again.
 	 */
 	private void startKitchenCall()
 	{
-		// Creates a single-threaded scheduled executor service that allows for execution of
-		// commands to be ran after a delay and periodical execution
-		// This creates a thread that is seperate from Swing's Event Dispatch Thread, which 
-		// results in execution of the code is not blocking the users interaction with the GUI,
-		// and incorporates parallelism
-		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-
-		// Schedules a recurring task that executes every 30 seconds, starting after an initial 5-second delay
-		// and creates an anonymous class "Runnable"
-		scheduler.scheduleAtFixedRate(new Runnable()
-		{
-			// Overrides the void run() method of the Runnable interface
-			@Override
-			public void run()
-			{
-				// Calls upon the updateTable() method to refresh the data contents within the TableOrder overview GUI
-				updateTable();
-			}
-
-		// 5 is the initial 5 second delay, and 30 is the 30 seconds before the anonymous Runnable method is executed again
-		}, 5, 30, TimeUnit.SECONDS);
+		// Schedules a recurring task that executes every 30 seconds, starting after an initial 5-second delay,
+		// which replaces the task of any earlier overview that has not been disposed yet
+		UtilitySchedulerService.getInstance().schedulePeriodic(this, "kitchenOverviewRefresh", this::updateTable, 5, 30, TimeUnit.SECONDS);
 	}
 
 	
@@ -458,33 +426,53 @@ public class ViewStaffTableOrderOverview extends JFrame
 	 * TableOrder data that is retrieved from the database, which is made up
 	 * of TableOrders that have been sent to the kitchen for preparation.
 	 * 
-	 * The startKitchenCall() has created a separate thread, on which this
-	 * method is being called upon every 30 seconds. 
+	 * The database is queried on the UtilityViewLoader's background thread, 
+	 * after which the tableModel is updated on Swing's Event Dispatch Thread, 
+	 * as Swing components and their models must only be changed from the EDT.
 	 * 
-	 * By running this task on a separate thread, parallelism is utilized to
-	 * allow users to keep interacting with the graphical user interface, while
-	 * the updateTable method occurs. Making the method run parallel with the GUI.
+	 * If a previous update is still in progress when the method is called, 
+	 * the new update is coalesced with it instead of querying the database again.
 	 */
 	private void updateTable()
 	{
-		try
-		{
-			// Returns a list of TableOrder objects which have their isSentToKitchen 
-			// attribute set to true and stores it within the tableModelData variable
-			List<TableOrder> tableModelData = new TableOrderController().findAllVisibleToKitchenTableOrders();
-			
-			// 
-			tableOrderOverviewModel.setData(tableModelData);
-		}
-		
-		catch (SQLException exception)
-		{
-			// exception.printStackTrace();
-		} 
-		
-		catch (DataAccessException exception)
+		// Returns a list of KitchenTicket objects from the TableOrders which have their 
+		// isSentToKitchen attribute set to true, and hands it to the tableModel on the EDT
+		UtilityViewLoader.load("findAllVisibleToKitchenTickets", null,
+			() -> new TableOrderController().findAllVisibleToKitchenTickets(),
+			tableModelData -> 
+			{
+				tableOrderOverviewModel.setTickets(tableModelData);
+				
+				// Removes any message about an earlier update that failed
+				showUpdateStatus("");
+				
+				// Records that the TableOrders found by the poll are now shown in the kitchen
+				OrderLatencyTracer.getInstance().recordRendered();
+			},
+			exception -> 
+			{
+				// The overview keeps showing the last tickets it received until the next update succeeds
+				System.err.println("Unable to update the kitchen's order overview: " + exception.getMessage());
+				exception.printStackTrace();
+				
+				// Informs the kitchen staff that the orders shown may be out of date
+				showUpdateStatus("Bestillingerne kunne ikke opdateres - prøver igen om lidt");
+			});
+	}
+	
+	
+	/**
+	 * Shows the specified message next to the heading, informing the kitchen staff whether
+	 * or not the latest update of the overview succeeded.
+	 * 
+	 * @param message the message to show, or an empty String to remove the message
+	 */
+	private void showUpdateStatus(String message)
+	{
+		// The first update may finish before the labels have been created
+		if (lblUpdateStatus != null)
 		{
-			// exception.printStackTrace();
+			lblUpdateStatus.setText(message);
 		}
 	}
-}
\ No newline at end of file
+}
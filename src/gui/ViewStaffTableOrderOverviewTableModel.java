@@ -3,10 +3,16 @@ package gui;
 
 //Imports
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.swing.table.AbstractTableModel;
 
+import model.KitchenTicket;
 import model.PersonalOrder;
 import model.PersonalOrderLine;
 import model.TableOrder;
@@ -30,9 +36,15 @@ import model.TableOrder;
  * The class extends AbstractTableModel and overrides the standard table model methods 
  * for dynamic rendering of data.
  * 
+ * Every row is identified by a stable key built from the ids of the TableOrder and
+ * PersonalOrder it belongs to. When new data arrives the model compares it against
+ * the rows it already holds, reuses the existing row objects and only notifies the
+ * JTable about the rows that were actually inserted, updated or deleted. This keeps
+ * the kitchen staff's scroll position and selection intact between refreshes.
+ * 
  * 
  * @author: Line Bertelsen & Christoffer Søndergaard & Lumière Schack
- * @version: 08/06/2025 - 14:03
+ * @version: 19/10/2026 - 10:12
  */
 public class ViewStaffTableOrderOverviewTableModel extends AbstractTableModel
 {
@@ -43,7 +55,11 @@ public class ViewStaffTableOrderOverviewTableModel extends AbstractTableModel
 	// Array of column names for the table.
 	private static final String[] COLUMN_NAMES = { "Bestillingsnummer", "Oprettelsestidspunkt", "Personens Navn", "Antal", "Rettens Navn", "Noter" };
 
-	private List<String[]> tableModelContent;
+	// The rows currently shown in the table, in the order they are displayed
+	private List<TableModelRow> tableModelContent;
+	
+	// Looks up the currently shown rows by their stable key, so they can be reused on refresh
+	private Map<String, TableModelRow> rowsByKey;
 
 	
 	/**
@@ -53,6 +69,7 @@ public class ViewStaffTableOrderOverviewTableModel extends AbstractTableModel
 	public ViewStaffTableOrderOverviewTableModel()
 	{
 		tableModelContent = new ArrayList<>();
+		rowsByKey = new HashMap<>();
 	}
 
 	
@@ -122,7 +139,7 @@ public class ViewStaffTableOrderOverviewTableModel extends AbstractTableModel
 		if (0 <= rowIndex && rowIndex < tableModelContent.size() && columnIndex < COLUMN_NAMES.length && 0 <= columnIndex)
 		{
 			// Retrieves the array of data at the specified row
-			String[] row = tableModelContent.get(rowIndex);
+			String[] row = tableModelContent.get(rowIndex).getCells();
 			
 			// Extracts the value of the cell from the specified column in that row
 			cellValue = row[columnIndex];
@@ -142,76 +159,368 @@ public class ViewStaffTableOrderOverviewTableModel extends AbstractTableModel
 	 * - One row per PersonalOrderLine that needs kitchen preparation
 	 * - Two empty rows used for visual spacing
 	 *
-	 * This method also clears any previously added data to the table model.
+	 * Rather than clearing the previously added data, the new rows are compared
+	 * against the current rows and only the differences are applied to the model.
 	 *
-	 * @param data a list of TableOrder objects to be displayed within the table
+	 * @param listOfData a list of TableOrder objects to be displayed within the table
 	 */
 	public void setData(List<TableOrder> listOfData)
 	{
-		// Reset the internal list that stores the table's row data
-		tableModelContent = new ArrayList<>();
+		// Creates the list of rows that the table should contain after this refresh
+		List<TableModelRow> listOfNewRows = new ArrayList<>();
 		
 		// Uses a for-each loop to iterate through each TableOrder provided in the supplied listOfData variable
 		for (TableOrder tableOrder : listOfData)
 		{
+			// The key prefix shared by every row belonging to this table order
+			String tableOrderKey = "T" + tableOrder.getTableOrderId();
+			
 			// Adds a heading row representing the table order's ID and the first guest's time of arrival
-			tableModelContent.add(new String[] 
+			listOfNewRows.add(new TableModelRow(tableOrderKey, new String[] 
 			{
 					"" + tableOrder.getTableOrderId(), "" + tableOrder.getTimeOfArrival(), "", "", "", "", 
-			});
+			}));
 			
 			// Retrieves the list of PersonalOrders objects associated with this table order and stores it within the listOfPersonalOrders variable
 			List<PersonalOrder> listOfPersonalOrders = tableOrder.getPersonalOrders();
 			
-			// Uses a for-each loop to iterate through each PersonalOrder object within the listOfPersonalOrders
-			for (PersonalOrder personalOrder : listOfPersonalOrders)
+			// Uses a classic for loop as the position is part of the row key when the PersonalOrder has no id yet
+			for (int personalOrderIndex = 0; personalOrderIndex < listOfPersonalOrders.size(); personalOrderIndex++)
 			{
+				// Retrieves the PersonalOrder object at the current position
+				PersonalOrder personalOrder = listOfPersonalOrders.get(personalOrderIndex);
+				
+				// Prefers the database id of the PersonalOrder and falls back on its position within the TableOrder
+				String personalOrderKey = tableOrderKey + "/P" + (personalOrder.getPersonalOrderId() != 0 ? personalOrder.getPersonalOrderId() : "#" + personalOrderIndex);
+				
 				// Adds a row with the customer's name within the table order to distinguish the buyer
-				tableModelContent.add(new String[]
+				listOfNewRows.add(new TableModelRow(personalOrderKey, new String[]
 				{
 						"", "", "" + personalOrder.getCustomerName(), "", "", "",
-				});
+				}));
 
 				// Retrieves all individual PersonalOrderLine objects associated with this PersonalOrder
 				List<PersonalOrderLine> listOfPersonalOrderLines = personalOrder.getPersonalOrderLines();
 				
-				// Uses a for-each loop to iterate through each PersonalOrderLine object within the listOfPersonalOrderLines
-				for (PersonalOrderLine personalOrderLine : listOfPersonalOrderLines)
+				// Uses a classic for loop as the lines are identified by their position within the PersonalOrder
+				for (int lineIndex = 0; lineIndex < listOfPersonalOrderLines.size(); lineIndex++)
 				{
+					// Retrieves the PersonalOrderLine object at the current position
+					PersonalOrderLine personalOrderLine = listOfPersonalOrderLines.get(lineIndex);
+					
 					// If the PersonalOrderLine item is required to be made by kitchen staff then execute this section
 					if (personalOrderLine.getMenuItem().isMadeByKitchenStaff())
 					{
 						// Adds a row with the quantity, the menu item's name and any possible additional notes
-						tableModelContent.add(new String[]
+						listOfNewRows.add(new TableModelRow(personalOrderKey + "/L" + lineIndex, new String[]
 						{
 								"", "", "", "" + 1, "" + personalOrderLine.getMenuItem().getName(), "" + personalOrderLine.getNotes(),
-						});
-
+						}));
 					}
 				}
 			}
 			
 			// Adds two rows that are empty to create visual space in the table to make it 
 			// easier for the kitchen personel to distinguish the table orders from each other
-			tableModelContent.add(new String[] { "", "", "", "", "", "" });
-			tableModelContent.add(new String[] { "", "", "", "", "", "" });
+			addSpacingRows(listOfNewRows, tableOrderKey);
 		}
 
-		// Notify all listeners that the table data has changed so the UI can refresh
-		updateTableModel();
+		// Applies the differences between the current rows and the new rows, notifying the listeners as it goes
+		applyRows(listOfNewRows);
 	}
-
+	
 	
 	/**
-	 * Triggers a refresh of the table data.
+	 * Populates the table model with data in the form of a list of KitchenTickets, which
+	 * is the lightweight alternative to setData used by the kitchen's order overview.
+	 *
+	 * The KitchenTickets must be sorted by TableOrder and PersonalOrder, and are divided
+	 * in to the same rows as setData:
+	 * - One header row for the TableOrder ID and timestamp
+	 * - One row per PersonalOrder showing the customer's name
+	 * - One row per KitchenTicket that has an item for the kitchen to prepare
+	 * - Two empty rows used for visual spacing
+	 *
+	 * The rows are keyed by the database ids of the PersonalOrders and PersonalOrderLines.
+	 * As setData keys the line rows by their position instead, a model should be populated by
+	 * only one of the two methods, as switching between them replaces every line row.
 	 *
-	 * This actually uses an observer pattern, and therefore triggers all observers like
-	 * the JTable component, informing it that the table model's data has changed and makes it
-	 * request the GUi to re-render the table model.
+	 * @param listOfKitchenTickets a sorted list of KitchenTicket objects to be displayed within the table
+	 */
+	public void setTickets(List<KitchenTicket> listOfKitchenTickets)
+	{
+		// Creates the list of rows that the table should contain after this refresh
+		List<TableModelRow> listOfNewRows = new ArrayList<>();
+		
+		// The key of the TableOrder and PersonalOrder the previous ticket belonged to
+		String previousTableOrderKey = null;
+		String previousPersonalOrderKey = null;
+		
+		// Uses a for-each loop to iterate through each KitchenTicket
+		for (KitchenTicket kitchenTicket : listOfKitchenTickets)
+		{
+			// The key prefix shared by every row belonging to this ticket's table order
+			String tableOrderKey = "T" + kitchenTicket.getTableOrderId();
+			
+			// If this ticket belongs to a different table order than the previous ticket then execute this section
+			if (!tableOrderKey.equals(previousTableOrderKey))
+			{
+				// Adds the spacing rows below the previous table order
+				addSpacingRows(listOfNewRows, previousTableOrderKey);
+				
+				// Adds a heading row representing the table order's ID and the first guest's time of arrival
+				listOfNewRows.add(new TableModelRow(tableOrderKey, new String[] 
+				{
+						"" + kitchenTicket.getTableOrderId(), "" + kitchenTicket.getTimeOfArrival(), "", "", "", "", 
+				}));
+				
+				previousTableOrderKey = tableOrderKey;
+				previousPersonalOrderKey = null;
+			}
+			
+			// If the table order has no personal orders then there is nothing more to show for it
+			if (kitchenTicket.getPersonalOrderId() == 0)
+			{
+				continue;
+			}
+			
+			// The key prefix shared by every row belonging to this ticket's personal order
+			String personalOrderKey = tableOrderKey + "/P" + kitchenTicket.getPersonalOrderId();
+			
+			// If this ticket belongs to a different personal order than the previous ticket then execute this section
+			if (!personalOrderKey.equals(previousPersonalOrderKey))
+			{
+				// Adds a row with the customer's name within the table order to distinguish the buyer
+				listOfNewRows.add(new TableModelRow(personalOrderKey, new String[]
+				{
+						"", "", "" + kitchenTicket.getCustomerName(), "", "", "",
+				}));
+				
+				previousPersonalOrderKey = personalOrderKey;
+			}
+			
+			// If the ticket has an item for the kitchen to prepare then execute this section
+			if (kitchenTicket.hasPersonalOrderLine())
+			{
+				// Adds a row with the quantity, the menu item's name and any possible additional notes
+				listOfNewRows.add(new TableModelRow(personalOrderKey + "/L" + kitchenTicket.getPersonalOrderLineId(), new String[]
+				{
+						"", "", "", "" + 1, "" + kitchenTicket.getMenuItemName(), "" + kitchenTicket.getNotes(),
+				}));
+			}
+		}
+		
+		// Adds the spacing rows below the last table order
+		addSpacingRows(listOfNewRows, previousTableOrderKey);
+		
+		// Applies the differences between the current rows and the new rows, notifying the listeners as it goes
+		applyRows(listOfNewRows);
+	}
+	
+	
+	/**
+	 * Adds two rows that are empty to create visual space in the table to make it easier 
+	 * for the kitchen personel to distinguish the table orders from each other.
+	 * 
+	 * @param listOfRows the list of rows the empty rows are added to
+	 * @param tableOrderKey the key of the table order the rows are added below, or null if there is none
+	 */
+	private void addSpacingRows(List<TableModelRow> listOfRows, String tableOrderKey)
+	{
+		// If there is no table order above then no spacing is needed
+		if (tableOrderKey == null)
+		{
+			return;
+		}
+		
+		listOfRows.add(new TableModelRow(tableOrderKey + "/S1", new String[] { "", "", "", "", "", "" }));
+		listOfRows.add(new TableModelRow(tableOrderKey + "/S2", new String[] { "", "", "", "", "", "" }));
+	}
+	
+	
+	/**
+	 * Brings the current rows in line with the supplied list of rows.
+	 * 
+	 * Rows whose key disappeared are deleted, rows whose key is new are inserted and
+	 * rows whose key is unchanged are only updated if their content hash differs.
+	 * Each change is followed by the matching fine-grained table model event, so the
+	 * JTable only repaints what actually changed.
+	 * 
+	 * @param listOfNewRows the rows the table should contain once this method returns
 	 */
-	private void updateTableModel()
+	private void applyRows(List<TableModelRow> listOfNewRows)
 	{
-		// Notifies the table that the data has been modified
-		fireTableDataChanged();
+		// Collects the keys of every incoming row so removed rows can be detected
+		Set<String> setOfNewKeys = new HashSet<>();
+		
+		// Uses a for-each loop to iterate through the incoming rows
+		for (TableModelRow newRow : listOfNewRows)
+		{
+			setOfNewKeys.add(newRow.getKey());
+		}
+		
+		// If the table is currently empty then every row is inserted using a single event
+		if (tableModelContent.isEmpty())
+		{
+			// Adds all of the incoming rows to the table
+			for (TableModelRow newRow : listOfNewRows)
+			{
+				tableModelContent.add(newRow);
+				rowsByKey.put(newRow.getKey(), newRow);
+			}
+			
+			// Notifies the listeners once about the inserted range, if any rows were added
+			if (!listOfNewRows.isEmpty())
+			{
+				fireTableRowsInserted(0, listOfNewRows.size() - 1);
+			}
+			
+			return;
+		}
+		
+		// Removes the rows that are no longer present, working bottom-up so that the
+		// indexes of the rows that have not been visited yet stay valid
+		int rowIndex = tableModelContent.size() - 1;
+		
+		while (rowIndex >= 0)
+		{
+			// If the row at the current index is still present then move on to the row above
+			if (setOfNewKeys.contains(tableModelContent.get(rowIndex).getKey()))
+			{
+				rowIndex--;
+				continue;
+			}
+			
+			// Finds the top of the contiguous block of removed rows so they can be deleted using a single event
+			int lastRemovedIndex = rowIndex;
+			
+			while (rowIndex > 0 && !setOfNewKeys.contains(tableModelContent.get(rowIndex - 1).getKey()))
+			{
+				rowIndex--;
+			}
+			
+			// Removes the block of rows from the table and the key lookup
+			for (int removeIndex = lastRemovedIndex; removeIndex >= rowIndex; removeIndex--)
+			{
+				rowsByKey.remove(tableModelContent.remove(removeIndex).getKey());
+			}
+			
+			// Notifies the listeners about the deleted block of rows
+			fireTableRowsDeleted(rowIndex, lastRemovedIndex);
+			
+			rowIndex--;
+		}
+		
+		// Walks through the incoming rows and inserts or updates the current rows so they match position by position
+		for (int newIndex = 0; newIndex < listOfNewRows.size(); newIndex++)
+		{
+			// Retrieves the incoming row at the current position
+			TableModelRow newRow = listOfNewRows.get(newIndex);
+			
+			// If the row at this position already has the same key, only its content might have changed
+			if (newIndex < tableModelContent.size() && tableModelContent.get(newIndex).getKey().equals(newRow.getKey()))
+			{
+				// Reuses the existing row object and only notifies the listeners if its content changed
+				if (tableModelContent.get(newIndex).updateCells(newRow))
+				{
+					fireTableRowsUpdated(newIndex, newIndex);
+				}
+				
+				continue;
+			}
+			
+			// Retrieves the existing row with the same key, which is only present if the row has moved further down
+			TableModelRow existingRow = rowsByKey.get(newRow.getKey());
+			
+			// If the row has moved, it is taken out of its old position so it can be reused at the new position
+			if (existingRow != null)
+			{
+				// Finds the old position of the row, which always comes after the current position
+				int oldIndex = tableModelContent.indexOf(existingRow);
+				
+				// Removes the row from its old position and notifies the listeners
+				tableModelContent.remove(oldIndex);
+				fireTableRowsDeleted(oldIndex, oldIndex);
+				
+				// Copies the incoming content in to the existing row object
+				existingRow.updateCells(newRow);
+				
+				// Continues with the reused row object instead of the incoming one
+				newRow = existingRow;
+			}
+			
+			// Inserts the row at the current position and notifies the listeners
+			tableModelContent.add(newIndex, newRow);
+			rowsByKey.put(newRow.getKey(), newRow);
+			fireTableRowsInserted(newIndex, newIndex);
+		}
+	}
+	
+	
+	/**
+	 * A single row in the table model.
+	 * 
+	 * Each row has a stable key that identifies which TableOrder, PersonalOrder or
+	 * PersonalOrderLine it represents, along with the cells that are displayed and a
+	 * hash of those cells used to quickly detect whether the content has changed.
+	 */
+	private static final class TableModelRow
+	{
+		// The stable key identifying what this row represents
+		private final String key;
+		
+		// The values displayed in each of the row's cells
+		private String[] cells;
+		
+		// The hash of the cells, used to quickly detect changed content
+		private int contentHash;
+		
+		
+		/**
+		 * Constructs a new row with the specified key and cells.
+		 * 
+		 * @param key the stable key identifying what this row represents
+		 * @param cells the values displayed in each of the row's cells
+		 */
+		private TableModelRow(String key, String[] cells)
+		{
+			this.key = key;
+			this.cells = cells;
+			this.contentHash = Arrays.hashCode(cells);
+		}
+		
+		
+		/**
+		 * Replaces the cells of this row with the cells of the supplied row if they differ.
+		 * 
+		 * @param newRow the row containing the new content
+		 * @return true if the content of this row was changed, false otherwise
+		 */
+		private boolean updateCells(TableModelRow newRow)
+		{
+			// If the hashes and the cells are identical then nothing has changed
+			if (contentHash == newRow.contentHash && Arrays.equals(cells, newRow.cells))
+			{
+				return false;
+			}
+			
+			// Takes over the content of the new row
+			cells = newRow.cells;
+			contentHash = newRow.contentHash;
+			
+			return true;
+		}
+		
+		
+		private String getKey()
+		{
+			return key;
+		}
+		
+		
+		private String[] getCells()
+		{
+			return cells;
+		}
 	}
 }
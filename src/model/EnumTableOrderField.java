@@ -0,0 +1,49 @@
+package model;
+
+/**
+ * Represents the fields of a TableOrder that are stored in the TableOrder table, 
+ * and can be changed after the TableOrder has been created.
+ * 
+ * Used by TableOrder to keep track of which fields have been changed since the
+ * TableOrder was last written to the database, so only those columns are updated.
+ * 
+ * @author Anders Have
+ * @version 19/10/2026 - 09:22
+ */
+
+public enum EnumTableOrderField
+{
+	TIMEOFARRIVAL("timeOfArrival"),
+	ISTABLEORDERCLOSED("isTableOrderClosed"),
+	PAYMENTTYPE("paymentType"),
+	TOTALTABLEORDERPRICE("totalTableOrderPrice"),
+	TOTALAMOUNTPAID("totalAmountPaid"),
+	ISSENTTOKITCHEN("isSentToKitchen"),
+	ISREQUESTINGSERVICE("isRequestingService"),
+	ORDERPREPARATIONTIME("orderPreparationTime");
+	
+	// The name of the column the field is stored in within the TableOrder table
+	private final String columnName;
+	
+	
+	/**
+	 * Constructs a field stored in the specified column.
+	 * 
+	 * @param columnName the name of the column within the TableOrder table
+	 */
+	private EnumTableOrderField(String columnName)
+	{
+		this.columnName = columnName;
+	}
+	
+	
+	/**
+	 * Returns the name of the column the field is stored in within the TableOrder table.
+	 * 
+	 * @return the column name
+	 */
+	public String getColumnName()
+	{
+		return columnName;
+	}
+}
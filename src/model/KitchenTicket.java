@@ -0,0 +1,130 @@
+// Packages
+package model;
+
+// Imports
+import java.time.LocalDateTime;
+
+
+/**
+ * Represents a single line on the kitchen's order overview.
+ * 
+ * Unlike a PersonalOrderLine, a KitchenTicket is not part of the TableOrder, PersonalOrder 
+ * and MenuItem object graph. It is a read-only projection containing only the few values 
+ * that the kitchen staff needs in order to prepare an item, which makes it cheap to 
+ * retrieve every time the kitchen's overview is refreshed.
+ * 
+ * A PersonalOrder without any items for the kitchen is represented by a single
+ * KitchenTicket without a personalOrderLineId, so the customer is still shown.
+ * 
+ * 
+ * @author Anders Have
+ * @version 19/10/2026 - 09:15
+ */
+public class KitchenTicket
+{
+	// Attributes / instance variables
+	private int tableOrderId;
+	private LocalDateTime timeOfArrival;
+	private int personalOrderId;
+	private String customerName;
+	private int personalOrderLineId;
+	private String menuItemName;
+	private String notes;
+	
+	
+	/**
+	 * Constructs a new KitchenTicket with the specified values.
+	 * 
+	 * @param tableOrderId 			- the id of the TableOrder the line belongs to
+	 * @param timeOfArrival 		- the time the guests at the table arrived, may be null
+	 * @param personalOrderId 		- the id of the PersonalOrder the line belongs to, or 0 if the TableOrder has none
+	 * @param customerName 			- the name of the customer who ordered the line, or null if the TableOrder has no PersonalOrders
+	 * @param personalOrderLineId 	- the id of the PersonalOrderLine, or 0 if the PersonalOrder has nothing for the kitchen
+	 * @param menuItemName 			- the name of the ordered MenuItem, or null if there is no PersonalOrderLine
+	 * @param notes 				- the notes to the kitchen for this line, or null if there is no PersonalOrderLine
+	 */
+	public KitchenTicket(int tableOrderId, LocalDateTime timeOfArrival, int personalOrderId, String customerName, int personalOrderLineId, String menuItemName, String notes)
+	{
+		this.tableOrderId = tableOrderId;
+		this.timeOfArrival = timeOfArrival;
+		this.personalOrderId = personalOrderId;
+		this.customerName = customerName;
+		this.personalOrderLineId = personalOrderLineId;
+		this.menuItemName = menuItemName;
+		this.notes = notes;
+	}
+	
+	
+	/**
+	 * @return the id of the TableOrder the line belongs to
+	 */
+	public int getTableOrderId()
+	{
+		return tableOrderId;
+	}
+	
+	
+	/**
+	 * @return the time the guests at the table arrived, may be null
+	 */
+	public LocalDateTime getTimeOfArrival()
+	{
+		return timeOfArrival;
+	}
+	
+	
+	/**
+	 * @return the id of the PersonalOrder the line belongs to, or 0 if the TableOrder has none
+	 */
+	public int getPersonalOrderId()
+	{
+		return personalOrderId;
+	}
+	
+	
+	/**
+	 * @return the name of the customer, or null if the TableOrder has no PersonalOrders
+	 */
+	public String getCustomerName()
+	{
+		return customerName;
+	}
+	
+	
+	/**
+	 * @return the id of the PersonalOrderLine, or 0 if the PersonalOrder has nothing for the kitchen
+	 */
+	public int getPersonalOrderLineId()
+	{
+		return personalOrderLineId;
+	}
+	
+	
+	/**
+	 * @return the name of the ordered MenuItem, or null if there is no PersonalOrderLine
+	 */
+	public String getMenuItemName()
+	{
+		return menuItemName;
+	}
+	
+	
+	/**
+	 * @return the notes to the kitchen for this line, or null if there is no PersonalOrderLine
+	 */
+	public String getNotes()
+	{
+		return notes;
+	}
+	
+	
+	/**
+	 * Returns whether or not this KitchenTicket contains an item for the kitchen to prepare.
+	 * 
+	 * @return true if the ticket has a PersonalOrderLine, false otherwise
+	 */
+	public boolean hasPersonalOrderLine()
+	{
+		return personalOrderLineId != 0;
+	}
+}
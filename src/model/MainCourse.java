@@ -4,6 +4,7 @@ package model;
 // Imports
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 
 /**
@@ -13,9 +14,14 @@ import java.util.List;
  * includes information on whether the item is a MainCourse, along with a
  * description, a lunch- and evening price and a list of their options.
  * 
+ * The options of a MainCourse are only needed once a guest chooses the dish, so they
+ * can be loaded lazily by supplying option loaders. The loaders are called the first
+ * time the options are accessed, after which the result is kept and the loader is
+ * discarded. If a loader fails it returns null and is called again on the next access.
+ * 
  * 
  * @author Anders Trankjær & Christoffer Søndergaard
- * @version 05/06/2025 - 14:03
+ * @version 19/10/2026 - 09:13
  */
 public class MainCourse extends MenuItem
 {
@@ -27,6 +33,10 @@ public class MainCourse extends MenuItem
 	//Lists
 	private List<MultipleChoiceMenu> listOfMultipleChoiceMenus;
 	private List<AddOnOption> listOfAddOnOptions;
+	
+	// The loaders retrieving the options the first time they are accessed, or null once they have been loaded
+	private Supplier<List<MultipleChoiceMenu>> multipleChoiceMenuLoader;
+	private Supplier<List<AddOnOption>> addOnOptionLoader;
 
 	/**
 	 * Constructs a new MainCourse instance, which uses the specified parameters of
@@ -145,7 +155,7 @@ public class MainCourse extends MenuItem
 	 * @param multipleChoiceMenu - the multipleChoiceMenu to be added to the
 	 *                           collection
 	 */
-	public void addMultipleChoiceMenu(MultipleChoiceMenu multipleChoiceMenu) 
+	public synchronized void addMultipleChoiceMenu(MultipleChoiceMenu multipleChoiceMenu) 
 	{
 		listOfMultipleChoiceMenus.add(multipleChoiceMenu);
 	}
@@ -156,8 +166,11 @@ public class MainCourse extends MenuItem
 	 * 
 	 * @param multipleChoiceMenu
 	 */
-	public void removeMultipleChoiceMenu(MultipleChoiceMenu multipleChoiceMenu) 
+	public synchronized void removeMultipleChoiceMenu(MultipleChoiceMenu multipleChoiceMenu) 
 	{
+		// Loads the options first, so the removed option is not added back by the loader afterwards
+		loadMultipleChoiceMenus();
+		
 		listOfMultipleChoiceMenus.remove(multipleChoiceMenu);
 	}
 
@@ -167,8 +180,11 @@ public class MainCourse extends MenuItem
 	 * 
 	 * @return a list of all the objects inside ListOfMultipleChoiceMenus
 	 */
-	public List<MultipleChoiceMenu> getListOfMultipleChoiceMenu() 
+	public synchronized List<MultipleChoiceMenu> getListOfMultipleChoiceMenu() 
 	{
+		// Loads the MultipleChoiceMenus if this is the first time they are accessed
+		loadMultipleChoiceMenus();
+		
 		//Create an empty instance of multipleChoiceMenu called returnList that holds
 		List<MultipleChoiceMenu> returnList = new ArrayList<MultipleChoiceMenu>();
 		
@@ -185,7 +201,7 @@ public class MainCourse extends MenuItem
 	 * 
 	 * @param addOnOption - the AddOnOption to be added to the collection
 	 */
-	public void addAddOnOption(AddOnOption addOnOption) 
+	public synchronized void addAddOnOption(AddOnOption addOnOption) 
 	{
 		listOfAddOnOptions.add(addOnOption);
 	}
@@ -196,8 +212,11 @@ public class MainCourse extends MenuItem
 	 * 
 	 * @param addOnOption - the AddOnOption to be removed from the collection
 	 */
-	public void removeAddOnOption(AddOnOption addOnOption) 
+	public synchronized void removeAddOnOption(AddOnOption addOnOption) 
 	{
+		// Loads the options first, so the removed option is not added back by the loader afterwards
+		loadAddOnOptions();
+		
 		listOfAddOnOptions.remove(addOnOption);
 	}
 
@@ -205,8 +224,11 @@ public class MainCourse extends MenuItem
 	/**
 	 * @return a list of all the objects inside ListOfAddOnOptions
 	 */
-	public List<AddOnOption> getListOfAddOnOption() 
+	public synchronized List<AddOnOption> getListOfAddOnOption() 
 	{
+		// Loads the AddOnOptions if this is the first time they are accessed
+		loadAddOnOptions();
+		
 		//Create an empty instance of AddOnOption called returnList that holds
 		List<AddOnOption> returnList = new ArrayList<AddOnOption>();
 		
@@ -216,4 +238,92 @@ public class MainCourse extends MenuItem
 		//returns the list of addOnOptions
 		return returnList;
 	}
+
+	
+	
+	/**
+	 * Sets the loaders that retrieve this MainCourse's options the first time they are accessed.
+	 * The options supplied by the loaders are added to any options that have been added directly.
+	 * 
+	 * @param multipleChoiceMenuLoader 	- retrieves the MultipleChoiceMenus, returning null if they could not be retrieved
+	 * @param addOnOptionLoader 		- retrieves the AddOnOptions, returning null if they could not be retrieved
+	 */
+	public synchronized void setOptionLoaders(Supplier<List<MultipleChoiceMenu>> multipleChoiceMenuLoader, Supplier<List<AddOnOption>> addOnOptionLoader)
+	{
+		this.multipleChoiceMenuLoader = multipleChoiceMenuLoader;
+		this.addOnOptionLoader = addOnOptionLoader;
+	}
+	
+	
+	/**
+	 * Returns whether or not all of the options have been loaded, meaning
+	 * they can be accessed without querying the database.
+	 * 
+	 * @return true if the options have been loaded, false otherwise
+	 */
+	public synchronized boolean isOptionsLoaded()
+	{
+		return multipleChoiceMenuLoader == null && addOnOptionLoader == null;
+	}
+	
+	
+	/**
+	 * Loads all of the options that have not been loaded yet.
+	 * 
+	 * Used to load the options in the background before the options are shown,
+	 * so the thread showing them does not have to wait for the database.
+	 */
+	public synchronized void loadOptions()
+	{
+		loadMultipleChoiceMenus();
+		loadAddOnOptions();
+	}
+	
+	
+	/**
+	 * Retrieves the MultipleChoiceMenus using the loader, if they have not been loaded yet.
+	 */
+	private void loadMultipleChoiceMenus()
+	{
+		// If the MultipleChoiceMenus have already been loaded then there is nothing to do
+		if (multipleChoiceMenuLoader == null)
+		{
+			return;
+		}
+		
+		// Retrieves the MultipleChoiceMenus using the loader
+		List<MultipleChoiceMenu> loadedMultipleChoiceMenus = multipleChoiceMenuLoader.get();
+		
+		// If the MultipleChoiceMenus were retrieved then they are kept and the loader is discarded
+		// - Otherwise the loader is kept, so they are retrieved again on the next access
+		if (loadedMultipleChoiceMenus != null)
+		{
+			listOfMultipleChoiceMenus.addAll(loadedMultipleChoiceMenus);
+			multipleChoiceMenuLoader = null;
+		}
+	}
+	
+	
+	/**
+	 * Retrieves the AddOnOptions using the loader, if they have not been loaded yet.
+	 */
+	private void loadAddOnOptions()
+	{
+		// If the AddOnOptions have already been loaded then there is nothing to do
+		if (addOnOptionLoader == null)
+		{
+			return;
+		}
+		
+		// Retrieves the AddOnOptions using the loader
+		List<AddOnOption> loadedAddOnOptions = addOnOptionLoader.get();
+		
+		// If the AddOnOptions were retrieved then they are kept and the loader is discarded
+		// - Otherwise the loader is kept, so they are retrieved again on the next access
+		if (loadedAddOnOptions != null)
+		{
+			listOfAddOnOptions.addAll(loadedAddOnOptions);
+			addOnOptionLoader = null;
+		}
+	}
 }
\ No newline at end of file
@@ -24,7 +24,7 @@ import java.util.List;
  * 
  * 
  * @author Line Bertelsen & Christoffer Søndergaard
- * @version 07-06-2025 - 20:19
+ * @version 19-10-2026 - 10:47
  */
 public class PersonalOrder
 {
@@ -121,6 +121,17 @@ public class PersonalOrder
 	}
 
 	
+	/**
+	 * Retrieves a copy of the list containing all Discount objects applied to this personal order.
+	 *
+	 * @return a new List containing the current Discount instances
+	 */
+	public List<Discount> getDiscounts()
+	{
+		return new ArrayList<>(listOfAllDiscounts);
+	}
+
+	
 	/**
 	 * The method addDiscount add one discount object to the list listOfAllDiscounts
 	 * 
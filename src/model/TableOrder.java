@@ -5,6 +5,8 @@ package model;
 import java.util.List;
 import java.util.ArrayList;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 
 /**
@@ -18,11 +20,16 @@ import java.time.LocalDateTime;
  * type, including arrival time, the price of the entire table order and how
  * much of this is already paid by the guests at the table.
  * 
- * Each TableOrder is uniquely identifiable by their tableOrderId.
+ * Each TableOrder is uniquely identifiable by their tableOrderId, and carries the
+ * rowVersion it was read at, so an update can detect that another tablet has 
+ * updated the same TableOrder in the meantime.
+ * 
+ * The setters keep track of which fields have been changed, so the data access layer
+ * only has to write the changed columns when the TableOrder is updated.
  * 
  * 
  * @author Line Bertelsen & Christoffer Søndergaard
- * @version 03/06/2025 - 09:01
+ * @version 19/10/2026 - 09:22
  */
 public class TableOrder
 {
@@ -35,8 +42,12 @@ public class TableOrder
 	private boolean isSentToKitchen;
 	private boolean isRequestingService;
 	private int orderPreparationTime;
+	private long rowVersion;
 
 	private List<PersonalOrder> listOfPersonalOrders;
+	
+	// The fields that have been changed since the TableOrder was created or last written to the database
+	private EnumSet<EnumTableOrderField> changedFields = EnumSet.noneOf(EnumTableOrderField.class);
 
 	
 	/**
@@ -81,6 +92,7 @@ public class TableOrder
 	public void setRequestingService(boolean isRequestingService)
 	{
 		this.isRequestingService = isRequestingService;
+		changedFields.add(EnumTableOrderField.ISREQUESTINGSERVICE);
 	}
 
 	
@@ -96,6 +108,7 @@ public class TableOrder
 	public void setSentToKitchen(boolean isSentToKitchen)
 	{
 		this.isSentToKitchen = isSentToKitchen;
+		changedFields.add(EnumTableOrderField.ISSENTTOKITCHEN);
 	}
 
 	
@@ -111,6 +124,7 @@ public class TableOrder
 	public void setTableOrderClosed(boolean isTableOrderClosed)
 	{
 		this.isTableOrderClosed = isTableOrderClosed;
+		changedFields.add(EnumTableOrderField.ISTABLEORDERCLOSED);
 	}
 
 	
@@ -126,6 +140,7 @@ public class TableOrder
 	public void setOrderPreparationTime(int orderPreparationTime)
 	{
 		this.orderPreparationTime = orderPreparationTime;
+		changedFields.add(EnumTableOrderField.ORDERPREPARATIONTIME);
 	}
 
 
@@ -141,6 +156,7 @@ public class TableOrder
 	public void setTotalTableOrderPrice(double totalTableOrderPrice)
 	{
 		this.totalTableOrderPrice = totalTableOrderPrice;
+		changedFields.add(EnumTableOrderField.TOTALTABLEORDERPRICE);
 	}
 
 	
@@ -152,6 +168,7 @@ public class TableOrder
 	public void setTotalAmountPaid(double totalAmountPaid)
 	{
 		this.totalAmountPaid = totalAmountPaid;
+		changedFields.add(EnumTableOrderField.TOTALAMOUNTPAID);
 	}
 	
 
@@ -166,6 +183,7 @@ public class TableOrder
 	public void setPaymentType(String paymentType)
 	{
 		this.paymentType = paymentType;
+		changedFields.add(EnumTableOrderField.PAYMENTTYPE);
 	}
 	
 
@@ -181,6 +199,7 @@ public class TableOrder
 	public void setTimeOfArrival(LocalDateTime timeOfArrival)
 	{
 		this.timeOfArrival = timeOfArrival;
+		changedFields.add(EnumTableOrderField.TIMEOFARRIVAL);
 	}
 
 	
@@ -214,6 +233,9 @@ public class TableOrder
 	public void addPersonalOrder(PersonalOrder personalOrder)
 	{
 		this.listOfPersonalOrders.add(personalOrder);
+		
+		// The calculated total price changes along with the PersonalOrders
+		changedFields.add(EnumTableOrderField.TOTALTABLEORDERPRICE);
 	}
 
 
@@ -362,4 +384,63 @@ public class TableOrder
 	{
 		return totalTableOrderPrice;
 	}
+	
+	
+	/**
+	 * Returns the version of the TableOrder's row in the database at the time it was read
+	 * or last updated, or 0 if the TableOrder has not been read from the database.
+	 *
+	 * @return the row version
+	 */
+	public long getRowVersion()
+	{
+		return rowVersion;
+	}
+	
+	
+	/**
+	 * Sets the version of the TableOrder's row in the database.
+	 * 
+	 * This is set by the data access layer whenever the TableOrder is read or updated.
+	 *
+	 * @param rowVersion the row version
+	 */
+	public void setRowVersion(long rowVersion)
+	{
+		this.rowVersion = rowVersion;
+	}
+	
+	
+	/**
+	 * Returns the fields that have been changed since the TableOrder was created
+	 * or last written to the database.
+	 *
+	 * @return a copy of the set of changed fields
+	 */
+	public Set<EnumTableOrderField> getChangedFields()
+	{
+		return EnumSet.copyOf(changedFields);
+	}
+	
+	
+	/**
+	 * Returns whether or not any fields have been changed since the TableOrder was 
+	 * created or last written to the database.
+	 *
+	 * @return true if a field has been changed, false otherwise
+	 */
+	public boolean hasChangedFields()
+	{
+		return !changedFields.isEmpty();
+	}
+	
+	
+	/**
+	 * Forgets the changed fields, which is done by the data access layer once the 
+	 * TableOrder has been written to or read from the database.
+	 */
+	public void clearChangedFields()
+	{
+		changedFields.clear();
+	}
 }
@@ -0,0 +1,166 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.CircuitBreaker;
+import database.CircuitOpenException;
+import database.DataAccessException;
+import database.QueryCancelledException;
+
+/**
+ * Unit test on the CircuitBreaker, making sure that the circuit opens after repeated
+ * database failures, rejects operations while open, and closes again once a probe succeeds
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:47
+ */
+class TestCircuitBreaker
+{
+	private AtomicLong clock;
+	private CircuitBreaker circuitBreaker;
+
+	@BeforeEach
+	void setUp()
+	{
+		clock = new AtomicLong();
+		circuitBreaker = new CircuitBreaker(3, 1000, clock::get);
+	}
+
+
+	private void failWithTimeout()
+	{
+		assertThrows(DataAccessException.class, () -> circuitBreaker.execute(() ->
+		{
+			throw new DataAccessException("Failed", new SQLTimeoutException("The query has timed out", "HYT00"));
+		}));
+	}
+
+
+	@Test
+	void testCircuitOpensAfterThresholdAndRejectsOperations()
+	{
+		//ARRANGE
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		failWithTimeout();
+		failWithTimeout();
+		failWithTimeout();
+
+		assertThrows(CircuitOpenException.class, () -> circuitBreaker.execute(() -> attempts.incrementAndGet()));
+
+		//ASSERT
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		assertEquals(0, attempts.get());
+		assertEquals(1, circuitBreaker.getOpenCount());
+		assertEquals(1, circuitBreaker.getRejectedOperationCount());
+	}
+
+
+	@Test
+	void testConstraintViolationDoesNotOpenCircuit()
+	{
+		//ACT
+		for (int operation = 0; operation < 5; operation++)
+		{
+			assertThrows(DataAccessException.class, () -> circuitBreaker.execute(() ->
+			{
+				throw new DataAccessException("Failed", new SQLException("Failed", "23000", 2627));
+			}));
+		}
+
+		//ASSERT
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+
+	@Test
+	void testSuccessfulProbeClosesCircuit() throws DataAccessException
+	{
+		//ARRANGE
+		failWithTimeout();
+		failWithTimeout();
+		failWithTimeout();
+
+		//ACT
+		clock.addAndGet(1_000_000_000L);
+		String result = circuitBreaker.execute(() -> "probe");
+
+		//ASSERT
+		assertEquals("probe", result);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+
+	@Test
+	void testCancelledProbeLeavesCircuitHalfOpen() throws DataAccessException
+	{
+		//ARRANGE
+		failWithTimeout();
+		failWithTimeout();
+		failWithTimeout();
+
+		//ACT
+		clock.addAndGet(1_000_000_000L);
+		assertThrows(QueryCancelledException.class, () -> circuitBreaker.execute(() ->
+		{
+			throw new QueryCancelledException("The view was left", null);
+		}));
+
+		CircuitBreaker.State stateAfterCancelledProbe = circuitBreaker.getState();
+		String result = circuitBreaker.execute(() -> "probe");
+
+		//ASSERT
+		assertEquals(CircuitBreaker.State.HALF_OPEN, stateAfterCancelledProbe);
+		assertEquals("probe", result);
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+
+	@Test
+	void testApplicationErrorInProbeLeavesCircuitHalfOpen()
+	{
+		//ARRANGE
+		failWithTimeout();
+		failWithTimeout();
+		failWithTimeout();
+
+		//ACT
+		clock.addAndGet(1_000_000_000L);
+		assertThrows(IllegalStateException.class, () -> circuitBreaker.execute(() ->
+		{
+			throw new IllegalStateException("Failed");
+		}));
+
+		//ASSERT
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+	}
+
+
+	@Test
+	void testFailedProbeOpensCircuitAgain()
+	{
+		//ARRANGE
+		failWithTimeout();
+		failWithTimeout();
+		failWithTimeout();
+
+		//ACT
+		clock.addAndGet(1_000_000_000L);
+		failWithTimeout();
+
+		//ASSERT
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		assertEquals(1, circuitBreaker.getOpenCount());
+		assertThrows(CircuitOpenException.class, () -> circuitBreaker.execute(() -> "rejected"));
+	}
+}
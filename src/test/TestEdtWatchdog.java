@@ -0,0 +1,97 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import gui.UtilityEdtWatchdog;
+
+/**
+ * Unit test on the UtilityEdtWatchdog, making sure that a blocked Event Dispatch Thread
+ * is detected, and that the duration of the stall is recorded once it responds again
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:26
+ */
+class TestEdtWatchdog
+{
+	private AtomicLong nanoClock;
+	private UtilityEdtWatchdog watchdog;
+
+	@BeforeEach
+	void setUp()
+	{
+		nanoClock = new AtomicLong();
+
+		// The checks are made by the test at given times of the clock, so the watchdog is never started
+		watchdog = new UtilityEdtWatchdog(200, 100, nanoClock::get);
+	}
+
+
+	@Test
+	void testBlockedEventDispatchThreadIsRecordedAsStall() throws Exception
+	{
+		//ARRANGE
+		CountDownLatch isEventDispatchThreadBlocked = new CountDownLatch(1);
+		CountDownLatch releaseEventDispatchThread = new CountDownLatch(1);
+
+		SwingUtilities.invokeLater(() ->
+		{
+			isEventDispatchThreadBlocked.countDown();
+			awaitQuietly(releaseEventDispatchThread);
+		});
+
+		isEventDispatchThreadBlocked.await();
+
+		//ACT
+		watchdog.check();
+		nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(800));
+		watchdog.check();
+
+		releaseEventDispatchThread.countDown();
+		SwingUtilities.invokeAndWait(() -> {});
+
+		//ASSERT
+		assertEquals(1, watchdog.getStallHistogram().getCount());
+		assertEquals(800_000, watchdog.getStallHistogram().getMaximumMicros());
+	}
+
+
+	@Test
+	void testResponsiveEventDispatchThreadIsNotRecordedAsStall() throws Exception
+	{
+		//ARRANGE
+		watchdog.check();
+		nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+		SwingUtilities.invokeAndWait(() -> {});
+
+		//ACT
+		watchdog.check();
+		nanoClock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+		SwingUtilities.invokeAndWait(() -> {});
+
+		//ASSERT
+		assertEquals(0, watchdog.getStallHistogram().getCount());
+	}
+
+
+	private static void awaitQuietly(CountDownLatch latch)
+	{
+		try
+		{
+			latch.await();
+		}
+
+		catch (InterruptedException exception)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+}
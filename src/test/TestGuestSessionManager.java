@@ -0,0 +1,140 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import application.GuestSession;
+import application.GuestSessionManager;
+
+/**
+ * Unit test on the GuestSessionManager, making sure that the sessions of the guests are kept apart,
+ * that idle sessions are evicted, and that the amount of sessions never exceeds the maximum
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:01
+ */
+class TestGuestSessionManager
+{
+	private AtomicLong clock;
+	private GuestSessionManager sessionManager;
+
+	@BeforeEach
+	void setUp()
+	{
+		clock = new AtomicLong();
+		sessionManager = new GuestSessionManager(3, 1000, clock::get);
+	}
+
+
+	@Test
+	void testSessionsAreKeptApartBySessionId()
+	{
+		//ARRANGE
+		GuestSession firstSession = sessionManager.startSession();
+		GuestSession secondSession = sessionManager.startSession();
+
+		//ACT
+		GuestSession foundSession = sessionManager.findSession(firstSession.getSessionId());
+
+		//ASSERT
+		assertEquals(firstSession, foundSession);
+		assertTrue(firstSession.getPersonalOrderController() != secondSession.getPersonalOrderController());
+		assertEquals(2, sessionManager.getSessionCount());
+	}
+
+
+	@Test
+	void testIdleSessionIsEvictedWhileUsedSessionIsKept()
+	{
+		//ARRANGE
+		GuestSession idleSession = sessionManager.startSession();
+		GuestSession usedSession = sessionManager.startSession();
+
+		clock.addAndGet(600);
+		sessionManager.findSession(usedSession.getSessionId());
+		clock.addAndGet(600);
+
+		//ACT
+		sessionManager.evictIdleSessions();
+
+		//ASSERT
+		assertNull(sessionManager.findSession(idleSession.getSessionId()));
+		assertNotNull(sessionManager.findSession(usedSession.getSessionId()));
+		assertEquals(1, sessionManager.getEvictedSessionCount());
+	}
+
+
+	@Test
+	void testLeastRecentlyUsedSessionIsEvictedAtMaximum()
+	{
+		//ARRANGE
+		List<GuestSession> startedSessions = new ArrayList<>();
+
+		for (int session = 0; session < 3; session++)
+		{
+			clock.incrementAndGet();
+			startedSessions.add(sessionManager.startSession());
+		}
+
+		clock.incrementAndGet();
+		sessionManager.findSession(startedSessions.get(0).getSessionId());
+
+		//ACT
+		sessionManager.startSession();
+
+		//ASSERT
+		assertEquals(3, sessionManager.getSessionCount());
+		assertNotNull(sessionManager.findSession(startedSessions.get(0).getSessionId()));
+		assertNull(sessionManager.findSession(startedSessions.get(1).getSessionId()));
+	}
+
+
+	@Test
+	void testConcurrentSessionsStayWithinMaximum() throws InterruptedException
+	{
+		//ARRANGE
+		Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+		List<Thread> threads = new ArrayList<>();
+
+		//ACT
+		for (int thread = 0; thread < 8; thread++)
+		{
+			threads.add(new Thread(() ->
+			{
+				for (int session = 0; session < 100; session++)
+				{
+					GuestSession startedSession = sessionManager.startSession();
+
+					sessionIds.add(startedSession.getSessionId());
+					sessionManager.findSession(startedSession.getSessionId());
+				}
+			}));
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		//ASSERT
+		assertEquals(800, sessionIds.size());
+		assertEquals(3, sessionManager.getSessionCount());
+		assertEquals(797, sessionManager.getEvictedSessionCount());
+	}
+}
@@ -0,0 +1,139 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.JdbcResourceTracker;
+import database.QueryMetrics;
+
+/**
+ * Unit test on the JdbcResourceTracker, making sure that the statements and result sets left open
+ * by a database operation are closed when the operation ends, while closed ones are not reported
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:24
+ */
+class TestJdbcResourceTracker
+{
+	private static final String FIND_ROWS_QUERY = "SELECT * FROM Restaurant";
+
+	private JdbcResourceTracker resourceTracker;
+	private Connection connection;
+	private List<AtomicBoolean> closedFlags;
+
+	@BeforeEach
+	void setUp()
+	{
+		resourceTracker = JdbcResourceTracker.getInstance();
+		closedFlags = new ArrayList<>();
+
+		// A connection whose statements and result sets remember whether or not they have been closed
+		Connection fakeConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+				(connectionProxy, connectionMethod, connectionArguments) -> createCloseable(PreparedStatement.class));
+
+		connection = new QueryMetrics().instrument(fakeConnection);
+	}
+
+
+	private Object createCloseable(Class<?> type)
+	{
+		AtomicBoolean isClosed = new AtomicBoolean();
+		closedFlags.add(isClosed);
+
+		return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, arguments) ->
+		{
+			switch (method.getName())
+			{
+				case "close":
+					isClosed.set(true);
+					return null;
+
+				case "isClosed":
+					return isClosed.get();
+
+				case "executeQuery":
+					return createCloseable(ResultSet.class);
+
+				case "hashCode":
+					return System.identityHashCode(proxy);
+
+				case "equals":
+					return proxy == arguments[0];
+
+				default:
+					return method.getReturnType() == boolean.class ? false : null;
+			}
+		});
+	}
+
+
+	@Test
+	@SuppressWarnings("try") // The scope is only opened to be closed, and is therefore never referenced
+	void testLeakedStatementAndResultSetAreClosedWhenOperationEnds() throws SQLException
+	{
+		//ARRANGE
+		long leakedResourceCount = resourceTracker.getLeakedResourceCount();
+
+		//ACT
+		try (JdbcResourceTracker.Scope scope = resourceTracker.openScope())
+		{
+			connection.prepareStatement(FIND_ROWS_QUERY).executeQuery();
+		}
+
+		//ASSERT
+		assertEquals(leakedResourceCount + 2, resourceTracker.getLeakedResourceCount());
+		assertTrue(closedFlags.get(0).get());
+		assertTrue(closedFlags.get(1).get());
+	}
+
+
+	@Test
+	@SuppressWarnings("try") // The scope and the result set are only opened to be closed, and are therefore never referenced
+	void testClosedResourcesAreNotReported() throws SQLException
+	{
+		//ARRANGE
+		long leakedResourceCount = resourceTracker.getLeakedResourceCount();
+		long trackedResourceCount = resourceTracker.getTrackedResourceCount();
+
+		//ACT
+		try (JdbcResourceTracker.Scope scope = resourceTracker.openScope())
+		{
+			try (PreparedStatement statement = connection.prepareStatement(FIND_ROWS_QUERY);
+					ResultSet resultSet = statement.executeQuery())
+			{
+			}
+		}
+
+		//ASSERT
+		assertEquals(leakedResourceCount, resourceTracker.getLeakedResourceCount());
+		assertEquals(trackedResourceCount + 2, resourceTracker.getTrackedResourceCount());
+	}
+
+
+	@Test
+	void testResourcesCreatedOutsideOfAnOperationAreNotTracked() throws SQLException
+	{
+		//ARRANGE
+		long trackedResourceCount = resourceTracker.getTrackedResourceCount();
+
+		//ACT
+		connection.prepareStatement(FIND_ROWS_QUERY).close();
+
+		//ASSERT
+		assertEquals(trackedResourceCount, resourceTracker.getTrackedResourceCount());
+		assertFalse(closedFlags.isEmpty());
+	}
+}
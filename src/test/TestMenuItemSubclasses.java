@@ -7,6 +7,8 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import model.AddOnOption;
@@ -197,4 +199,65 @@ public class TestMenuItemSubclasses
 		assertFalse(cheeseTopping.getListOfSelectionOptions().contains(goudaCheese));
 		assertEquals(2, cheeseTopping.getListOfSelectionOptions().size());
 	}
+	
+	
+	@Test
+	public void testLazyLoadedOptionsForMainCourse()
+	{
+		//ARRANGE
+		MainCourse ribeye = new MainCourse("a delicious martian ribeye", 50, 75, 20, 750, "ribeye fra Mars", "lækker ribeye lavet på kødkvæg fra Mars", true);
+		AddOnOption option1 = new AddOnOption("add garlicbutter", "with garlic butter", 5);
+		MultipleChoiceMenu cheeseTopping = new MultipleChoiceMenu("which cheese goes on your steak?");
+		int[] amountOfLoads = new int[1];
+		
+		ribeye.setOptionLoaders(
+				() -> { amountOfLoads[0]++; return List.of(cheeseTopping); },
+				() -> { amountOfLoads[0]++; return List.of(option1); });
+		
+		//ASSERT
+		//the options are not loaded before they are accessed
+		assertFalse(ribeye.isOptionsLoaded());
+		assertEquals(0, amountOfLoads[0]);
+		
+		//ACT
+		ribeye.getListOfAddOnOption();
+		ribeye.getListOfAddOnOption();
+		ribeye.getListOfMultipleChoiceMenu();
+		
+		//ASSERT
+		//each loader is only called once, after which the result is kept
+		assertTrue(ribeye.isOptionsLoaded());
+		assertEquals(2, amountOfLoads[0]);
+		assertTrue(ribeye.getListOfAddOnOption().contains(option1));
+		assertTrue(ribeye.getListOfMultipleChoiceMenu().contains(cheeseTopping));
+	}
+	
+	
+	@Test
+	public void testFailedLazyLoadOfOptionsIsRetried()
+	{
+		//ARRANGE
+		MainCourse pastaDish = new MainCourse("charcoal pasta", 30, 45, 21, 500, "hjemmelavet pasta lavet på kul", "Bone's hemmelige kul pasta opskrift", true);
+		AddOnOption option1 = new AddOnOption("extra pasta", "larger serving", 15);
+		int[] amountOfLoads = new int[1];
+		
+		// the loader fails the first time it is called, by returning null
+		pastaDish.setOptionLoaders(
+				() -> List.of(),
+				() -> amountOfLoads[0]++ == 0 ? null : List.of(option1));
+		
+		//ACT
+		int sizeAfterFailedLoad = pastaDish.getListOfAddOnOption().size();
+		
+		//ASSERT
+		assertEquals(0, sizeAfterFailedLoad);
+		assertFalse(pastaDish.isOptionsLoaded());
+		
+		//ACT
+		pastaDish.loadOptions();
+		
+		//ASSERT
+		assertTrue(pastaDish.isOptionsLoaded());
+		assertEquals(1, pastaDish.getListOfAddOnOption().size());
+	}
 }
@@ -0,0 +1,111 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.OperationContext;
+import database.QueryMetrics;
+
+/**
+ * Unit test on the OperationContext, making sure that the statements executed during a user action
+ * are counted, and that an action repeating a statement too many times is caught in strict mode
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:25
+ */
+class TestOperationContext
+{
+	private static final String FIND_LINES_QUERY = "SELECT notes FROM PersonalOrderLine WHERE personalOrderId = ?";
+
+	private Connection connection;
+
+	@BeforeEach
+	void setUp()
+	{
+		OperationContext.setStrictMode(true);
+
+		QueryMetrics queryMetrics = new QueryMetrics();
+		queryMetrics.registerQueryNames(TestOperationContext.class);
+
+		// A connection whose statements do nothing when executed
+		Connection fakeConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (connectionProxy, connectionMethod, connectionArguments) ->
+				Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class }, (statementProxy, statementMethod, statementArguments) -> 0));
+
+		connection = queryMetrics.instrument(fakeConnection);
+	}
+
+
+	private void findLines(int personalOrderCount) throws SQLException
+	{
+		PreparedStatement statement = connection.prepareStatement(FIND_LINES_QUERY);
+
+		for (int personalOrderId = 1; personalOrderId <= personalOrderCount; personalOrderId++)
+		{
+			statement.setInt(1, personalOrderId);
+			statement.executeUpdate();
+		}
+	}
+
+
+	@Test
+	void testStatementsWithinLimitsAreCounted() throws SQLException
+	{
+		//ARRANGE
+		OperationContext operationContext = OperationContext.open("refreshKitchen", 10, 5);
+
+		//ACT
+		findLines(3);
+		operationContext.close();
+
+		//ASSERT
+		assertEquals(3, operationContext.getStatementCount());
+		assertEquals(3, operationContext.getExecutionCount("FIND_LINES_QUERY"));
+		assertFalse(operationContext.isExceeded());
+	}
+
+
+	@Test
+	void testRepeatedStatementFailsInStrictMode() throws SQLException
+	{
+		//ARRANGE
+		OperationContext operationContext = OperationContext.open("refreshKitchen", 10, 5);
+
+		//ACT
+		findLines(6);
+
+		//ASSERT
+		assertTrue(operationContext.isExceeded());
+		assertThrows(IllegalStateException.class, () -> operationContext.close());
+	}
+
+
+	@Test
+	@SuppressWarnings("try") // The inner context is only opened to be closed, and is therefore never referenced
+	void testNestedActionIsCountedInOutermostAction() throws SQLException
+	{
+		//ARRANGE
+		OperationContext outerContext = OperationContext.open("openMenu", 10, 5);
+
+		//ACT
+		try (OperationContext innerContext = OperationContext.open("loadOptions"))
+		{
+			findLines(2);
+		}
+
+		findLines(1);
+		outerContext.close();
+
+		//ASSERT
+		assertEquals(3, outerContext.getStatementCount());
+	}
+}
@@ -0,0 +1,88 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import application.OperationalMetrics;
+import model.EnumStatusType;
+import model.KitchenTicket;
+import model.PersonalOrderLine;
+
+/**
+ * Unit test on the OperationalMetrics, making sure that the guests, the submitted orders
+ * and the kitchen's backlog are counted as exposed over JMX
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 09:45
+ */
+class TestOperationalMetrics
+{
+	private AtomicLong clock;
+	private OperationalMetrics operationalMetrics;
+
+	@BeforeEach
+	void setUp()
+	{
+		clock = new AtomicLong(1_000_000L);
+		operationalMetrics = new OperationalMetrics(clock::get);
+	}
+
+
+	@Test
+	void testActiveGuestSessions()
+	{
+		//ACT
+		operationalMetrics.recordGuestSessionStarted();
+		operationalMetrics.recordGuestSessionStarted();
+		operationalMetrics.recordGuestSessionEnded();
+
+		//ASSERT
+		assertEquals(1, operationalMetrics.getActiveGuestSessions());
+		assertEquals(2, operationalMetrics.getGuestSessionsStarted());
+	}
+
+
+	@Test
+	void testSubmittedPerMinuteOnlyCountsTheLastMinute()
+	{
+		//ARRANGE
+		List<PersonalOrderLine> personalOrderLines = List.of(new PersonalOrderLine(null), new PersonalOrderLine(null));
+
+		//ACT
+		operationalMetrics.recordPersonalOrderSubmitted(personalOrderLines);
+		clock.addAndGet(30_000);
+		operationalMetrics.recordPersonalOrderSubmitted(personalOrderLines);
+		clock.addAndGet(45_000);
+
+		//ASSERT
+		assertEquals(1, operationalMetrics.getPersonalOrdersSubmittedPerMinute());
+		assertEquals(2, operationalMetrics.getPersonalOrdersSubmitted());
+		assertEquals(4, (long) operationalMetrics.getPersonalOrderLinesByStatus().get(EnumStatusType.WAITINGTOBEPREPARED.name()));
+	}
+
+
+	@Test
+	void testKitchenBacklogIgnoresCustomersWithoutLines()
+	{
+		//ARRANGE
+		LocalDateTime oldestArrival = LocalDateTime.now().minusMinutes(20);
+		List<KitchenTicket> kitchenTickets = List.of(
+				new KitchenTicket(1, oldestArrival, 1, "Anna", 1, "Bøf", ""),
+				new KitchenTicket(2, LocalDateTime.now().minusMinutes(5), 2, "Bo", 2, "Kylling", ""),
+				new KitchenTicket(3, LocalDateTime.now().minusHours(2), 3, "Carl", 0, null, null));
+
+		//ACT
+		operationalMetrics.recordKitchenBacklog(kitchenTickets);
+
+		//ASSERT
+		assertEquals(2, operationalMetrics.getKitchenBacklogSize());
+		assertTrue(operationalMetrics.getKitchenBacklogAgeSeconds() >= 20 * 60 && operationalMetrics.getKitchenBacklogAgeSeconds() < 21 * 60);
+	}
+}
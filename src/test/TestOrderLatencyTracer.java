@@ -0,0 +1,112 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.LatencyHistogram;
+import database.OrderLatencyTracer;
+import database.OrderLatencyTracer.Hop;
+
+/**
+ * Unit test on the OrderLatencyTracer, making sure that a TableOrder is timed at every hop
+ * from the guest's tablet to the kitchen's screen, and that the histograms keep their precision
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 09:49
+ */
+class TestOrderLatencyTracer
+{
+	private AtomicLong clock;
+	private OrderLatencyTracer tracer;
+
+	@BeforeEach
+	void setUp()
+	{
+		clock = new AtomicLong();
+		tracer = new OrderLatencyTracer(clock::get, 60_000);
+	}
+
+
+	private void advanceMillis(long millis)
+	{
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+
+	@Test
+	void testTraceRecordsTimeOfEveryHop()
+	{
+		//ARRANGE
+		String correlationId = tracer.startTrace(7);
+
+		//ACT
+		advanceMillis(2);
+		tracer.recordHop(7, Hop.CONTROLLER);
+		advanceMillis(30);
+		tracer.recordHop(7, Hop.PERSISTED);
+		advanceMillis(20_000);
+		tracer.recordFetchStarted();
+		advanceMillis(50);
+		tracer.recordFetched(Set.of(7));
+		advanceMillis(5);
+		tracer.recordRendered();
+
+		//ASSERT
+		assertNotNull(correlationId);
+		assertEquals(0, tracer.getPendingTraceCount());
+		assertEquals(1, tracer.getHistogram(Hop.FETCH_STARTED).getCount());
+		assertTrue(Math.abs(tracer.getHistogram(Hop.FETCH_STARTED).getMaximumMicros() - 20_000_000) < 1000);
+		assertTrue(Math.abs(tracer.getEndToEndHistogram().getMaximumMicros() - 20_087_000) < 1000);
+		assertEquals(0, tracer.getObjectiveMissCount());
+	}
+
+
+	@Test
+	void testLaterPersistSupersedesPollThatStartedBefore()
+	{
+		//ARRANGE
+		tracer.startTrace(7);
+		tracer.recordHop(7, Hop.PERSISTED);
+		tracer.recordFetchStarted();
+
+		//ACT
+		advanceMillis(10);
+		tracer.recordHop(7, Hop.PERSISTED);
+		tracer.recordFetched(List.of(7));
+		tracer.recordRendered();
+
+		//ASSERT
+		assertEquals(1, tracer.getPendingTraceCount());
+		assertEquals(0, tracer.getEndToEndHistogram().getCount());
+	}
+
+
+	@Test
+	void testHistogramIsPreciseWithinPowerOfTwo()
+	{
+		//ARRANGE
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		//ACT
+		for (int recording = 0; recording < 100; recording++)
+		{
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(recording < 50 ? 1000 : 1900));
+		}
+
+		//ASSERT
+		long median = histogram.getPercentileMicros(50);
+		long p99 = histogram.getPercentileMicros(99);
+
+		assertTrue(median >= 1_000_000 && median < 1_070_000);
+		assertTrue(p99 >= 1_900_000 && p99 < 2_000_000);
+	}
+}
@@ -0,0 +1,109 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.QueryCancellationToken;
+import database.QueryCancelledException;
+
+/**
+ * Unit test on the QueryCancellationToken, making sure that cancelling a view's token
+ * aborts the statements executing on its behalf, and that no further statements are executed
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 09:38
+ */
+class TestQueryCancellationToken
+{
+	private AtomicInteger cancelledStatements;
+	private Statement statement;
+	private QueryCancellationToken token;
+
+	@BeforeEach
+	void setUp()
+	{
+		cancelledStatements = new AtomicInteger();
+
+		// A statement which only counts how many times it has been cancelled
+		statement = (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { Statement.class }, (proxy, method, arguments) ->
+		{
+			switch (method.getName())
+			{
+				case "cancel":
+					cancelledStatements.incrementAndGet();
+					return null;
+
+				case "hashCode":
+					return System.identityHashCode(proxy);
+
+				case "equals":
+					return proxy == arguments[0];
+
+				default:
+					return null;
+			}
+		});
+
+		token = new QueryCancellationToken();
+	}
+
+
+	@Test
+	void testCancelAbortsTrackedStatement() throws QueryCancelledException
+	{
+		//ARRANGE
+		token.bindToCurrentThread();
+		QueryCancellationToken.track(statement);
+
+		//ACT
+		token.cancel();
+		token.unbindFromCurrentThread();
+
+		//ASSERT
+		assertTrue(token.isCancelled());
+		assertEquals(1, cancelledStatements.get());
+	}
+
+
+	@Test
+	void testStatementIsNotExecutedAfterCancel()
+	{
+		//ARRANGE
+		token.bindToCurrentThread();
+		token.cancel();
+
+		//ACT
+		assertThrows(QueryCancelledException.class, () -> QueryCancellationToken.track(statement));
+		assertThrows(QueryCancelledException.class, () -> QueryCancellationToken.throwIfCurrentCancelled("Cancelled"));
+		token.unbindFromCurrentThread();
+
+		//ASSERT
+		assertEquals(0, cancelledStatements.get());
+	}
+
+
+	@Test
+	void testCompletedWorkIsNotCancelled() throws QueryCancelledException
+	{
+		//ARRANGE
+		token.bindToCurrentThread();
+		QueryCancellationToken.track(statement);
+		token.unbindFromCurrentThread();
+
+		//ACT
+		token.cancel();
+
+		//ASSERT
+		assertEquals(0, cancelledStatements.get());
+		assertNull(QueryCancellationToken.current());
+	}
+}
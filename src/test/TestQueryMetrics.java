@@ -0,0 +1,128 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.LatencyHistogram;
+import database.QueryMetrics;
+import database.QueryStatistics;
+
+/**
+ * Unit test on the QueryMetrics, making sure that the executions of the statements prepared on an
+ * instrumented connection are recorded by the name of their SQL constant, with their rows and errors
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 09:40
+ */
+class TestQueryMetrics
+{
+	private static final String FIND_THREE_ROWS_QUERY = "SELECT * FROM TableOrder";
+	private static final String UPDATE_TWO_ROWS_QUERY = "UPDATE TableOrder SET isSentToKitchen = 1";
+	private static final String FAILING_QUERY = "SELECT * FROM MissingTable";
+
+	private QueryMetrics queryMetrics;
+	private Connection connection;
+
+	@BeforeEach
+	void setUp()
+	{
+		queryMetrics = new QueryMetrics();
+		queryMetrics.registerQueryNames(TestQueryMetrics.class);
+
+		// A connection whose statements return three rows, change two rows, or fail, depending on their SQL
+		Connection fakeConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (connectionProxy, connectionMethod, connectionArguments) ->
+		{
+			String sql = (String) connectionArguments[0];
+			AtomicInteger remainingRows = new AtomicInteger(3);
+
+			ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+					(resultSetProxy, resultSetMethod, resultSetArguments) -> remainingRows.getAndDecrement() > 0);
+
+			return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[] { PreparedStatement.class }, (statementProxy, statementMethod, statementArguments) ->
+			{
+				if (sql.equals(FAILING_QUERY))
+				{
+					throw new SQLException("Invalid object name 'MissingTable'", "S0002", 208);
+				}
+
+				return statementMethod.getName().equals("executeQuery") ? resultSet : 2;
+			});
+		});
+
+		connection = queryMetrics.instrument(fakeConnection);
+	}
+
+
+	@Test
+	void testQueryIsRecordedByConstantNameWithItsRows() throws SQLException
+	{
+		//ACT
+		ResultSet resultSet = connection.prepareStatement(FIND_THREE_ROWS_QUERY).executeQuery();
+
+		while (resultSet.next())
+		{
+		}
+
+		//ASSERT
+		QueryStatistics statistics = queryMetrics.getStatistics("FIND_THREE_ROWS_QUERY");
+		assertNotNull(statistics);
+		assertEquals(1, statistics.getExecutionCount());
+		assertEquals(3, statistics.getRowCount());
+		assertEquals(0, statistics.getErrorCount());
+	}
+
+
+	@Test
+	void testUpdateRowsAndErrorsAreRecorded() throws SQLException
+	{
+		//ARRANGE
+		PreparedStatement updateStatement = connection.prepareStatement(UPDATE_TWO_ROWS_QUERY);
+		PreparedStatement failingStatement = connection.prepareStatement(FAILING_QUERY);
+
+		//ACT
+		updateStatement.executeUpdate();
+		updateStatement.executeUpdate();
+		assertThrows(SQLException.class, () -> failingStatement.executeQuery());
+
+		//ASSERT
+		assertEquals(4, queryMetrics.getStatistics("UPDATE_TWO_ROWS_QUERY").getRowCount());
+		assertEquals(1, queryMetrics.getStatistics("FAILING_QUERY").getErrorCount());
+		assertTrue(queryMetrics.formatSummary().contains("UPDATE_TWO_ROWS_QUERY: executions=2"));
+	}
+
+
+	@Test
+	void testHistogramPercentiles()
+	{
+		//ARRANGE
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		//ACT
+		for (int execution = 0; execution < 99; execution++)
+		{
+			histogram.record(TimeUnit.MILLISECONDS.toNanos(2));
+		}
+
+		histogram.record(TimeUnit.MILLISECONDS.toNanos(300));
+
+		//ASSERT
+		assertEquals(100, histogram.getCount());
+		assertTrue(histogram.getPercentileMicros(50) >= 2000 && histogram.getPercentileMicros(50) < 4000);
+		assertTrue(histogram.getPercentileMicros(99) < 4000);
+		assertEquals(300000, histogram.getMaximumMicros());
+		assertEquals(300000, histogram.getPercentileMicros(100));
+	}
+}
@@ -0,0 +1,246 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.DataAccessException;
+import database.RetryExecutor;
+
+/**
+ * Unit test on the RetryExecutor, making sure that only transient SQL Server failures
+ * are retried, that the waits between attempts are bounded, and that the retry budget
+ * stops retries when every operation is failing
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:39
+ */
+class TestRetryExecutor
+{
+	private List<Long> sleeps;
+	private AtomicInteger reconnects;
+	private RetryExecutor retryExecutor;
+
+	@BeforeEach
+	void setUp()
+	{
+		sleeps = new ArrayList<>();
+		reconnects = new AtomicInteger();
+		retryExecutor = new RetryExecutor(3, 50, 80, 10, sleeps::add, reconnects::incrementAndGet);
+	}
+
+
+	private static DataAccessException failure(String sqlState, int errorCode)
+	{
+		return new DataAccessException("Failed", new SQLException("Failed", sqlState, errorCode));
+	}
+
+
+	@Test
+	void testDeadlockVictimIsRetriedUntilItSucceeds() throws DataAccessException
+	{
+		//ARRANGE
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		String result = retryExecutor.execute(() ->
+		{
+			if (attempts.incrementAndGet() == 1)
+			{
+				throw failure("40001", 1205);
+			}
+
+			return "submitted";
+		});
+
+		//ASSERT
+		assertEquals("submitted", result);
+		assertEquals(2, attempts.get());
+		assertEquals(1, retryExecutor.getRetryCount());
+		assertEquals(1, retryExecutor.getRecoveredOperationCount());
+		assertEquals(0, reconnects.get());
+	}
+
+
+	@Test
+	void testConstraintViolationIsNotRetried()
+	{
+		//ARRANGE
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		assertThrows(DataAccessException.class, () -> retryExecutor.execute(() ->
+		{
+			attempts.incrementAndGet();
+
+			throw failure("23000", 2627);
+		}));
+
+		//ASSERT
+		assertEquals(1, attempts.get());
+		assertEquals(1, retryExecutor.getNonRetryableFailureCount());
+		assertTrue(sleeps.isEmpty());
+	}
+
+
+	@Test
+	void testLostConnectionIsReestablishedBeforeRetrying() throws DataAccessException
+	{
+		//ARRANGE
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		retryExecutor.execute(() ->
+		{
+			if (attempts.incrementAndGet() == 1)
+			{
+				throw failure("08S01", 0);
+			}
+
+			return null;
+		});
+
+		//ASSERT
+		assertEquals(2, attempts.get());
+		assertEquals(1, reconnects.get());
+		assertEquals(1, retryExecutor.getReconnectCount());
+	}
+
+
+	@Test
+	void testLostConnectionIsReestablishedAfterTheWait() throws DataAccessException
+	{
+		//ARRANGE
+		List<String> events = new ArrayList<>();
+		RetryExecutor orderedExecutor = new RetryExecutor(3, 50, 80, 10, millis -> events.add("sleep"), () -> events.add("reconnect"));
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		orderedExecutor.execute(() ->
+		{
+			events.add("attempt");
+
+			if (attempts.incrementAndGet() == 1)
+			{
+				throw failure("08S01", 0);
+			}
+
+			return null;
+		});
+
+		//ASSERT
+		assertEquals(List.of("attempt", "sleep", "reconnect", "attempt"), events);
+	}
+
+
+	@Test
+	void testLostConnectionIsNotRetriedForWriteThatIsNotIdempotent()
+	{
+		//ARRANGE
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		assertThrows(DataAccessException.class, () -> retryExecutor.execute(() ->
+		{
+			attempts.incrementAndGet();
+
+			throw failure("08S01", 0);
+		}, false));
+
+		//ASSERT
+		assertEquals(1, attempts.get());
+		assertEquals(1, reconnects.get());
+		assertEquals(1, retryExecutor.getNonRetryableFailureCount());
+		assertTrue(sleeps.isEmpty());
+	}
+
+
+	@Test
+	void testDeadlockVictimIsRetriedForWriteThatIsNotIdempotent() throws DataAccessException
+	{
+		//ARRANGE
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		retryExecutor.execute(() ->
+		{
+			if (attempts.incrementAndGet() == 1)
+			{
+				throw failure("40001", 1205);
+			}
+
+			return null;
+		}, false);
+
+		//ASSERT
+		assertEquals(2, attempts.get());
+		assertEquals(0, reconnects.get());
+	}
+
+
+	@Test
+	void testOperationFailsAfterMaximumAttemptsWithBoundedWaits()
+	{
+		//ARRANGE
+		AtomicInteger attempts = new AtomicInteger();
+
+		//ACT
+		assertThrows(DataAccessException.class, () -> retryExecutor.execute(() ->
+		{
+			attempts.incrementAndGet();
+
+			throw failure(null, 1222);
+		}));
+
+		//ASSERT
+		assertEquals(3, attempts.get());
+		assertEquals(2, sleeps.size());
+		assertTrue(sleeps.get(0) >= 0 && sleeps.get(0) <= 50);
+		assertTrue(sleeps.get(1) >= 0 && sleeps.get(1) <= 80);
+		assertEquals(1, retryExecutor.getExhaustedOperationCount());
+	}
+
+
+	@Test
+	void testRetryBudgetStopsRetriesWhenEveryOperationFails()
+	{
+		//ARRANGE
+		RetryExecutor smallBudgetExecutor = new RetryExecutor(3, 50, 80, 2, sleeps::add, reconnects::incrementAndGet);
+
+		//ACT
+		for (int operation = 0; operation < 3; operation++)
+		{
+			assertThrows(DataAccessException.class, () -> smallBudgetExecutor.execute(() ->
+			{
+				throw failure("40001", 1205);
+			}));
+		}
+
+		//ASSERT
+		assertEquals(2, smallBudgetExecutor.getRetryCount());
+		assertEquals(2, smallBudgetExecutor.getBudgetRejectionCount());
+		assertEquals(1, smallBudgetExecutor.getExhaustedOperationCount());
+	}
+
+
+	@Test
+	void testClassificationOfSqlServerErrorCodes()
+	{
+		//ASSERT
+		assertTrue(RetryExecutor.isRetryable(failure(null, 1205)));
+		assertTrue(RetryExecutor.isRetryable(failure(null, 10054)));
+		assertTrue(RetryExecutor.isConnectionFailure(failure(null, 10054)));
+		assertFalse(RetryExecutor.isConnectionFailure(failure(null, 1205)));
+		assertFalse(RetryExecutor.isRetryable(failure("23000", 547)));
+		assertFalse(RetryExecutor.isRetryable(new DataAccessException("Failed", new IllegalStateException())));
+	}
+}
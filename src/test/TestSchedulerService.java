@@ -0,0 +1,126 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import gui.UtilitySchedulerService;
+
+/**
+ * Unit test on the UtilitySchedulerService, making sure that periodic tasks run until they are
+ * cancelled, that a task replaces an earlier task with the same name, and that the views keep
+ * sharing the same thread no matter how many times their tasks are scheduled
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:30
+ */
+class TestSchedulerService
+{
+	private UtilitySchedulerService schedulerService;
+
+	@BeforeEach
+	void setUp()
+	{
+		schedulerService = new UtilitySchedulerService(1);
+	}
+
+
+	@Test
+	void testCancelledTaskIsNotRunAgain() throws InterruptedException
+	{
+		//ARRANGE
+		CountDownLatch firstRuns = new CountDownLatch(3);
+		AtomicInteger runs = new AtomicInteger();
+
+		UtilitySchedulerService.ScheduledTask task = schedulerService.schedulePeriodic("refresh", () ->
+		{
+			runs.incrementAndGet();
+			firstRuns.countDown();
+		}, 0, 10, TimeUnit.MILLISECONDS);
+
+		assertTrue(firstRuns.await(5, TimeUnit.SECONDS));
+
+		//ACT
+		task.cancel();
+		int runsAtCancel = runs.get();
+
+		// The scheduler's only thread runs the marker after every run of the task that became due before it, i.e. after several periods
+		CountDownLatch markerRun = new CountDownLatch(1);
+		AtomicInteger runsAtMarker = new AtomicInteger();
+
+		schedulerService.schedulePeriodic("marker", () ->
+		{
+			runsAtMarker.set(runs.get());
+			markerRun.countDown();
+		}, 50, 60_000, TimeUnit.MILLISECONDS);
+
+		assertTrue(markerRun.await(5, TimeUnit.SECONDS));
+
+		//ASSERT
+		assertTrue(task.isCancelled());
+		assertTrue(runsAtMarker.get() <= runsAtCancel + 1); // Only a run in progress when the task was cancelled may finish
+		assertEquals(List.of("marker"), schedulerService.getScheduledTaskNames());
+	}
+
+
+	@Test
+	void testTaskWithSameNameReplacesEarlierTask()
+	{
+		//ACT
+		UtilitySchedulerService.ScheduledTask earlierTask = schedulerService.schedulePeriodic("refresh", () -> {}, 1, 1, TimeUnit.HOURS);
+		UtilitySchedulerService.ScheduledTask laterTask = schedulerService.schedulePeriodic("refresh", () -> {}, 1, 1, TimeUnit.HOURS);
+
+		//ASSERT
+		assertTrue(earlierTask.isCancelled());
+		assertFalse(laterTask.isCancelled());
+		assertEquals(1, schedulerService.getScheduledTaskCount());
+	}
+
+
+	@Test
+	void testReopenedViewsShareOneThread() throws InterruptedException
+	{
+		//ARRANGE
+		CountDownLatch allRuns = new CountDownLatch(20);
+
+		//ACT
+		for (int view = 0; view < 20; view++)
+		{
+			schedulerService.schedulePeriodic("refresh" + view, allRuns::countDown, 0, 1, TimeUnit.HOURS);
+		}
+
+		assertTrue(allRuns.await(5, TimeUnit.SECONDS));
+
+		//ASSERT
+		assertEquals(1, schedulerService.getThreadCount());
+		assertEquals(1, schedulerService.getLargestThreadCount());
+	}
+
+
+	@Test
+	void testFailingTaskIsRunAgain() throws InterruptedException
+	{
+		//ARRANGE
+		CountDownLatch runs = new CountDownLatch(2);
+
+		//ACT
+		schedulerService.schedulePeriodic("failing", () ->
+		{
+			runs.countDown();
+
+			throw new IllegalStateException("The database is unavailable");
+		}, 0, 10, TimeUnit.MILLISECONDS);
+
+		//ASSERT
+		assertTrue(runs.await(5, TimeUnit.SECONDS));
+		assertTrue(schedulerService.getFailureCount() >= 1);
+	}
+}
@@ -0,0 +1,355 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.TableOrderAggregateCache;
+import model.Discount;
+import model.EnumTableOrderField;
+import model.MainCourse;
+import model.PersonalOrder;
+import model.PersonalOrderLine;
+import model.TableOrder;
+
+/**
+ * Unit test on the TableOrderAggregateCache, making sure that concurrent lookups only query the
+ * database once, that an aggregate is only loaded again once its version has changed, that
+ * updates are applied to the cached aggregate in place, and that the callers receive copies
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:47
+ */
+class TestTableOrderAggregateCache
+{
+	private static final long VALIDATION_INTERVAL_NANOS = 1000;
+	private static final int TABLE_ORDER_ID = 1;
+
+	private AtomicLong clock;
+	private AtomicReference<TableOrderAggregateCache.AggregateVersion> databaseVersion;
+	private AtomicInteger probeCount;
+	private AtomicInteger loadCount;
+	private TableOrderAggregateCache aggregateCache;
+	private MainCourse mainCourse;
+
+	@BeforeEach
+	void setUp()
+	{
+		clock = new AtomicLong();
+		databaseVersion = new AtomicReference<>(new TableOrderAggregateCache.AggregateVersion(1, 1, 10, 100));
+		probeCount = new AtomicInteger();
+		loadCount = new AtomicInteger();
+
+		aggregateCache = new TableOrderAggregateCache(16, VALIDATION_INTERVAL_NANOS, tableOrderId ->
+		{
+			probeCount.incrementAndGet();
+
+			return databaseVersion.get();
+		}, clock::get);
+
+		mainCourse = new MainCourse("Ribs, Bone's Original Sparibs", 129, 189, 11, 900, "Sparibs", "Ribs, Bone's Orignal Sparibs", true);
+	}
+
+
+	// Builds the TableOrder row the loader finds in the database
+	private TableOrder loadTableOrder()
+	{
+		loadCount.incrementAndGet();
+
+		return createTableOrder();
+	}
+
+
+	private TableOrder createTableOrder()
+	{
+		TableOrder tableOrder = new TableOrder(TABLE_ORDER_ID, LocalDateTime.of(2025, 6, 8, 14, 0), false, "", 0, 0, false, false, 0);
+		tableOrder.setRowVersion(1);
+
+		return tableOrder;
+	}
+
+
+	// Builds the PersonalOrders the loader finds in the database, i.e. a single guest with one line
+	private List<PersonalOrder> loadPersonalOrders()
+	{
+		loadCount.incrementAndGet();
+
+		List<PersonalOrder> listOfPersonalOrders = new ArrayList<>();
+		listOfPersonalOrders.add(createPersonalOrder(10));
+
+		return listOfPersonalOrders;
+	}
+
+
+	private PersonalOrder createPersonalOrder(int personalOrderId)
+	{
+		PersonalOrder personalOrder = new PersonalOrder(null);
+		personalOrder.setPersonalOrderId(personalOrderId);
+		personalOrder.setCustomerName("Guest " + personalOrderId);
+		personalOrder.addPersonalOrderLine(new PersonalOrderLine(mainCourse));
+
+		return personalOrder;
+	}
+
+
+	@Test
+	void testConcurrentLookupsOnlyQueryOnce() throws Exception
+	{
+		//ARRANGE
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+
+		CompletableFuture<TableOrder> firstLookup = CompletableFuture.supplyAsync(() -> findTableOrderQuietly(() ->
+		{
+			loadStarted.countDown();
+			releaseLoad.await();
+
+			return loadTableOrder();
+		}));
+
+		assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+		//ACT
+		CompletableFuture<TableOrder> secondLookup = CompletableFuture.supplyAsync(() -> findTableOrderQuietly(this::loadTableOrder));
+		releaseLoad.countDown();
+
+		//ASSERT
+		TableOrder firstTableOrder = firstLookup.get(5, TimeUnit.SECONDS);
+		TableOrder secondTableOrder = secondLookup.get(5, TimeUnit.SECONDS);
+
+		assertEquals(1, loadCount.get());
+		assertEquals(TABLE_ORDER_ID, secondTableOrder.getTableOrderId());
+		assertNotSame(firstTableOrder, secondTableOrder);
+	}
+
+
+	@Test
+	void testUnchangedAggregateIsOnlyProbedOnceTheIntervalHasPassed() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+
+		//ACT
+		clock.addAndGet(VALIDATION_INTERVAL_NANOS - 1);
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+		int probeCountWithinInterval = probeCount.get();
+
+		clock.addAndGet(1);
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+
+		//ASSERT
+		assertEquals(1, probeCountWithinInterval);
+		assertEquals(2, probeCount.get());
+		assertEquals(1, loadCount.get());
+	}
+
+
+	@Test
+	void testChangedVersionLoadsTheAggregateAgain() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		//ACT
+		// Another tablet updates the TableOrder
+		databaseVersion.set(new TableOrderAggregateCache.AggregateVersion(2, 1, 10, 100));
+		clock.addAndGet(VALIDATION_INTERVAL_NANOS);
+
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		//ASSERT
+		assertEquals(4, loadCount.get());
+	}
+
+
+	@Test
+	void testUpdatedTableOrderIsChangedInPlace() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+
+		TableOrder updatedTableOrder = createTableOrder();
+		updatedTableOrder.setSentToKitchen(true);
+		updatedTableOrder.setRowVersion(2);
+
+		//ACT
+		aggregateCache.updateTableOrder(updatedTableOrder, EnumSet.of(EnumTableOrderField.ISSENTTOKITCHEN), 1);
+
+		// The database has moved on to the version written by the update
+		databaseVersion.set(new TableOrderAggregateCache.AggregateVersion(2, 1, 10, 100));
+		clock.addAndGet(VALIDATION_INTERVAL_NANOS);
+
+		TableOrder tableOrder = aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+
+		//ASSERT
+		assertEquals(1, loadCount.get());
+		assertTrue(tableOrder.isSentToKitchen());
+		assertEquals(2L, tableOrder.getRowVersion());
+	}
+
+
+	@Test
+	void testUpdateOfRowChangedByAnotherTabletDiscardsTheAggregate() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+
+		TableOrder updatedTableOrder = createTableOrder();
+		updatedTableOrder.setRequestingService(true);
+		updatedTableOrder.setRowVersion(3);
+
+		//ACT
+		// Another tablet had updated the row to version 2 before this update moved it on to version 3
+		aggregateCache.updateTableOrder(updatedTableOrder, EnumSet.of(EnumTableOrderField.ISREQUESTINGSERVICE), 2);
+
+		databaseVersion.set(new TableOrderAggregateCache.AggregateVersion(3, 1, 10, 100));
+		aggregateCache.findTableOrder(TABLE_ORDER_ID, this::loadTableOrder);
+
+		//ASSERT
+		assertEquals(2, loadCount.get());
+	}
+
+
+	@Test
+	void testInsertedPersonalOrderIsAddedInPlace() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		//ACT
+		aggregateCache.addPersonalOrder(TABLE_ORDER_ID, createPersonalOrder(11));
+
+		List<PersonalOrder> listOfPersonalOrders = aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		//ASSERT
+		assertEquals(1, loadCount.get());
+		assertEquals(2, listOfPersonalOrders.size());
+		assertEquals(11, listOfPersonalOrders.get(1).getPersonalOrderId());
+	}
+
+
+	@Test
+	void testInsertedPersonalOrderIsLoadedAgainOnceValidated() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+		aggregateCache.addPersonalOrder(TABLE_ORDER_ID, createPersonalOrder(11));
+
+		//ACT
+		// The database has moved on to the version written by the insert, whose checksum of the lines only the database knows
+		databaseVersion.set(new TableOrderAggregateCache.AggregateVersion(1, 2, 11, 200));
+		clock.addAndGet(VALIDATION_INTERVAL_NANOS);
+
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		//ASSERT
+		assertEquals(2, loadCount.get());
+	}
+
+
+	@Test
+	void testChangedPersonalOrderLineLoadsTheAggregateAgain() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		//ACT
+		// The kitchen changes the status of a line, which only changes the checksum of the lines
+		databaseVersion.set(new TableOrderAggregateCache.AggregateVersion(1, 1, 10, 101));
+		clock.addAndGet(VALIDATION_INTERVAL_NANOS);
+
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		//ASSERT
+		assertEquals(2, loadCount.get());
+	}
+
+
+	@Test
+	void testCachedPersonalOrderKeepsItsDiscounts() throws Exception
+	{
+		//ARRANGE
+		aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders);
+
+		PersonalOrder insertedPersonalOrder = createPersonalOrder(11);
+		insertedPersonalOrder.addDiscount(new Discount());
+
+		//ACT
+		aggregateCache.addPersonalOrder(TABLE_ORDER_ID, insertedPersonalOrder);
+
+		PersonalOrder cachedPersonalOrder = aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders).get(1);
+
+		//ASSERT
+		assertEquals(1, cachedPersonalOrder.getDiscounts().size());
+	}
+
+
+	@Test
+	void testChangesToReturnedPersonalOrdersDoNotReachTheCache() throws Exception
+	{
+		//ARRANGE
+		PersonalOrder returnedPersonalOrder = aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders).get(0);
+
+		//ACT
+		returnedPersonalOrder.setCustomerName("Changed");
+		returnedPersonalOrder.getPersonalOrderLines().get(0).setNotes("Uden salat");
+		returnedPersonalOrder.addPersonalOrderLine(new PersonalOrderLine(mainCourse));
+
+		PersonalOrder cachedPersonalOrder = aggregateCache.findPersonalOrders(TABLE_ORDER_ID, this::loadPersonalOrders).get(0);
+
+		//ASSERT
+		assertEquals(1, loadCount.get());
+		assertEquals("Guest 10", cachedPersonalOrder.getCustomerName());
+		assertEquals("", cachedPersonalOrder.getPersonalOrderLines().get(0).getNotes());
+		assertEquals(1, cachedPersonalOrder.getPersonalOrderLines().size());
+	}
+
+
+	// The database lookup of the tests, which may wait for the test to release it
+	private interface BlockingLoader
+	{
+		TableOrder load() throws Exception;
+	}
+
+
+	// Finds the TableOrder on another thread, where the checked exceptions can not be thrown
+	private TableOrder findTableOrderQuietly(BlockingLoader blockingLoader)
+	{
+		try
+		{
+			return aggregateCache.findTableOrder(TABLE_ORDER_ID, () ->
+			{
+				try
+				{
+					return blockingLoader.load();
+				}
+
+				catch (Exception exception)
+				{
+					throw new IllegalStateException(exception);
+				}
+			});
+		}
+
+		catch (Exception exception)
+		{
+			throw new IllegalStateException(exception);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.EnumTableOrderField;
+import model.PersonalOrder;
+import model.TableOrder;
+
+/**
+ * Unit test on the change tracking of the TableOrder class, making sure that
+ * only the fields changed by the setters are marked as changed
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 09:22
+ */
+class TestTableOrderChangedFields
+{
+	private TableOrder tableOrder;
+
+	@BeforeEach
+	void setUp()
+	{
+		tableOrder = new TableOrder(100009, LocalDateTime.of(2025, 6, 8, 14, 0), false, "CARD", 0, 0, false, false, 0);
+	}
+
+
+	@Test
+	void testNewTableOrderHasNoChangedFields()
+	{
+		//ASSERT
+		assertFalse(tableOrder.hasChangedFields());
+		assertTrue(tableOrder.getChangedFields().isEmpty());
+	}
+
+
+	@Test
+	void testServiceRequestOnlyChangesIsRequestingService()
+	{
+		//ACT
+		tableOrder.setRequestingService(true);
+
+		//ASSERT
+		assertEquals(EnumSet.of(EnumTableOrderField.ISREQUESTINGSERVICE), tableOrder.getChangedFields());
+	}
+
+
+	@Test
+	void testAddedPersonalOrderChangesTotalPrice()
+	{
+		//ACT
+		tableOrder.addPersonalOrder(new PersonalOrder(tableOrder));
+		tableOrder.setSentToKitchen(true);
+
+		//ASSERT
+		assertEquals(EnumSet.of(EnumTableOrderField.TOTALTABLEORDERPRICE, EnumTableOrderField.ISSENTTOKITCHEN), tableOrder.getChangedFields());
+	}
+
+
+	@Test
+	void testClearChangedFields()
+	{
+		//ARRANGE
+		tableOrder.setPaymentType("CASH");
+		tableOrder.setRowVersion(42);
+
+		//ACT
+		tableOrder.clearChangedFields();
+
+		//ASSERT
+		assertFalse(tableOrder.hasChangedFields());
+		assertEquals(42, tableOrder.getRowVersion());
+	}
+}
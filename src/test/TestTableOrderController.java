@@ -0,0 +1,158 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import application.TableOrderController;
+import database.DataAccessException;
+import database.TableOrderImpl;
+import database.TableOrderUpdateResult;
+import model.EnumTableOrderField;
+import model.MainCourse;
+import model.PersonalOrder;
+import model.PersonalOrderLine;
+import model.TableOrder;
+
+/**
+ * Unit test on the optimistic update of the TableOrderController, making sure that a TableOrder
+ * updated by another tablet is merged field by field and retried, without losing the guest's changes
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:19
+ */
+class TestTableOrderController
+{
+	private static final LocalDateTime LOCAL_TIME_OF_ARRIVAL = LocalDateTime.of(2025, 6, 8, 16, 0);
+
+	private List<Set<EnumTableOrderField>> attemptedChangedFields;
+	private List<TableOrderUpdateResult> updateResults;
+	private TableOrderController tableOrderController;
+	private TableOrder tableOrder;
+
+	@BeforeEach
+	void setUp()
+	{
+		attemptedChangedFields = new ArrayList<>();
+		updateResults = new ArrayList<>();
+
+		// A DAO answering each attempt with the next of the prepared results, and remembering which fields each attempt wrote
+		TableOrderImpl dataAccessObject = new TableOrderImpl()
+		{
+			@Override
+			public TableOrderUpdateResult updateTableOrderIfUnchanged(TableOrder tableOrder)
+			{
+				attemptedChangedFields.add(tableOrder.getChangedFields());
+
+				return updateResults.isEmpty() ? TableOrderUpdateResult.updated(tableOrder) : updateResults.remove(0);
+			}
+
+			@Override
+			public List<TableOrder> findAllTableOrders() throws DataAccessException, SQLException
+			{
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public TableOrder findTableOrderByTableOrderId(int tableOrderId) throws DataAccessException, SQLException
+			{
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void updateTableOrder(TableOrder tableOrder) throws DataAccessException, SQLException
+			{
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void updateChangedTableOrderFields(TableOrder tableOrder) throws DataAccessException, SQLException
+			{
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public List<TableOrder> findAllVisibleToKitchenTableOrders() throws DataAccessException, SQLException
+			{
+				throw new UnsupportedOperationException();
+			}
+		};
+
+		tableOrderController = new TableOrderController(dataAccessObject);
+
+		// The guest's TableOrder, read at the first version, to which the guest has chosen a time of arrival and added a PersonalOrder
+		tableOrder = new TableOrder(100009, LocalDateTime.of(2025, 6, 8, 14, 0), false, "", 0, 0, false, false, 0);
+		tableOrder.setRowVersion(1);
+		tableOrder.setTimeOfArrival(LOCAL_TIME_OF_ARRIVAL);
+
+		PersonalOrder personalOrder = new PersonalOrder(tableOrder);
+		personalOrder.addPersonalOrderLine(new PersonalOrderLine(new MainCourse("Ribs, Bone's Original Sparibs", 129, 189, 11, 900, "Sparibs", "Ribs, Bone's Orignal Sparibs", true)));
+		tableOrder.addPersonalOrder(personalOrder);
+	}
+
+
+	// Builds the TableOrder's row as another tablet has written it, requesting service at the second version
+	private TableOrder createOtherTabletsTableOrder(long rowVersion)
+	{
+		TableOrder otherTabletsTableOrder = new TableOrder(100009, LocalDateTime.of(2025, 6, 8, 14, 0), false, "", 0, 0, false, true, 0);
+		otherTabletsTableOrder.setRowVersion(rowVersion);
+
+		return otherTabletsTableOrder;
+	}
+
+
+	@Test
+	void testConflictKeepsTheGuestsChangesAndTheOtherTabletsChanges() throws Exception
+	{
+		//ARRANGE
+		updateResults.add(TableOrderUpdateResult.conflict(createOtherTabletsTableOrder(2)));
+
+		//ACT
+		TableOrderUpdateResult updateResult = tableOrderController.updateTableOrder(tableOrder, tableOrderController::sendToKitchen);
+
+		//ASSERT
+		assertTrue(updateResult.isUpdated());
+		assertEquals(2, attemptedChangedFields.size());
+
+		// The retry still writes the guest's changes, but not the field written by the other tablet
+		assertEquals(EnumSet.of(EnumTableOrderField.TIMEOFARRIVAL, EnumTableOrderField.TOTALTABLEORDERPRICE, EnumTableOrderField.ISSENTTOKITCHEN),
+				attemptedChangedFields.get(1));
+
+		assertEquals(LOCAL_TIME_OF_ARRIVAL, tableOrder.getTimeOfArrival());
+		assertTrue(tableOrder.isRequestingService());
+		assertTrue(tableOrder.isSentToKitchen());
+		assertEquals(2L, tableOrder.getRowVersion());
+	}
+
+
+	@Test
+	void testRepeatedConflictsAreHandedToTheCaller() throws Exception
+	{
+		//ARRANGE
+		updateResults.add(TableOrderUpdateResult.conflict(createOtherTabletsTableOrder(2)));
+		updateResults.add(TableOrderUpdateResult.conflict(createOtherTabletsTableOrder(3)));
+		updateResults.add(TableOrderUpdateResult.conflict(createOtherTabletsTableOrder(4)));
+
+		//ACT
+		TableOrderUpdateResult updateResult = tableOrderController.updateTableOrder(tableOrder, tableOrderController::sendToKitchen);
+
+		//ASSERT
+		assertTrue(updateResult.isConflict());
+		assertFalse(updateResult.isUpdated());
+		assertEquals(3, attemptedChangedFields.size());
+
+		// Every attempt still writes the guest's changes
+		assertTrue(attemptedChangedFields.get(2).contains(EnumTableOrderField.TIMEOFARRIVAL));
+		assertEquals(LOCAL_TIME_OF_ARRIVAL, tableOrder.getTimeOfArrival());
+	}
+}
@@ -0,0 +1,190 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import database.TableResolutionCache;
+import model.Table;
+import model.TableOrder;
+
+/**
+ * Unit test on the TableResolutionCache, making sure that concurrent lookups of a table only query
+ * the database once, that a table is kept for its time to live, and that a lookup in progress when
+ * the table's TableOrder changes is not kept
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:14
+ */
+class TestTableResolutionCache
+{
+	private static final long TIME_TO_LIVE_NANOS = 1000;
+
+	private AtomicLong clock;
+	private TableResolutionCache tableResolutionCache;
+	private AtomicInteger loadCount;
+
+	@BeforeEach
+	void setUp()
+	{
+		clock = new AtomicLong();
+		tableResolutionCache = new TableResolutionCache(TIME_TO_LIVE_NANOS, clock::get);
+		loadCount = new AtomicInteger();
+	}
+
+
+	// Builds the table the loader finds in the database, seated with the TableOrder with the specified id
+	private Table loadTable(int tableOrderId)
+	{
+		loadCount.incrementAndGet();
+
+		Table table = new Table("ABC0001");
+		table.setCurrentTableOrder(new TableOrder(tableOrderId, LocalDateTime.of(2025, 6, 8, 14, 0), false, "", 0, 0, false, false, 0));
+
+		return table;
+	}
+
+
+	@Test
+	void testConcurrentLookupsOnlyQueryOnce() throws Exception
+	{
+		//ARRANGE
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+
+		CompletableFuture<Table> firstLookup = CompletableFuture.supplyAsync(() -> resolveQuietly(() ->
+		{
+			loadStarted.countDown();
+			releaseLoad.await();
+
+			return loadTable(1);
+		}));
+
+		assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+		//ACT
+		CompletableFuture<Table> secondLookup = CompletableFuture.supplyAsync(() -> resolveQuietly(() -> loadTable(1)));
+		releaseLoad.countDown();
+
+		//ASSERT
+		Table firstTable = firstLookup.get(5, TimeUnit.SECONDS);
+		Table secondTable = secondLookup.get(5, TimeUnit.SECONDS);
+
+		assertEquals(1, loadCount.get());
+		assertEquals(1, secondTable.getCurrentTableOrder().getTableOrderId());
+
+		// Every caller receives its own copy
+		assertNotSame(firstTable, secondTable);
+		assertNotSame(firstTable.getCurrentTableOrder(), secondTable.getCurrentTableOrder());
+	}
+
+
+	@Test
+	void testTableIsLookedUpAgainOnceExpired() throws Exception
+	{
+		//ARRANGE
+		tableResolutionCache.resolve("0001", "ABC", () -> loadTable(1));
+
+		//ACT
+		clock.addAndGet(TIME_TO_LIVE_NANOS);
+		tableResolutionCache.resolve("0001", "ABC", () -> loadTable(1));
+		int loadCountWithinTimeToLive = loadCount.get();
+
+		clock.addAndGet(1);
+		tableResolutionCache.resolve("0001", "ABC", () -> loadTable(1));
+
+		//ASSERT
+		assertEquals(1, loadCountWithinTimeToLive);
+		assertEquals(2, loadCount.get());
+	}
+
+
+	@Test
+	void testLookupInProgressIsNotKeptAfterInvalidation() throws Exception
+	{
+		//ARRANGE
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+
+		CompletableFuture<Table> lookupInProgress = CompletableFuture.supplyAsync(() -> resolveQuietly(() ->
+		{
+			loadStarted.countDown();
+			releaseLoad.await();
+
+			return loadTable(1);
+		}));
+
+		assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+		//ACT
+		// The table is seated with a new TableOrder while the lookup is reading the previous one
+		tableResolutionCache.invalidateTableOrder(1);
+		releaseLoad.countDown();
+		lookupInProgress.get(5, TimeUnit.SECONDS);
+
+		Table table = tableResolutionCache.resolve("0001", "ABC", () -> loadTable(2));
+
+		//ASSERT
+		assertEquals(2, loadCount.get());
+		assertEquals(2, table.getCurrentTableOrder().getTableOrderId());
+	}
+
+
+	@Test
+	void testInvalidatedTableIsLookedUpAgain() throws Exception
+	{
+		//ARRANGE
+		tableResolutionCache.resolve("0001", "ABC", () -> loadTable(1));
+
+		//ACT
+		tableResolutionCache.invalidate("0001", "ABC");
+		Table table = tableResolutionCache.resolve("0001", "ABC", () -> loadTable(2));
+
+		//ASSERT
+		assertEquals(2, loadCount.get());
+		assertEquals(2, table.getCurrentTableOrder().getTableOrderId());
+	}
+
+
+	// The database lookup of the tests, which may wait for the test to release it
+	private interface BlockingLoader
+	{
+		Table load() throws Exception;
+	}
+
+
+	// Resolves the table on another thread, where the checked exceptions can not be thrown
+	private Table resolveQuietly(BlockingLoader blockingLoader)
+	{
+		try
+		{
+			return tableResolutionCache.resolve("0001", "ABC", () ->
+			{
+				try
+				{
+					return blockingLoader.load();
+				}
+
+				catch (Exception exception)
+				{
+					throw new IllegalStateException(exception);
+				}
+			});
+		}
+
+		catch (Exception exception)
+		{
+			throw new IllegalStateException(exception);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+
+import gui.UtilityViewLoader;
+
+/**
+ * Unit test on the UtilityViewLoader, making sure that a request coalesced with an identical
+ * request in progress does not query again, but still hands its caller the result or the failure
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:10
+ */
+class TestViewLoader
+{
+	@Test
+	void testCoalescedRequestReceivesResult() throws Exception
+	{
+		//ARRANGE
+		CountDownLatch taskStarted = new CountDownLatch(1);
+		CountDownLatch releaseTask = new CountDownLatch(1);
+		CountDownLatch bothLoaded = new CountDownLatch(2);
+		AtomicInteger executions = new AtomicInteger();
+		List<String> results = new CopyOnWriteArrayList<>();
+
+		UtilityViewLoader.ViewLoadTask<String> loadTask = () ->
+		{
+			executions.incrementAndGet();
+			taskStarted.countDown();
+			releaseTask.await();
+
+			return "tickets";
+		};
+
+		//ACT
+		SwingUtilities.invokeAndWait(() -> UtilityViewLoader.load("coalescedResult", null, loadTask, result ->
+		{
+			results.add("first " + result);
+			bothLoaded.countDown();
+		}, exception -> {}));
+
+		assertTrue(taskStarted.await(5, TimeUnit.SECONDS));
+
+		SwingUtilities.invokeAndWait(() -> UtilityViewLoader.load("coalescedResult", null, loadTask, result ->
+		{
+			results.add("second " + result);
+			bothLoaded.countDown();
+		}, exception -> {}));
+
+		releaseTask.countDown();
+
+		//ASSERT
+		assertTrue(bothLoaded.await(5, TimeUnit.SECONDS));
+		assertEquals(1, executions.get());
+		assertEquals(List.of("first tickets", "second tickets"), results);
+	}
+
+
+	@Test
+	void testCoalescedRequestReceivesFailure() throws Exception
+	{
+		//ARRANGE
+		CountDownLatch releaseTask = new CountDownLatch(1);
+		CountDownLatch bothFailed = new CountDownLatch(2);
+
+		UtilityViewLoader.ViewLoadTask<String> loadTask = () ->
+		{
+			releaseTask.await();
+
+			throw new IllegalStateException("The database is unavailable");
+		};
+
+		//ACT
+		SwingUtilities.invokeAndWait(() ->
+		{
+			UtilityViewLoader.load("coalescedFailure", null, loadTask, result -> {}, exception -> bothFailed.countDown());
+			UtilityViewLoader.load("coalescedFailure", null, loadTask, result -> {}, exception -> bothFailed.countDown());
+		});
+
+		releaseTask.countDown();
+
+		//ASSERT
+		assertTrue(bothFailed.await(5, TimeUnit.SECONDS));
+	}
+}
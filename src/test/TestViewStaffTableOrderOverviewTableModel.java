@@ -0,0 +1,181 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.TableModelEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import gui.ViewStaffTableOrderOverviewTableModel;
+import model.KitchenTicket;
+import model.MainCourse;
+import model.PersonalOrder;
+import model.PersonalOrderLine;
+import model.TableOrder;
+
+/**
+ * Unit test on the ViewStaffTableOrderOverviewTableModel class, making sure that
+ * a refresh only notifies the JTable about the rows that actually changed
+ *
+ * @author Anders Have
+ * @version 19.10.26 - 10:12
+ */
+class TestViewStaffTableOrderOverviewTableModel
+{
+	private ViewStaffTableOrderOverviewTableModel tableModel;
+	private List<TableModelEvent> listOfEvents;
+	private MainCourse mainCourse;
+
+	@BeforeEach
+	void setUp()
+	{
+		tableModel = new ViewStaffTableOrderOverviewTableModel();
+		listOfEvents = new ArrayList<>();
+		tableModel.addTableModelListener(event -> listOfEvents.add(event));
+
+		mainCourse = new MainCourse("Ribs, Bone's Original Sparibs", 129, 189, 11, 900, "Sparibs", "Ribs, Bone's Orignal Sparibs", true);
+	}
+
+
+	// Builds a TableOrder with a single PersonalOrder containing the specified amount of lines
+	private TableOrder createTableOrder(int tableOrderId, int personalOrderId, int amountOfLines)
+	{
+		TableOrder tableOrder = new TableOrder(tableOrderId, LocalDateTime.of(2025, 6, 8, 14, 0), false, "", 0, 0, true, false, 0);
+		PersonalOrder personalOrder = new PersonalOrder(tableOrder);
+		personalOrder.setPersonalOrderId(personalOrderId);
+		personalOrder.setCustomerName("Guest " + personalOrderId);
+
+		for (int lineIndex = 0; lineIndex < amountOfLines; lineIndex++)
+		{
+			personalOrder.addPersonalOrderLine(new PersonalOrderLine(mainCourse));
+		}
+
+		tableOrder.addPersonalOrder(personalOrder);
+
+		return tableOrder;
+	}
+
+
+	@Test
+	void testIdenticalRefreshFiresNoEvents()
+	{
+		//ARRANGE
+		List<TableOrder> listOfTableOrders = List.of(createTableOrder(1, 10, 2), createTableOrder(2, 20, 1));
+		tableModel.setData(listOfTableOrders);
+		listOfEvents.clear();
+
+		//ACT
+		tableModel.setData(List.of(createTableOrder(1, 10, 2), createTableOrder(2, 20, 1)));
+
+		//ASSERT
+		assertEquals(0, listOfEvents.size());
+		assertEquals(11, tableModel.getRowCount());
+	}
+
+
+	@Test
+	void testNewTableOrderOnlyInsertsItsRows()
+	{
+		//ARRANGE
+		tableModel.setData(List.of(createTableOrder(1, 10, 2)));
+		listOfEvents.clear();
+
+		//ACT
+		tableModel.setData(List.of(createTableOrder(1, 10, 2), createTableOrder(2, 20, 1)));
+
+		//ASSERT
+		assertEquals(11, tableModel.getRowCount());
+
+		for (TableModelEvent event : listOfEvents)
+		{
+			assertEquals(TableModelEvent.INSERT, event.getType());
+
+			// None of the rows belonging to the first table order may be touched
+			assertEquals(true, event.getFirstRow() >= 6);
+		}
+
+		assertEquals("2", tableModel.getValueAt(6, 0));
+	}
+
+
+	@Test
+	void testRemovedTableOrderOnlyDeletesItsRows()
+	{
+		//ARRANGE
+		tableModel.setData(List.of(createTableOrder(1, 10, 2), createTableOrder(2, 20, 1)));
+		listOfEvents.clear();
+
+		//ACT
+		tableModel.setData(List.of(createTableOrder(2, 20, 1)));
+
+		//ASSERT
+		assertEquals(1, listOfEvents.size());
+		assertEquals(TableModelEvent.DELETE, listOfEvents.get(0).getType());
+		assertEquals(0, listOfEvents.get(0).getFirstRow());
+		assertEquals(5, listOfEvents.get(0).getLastRow());
+		assertEquals("2", tableModel.getValueAt(0, 0));
+	}
+
+
+	@Test
+	void testChangedNotesOnlyUpdatesThatRow()
+	{
+		//ARRANGE
+		tableModel.setData(List.of(createTableOrder(1, 10, 2)));
+		listOfEvents.clear();
+		TableOrder changedTableOrder = createTableOrder(1, 10, 2);
+		changedTableOrder.getPersonalOrders().get(0).getPersonalOrderLines().get(1).setNotes("Uden salat");
+
+		//ACT
+		tableModel.setData(List.of(changedTableOrder));
+
+		//ASSERT
+		assertEquals(1, listOfEvents.size());
+		assertEquals(TableModelEvent.UPDATE, listOfEvents.get(0).getType());
+		assertEquals(3, listOfEvents.get(0).getFirstRow());
+		assertEquals("Uden salat", tableModel.getValueAt(3, 5));
+	}
+	
+	
+	@Test
+	void testTicketsProduceSameRowsAsTableOrders()
+	{
+		//ARRANGE
+		LocalDateTime timeOfArrival = LocalDateTime.of(2025, 6, 8, 14, 0);
+		List<KitchenTicket> listOfKitchenTickets = List.of(
+				new KitchenTicket(1, timeOfArrival, 10, "Guest 10", 100, "Sparibs", "Uden salat"),
+				new KitchenTicket(1, timeOfArrival, 10, "Guest 10", 101, "Sparibs", ""),
+				new KitchenTicket(2, timeOfArrival, 0, null, 0, null, null));
+
+		// The same table orders as the tickets, i.e. a guest with two lines at the first table and nobody at the second
+		TableOrder tableOrderWithGuest = createTableOrder(1, 10, 2);
+		tableOrderWithGuest.getPersonalOrders().get(0).getPersonalOrderLines().get(0).setNotes("Uden salat");
+		TableOrder tableOrderWithoutGuests = new TableOrder(2, timeOfArrival, false, "", 0, 0, true, false, 0);
+
+		ViewStaffTableOrderOverviewTableModel tableOrderModel = new ViewStaffTableOrderOverviewTableModel();
+
+		//ACT
+		tableModel.setTickets(listOfKitchenTickets);
+		tableOrderModel.setData(List.of(tableOrderWithGuest, tableOrderWithoutGuests));
+
+		//ASSERT
+		assertEquals(9, tableModel.getRowCount());
+		assertEquals(tableOrderModel.getRowCount(), tableModel.getRowCount());
+		assertEquals(tableOrderModel.getColumnCount(), tableModel.getColumnCount());
+
+		// Every cell must be the same, even though the line rows are keyed by the PersonalOrderLine ids
+		// instead of their position, so switching from one of the methods to the other redraws every row
+		for (int rowIndex = 0; rowIndex < tableModel.getRowCount(); rowIndex++)
+		{
+			for (int columnIndex = 0; columnIndex < tableModel.getColumnCount(); columnIndex++)
+			{
+				assertEquals(tableOrderModel.getValueAt(rowIndex, columnIndex), tableModel.getValueAt(rowIndex, columnIndex));
+			}
+		}
+	}
+}